@@ -0,0 +1,75 @@
+/*
+ * Classname: CartTotalBenchmark
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.benchmarks;
+
+import org.example.sys.Product;
+import org.example.sys.TransactionItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Przeliczanie koszyka na kasie: wartość pojedynczej pozycji
+ * ({@link TransactionItem#getTotal()}) i suma koszyka po zmianie
+ * ilości ({@link TransactionItem#total}), jak w panelu kasjera.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartTotalBenchmark {
+
+    @Param({"5", "50", "500"})
+    public int cartSize;
+
+    private final List<TransactionItem> cart = new ArrayList<>();
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < cartSize; i++) {
+            Product product = new Product("Produkt " + i, "Koszyk",
+                    BigDecimal.valueOf(random.nextInt(10_000), 2));
+            cart.add(new TransactionItem(product, 1 + random.nextInt(5)));
+        }
+    }
+
+    @Benchmark
+    public double itemTotal() {
+        return cart.get(0).getTotal();
+    }
+
+    @Benchmark
+    public double cartTotal() {
+        return TransactionItem.total(cart);
+    }
+
+    @Benchmark
+    public double changeQuantityAndRecalculate() {
+        TransactionItem item = cart.get(cursor++ % cartSize);
+        item.setQuantity(item.getQuantity() % 5 + 1);
+        return TransactionItem.total(cart);
+    }
+}
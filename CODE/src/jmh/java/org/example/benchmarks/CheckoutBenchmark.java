@@ -0,0 +1,92 @@
+/*
+ * Classname: CheckoutBenchmark
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.benchmarks;
+
+import org.example.database.EMFProvider;
+import org.example.database.repositories.CheckoutService;
+import org.example.database.repositories.ProductRepository;
+import org.example.database.repositories.UserRepository;
+import org.example.database.simulation.StoreDataGenerator;
+import org.example.sys.Employee;
+import org.example.sys.Product;
+import org.example.sys.TransactionItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Czas finalizacji sprzedaży ({@link CheckoutService#checkout})
+ * na bazie H2 dla koszyków z 1, 10 i 50 pozycjami: zapis transakcji,
+ * wsad pozycji, warunkowe zmniejszenie stanów i aktualizacja
+ * dziennych podsumowań w jednej transakcji.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckoutBenchmark {
+
+    private static final int PRODUCT_COUNT = 50;
+
+    @Param({"1", "10", "50"})
+    public int basketSize;
+
+    private CheckoutService checkoutService;
+    private Employee employee;
+    private List<TransactionItem> basket;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        System.setProperty("stonka.db.url",
+                "jdbc:h2:mem:stonka-jmh-checkout;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        // Stan początkowy wystarcza na cały pomiar bez odrzuceń
+        new StoreDataGenerator().generate(new StoreDataGenerator.Scale(
+                PRODUCT_COUNT, 1, 0, 0, 0, 1, 100_000_000, 42));
+
+        checkoutService = new CheckoutService();
+        employee = new UserRepository().getAllEmployees().get(0);
+        List<Product> products = new ProductRepository().getAllProducts();
+        basket = new ArrayList<>(basketSize);
+        for (int i = 0; i < basketSize; i++) {
+            basket.add(new TransactionItem(products.get(i), 1));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        EMFProvider.close();
+        System.clearProperty("stonka.db.url");
+    }
+
+    @Benchmark
+    public CheckoutService.CheckoutResult checkout() {
+        CheckoutService.CheckoutResult result =
+                checkoutService.checkout(employee, basket);
+        if (!result.success()) {
+            throw new IllegalStateException(result.message());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Classname: LoggingBenchmark
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.benchmarks;
+
+import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.core.config.builder.api.AppenderComponentBuilder;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilder;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilderFactory;
+import org.apache.logging.log4j.core.config.builder.impl.BuiltConfiguration;
+import org.example.database.EMFProvider;
+import org.example.database.repositories.CheckoutService;
+import org.example.database.repositories.ProductRepository;
+import org.example.database.repositories.TransactionRepository;
+import org.example.database.repositories.UserRepository;
+import org.example.database.simulation.StoreDataGenerator;
+import org.example.sys.Employee;
+import org.example.sys.Product;
+import org.example.sys.TransactionItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pdf.SalesReportGenerator.SalesRecord;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Czas sprzedaży i pobierania danych raportu przy włączonym
+ * logowaniu do pliku.
+ * <p>
+ * Log4j jest konfigurowany programowo tak jak w {@code log4j2.xml}
+ * (plik z {@code PatternLayout}, poziom INFO):
+ * <ul>
+ *     <li>{@code appender=sync} – zapis synchroniczny z opróżnianiem
+ *     bufora po każdym wpisie (konfiguracja sprzed zmiany),</li>
+ *     <li>{@code appender=async} – {@code AsyncAppender} z buforowanym
+ *     plikiem (obecna konfiguracja).</li>
+ * </ul>
+ * {@code traces=on} włącza poziom DEBUG dla {@code org.example}, czyli
+ * ponownie zapisuje ślady pojedynczych wywołań (m.in. wynik
+ * {@code findProductById} i {@code addProductToTransaction}), które
+ * wcześniej trafiały do logu na poziomie INFO. Porównanie
+ * {@code sync/on} z {@code async/off} odpowiada stanowi przed i po
+ * zmianie. Tryb {@code SampleTime} raportuje też percentyle, w których
+ * najlepiej widać czekanie na zapis do pliku.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final int BASKET_SIZE = 5;
+
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd HH:mm:ss.SSS} [%t] %-5level %logger{36} - %msg%n";
+
+    @Param({"sync", "async"})
+    public String appender;
+
+    @Param({"off", "on"})
+    public String traces;
+
+    private Path logDir;
+    private ProductRepository productRepository;
+    private TransactionRepository transactionRepository;
+    private CheckoutService checkoutService;
+    private Employee cashier;
+    private List<Integer> productIds;
+    private int next;
+    private Date from;
+    private Date to;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException, IOException {
+        logDir = Files.createTempDirectory("stonka-jmh-logs");
+        Configurator.reconfigure(loggingConfiguration(
+                "async".equals(appender), "on".equals(traces)));
+
+        System.setProperty("stonka.db.url",
+                "jdbc:h2:mem:stonka-jmh-logging;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        new StoreDataGenerator().generate(new StoreDataGenerator.Scale(
+                2_000, 5, 0, 7, 200, 10, 1_000_000_000, 42));
+
+        productRepository = new ProductRepository();
+        transactionRepository = new TransactionRepository();
+        checkoutService = new CheckoutService();
+        cashier = new UserRepository().getAllEmployees().get(0);
+        productIds = productRepository.getAllProducts().stream()
+                .map(Product::getId)
+                .toList();
+
+        LocalDate today = LocalDate.now();
+        from = Date.from(today.minusDays(6)
+                .atStartOfDay(ZoneId.systemDefault()).toInstant());
+        to = Date.from(today.atTime(23, 59, 59)
+                .atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        EMFProvider.close();
+        System.clearProperty("stonka.db.url");
+        Configurator.reconfigure();
+        try (var files = Files.list(logDir)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(logDir);
+    }
+
+    /**
+     * Kasjer skanuje koszyk (wyszukanie produktów po id) i finalizuje
+     * sprzedaż.
+     */
+    @Benchmark
+    public CheckoutService.CheckoutResult checkout() {
+        List<TransactionItem> basket = new ArrayList<>(BASKET_SIZE);
+        for (int i = 0; i < BASKET_SIZE; i++) {
+            int id = productIds.get(next++ % productIds.size());
+            basket.add(new TransactionItem(
+                    productRepository.findProductById(id), 1));
+        }
+        return checkoutService.checkout(cashier, basket);
+    }
+
+    /**
+     * Rekordy raportu sprzedaży z ostatniego tygodnia.
+     */
+    @Benchmark
+    public List<SalesRecord> salesReport() {
+        return transactionRepository.getSalesRecords(from, to, List.of());
+    }
+
+    private BuiltConfiguration loggingConfiguration(boolean async,
+                                                    boolean traces) {
+        ConfigurationBuilder<BuiltConfiguration> builder =
+                ConfigurationBuilderFactory.newConfigurationBuilder();
+        builder.setStatusLevel(org.apache.logging.log4j.Level.WARN);
+
+        AppenderComponentBuilder file = builder.newAppender("File", "File")
+                .addAttribute("fileName", logDir.resolve("app.log").toString())
+                .addAttribute("immediateFlush", !async)
+                .add(builder.newLayout("PatternLayout")
+                        .addAttribute("pattern", PATTERN));
+        builder.add(file);
+
+        String target = "File";
+        if (async) {
+            builder.add(builder.newAppender("AsyncFile", "Async")
+                    .addAttribute("bufferSize", 4096)
+                    .addComponent(builder.newAppenderRef("File")));
+            target = "AsyncFile";
+        }
+
+        builder.add(builder.newRootLogger(org.apache.logging.log4j.Level.INFO)
+                .add(builder.newAppenderRef(target)));
+        if (traces) {
+            builder.add(builder.newLogger("org.example",
+                    org.apache.logging.log4j.Level.DEBUG));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Classname: PasswordHasherBenchmark
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.benchmarks;
+
+import org.example.sys.PasswordHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Koszt haszowania i weryfikacji hasła przy logowaniu
+ * ({@link PasswordHasher}), łącznie z logowaniem zdarzeń,
+ * które wykonuje każde wywołanie.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHasherBenchmark {
+
+    private static final String PASSWORD = "Zażółć-gęślą-jaźń-2025";
+    private static final int USER_ID = 4242;
+
+    private String storedHash;
+
+    @Setup
+    public void setup() throws NoSuchAlgorithmException, InvalidKeyException {
+        storedHash = PasswordHasher.hashPassword(PASSWORD, USER_ID);
+    }
+
+    @Benchmark
+    public String hashPassword()
+            throws NoSuchAlgorithmException, InvalidKeyException {
+        return PasswordHasher.hashPassword(PASSWORD, USER_ID);
+    }
+
+    @Benchmark
+    public boolean verifyPassword()
+            throws NoSuchAlgorithmException, InvalidKeyException {
+        return PasswordHasher.verifyPassword(storedHash, PASSWORD, USER_ID);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Classname: ProductSearchBenchmark
+ * Version information: 1.0
+ * Date: 2025-06-04
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.benchmarks;
+
+import org.example.database.ConnectionPool;
+import org.example.database.EMFProvider;
+import org.example.database.ProductSearchIndex;
+import org.example.database.repositories.ProductRepository;
+import org.example.sys.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Porównanie wyszukiwania produktów po fragmencie nazwy:
+ * indeks trigramowy w pamięci ({@link ProductSearchIndex})
+ * kontra zapytanie JPQL {@code LOWER(p.name) LIKE '%x%'}
+ * z {@link ProductRepository#findByName(String)}.
+ * Zapytanie JPQL wykonywane jest na bazie H2 w pamięci
+ * (tryb MySQL), więc mierzy koszt pełnego przeglądu tabeli
+ * bez opóźnień sieci.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "mleko", "ser", "jogurt", "chleb", "bułka", "masło", "szynka",
+            "kiełbasa", "jabłko", "gruszka", "sok", "woda", "piwo", "kawa",
+            "herbata", "czekolada", "baton", "makaron", "ryż", "mąka"
+    };
+    private static final String[] CATEGORIES = {
+            "Nabiał", "Pieczywo", "Wędliny", "Owoce", "Napoje", "Słodycze",
+            "Sypkie"
+    };
+
+    @Param({"10000", "100000"})
+    public int productCount;
+
+    @Param({"czeko", "kawa 123", "99999"})
+    public String query;
+
+    private final ProductSearchIndex index = new ProductSearchIndex();
+    private ProductRepository repository;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        System.setProperty("stonka.db.url",
+                "jdbc:h2:mem:stonka-jmh;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        EMFProvider.get();
+        repository = new ProductRepository();
+
+        Random random = new Random(42);
+        try (Connection connection =
+                     ConnectionPool.getDataSource().getConnection();
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO Produkty (Nazwa, Kategoria, Cena) "
+                             + "VALUES (?, ?, ?)")) {
+            for (int i = 1; i <= productCount; i++) {
+                insert.setString(1, WORDS[random.nextInt(WORDS.length)]
+                        + " " + WORDS[random.nextInt(WORDS.length)]
+                        + " " + i);
+                insert.setString(2,
+                        CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                insert.setBigDecimal(3, BigDecimal.ONE);
+                insert.addBatch();
+                if (i % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        List<Product> products = repository.getAllProducts();
+        index.rebuild(products);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        EMFProvider.close();
+        System.clearProperty("stonka.db.url");
+    }
+
+    @Benchmark
+    public List<Product> trigramIndex() {
+        return index.search(query, 50);
+    }
+
+    @Benchmark
+    public List<Product> jpqlLike() {
+        return repository.findByName(query);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Classname: SalesReportBenchmark
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.benchmarks;
+
+import org.example.database.EMFProvider;
+import org.example.database.repositories.TransactionRepository;
+import org.example.database.simulation.StoreDataGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pdf.SalesReportGenerator.SalesRecord;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pobieranie i mapowanie rekordów raportu sprzedaży, tak jak
+ * w getSalesDataForReport panelu kasjera: raporty wszystkich okresów
+ * czytają pozycje transakcji
+ * ({@link TransactionRepository#getSalesRecords}).
+ * Dane generowane są przez {@link StoreDataGenerator} w bazie H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SalesReportBenchmark {
+
+    private static final int DAYS = 30;
+
+    @Param({"200", "2000"})
+    public int transactionsPerDay;
+
+    private TransactionRepository repository;
+    private Date dayFrom;
+    private Date monthFrom;
+    private Date to;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        System.setProperty("stonka.db.url",
+                "jdbc:h2:mem:stonka-jmh-sales;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        new StoreDataGenerator().generate(new StoreDataGenerator.Scale(
+                2_000, 10, 0, DAYS, transactionsPerDay, 10, 1_000, 42));
+
+        repository = new TransactionRepository();
+        LocalDate today = LocalDate.now();
+        dayFrom = toDate(today);
+        monthFrom = toDate(today.minusDays(DAYS - 1));
+        to = Date.from(today.atTime(23, 59, 59)
+                .atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        EMFProvider.close();
+        System.clearProperty("stonka.db.url");
+    }
+
+    @Benchmark
+    public List<SalesRecord> dailyReportRecords() {
+        return repository.getSalesRecords(dayFrom, to, List.of());
+    }
+
+    @Benchmark
+    public List<SalesRecord> monthlyReportRecords() {
+        return repository.getSalesRecords(monthFrom, to, List.of());
+    }
+
+    private static Date toDate(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneId.systemDefault())
+                .toInstant());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Classname: StockJoinBenchmark
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.benchmarks;
+
+import org.example.database.EMFProvider;
+import org.example.database.repositories.ProductRepository;
+import org.example.database.repositories.WarehouseRepository;
+import org.example.database.simulation.StoreDataGenerator;
+import org.example.sys.Product;
+import org.example.sys.StockPage;
+import org.example.sys.StockRow;
+import org.example.sys.StockSort;
+import org.example.sys.Warehouse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Odświeżanie tabeli stanów w panelu logistyka: samo złączenie
+ * produktów ze stanami w pamięci ({@link StockRow#join}) oraz pełna
+ * ścieżka z pobraniem wszystkich produktów i stanów z bazy H2,
+ * w porównaniu z jedną stroną projekcji
+ * {@link WarehouseRepository#findStockPage} używaną obecnie.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StockJoinBenchmark {
+
+    @Param({"1000", "20000"})
+    public int productCount;
+
+    private ProductRepository productRepository;
+    private WarehouseRepository warehouseRepository;
+    private List<Product> products;
+    private List<Warehouse> states;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        System.setProperty("stonka.db.url",
+                "jdbc:h2:mem:stonka-jmh-stock;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        new StoreDataGenerator().generate(new StoreDataGenerator.Scale(
+                productCount, 1, 0, 0, 0, 1, 100, 42));
+
+        productRepository = new ProductRepository();
+        warehouseRepository = new WarehouseRepository();
+        products = productRepository.getAllProducts();
+        states = warehouseRepository.getAllStates();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        EMFProvider.close();
+        System.clearProperty("stonka.db.url");
+    }
+
+    @Benchmark
+    public List<StockRow> joinInMemory() {
+        return StockRow.join(products, states);
+    }
+
+    @Benchmark
+    public List<StockRow> loadAndJoin() {
+        return StockRow.join(productRepository.getAllProducts(),
+                warehouseRepository.getAllStates());
+    }
+
+    @Benchmark
+    public StockPage projectionFirstPage() {
+        return warehouseRepository.findStockPage(null, null, null,
+                StockSort.NAME, true, null, 100);
+    }
+
+    @Benchmark
+    public StockPage projectionLowStockPage() {
+        return warehouseRepository.findStockPage(null, null, 100,
+                StockSort.QUANTITY, true, null, 100);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Classname: WarehouseReportBenchmark
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.benchmarks;
+
+import org.example.database.EMFProvider;
+import org.example.database.repositories.ProductRepository;
+import org.example.database.repositories.WarehouseRepository;
+import org.example.database.simulation.StoreDataGenerator;
+import org.example.sys.CategoryStock;
+import org.example.sys.Product;
+import org.example.sys.WarehouseReportRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pobranie danych raportu magazynowego dla jednej kategorii z bazy H2:
+ * wszystkie produkty i stany z filtrowaniem w pamięci (poprzednia
+ * ścieżka) w porównaniu z podsumowaniem kategorii w SQL
+ * ({@link WarehouseRepository#getCategoryStats}) i projekcją wierszy
+ * ({@link WarehouseRepository#getReportRows}). Samo generowanie PDF
+ * nie jest mierzone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WarehouseReportBenchmark {
+
+    @Param({"10000", "100000"})
+    public int productCount;
+
+    private ProductRepository productRepository;
+    private WarehouseRepository warehouseRepository;
+    private List<String> categories;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        System.setProperty("stonka.db.url",
+                "jdbc:h2:mem:stonka-jmh-report;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        new StoreDataGenerator().generate(new StoreDataGenerator.Scale(
+                productCount, 1, 0, 0, 0, 1, 100, 42));
+
+        productRepository = new ProductRepository();
+        warehouseRepository = new WarehouseRepository();
+        categories = List.of(productRepository.getCategories().get(0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        EMFProvider.close();
+        System.clearProperty("stonka.db.url");
+    }
+
+    @Benchmark
+    public void loadAllAndFilter(Blackhole bh) {
+        Map<Integer, Integer> qtyById = new HashMap<>();
+        warehouseRepository.getAllStates().forEach(w ->
+                qtyById.put(w.getProductId(), w.getQuantity()));
+        for (Product p : productRepository.getAllProducts()) {
+            if (categories.contains(p.getCategory())) {
+                bh.consume(p.getPrice().doubleValue());
+                bh.consume(qtyById.getOrDefault(p.getId(), 0));
+            }
+        }
+    }
+
+    @Benchmark
+    public void statsAndProjection(Blackhole bh) {
+        List<CategoryStock> stats =
+                warehouseRepository.getCategoryStats(categories);
+        bh.consume(stats);
+        for (WarehouseReportRow row
+                : warehouseRepository.getReportRows(categories)) {
+            bh.consume(row.price());
+            bh.consume(row.quantity());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Classname: CsvRowWriterBenchmark
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.database;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Zapis wierszy tabeli do CSV
+ * ({@link DatabaseBackupExporter#writeDataRows}) z bazy H2 w pamięci,
+ * bez kompresji i z kompresją GZIP. Wynik trafia do strumienia
+ * pomijającego dane, więc mierzony jest odczyt wierszy i formatowanie
+ * pól, a nie szybkość dysku. Klasa leży w pakiecie
+ * {@code org.example.database}, ponieważ metoda zapisu jest
+ * pakietowa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvRowWriterBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rowCount;
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection(
+                "jdbc:h2:mem:stonka-jmh-csv;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE Produkty (Id INT PRIMARY KEY, "
+                    + "Nazwa VARCHAR(100), Kategoria VARCHAR(100), "
+                    + "Cena DECIMAL(10,2), Data DATE)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO Produkty VALUES (?, ?, ?, ?, ?)")) {
+            LocalDate day = LocalDate.of(2025, 1, 1);
+            for (int i = 1; i <= rowCount; i++) {
+                insert.setInt(1, i);
+                // co dziesiąta nazwa wymaga cytowania
+                insert.setString(2, i % 10 == 0
+                        ? "Ser \"Gouda\", plastry " + i
+                        : "Mleko 2% " + i);
+                insert.setString(3, "Nabiał");
+                insert.setBigDecimal(4, BigDecimal.valueOf(i % 10_000, 2));
+                insert.setObject(5, day.plusDays(i % 365));
+                insert.addBatch();
+                if (i % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP TABLE Produkty");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long writePlain() throws SQLException, IOException {
+        return writeRows(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public long writeGzip() throws SQLException, IOException {
+        return writeRows(new GZIPOutputStream(
+                OutputStream.nullOutputStream(), 1 << 16));
+    }
+
+    private long writeRows(OutputStream out)
+            throws SQLException, IOException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM Produkty");
+             Writer writer = new BufferedWriter(new OutputStreamWriter(
+                     out, StandardCharsets.UTF_8), 1 << 16)) {
+            return DatabaseBackupExporter.writeDataRows(rs, writer,
+                    "Produkty", System.nanoTime(), null);
+        }
+    }
+}
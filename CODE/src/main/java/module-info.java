@@ -22,6 +22,9 @@ module org.example.gui {
     requires kernel;
     requires layout;
     requires mysql.connector.j;
+    requires com.zaxxer.hikari;
+    requires java.sql;
+    requires jdk.jfr;
     requires jbcrypt;
     requires org.slf4j;
 
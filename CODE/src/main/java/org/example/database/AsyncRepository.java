@@ -0,0 +1,193 @@
+/*
+ * Classname: AsyncRepository
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.database;
+
+import javafx.application.Platform;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Asynchroniczna fasada dla dowolnego repozytorium.
+ * <p>
+ * Metody repozytoriów są blokujące, więc kontrolery nie mogą wołać ich
+ * z wątku JavaFX. Fasada wykonuje wywołanie przez
+ * {@link DatabaseExecutor} (wątki wirtualne, limit równoległości
+ * zasobu) i zwraca {@link CompletableFuture}. Warianty {@code ...OnFx}
+ * przekazują wynik lub błąd z powrotem do wątku JavaFX.
+ * <pre>{@code
+ * AsyncRepository.of(new ProductRepository())
+ *         .callOnFx(ProductRepository::getCategories,
+ *                 list::setAll,
+ *                 ex -> showAlert(...));
+ * }</pre>
+ *
+ * @param <R> typ repozytorium
+ */
+public final class AsyncRepository<R> {
+
+    private static final Logger logger =
+            LogManager.getLogger(AsyncRepository.class);
+
+    /**
+     * Wykonawca uruchamiający zadania w wątku JavaFX.
+     */
+    public static final Executor FX_THREAD = command -> {
+        if (Platform.isFxApplicationThread()) {
+            command.run();
+        } else {
+            Platform.runLater(command);
+        }
+    };
+
+    private final R repository;
+    private final DatabaseExecutor.Resource resource;
+
+    private AsyncRepository(R repository, DatabaseExecutor.Resource resource) {
+        this.repository = repository;
+        this.resource = resource;
+    }
+
+    /**
+     * Tworzy fasadę dla zwykłych operacji repozytorium.
+     *
+     * @param repository repozytorium
+     * @param <R>        typ repozytorium
+     * @return fasada asynchroniczna
+     */
+    public static <R> AsyncRepository<R> of(R repository) {
+        return of(repository, DatabaseExecutor.Resource.DATABASE);
+    }
+
+    /**
+     * Tworzy fasadę z limitem równoległości wskazanego zasobu.
+     *
+     * @param repository repozytorium
+     * @param resource   zasób (np. raporty)
+     * @param <R>        typ repozytorium
+     * @return fasada asynchroniczna
+     */
+    public static <R> AsyncRepository<R> of(R repository,
+                                            DatabaseExecutor.Resource resource) {
+        return new AsyncRepository<>(repository, resource);
+    }
+
+    /**
+     * @return opakowane repozytorium
+     */
+    public R repository() {
+        return repository;
+    }
+
+    /**
+     * Wykonuje zapytanie w tle.
+     *
+     * @param query operacja na repozytorium
+     * @param <T>   typ wyniku
+     * @return przyszły wynik
+     */
+    public <T> CompletableFuture<T> call(
+            Function<? super R, ? extends T> query) {
+        return DatabaseExecutor.submit(resource,
+                () -> query.apply(repository));
+    }
+
+    /**
+     * Wykonuje operację bez wyniku w tle.
+     *
+     * @param command operacja na repozytorium
+     * @return przyszłe zakończenie operacji
+     */
+    public CompletableFuture<Void> run(Consumer<? super R> command) {
+        return DatabaseExecutor.submit(resource, () -> {
+            command.accept(repository);
+            return null;
+        });
+    }
+
+    /**
+     * Wykonuje zapytanie w tle i przekazuje wynik do wątku JavaFX.
+     *
+     * @param query     operacja na repozytorium
+     * @param onSuccess obsługa wyniku (wątek JavaFX)
+     * @param onError   obsługa błędu (wątek JavaFX)
+     * @param <T>       typ wyniku
+     * @return przyszły wynik
+     */
+    public <T> CompletableFuture<T> callOnFx(
+            Function<? super R, ? extends T> query,
+            Consumer<? super T> onSuccess,
+            Consumer<Throwable> onError) {
+        CompletableFuture<T> future = call(query);
+        deliverOnFx(future, onSuccess, onError);
+        return future;
+    }
+
+    /**
+     * Wykonuje operację w tle i po jej zakończeniu wywołuje obsługę
+     * w wątku JavaFX.
+     *
+     * @param command   operacja na repozytorium
+     * @param onSuccess obsługa zakończenia (wątek JavaFX)
+     * @param onError   obsługa błędu (wątek JavaFX)
+     * @return przyszłe zakończenie operacji
+     */
+    public CompletableFuture<Void> runOnFx(Consumer<? super R> command,
+                                           Runnable onSuccess,
+                                           Consumer<Throwable> onError) {
+        CompletableFuture<Void> future = run(command);
+        deliverOnFx(future, v -> onSuccess.run(), onError);
+        return future;
+    }
+
+    /**
+     * Przekazuje wynik przyszłego zadania do wątku JavaFX. Wyjątek
+     * opakowany przez {@link CompletableFuture} jest rozpakowywany.
+     *
+     * @param future    przyszły wynik
+     * @param onSuccess obsługa wyniku
+     * @param onError   obsługa błędu
+     * @param <T>       typ wyniku
+     */
+    public static <T> void deliverOnFx(CompletableFuture<T> future,
+                                       Consumer<? super T> onSuccess,
+                                       Consumer<Throwable> onError) {
+        future.whenCompleteAsync((value, error) -> {
+            if (error == null) {
+                onSuccess.accept(value);
+                return;
+            }
+            Throwable cause = unwrap(error);
+            logger.error("Błąd operacji w tle", cause);
+            if (onError != null) {
+                onError.accept(cause);
+            }
+        }, FX_THREAD);
+    }
+
+    /**
+     * Zwraca rzeczywistą przyczynę błędu zadania.
+     *
+     * @param error wyjątek z {@link CompletableFuture}
+     * @return wyjątek zgłoszony przez zadanie
+     */
+    public static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException
+                || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Classname: ConnectionPool
+ * Version information: 1.0
+ * Date: 2025-06-04
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.database;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.utils.LatencyHistogram;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Współdzielona pula połączeń JDBC (HikariCP) dla całej aplikacji.
+ * Pula jest tworzona leniwie przy pierwszym użyciu i przekazywana
+ * do Hibernate przez {@link EMFProvider} jako nie-JTA DataSource.
+ * Rozmiar puli i limity czasowe pochodzą z pliku
+ * config/database.properties (klucze db.pool.*).
+ * Klasa zbiera również czasy oczekiwania na połączenie,
+ * udostępniane przez {@link #snapshot()}.
+ */
+public final class ConnectionPool {
+
+    private static final Logger logger =
+            LogManager.getLogger(ConnectionPool.class);
+
+    private static final String POOL_NAME = "StonkaPool";
+
+    private static final int DEFAULT_MAX_SIZE = 10;
+    private static final int DEFAULT_MIN_IDLE = 2;
+    private static final long DEFAULT_CONNECTION_TIMEOUT_MS = 10_000;
+    private static final long DEFAULT_IDLE_TIMEOUT_MS = 600_000;
+    private static final long DEFAULT_MAX_LIFETIME_MS = 1_800_000;
+
+    private static HikariDataSource dataSource = null;
+
+    private static final LatencyHistogram acquireLatency =
+            new LatencyHistogram();
+    private static final LongAdder acquireTimeouts = new LongAdder();
+
+    private ConnectionPool() {
+    }
+
+    /**
+     * Migawka stanu puli połączeń.
+     *
+     * @param active       liczba połączeń aktualnie wypożyczonych
+     * @param idle         liczba bezczynnych połączeń w puli
+     * @param total        łączna liczba otwartych połączeń
+     * @param waiting      liczba wątków czekających na połączenie
+     * @param maxSize      maksymalny rozmiar puli
+     * @param acquisitions liczba pobrań połączenia od startu puli
+     * @param timeouts     liczba przekroczeń czasu oczekiwania
+     * @param acquireP50Ms mediana czasu pobrania połączenia [ms]
+     * @param acquireP95Ms 95. percentyl czasu pobrania połączenia [ms]
+     * @param acquireP99Ms 99. percentyl czasu pobrania połączenia [ms]
+     * @param acquireMaxMs najdłuższy czas pobrania połączenia [ms]
+     */
+    public record Snapshot(int active,
+                           int idle,
+                           int total,
+                           int waiting,
+                           int maxSize,
+                           long acquisitions,
+                           long timeouts,
+                           double acquireP50Ms,
+                           double acquireP95Ms,
+                           double acquireP99Ms,
+                           double acquireMaxMs) {
+    }
+
+    /**
+     * Zwraca współdzieloną pulę połączeń, tworząc ją przy pierwszym
+     * wywołaniu.
+     *
+     * @return pula połączeń jako DataSource
+     */
+    public static synchronized DataSource getDataSource() {
+        if (dataSource == null || dataSource.isClosed()) {
+            dataSource = createDataSource();
+        }
+        return dataSource;
+    }
+
+    /**
+     * Zwraca skonfigurowany maksymalny rozmiar puli
+     * ({@code db.pool.maxSize}), także zanim pula zostanie utworzona.
+     *
+     * @return maksymalna liczba połączeń
+     */
+    public static int getConfiguredMaxSize() {
+        return intProperty("db.pool.maxSize", DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Sprawdza, czy pula została utworzona i nie jest zamknięta.
+     *
+     * @return true, jeśli pula działa
+     */
+    public static synchronized boolean isRunning() {
+        return dataSource != null && !dataSource.isClosed();
+    }
+
+    /**
+     * Zwraca aktualny stan puli wraz z percentylami czasu pobrania
+     * połączenia. Jeśli pula nie działa, liczniki połączeń są zerowe.
+     *
+     * @return migawka stanu puli
+     */
+    public static synchronized Snapshot snapshot() {
+        int active = 0;
+        int idle = 0;
+        int total = 0;
+        int waiting = 0;
+        int maxSize = 0;
+        if (isRunning()) {
+            maxSize = dataSource.getMaximumPoolSize();
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            if (pool != null) {
+                active = pool.getActiveConnections();
+                idle = pool.getIdleConnections();
+                total = pool.getTotalConnections();
+                waiting = pool.getThreadsAwaitingConnection();
+            }
+        }
+        return new Snapshot(active, idle, total, waiting, maxSize,
+                acquireLatency.getCount(),
+                acquireTimeouts.sum(),
+                acquireLatency.getPercentileMillis(50),
+                acquireLatency.getPercentileMillis(95),
+                acquireLatency.getPercentileMillis(99),
+                acquireLatency.getMaxMillis());
+    }
+
+    /**
+     * Zamyka pulę i wszystkie jej połączenia.
+     * Kolejne wywołanie {@link #getDataSource()} utworzy nową pulę
+     * z aktualną konfiguracją.
+     */
+    public static synchronized void close() {
+        if (isRunning()) {
+            logger.info("Zamykanie puli połączeń {}", POOL_NAME);
+            dataSource.close();
+        }
+        dataSource = null;
+    }
+
+    private static HikariDataSource createDataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(POOL_NAME);
+        String overrideUrl = DatabaseConfig.getJdbcUrlOverride();
+        if (overrideUrl != null) {
+            config.setJdbcUrl(overrideUrl);
+            config.setUsername(System.getProperty("stonka.db.user", "sa"));
+            config.setPassword(System.getProperty("stonka.db.password", ""));
+        } else {
+            config.setDriverClassName("com.mysql.cj.jdbc.Driver");
+            config.setJdbcUrl(DatabaseConfig.getMySqlDbUrl());
+            config.setUsername(DatabaseConfig.getDbUser());
+            config.setPassword(DatabaseConfig.getDbPassword());
+
+            // Buforowanie przygotowanych zapytań po stronie sterownika MySQL
+            config.addDataSourceProperty("cachePrepStmts", "true");
+            config.addDataSourceProperty("prepStmtCacheSize", "250");
+            config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+            // Wsady JDBC wysyłane jako jedno wielowierszowe polecenie
+            config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        }
+
+        config.setMaximumPoolSize(getConfiguredMaxSize());
+        config.setMinimumIdle(intProperty("db.pool.minIdle",
+                DEFAULT_MIN_IDLE));
+        config.setConnectionTimeout(longProperty(
+                "db.pool.connectionTimeoutMs",
+                DEFAULT_CONNECTION_TIMEOUT_MS));
+        config.setIdleTimeout(longProperty("db.pool.idleTimeoutMs",
+                DEFAULT_IDLE_TIMEOUT_MS));
+        config.setMaxLifetime(longProperty("db.pool.maxLifetimeMs",
+                DEFAULT_MAX_LIFETIME_MS));
+
+        config.setMetricsTrackerFactory(new LatencyTrackerFactory());
+
+        logger.info("Tworzenie puli połączeń {}: maxSize={}, minIdle={}, "
+                        + "connectionTimeout={} ms",
+                POOL_NAME, config.getMaximumPoolSize(),
+                config.getMinimumIdle(), config.getConnectionTimeout());
+        return new HikariDataSource(config);
+    }
+
+    private static int intProperty(String key, int defaultValue) {
+        return (int) longProperty(key, defaultValue);
+    }
+
+    private static long longProperty(String key, long defaultValue) {
+        String value = DatabaseConfig.properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Niepoprawna wartość {}={}, używam domyślnej {}",
+                    key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Fabryka trackerów HikariCP zapisująca czasy pobrania połączeń
+     * do wspólnego histogramu.
+     */
+    private static final class LatencyTrackerFactory
+            implements MetricsTrackerFactory {
+
+        @Override
+        public IMetricsTracker create(String poolName, PoolStats poolStats) {
+            return new IMetricsTracker() {
+                @Override
+                public void recordConnectionAcquiredNanos(
+                        long elapsedAcquiredNanos) {
+                    acquireLatency.recordNanos(elapsedAcquiredNanos);
+                }
+
+                @Override
+                public void recordConnectionTimeout() {
+                    acquireTimeouts.increment();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,709 @@
+/*
+ * Classname: DatabaseBackupEngine
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.database;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Logiczna kopia zapasowa bazy danych wykonywana w procesie aplikacji,
+ * bez zewnętrznego programu mysqldump.
+ * <p>
+ * Kopia jest katalogiem z manifestem ({@value #MANIFEST_FILE}) i jednym
+ * skompresowanym plikiem SQL na tabelę. Tabele są zrzucane równolegle
+ * przez kilka połączeń z puli. Na MySQL wszystkie połączenia otwierają
+ * transakcję {@code START TRANSACTION WITH CONSISTENT SNAPSHOT} pod
+ * krótką globalną blokadą odczytu ({@code FLUSH TABLES WITH READ LOCK}),
+ * więc widzą ten sam stan bazy. Jeśli użytkownik nie ma uprawnienia
+ * RELOAD, migawki otwierane są bez blokady, jedna po drugiej.
+ * <p>
+ * Wiersze zapisywane są wielowierszowymi poleceniami INSERT
+ * (do {@value #ROWS_PER_INSERT} wierszy w poleceniu). Odtworzenie
+ * ({@link #restore(Path, ProgressListener)}) wykonuje pliki tabel
+ * równolegle, każdy w osobnej transakcji z wyłączonym sprawdzaniem
+ * kluczy obcych.
+ */
+public final class DatabaseBackupEngine {
+
+    private static final Logger logger =
+            LogManager.getLogger(DatabaseBackupEngine.class);
+
+    /**
+     * Nazwa pliku manifestu w katalogu kopii.
+     */
+    public static final String MANIFEST_FILE = "dump-manifest.properties";
+
+    /**
+     * Maksymalna liczba tabel zrzucanych lub odtwarzanych jednocześnie.
+     */
+    private static final int MAX_WORKERS = 4;
+
+    /**
+     * Maksymalna liczba wierszy w jednym poleceniu INSERT.
+     */
+    static final int ROWS_PER_INSERT = 500;
+
+    /**
+     * Maksymalna długość jednego polecenia INSERT (w znakach),
+     * bezpiecznie poniżej domyślnego max_allowed_packet MySQL.
+     */
+    private static final int MAX_STATEMENT_CHARS = 1 << 20;
+
+    /**
+     * Liczba poleceń INSERT wysyłanych jedną paczką przy odtwarzaniu.
+     */
+    private static final int RESTORE_BATCH_SIZE = 16;
+
+    private static final DateTimeFormatter DIRECTORY_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH-mm-ss");
+
+    private DatabaseBackupEngine() {
+    }
+
+    /**
+     * Postęp zrzutu lub odtwarzania.
+     *
+     * @param table              nazwa tabeli
+     * @param rows               liczba wierszy tabeli przetworzonych
+     *                           do tej pory
+     * @param bytes              liczba bajtów SQL tabeli przetworzonych
+     *                           do tej pory
+     * @param megabytesPerSecond łączna przepustowość wszystkich tabel
+     * @param finished           czy tabela została zakończona
+     */
+    public record Progress(String table,
+                           long rows,
+                           long bytes,
+                           double megabytesPerSecond,
+                           boolean finished) {
+    }
+
+    /**
+     * Odbiorca postępu. Może być wywoływany równolegle z wielu wątków.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(Progress progress);
+    }
+
+    /**
+     * Wynik zrzutu lub odtwarzania.
+     *
+     * @param location           katalog kopii
+     * @param tables             liczba tabel
+     * @param rows               liczba wierszy
+     * @param bytes              liczba bajtów SQL (przed kompresją)
+     * @param megabytesPerSecond średnia przepustowość
+     */
+    public record Result(Path location,
+                         int tables,
+                         long rows,
+                         long bytes,
+                         double megabytesPerSecond) {
+    }
+
+    /**
+     * Dialekt SQL zapisywany w kopii. H2 jest używane w testach
+     * i benchmarkach.
+     */
+    enum Dialect {
+        MYSQL, H2;
+
+        static Dialect current() {
+            return DatabaseConfig.getJdbcUrlOverride() == null ? MYSQL : H2;
+        }
+
+        String quote(String identifier) {
+            return this == MYSQL ? "`" + identifier + "`" : identifier;
+        }
+    }
+
+    /**
+     * Wynik przetworzenia jednej tabeli.
+     */
+    private record TableResult(String table, long rows, long bytes) {
+    }
+
+    /**
+     * Wspólny licznik przepustowości wszystkich wątków.
+     */
+    private static final class Throughput {
+        private final long start = System.nanoTime();
+        private final AtomicLong bytes = new AtomicLong();
+        private final ProgressListener listener;
+
+        Throughput(ProgressListener listener) {
+            this.listener = listener;
+        }
+
+        void add(String table, long tableRows, long tableBytes, long delta,
+                 boolean finished) {
+            bytes.addAndGet(delta);
+            if (listener != null) {
+                listener.onProgress(new Progress(table, tableRows,
+                        tableBytes, megabytesPerSecond(), finished));
+            }
+        }
+
+        double megabytesPerSecond() {
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            return seconds > 0 ? bytes.get() / 1_048_576.0 / seconds : 0;
+        }
+    }
+
+    /**
+     * Zrzuca wszystkie tabele bazy do nowego katalogu kopii
+     * {@code stonkadb-backup-<data>} w podanym katalogu.
+     * Jeśli zrzut którejkolwiek tabeli się nie powiedzie, niepełny
+     * katalog jest usuwany, a wyjątek przekazywany dalej.
+     *
+     * @param parentDirectory katalog, w którym powstanie kopia
+     * @param listener        odbiorca postępu (może być null)
+     * @return podsumowanie kopii
+     * @throws SQLException Jeśli wystąpi błąd bazy danych
+     * @throws IOException Jeśli wystąpi błąd zapisu kopii
+     */
+    public static Result dump(Path parentDirectory, ProgressListener listener)
+            throws SQLException, IOException {
+        Dialect dialect = Dialect.current();
+        Path directory = parentDirectory.resolve("stonkadb-backup-"
+                + LocalDateTime.now().format(DIRECTORY_TIMESTAMP));
+        Files.createDirectories(directory);
+        Throughput throughput = new Throughput(listener);
+
+        List<Connection> connections = new ArrayList<>();
+        try {
+            List<String> tables;
+            try (Connection conn = ConnectionPool.getDataSource()
+                    .getConnection()) {
+                tables = DatabaseBackupExporter.getAllTables(conn);
+                int workers = Math.max(1, Math.min(MAX_WORKERS,
+                        tables.size()));
+                for (int i = 0; i < workers; i++) {
+                    connections.add(ConnectionPool.getDataSource()
+                            .getConnection());
+                }
+                openSnapshots(conn, connections, dialect);
+            }
+            logger.info("dump() – zrzut {} tabel do {} ({} połączeń)",
+                    tables.size(), directory, connections.size());
+
+            Queue<String> queue = new ConcurrentLinkedQueue<>(tables);
+            List<TableResult> results = runWorkers(connections, conn -> {
+                List<TableResult> done = new ArrayList<>();
+                String table;
+                while ((table = queue.poll()) != null) {
+                    done.add(dumpTable(conn, table, directory, dialect,
+                            throughput));
+                }
+                return done;
+            });
+
+            writeManifest(directory, dialect, results);
+            Result result = summarize(directory, results, throughput);
+            logger.info("dump() – zakończono: {}", result);
+            return result;
+        } catch (SQLException | IOException | RuntimeException e) {
+            logger.error("dump() – błąd zrzutu, usuwanie niepełnej kopii {}",
+                    directory, e);
+            deleteDirectory(directory);
+            throw e;
+        } finally {
+            for (Connection conn : connections) {
+                closeSnapshot(conn);
+            }
+        }
+    }
+
+    /**
+     * Odtwarza bazę z katalogu kopii utworzonego przez
+     * {@link #dump(Path, ProgressListener)}. Pliki tabel wykonywane są
+     * równolegle; każda tabela odtwarzana jest w osobnej transakcji.
+     *
+     * @param directory katalog kopii
+     * @param listener  odbiorca postępu (może być null)
+     * @return podsumowanie odtwarzania
+     * @throws SQLException Jeśli wystąpi błąd bazy danych
+     * @throws IOException Jeśli kopia jest niepełna lub nieczytelna
+     */
+    public static Result restore(Path directory, ProgressListener listener)
+            throws SQLException, IOException {
+        Path manifestFile = directory.resolve(MANIFEST_FILE);
+        if (!Files.exists(manifestFile)) {
+            throw new IOException("Katalog nie zawiera kopii bazy: "
+                    + directory.toAbsolutePath());
+        }
+        Properties manifest = new Properties();
+        try (InputStream in = Files.newInputStream(manifestFile)) {
+            manifest.load(in);
+        }
+        Dialect dialect = Dialect.valueOf(manifest.getProperty("dialect"));
+        if (dialect != Dialect.current()) {
+            throw new IOException("Kopia została wykonana dla bazy "
+                    + dialect + ", a bieżąca baza to "
+                    + Dialect.current());
+        }
+        String tableList = manifest.getProperty("tables", "");
+        List<String> tables = tableList.isEmpty()
+                ? List.of() : List.of(tableList.split(","));
+        Throughput throughput = new Throughput(listener);
+        logger.info("restore() – odtwarzanie {} tabel z {}",
+                tables.size(), directory);
+
+        List<Connection> connections = new ArrayList<>();
+        try {
+            int workers = Math.max(1, Math.min(MAX_WORKERS, tables.size()));
+            for (int i = 0; i < workers; i++) {
+                connections.add(ConnectionPool.getDataSource()
+                        .getConnection());
+            }
+            if (dialect == Dialect.H2) {
+                // W H2 ustawienie jest globalne, a nie sesyjne
+                try (Statement stmt = connections.get(0).createStatement()) {
+                    stmt.execute("SET REFERENTIAL_INTEGRITY FALSE");
+                }
+            }
+            Queue<String> queue = new ConcurrentLinkedQueue<>(tables);
+            List<TableResult> results = runWorkers(connections, conn -> {
+                List<TableResult> done = new ArrayList<>();
+                String table;
+                while ((table = queue.poll()) != null) {
+                    done.add(restoreTable(conn, table, directory, dialect,
+                            throughput));
+                }
+                return done;
+            });
+            SecondLevelCache.evictAll();
+            Result result = summarize(directory, results, throughput);
+            logger.info("restore() – zakończono: {}", result);
+            return result;
+        } finally {
+            if (dialect == Dialect.H2 && !connections.isEmpty()) {
+                try (Statement stmt = connections.get(0).createStatement()) {
+                    stmt.execute("SET REFERENTIAL_INTEGRITY TRUE");
+                } catch (SQLException e) {
+                    logger.error("restore() – nie można przywrócić "
+                            + "sprawdzania kluczy obcych", e);
+                }
+            }
+            for (Connection conn : connections) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    logger.warn("restore() – błąd zamykania połączenia", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Zadanie wątku roboczego wykonywane na jego połączeniu.
+     */
+    @FunctionalInterface
+    private interface Worker {
+        List<TableResult> run(Connection conn) throws Exception;
+    }
+
+    /**
+     * Uruchamia po jednym wątku na połączenie i zbiera wyniki.
+     * Pierwszy błąd dowolnego wątku przerywa całą operację.
+     */
+    private static List<TableResult> runWorkers(List<Connection> connections,
+                                                Worker worker)
+            throws SQLException, IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(
+                connections.size(),
+                Thread.ofPlatform().name("db-backup-", 0).factory());
+        try {
+            List<Future<List<TableResult>>> futures = new ArrayList<>();
+            for (Connection conn : connections) {
+                futures.add(executor.submit(() -> worker.run(conn)));
+            }
+            List<TableResult> results = new ArrayList<>();
+            for (Future<List<TableResult>> future : futures) {
+                results.addAll(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            executor.shutdownNow();
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException sql) {
+                throw sql;
+            }
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            throw new IOException("Operacja została przerwana", e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Otwiera na każdym połączeniu roboczym transakcję tylko do odczytu
+     * ze spójną migawką danych.
+     */
+    private static void openSnapshots(Connection coordinator,
+                                      List<Connection> connections,
+                                      Dialect dialect) throws SQLException {
+        boolean locked = false;
+        if (dialect == Dialect.MYSQL) {
+            try (Statement stmt = coordinator.createStatement()) {
+                stmt.execute("FLUSH TABLES WITH READ LOCK");
+                locked = true;
+            } catch (SQLException e) {
+                logger.warn("openSnapshots() – brak uprawnień do blokady "
+                        + "odczytu, migawki mogą się nieznacznie różnić: {}",
+                        e.getMessage());
+            }
+        }
+        try {
+            for (Connection conn : connections) {
+                conn.setTransactionIsolation(
+                        Connection.TRANSACTION_REPEATABLE_READ);
+                conn.setAutoCommit(false);
+                if (dialect == Dialect.MYSQL) {
+                    try (Statement stmt = conn.createStatement()) {
+                        stmt.execute("START TRANSACTION WITH CONSISTENT "
+                                + "SNAPSHOT, READ ONLY");
+                    }
+                }
+            }
+        } finally {
+            if (locked) {
+                try (Statement stmt = coordinator.createStatement()) {
+                    stmt.execute("UNLOCK TABLES");
+                }
+            }
+        }
+    }
+
+    private static void closeSnapshot(Connection conn) {
+        try {
+            if (!conn.getAutoCommit()) {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.warn("closeSnapshot() – błąd zamykania migawki", e);
+        }
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            logger.warn("closeSnapshot() – błąd zamykania połączenia", e);
+        }
+    }
+
+    /**
+     * Zrzuca jedną tabelę: definicję (MySQL) lub czyszczenie tabeli
+     * (H2) oraz dane jako wielowierszowe polecenia INSERT.
+     */
+    private static TableResult dumpTable(Connection conn,
+                                         String table,
+                                         Path directory,
+                                         Dialect dialect,
+                                         Throughput throughput)
+            throws SQLException, IOException {
+        long rows = 0;
+        long bytes = 0;
+        Path file = directory.resolve(table + ".sql.gz");
+        try (Writer writer = DatabaseBackupExporter.openWriter(file, true);
+             Statement stmt = conn.createStatement(
+                     ResultSet.TYPE_FORWARD_ONLY,
+                     ResultSet.CONCUR_READ_ONLY)) {
+            StringBuilder sql = new StringBuilder(8192);
+            sql.append("-- Tabela ").append(table).append('\n');
+            if (dialect == Dialect.MYSQL) {
+                sql.append("DROP TABLE IF EXISTS ")
+                        .append(dialect.quote(table)).append(";\n")
+                        .append(showCreateTable(stmt, table)).append(";\n");
+            } else {
+                sql.append("DELETE FROM ").append(table).append(";\n");
+            }
+            bytes += flush(sql, writer);
+
+            stmt.setFetchSize(DatabaseConfig.getStreamingFetchSize());
+            try (ResultSet rs = stmt.executeQuery("SELECT * FROM "
+                    + dialect.quote(table))) {
+                ResultSetMetaData meta = rs.getMetaData();
+                int columns = meta.getColumnCount();
+                int[] types = new int[columns];
+                StringBuilder prefix = new StringBuilder("INSERT INTO ")
+                        .append(dialect.quote(table)).append(" (");
+                for (int i = 1; i <= columns; i++) {
+                    types[i - 1] = meta.getColumnType(i);
+                    prefix.append(i > 1 ? ", " : "")
+                            .append(dialect.quote(meta.getColumnName(i)));
+                }
+                prefix.append(") VALUES\n");
+
+                int inStatement = 0;
+                while (rs.next()) {
+                    sql.append(inStatement == 0 ? prefix : ",\n");
+                    appendRow(sql, rs, types, dialect);
+                    rows++;
+                    if (++inStatement == ROWS_PER_INSERT
+                            || sql.length() >= MAX_STATEMENT_CHARS) {
+                        sql.append(";\n");
+                        long written = flush(sql, writer);
+                        bytes += written;
+                        throughput.add(table, rows, bytes, written, false);
+                        inStatement = 0;
+                    }
+                }
+                if (inStatement > 0) {
+                    sql.append(";\n");
+                }
+                long written = flush(sql, writer);
+                bytes += written;
+                throughput.add(table, rows, bytes, written, true);
+            }
+        }
+        logger.debug("dumpTable() – {}: {} wierszy, {} B", table, rows, bytes);
+        return new TableResult(table, rows, bytes);
+    }
+
+    private static String showCreateTable(Statement stmt, String table)
+            throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SHOW CREATE TABLE "
+                + Dialect.MYSQL.quote(table))) {
+            rs.next();
+            return rs.getString(2);
+        }
+    }
+
+    private static long flush(StringBuilder sql, Writer writer)
+            throws IOException {
+        int length = sql.length();
+        writer.append(sql);
+        sql.setLength(0);
+        return length;
+    }
+
+    /**
+     * Dopisuje wiersz jako krotkę literałów SQL.
+     */
+    private static void appendRow(StringBuilder sql,
+                                  ResultSet rs,
+                                  int[] types,
+                                  Dialect dialect) throws SQLException {
+        sql.append('(');
+        for (int i = 1; i <= types.length; i++) {
+            if (i > 1) {
+                sql.append(", ");
+            }
+            appendValue(sql, rs, i, types[i - 1], dialect);
+        }
+        sql.append(')');
+    }
+
+    private static void appendValue(StringBuilder sql,
+                                    ResultSet rs,
+                                    int column,
+                                    int type,
+                                    Dialect dialect) throws SQLException {
+        switch (type) {
+            case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY,
+                 Types.BLOB -> {
+                byte[] value = rs.getBytes(column);
+                if (value == null) {
+                    sql.append("NULL");
+                } else {
+                    sql.append("X'").append(HexFormat.of().formatHex(value))
+                            .append('\'');
+                }
+            }
+            case Types.BIT, Types.BOOLEAN -> {
+                boolean value = rs.getBoolean(column);
+                sql.append(rs.wasNull() ? "NULL" : value ? "TRUE" : "FALSE");
+            }
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT,
+                 Types.DECIMAL, Types.NUMERIC, Types.REAL, Types.FLOAT,
+                 Types.DOUBLE -> {
+                String value = rs.getString(column);
+                sql.append(value == null ? "NULL" : value);
+            }
+            default -> {
+                String value = rs.getString(column);
+                if (value == null) {
+                    sql.append("NULL");
+                } else {
+                    appendString(sql, value, dialect);
+                }
+            }
+        }
+    }
+
+    /**
+     * Dopisuje literał tekstowy. MySQL interpretuje ukośnik wsteczny
+     * jako znak ucieczki, więc jest on podwajany; H2 traktuje go
+     * dosłownie.
+     */
+    static void appendString(StringBuilder sql, String value,
+                             Dialect dialect) {
+        sql.append('\'');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\'') {
+                sql.append("''");
+            } else if (c == '\\' && dialect == Dialect.MYSQL) {
+                sql.append("\\\\");
+            } else {
+                sql.append(c);
+            }
+        }
+        sql.append('\'');
+    }
+
+    /**
+     * Wykonuje plik jednej tabeli w osobnej transakcji.
+     */
+    private static TableResult restoreTable(Connection conn,
+                                            String table,
+                                            Path directory,
+                                            Dialect dialect,
+                                            Throughput throughput)
+            throws SQLException, IOException {
+        Path file = directory.resolve(table + ".sql.gz");
+        long[] reported = new long[1];
+        SqlScriptRunner runner = new SqlScriptRunner(RESTORE_BATCH_SIZE,
+                p -> {
+                    throughput.add(table, p.rows(), p.position(),
+                            p.position() - reported[0], false);
+                    reported[0] = p.position();
+                });
+        SqlScriptRunner.Result result;
+        boolean autoCommit = conn.getAutoCommit();
+        try (Reader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file), 1 << 16),
+                StandardCharsets.UTF_8), 1 << 16);
+             Statement stmt = conn.createStatement()) {
+            if (dialect == Dialect.MYSQL) {
+                stmt.execute("SET FOREIGN_KEY_CHECKS = 0");
+                stmt.execute("SET UNIQUE_CHECKS = 0");
+            }
+            conn.setAutoCommit(false);
+            try {
+                result = runner.execute(conn, new SqlScriptRunner.Parser(
+                        reader, dialect == Dialect.MYSQL), -1);
+                conn.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+                if (dialect == Dialect.MYSQL) {
+                    // Połączenie wraca do puli – przywróć ustawienia sesji
+                    stmt.execute("SET UNIQUE_CHECKS = 1");
+                    stmt.execute("SET FOREIGN_KEY_CHECKS = 1");
+                }
+            }
+        }
+        long rows = result.rows();
+        throughput.add(table, rows, reported[0], 0, true);
+        logger.debug("restoreTable() – {}: {} wierszy", table, rows);
+        return new TableResult(table, rows, reported[0]);
+    }
+
+    private static void writeManifest(Path directory,
+                                      Dialect dialect,
+                                      List<TableResult> results)
+            throws IOException {
+        Map<String, TableResult> byTable = new ConcurrentHashMap<>();
+        results.forEach(r -> byTable.put(r.table(), r));
+        List<String> tables = new ArrayList<>(byTable.keySet());
+        tables.sort(Comparator.naturalOrder());
+
+        Properties props = new Properties();
+        props.setProperty("dialect", dialect.name());
+        props.setProperty("created", Instant.now().toString());
+        props.setProperty("tables", String.join(",", tables));
+        for (String table : tables) {
+            props.setProperty(table + ".rows",
+                    Long.toString(byTable.get(table).rows()));
+            props.setProperty(table + ".bytes",
+                    Long.toString(byTable.get(table).bytes()));
+        }
+        Path tmp = directory.resolve(MANIFEST_FILE + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            props.store(out, "Kopia bazy danych StonkaDB");
+        }
+        Files.move(tmp, directory.resolve(MANIFEST_FILE),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Result summarize(Path directory,
+                                    List<TableResult> results,
+                                    Throughput throughput) {
+        long rows = 0;
+        long bytes = 0;
+        for (TableResult r : results) {
+            rows += r.rows();
+            bytes += r.bytes();
+        }
+        return new Result(directory, results.size(), rows, bytes,
+                throughput.megabytesPerSecond());
+    }
+
+    private static void deleteDirectory(Path directory) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException e) {
+                    logger.warn("deleteDirectory() – nie można usunąć {}",
+                            p);
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("deleteDirectory() – błąd usuwania {}", directory, e);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * Classname: DatabaseBackupExporter
- * Version information: 1.1
+ * Version information: 1.2
  * Date: 2025-06-07
  * Copyright notice: © BŁĘKITNI
  */
@@ -9,18 +9,99 @@ package org.example.database;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.example.utils.StonkaEvents;
 
-import java.io.File;
-import java.io.FileWriter;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
 
+/**
+ * Eksport wszystkich tabel bazy danych do plików CSV.
+ * Niezależne tabele eksportowane są równolegle na ograniczonej puli
+ * wątków, każda na osobnym połączeniu z {@link ConnectionPool}.
+ * Wyniki zapytań są czytane strumieniowo
+ * ({@link DatabaseConfig#getStreamingFetchSize()}), a wiersze zapisywane
+ * bezpośrednio do buforowanego kanału pliku w UTF-8, opcjonalnie
+ * kompresowanego gzipem, więc zużycie pamięci nie zależy od
+ * rozmiaru tabel.
+ */
 public class DatabaseBackupExporter implements ILacz {
     private static final Logger logger
             = LogManager.getLogger(DatabaseBackupExporter.class);
 
+    /**
+     * Maksymalna liczba tabel eksportowanych jednocześnie.
+     */
+    private static final int MAX_PARALLEL_TABLES = 4;
+
+    /**
+     * Rozmiar bufora zapisu pliku.
+     */
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Co tyle wierszy zgłaszany jest postęp eksportu tabeli.
+     */
+    private static final int PROGRESS_INTERVAL_ROWS = 10_000;
+
+    /**
+     * Znacznik wartości NULL w pliku CSV. Zapisywany bez cudzysłowu;
+     * pusty napis i napis o tej samej treści są ujmowane w cudzysłów,
+     * więc przy odtwarzaniu można je odróżnić.
+     */
+    static final String NULL_TOKEN = "\\N";
+
+    /**
+     * Postęp eksportu jednej tabeli.
+     *
+     * @param table         nazwa tabeli
+     * @param rows          liczba zapisanych wierszy
+     * @param rowsPerSecond średnia prędkość eksportu tabeli
+     * @param finished      czy eksport tabeli został zakończony
+     */
+    public record TableProgress(String table,
+                                long rows,
+                                double rowsPerSecond,
+                                boolean finished) {
+    }
+
+    /**
+     * Odbiorca postępu eksportu. Może być wywoływany równolegle
+     * z wielu wątków eksportu.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(TableProgress progress);
+    }
+
+    /**
+     * Wynik eksportu.
+     *
+     * @param exported liczba poprawnie wyeksportowanych tabel
+     * @param total    liczba wszystkich tabel
+     */
+    public record ExportSummary(int exported, int total) {
+    }
+
     /**
      * Eksportuje wszystkie tabele z bazy danych do
      * plików CSV w określonym folderze.
@@ -33,68 +114,130 @@ public class DatabaseBackupExporter implements ILacz {
     public static void exportAllTablesToCsv(String outputFolder)
             throws SQLException,
             IOException {
-        // Utworzenie instancji do dostępu do parametrów połączenia
-        DatabaseBackupExporter exporter = new DatabaseBackupExporter();
+        exportAllTablesToCsv(outputFolder, false, null);
+    }
 
-        // Utwórz folder jeśli nie istnieje
-        File folder = new File(outputFolder);
-        if (!folder.exists() && !folder.mkdirs()) {
+    /**
+     * Eksportuje wszystkie tabele z bazy danych do plików CSV
+     * (lub CSV.GZ) w określonym folderze. Błąd eksportu jednej tabeli
+     * jest logowany i nie przerywa eksportu pozostałych.
+     *
+     * @param outputFolder Ścieżka do folderu,
+     *                     w którym mają zostać zapisane pliki
+     * @param gzip         czy kompresować pliki gzipem
+     * @param listener     odbiorca postępu (może być null)
+     * @return liczba wyeksportowanych i wszystkich tabel
+     * @throws SQLException Jeśli nie można pobrać listy tabel
+     * @throws IOException Jeśli nie można utworzyć katalogu docelowego
+     */
+    public static ExportSummary exportAllTablesToCsv(
+            String outputFolder,
+            boolean gzip,
+            ProgressListener listener
+    ) throws SQLException, IOException {
+        Path folder = Paths.get(outputFolder);
+        try {
+            Files.createDirectories(folder);
+        } catch (IOException e) {
             throw new IOException("Nie można utworzyć katalogu: " +
-                    outputFolder);
+                    outputFolder, e);
         }
 
-        try (Connection conn = DriverManager.getConnection(
-                exporter.getMySqlDbUrl(),
-                exporter.getMySqlUser(),
-                exporter.getMySqlPassword())
-        ) {
-            logger.info("Rozpoczynanie eksportu " +
-                    "bazy danych do plików CSV w folderze: {}", outputFolder);
+        List<String> tables;
+        try (Connection conn = ConnectionPool.getDataSource()
+                .getConnection()) {
+            tables = getAllTables(conn);
+        }
+        logger.info("Rozpoczynanie eksportu {} tabel do plików CSV " +
+                "w folderze: {}", tables.size(), outputFolder);
+        if (tables.isEmpty()) {
+            return new ExportSummary(0, 0);
+        }
+
+        int exported = runPerTable(tables, table ->
+                exportTableToCsv(table, folder, gzip, listener)).size();
 
-            // Pobierz listę wszystkich tabel w bazie danych
-            List<String> tables = getAllTables(conn, exporter.getDbName());
+        logger.info("Zakończono eksport. " +
+                        "Wyeksportowano {} z {} tabel.",
+                exported, tables.size());
+        return new ExportSummary(exported, tables.size());
+    }
 
-            // Eksportuj każdą tabelę do osobnego pliku CSV
+    /**
+     * Zadanie wykonywane dla jednej tabeli.
+     *
+     * @param <T> typ wyniku zadania
+     */
+    @FunctionalInterface
+    interface TableTask<T> {
+        T run(String table) throws Exception;
+    }
+
+    /**
+     * Wykonuje zadanie dla każdej tabeli, równolegle na ograniczonej
+     * puli wątków. Błąd zadania jednej tabeli jest logowany i nie
+     * przerywa pozostałych.
+     *
+     * @param tables lista tabel
+     * @param task   zadanie dla pojedynczej tabeli
+     * @param <T>    typ wyniku zadania
+     * @return wyniki zadań zakończonych powodzeniem, w kolejności tabel
+     * @throws IOException Jeśli oczekiwanie na zadania zostało przerwane
+     */
+    static <T> Map<String, T> runPerTable(List<String> tables,
+                                          TableTask<T> task)
+            throws IOException {
+        Map<String, T> results = new LinkedHashMap<>();
+        if (tables.isEmpty()) {
+            return results;
+        }
+        int threads = Math.min(MAX_PARALLEL_TABLES, tables.size());
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("csv-export-", 0).factory());
+        try {
+            List<Future<T>> futures = new ArrayList<>();
             for (String table : tables) {
+                futures.add(executor.submit(() -> task.run(table)));
+            }
+            for (int i = 0; i < tables.size(); i++) {
                 try {
-                    if (tableExists(conn, table)) {
-                        exportTableToCsv(conn, table, folder);
-                    } else {
-                        logger.warn("Tabela {} nie istnieje," +
-                                " pomijam eksport", table);
-                    }
-                } catch (Exception e) {
+                    results.put(tables.get(i), futures.get(i).get());
+                } catch (ExecutionException e) {
                     logger.error("Błąd podczas eksportu tabeli {}:" +
-                            " {}", table, e.getMessage(), e);
+                                    " {}", tables.get(i),
+                            e.getCause().getMessage(), e.getCause());
                 }
             }
-
-            logger.info("Zakończono eksport. " +
-                            "Wyeksportowano {} z {} tabel.",
-                    tables.size() - countErrors, tables.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            throw new IOException("Eksport CSV został przerwany", e);
+        } finally {
+            executor.shutdown();
         }
+        return results;
     }
 
-    private static int countErrors = 0;
-
     /**
      * Pobiera listę wszystkich tabel w bazie danych.
      *
      * @param conn Połączenie z bazą danych
-     * @param dbName Nazwa bazy danych
      * @return Lista nazw tabel
      * @throws SQLException Jeśli wystąpi błąd SQL
      */
-    private static List<String> getAllTables(Connection conn, String dbName)
+    static List<String> getAllTables(Connection conn)
             throws SQLException {
         List<String> tables = new ArrayList<>();
         DatabaseMetaData meta = conn.getMetaData();
 
-        try (ResultSet rs = meta.getTables(dbName,
-                null, "%",
-                new String[] {"TABLE"})) {
+        try (ResultSet rs = meta.getTables(conn.getCatalog(),
+                conn.getSchema(), "%", null)) {
             while (rs.next()) {
-                tables.add(rs.getString("TABLE_NAME"));
+                String type = rs.getString("TABLE_TYPE");
+                // H2 zwraca "BASE TABLE", MySQL "TABLE"
+                if ("TABLE".equals(type) || "BASE TABLE".equals(type)) {
+                    tables.add(rs.getString("TABLE_NAME"));
+                }
             }
         }
 
@@ -103,69 +246,92 @@ public class DatabaseBackupExporter implements ILacz {
     }
 
     /**
-     * Sprawdza czy tabela o podanej nazwie istnieje w bazie danych.
+     * Eksportuje pojedynczą tabelę do pliku CSV na osobnym
+     * połączeniu z puli.
      *
-     * @param conn Połączenie z bazą danych
-     * @param tableName Nazwa tabeli
-     * @return true jeśli tabela istnieje, false w przeciwnym przypadku
-     */
-    private static boolean tableExists(Connection conn, String tableName) {
-        try {
-            DatabaseMetaData meta = conn.getMetaData();
-            try (ResultSet rs = meta.getTables(null, null,
-                    tableName, new String[] {"TABLE"})) {
-                return rs.next();
-            }
-        } catch (SQLException e) {
-            logger.error("Błąd podczas sprawdzania istnienia tabeli" +
-                    " {}: {}", tableName, e.getMessage());
-            return false;
-        }
-    }
-
-    /**
-     * Eksportuje pojedynczą tabelę do pliku CSV.
-     *
-     * @param conn Połączenie z bazą danych
      * @param tableName Nazwa tabeli do eksportu
      * @param outputFolder Folder docelowy
+     * @param gzip czy kompresować plik gzipem
+     * @param listener odbiorca postępu (może być null)
+     * @return liczba wyeksportowanych wierszy
      * @throws SQLException Jeśli wystąpi błąd SQL
      * @throws IOException Jeśli wystąpi błąd zapisu pliku
      */
-    private static void exportTableToCsv(
-            Connection conn,
+    private static long exportTableToCsv(
             String tableName,
-            File outputFolder
+            Path outputFolder,
+            boolean gzip,
+            ProgressListener listener
     ) throws SQLException,
             IOException {
-        String csvFilePath = new File(outputFolder,
-                tableName + ".csv").getAbsolutePath();
+        Path csvFile = outputFolder.resolve(tableName
+                + (gzip ? ".csv.gz" : ".csv"));
         logger.info("Eksportowanie tabeli {} do pliku {}",
-                tableName, csvFilePath);
+                tableName, csvFile.toAbsolutePath());
 
-        try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT * FROM " + tableName);
-             FileWriter writer = new FileWriter(csvFilePath)) {
+        long start = System.nanoTime();
+        StonkaEvents.TableExport event = new StonkaEvents.TableExport();
+        event.begin();
+        long rows;
+        try (Connection conn = ConnectionPool.getDataSource().getConnection();
+             Statement stmt = conn.createStatement(
+                     ResultSet.TYPE_FORWARD_ONLY,
+                     ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(DatabaseConfig.getStreamingFetchSize());
+            try (ResultSet rs = stmt.executeQuery(
+                         "SELECT * FROM " + tableName);
+                 Writer writer = openWriter(csvFile, gzip)) {
 
-            // Najpierw zapisz nagłówki kolumn
-            writeColumnHeaders(rs, writer);
+                // Najpierw zapisz nagłówki kolumn
+                writeColumnHeaders(rs, writer);
 
-            // Następnie zapisz dane
-            writeDataRows(rs, writer);
-
-            logger.debug("Pomyślnie wyeksportowano tabelę {}",
-                    tableName);
+                // Następnie zapisz dane
+                rows = writeDataRows(rs, writer, tableName, start,
+                        listener);
+            }
         } catch (SQLException e) {
-            countErrors++;
             logger.error("Błąd SQL podczas eksportu tabeli" +
                     " {}: {}", tableName, e.getMessage());
             throw e;
         } catch (IOException e) {
-            countErrors++;
             logger.error("Błąd IO podczas eksportu tabeli" +
                     " {}: {}", tableName, e.getMessage());
             throw e;
         }
+
+        report(listener, tableName, rows, start, true);
+        logger.debug("Pomyślnie wyeksportowano tabelę {}: {} " +
+                "wierszy", tableName, rows);
+        // rozmiar pliku znany dopiero po zamknięciu (gzip)
+        if (event.shouldCommit()) {
+            event.table = tableName;
+            event.rows = rows;
+            event.bytes = Files.size(csvFile);
+            event.commit();
+        }
+        return rows;
+    }
+
+    /**
+     * Otwiera buforowany zapis UTF-8 do kanału pliku,
+     * opcjonalnie z kompresją gzip.
+     *
+     * @param file plik docelowy
+     * @param gzip czy kompresować plik
+     * @return writer do pliku
+     * @throws IOException Jeśli nie można otworzyć pliku
+     */
+    static Writer openWriter(Path file, boolean gzip)
+            throws IOException {
+        OutputStream out = Channels.newOutputStream(FileChannel.open(file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE));
+        if (gzip) {
+            out = new GZIPOutputStream(out, WRITE_BUFFER_SIZE);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out,
+                StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
     }
 
     /**
@@ -176,62 +342,113 @@ public class DatabaseBackupExporter implements ILacz {
      * @throws SQLException Jeśli wystąpi błąd SQL
      * @throws IOException Jeśli wystąpi błąd zapisu pliku
      */
-    private static void writeColumnHeaders(ResultSet rs,
-                                           FileWriter writer
+    static void writeColumnHeaders(ResultSet rs,
+                                   Writer writer
     ) throws SQLException, IOException {
         ResultSetMetaData meta = rs.getMetaData();
         int columnCount = meta.getColumnCount();
 
-        StringBuilder headerLine = new StringBuilder();
         for (int i = 1; i <= columnCount; i++) {
-            headerLine.append(meta.getColumnName(i));
+            writer.write(meta.getColumnName(i));
             if (i < columnCount) {
-                headerLine.append(",");
+                writer.write(',');
             }
         }
-        writer.write(headerLine.toString());
-        writer.write("\n");
+        writer.write('\n');
     }
 
     /**
-     * Zapisuje wiersze danych do pliku CSV.
+     * Zapisuje wiersze danych do pliku CSV, pole po polu,
+     * bez składania całego wiersza w pamięci.
      *
      * @param rs ResultSet zawierający dane tabeli
      * @param writer Writer do pliku CSV
+     * @param tableName nazwa tabeli (dla raportu postępu)
+     * @param start początek eksportu tabeli (System.nanoTime())
+     * @param listener odbiorca postępu (może być null)
+     * @return liczba zapisanych wierszy
      * @throws SQLException Jeśli wystąpi błąd SQL
      * @throws IOException Jeśli wystąpi błąd zapisu pliku
      */
-    private static void writeDataRows
+    static long writeDataRows
     (ResultSet rs,
-     FileWriter writer
+     Writer writer,
+     String tableName,
+     long start,
+     ProgressListener listener
     ) throws SQLException,
             IOException {
-        ResultSetMetaData meta = rs.getMetaData();
-        int columnCount = meta.getColumnCount();
+        int columnCount = rs.getMetaData().getColumnCount();
 
+        long rows = 0;
         while (rs.next()) {
-            StringBuilder line = new StringBuilder();
             for (int i = 1; i <= columnCount; i++) {
                 Object value = rs.getObject(i);
-                if (value != null) {
-                    String stringValue = value.toString()
-                            .replace("\"", "\"\"")
-                            .replace("\n", "\\n")
-                            .replace("\r", "\\r");
-
-                    if (stringValue.contains(",")
-                            || stringValue.contains("\"")) {
-                        line.append("\"").append(stringValue).append("\"");
-                    } else {
-                        line.append(stringValue);
-                    }
+                if (value == null) {
+                    writer.write(NULL_TOKEN);
+                } else {
+                    writeField(writer, value.toString());
                 }
                 if (i < columnCount) {
-                    line.append(",");
+                    writer.write(',');
                 }
             }
-            writer.write(line.toString());
-            writer.write("\n");
+            writer.write('\n');
+            if (++rows % PROGRESS_INTERVAL_ROWS == 0) {
+                report(listener, tableName, rows, start, false);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Zapisuje jedno pole CSV. Cudzysłowy są podwajane, ukośnik
+     * wsteczny zapisywany jako \\, znaki nowej linii zamieniane
+     * na sekwencje \n i \r, a pole jest
+     * ujmowane w cudzysłów, jeśli zawiera przecinek lub cudzysłów,
+     * jest puste albo równe {@link #NULL_TOKEN}.
+     *
+     * @param writer Writer do pliku CSV
+     * @param value wartość pola
+     * @throws IOException Jeśli wystąpi błąd zapisu pliku
+     */
+    private static void writeField(Writer writer, String value)
+            throws IOException {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.isEmpty() || value.equals(NULL_TOKEN);
+        if (!quote && value.indexOf('\n') < 0 && value.indexOf('\r') < 0
+                && value.indexOf('\\') < 0) {
+            writer.write(value);
+            return;
+        }
+        if (quote) {
+            writer.write('"');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> writer.write("\"\"");
+                case '\\' -> writer.write("\\\\");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                default -> writer.write(c);
+            }
+        }
+        if (quote) {
+            writer.write('"');
+        }
+    }
+
+    static void report(ProgressListener listener,
+                       String tableName,
+                       long rows,
+                       long start,
+                       boolean finished) {
+        if (listener == null) {
+            return;
         }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        listener.onProgress(new TableProgress(tableName, rows,
+                seconds > 0 ? rows / seconds : 0, finished));
     }
-}
\ No newline at end of file
+}
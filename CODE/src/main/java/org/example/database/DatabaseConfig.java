@@ -116,6 +116,53 @@ public class DatabaseConfig {
         return url;
     }
 
+    /**
+     * Zwraca adres JDBC wymuszony właściwością systemową
+     * {@code stonka.db.url} (np. baza H2 w testach obciążeniowych).
+     * Użytkownik i hasło pochodzą wtedy z właściwości
+     * {@code stonka.db.user} i {@code stonka.db.password}.
+     *
+     * @return wymuszony adres JDBC lub null, gdy używany jest MySQL
+     * z pliku konfiguracyjnego
+     */
+    public static String getJdbcUrlOverride() {
+        String url = System.getProperty("stonka.db.url");
+        return url == null || url.isBlank() ? null : url;
+    }
+
+    /**
+     * Zwraca rozmiar pobierania (fetch size) dla zapytań czytanych
+     * strumieniowo. Sterownik MySQL przesyła wiersze pojedynczo
+     * tylko przy wartości {@link Integer#MIN_VALUE}; inne bazy
+     * (np. H2) otrzymują zwykły, dodatni rozmiar porcji.
+     *
+     * @return fetch size dla wyników przewijanych
+     */
+    public static int getStreamingFetchSize() {
+        return getJdbcUrlOverride() == null ? Integer.MIN_VALUE : 1000;
+    }
+
+    /**
+     * Zwraca czas (ms), przez jaki przekroczenia progów zamówień są
+     * zbierane przed zapisaniem projektów zamówień jednym wsadem
+     * (klucz {@code db.reorder.coalesceMs}, domyślnie 500 ms).
+     *
+     * @return czas łączenia przekroczeń w milisekundach
+     */
+    public static long getReorderCoalesceMillis() {
+        String value = properties.getProperty("db.reorder.coalesceMs");
+        if (value == null || value.isBlank()) {
+            return 500;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            System.out.println("[DB-CONFIG] Niepoprawna wartość " +
+                    "db.reorder.coalesceMs=" + value + ", używam 500 ms");
+            return 500;
+        }
+    }
+
     public static String getDbName() {
         String dbName = properties.getProperty("db.name");
         System.out.println("[DB-CONFIG] Pobrano nazwę bazy " +
@@ -0,0 +1,127 @@
+/*
+ * Classname: DatabaseExecutor
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.database;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Wspólny wykonawca operacji bazodanowych na wątkach wirtualnych.
+ * <p>
+ * Każde zadanie dostaje własny wątek wirtualny, ale liczba zadań
+ * wykonywanych jednocześnie jest ograniczona osobno dla każdego
+ * zasobu ({@link Resource}). Nadmiarowe zadania czekają na semaforze
+ * (tanio, bez blokowania wątku platformowego) zamiast na połączenie
+ * w puli, gdzie po {@code db.pool.connectionTimeoutMs} kończyłyby się
+ * błędem. Limity można zmienić w {@code config/database.properties}
+ * kluczami {@code db.async.<zasób>.permits}.
+ */
+public final class DatabaseExecutor {
+
+    private static final Logger logger =
+            LogManager.getLogger(DatabaseExecutor.class);
+
+    /**
+     * Zasób, którego dotyczy zadanie – każdy ma własny limit
+     * równoległości.
+     */
+    public enum Resource {
+        /** Zwykłe zapytania i zapisy repozytoriów. */
+        DATABASE("database", -1),
+        /** Ciężkie agregacje i generowanie raportów. */
+        REPORTS("reports", 2),
+        /** Kopie zapasowe, eksport i odtwarzanie bazy. */
+        BACKUP("backup", 1);
+
+        private final String key;
+        private final int defaultPermits;
+
+        Resource(String key, int defaultPermits) {
+            this.key = key;
+            this.defaultPermits = defaultPermits;
+        }
+
+        private int permits() {
+            int fallback = defaultPermits > 0 ? defaultPermits
+                    : ConnectionPool.getConfiguredMaxSize();
+            String value = DatabaseConfig.properties.getProperty(
+                    "db.async." + key + ".permits");
+            if (value == null || value.isBlank()) {
+                return fallback;
+            }
+            try {
+                return Math.max(1, Integer.parseInt(value.trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Niepoprawna wartość db.async.{}.permits={}, "
+                        + "używam domyślnej {}", key, value, fallback);
+                return fallback;
+            }
+        }
+    }
+
+    private static final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("db-", 0).factory());
+
+    private static final Map<Resource, Semaphore> limits =
+            new ConcurrentHashMap<>();
+
+    private DatabaseExecutor() {
+    }
+
+    /**
+     * Wykonuje zadanie na wątku wirtualnym w ramach limitu zasobu.
+     *
+     * @param resource zasób, którego dotyczy zadanie
+     * @param task     zadanie
+     * @param <T>      typ wyniku
+     * @return przyszły wynik zadania; wyjątek zadania kończy go błędem
+     */
+    public static <T> CompletableFuture<T> submit(Resource resource,
+                                                  Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Semaphore limit = limits.computeIfAbsent(resource,
+                r -> new Semaphore(r.permits(), true));
+        executor.execute(() -> {
+            try {
+                limit.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.completeExceptionally(e);
+                return;
+            }
+            try {
+                result.complete(task.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            } finally {
+                limit.release();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Liczba zadań danego zasobu czekających na wolne miejsce.
+     *
+     * @param resource zasób
+     * @return przybliżona liczba oczekujących zadań
+     */
+    public static int getQueueLength(Resource resource) {
+        Semaphore limit = limits.get(resource);
+        return limit == null ? 0 : limit.getQueueLength();
+    }
+}
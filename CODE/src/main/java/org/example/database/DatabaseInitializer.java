@@ -1,6 +1,8 @@
 package org.example.database;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
@@ -8,7 +10,7 @@ import java.sql.Statement;
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.stream.Collectors;
+import java.util.Properties;
 
 public class DatabaseInitializer implements ILacz {
 
@@ -65,23 +67,30 @@ public class DatabaseInitializer implements ILacz {
     }
 
     /**
-     * Wykonuje skrypt SQL z pliku.
+     * Wykonuje skrypt SQL z zasobów w jednej transakcji, grupując
+     * polecenia INSERT w paczki JDBC.
      */
     private void executeScript(String filename) {
-        try (Connection conn = DriverManager.getConnection(
-                getMySqlDbUrl(), getMySqlUser(), getMySqlPassword())) {
-
-            String script = loadSqlScript(filename);
-            Statement stmt = conn.createStatement();
-
-            // Dzielenie skryptu na pojedyncze instrukcje i wykonanie ich
-            for (String statement : script.split(";")) {
-                if (!statement.trim().isEmpty()) {
-                    stmt.execute(statement);
-                }
-            }
+        Properties props = new Properties();
+        props.setProperty("user", getMySqlUser());
+        if (getMySqlPassword() != null) {
+            props.setProperty("password", getMySqlPassword());
+        }
+        props.setProperty("rewriteBatchedStatements", "true");
 
-        } catch (SQLException e) {
+        try (Connection conn = DriverManager.getConnection(
+                getMySqlDbUrl(), props);
+             Reader reader = openSqlScript(filename)) {
+
+            SqlScriptRunner runner = new SqlScriptRunner(
+                    SqlScriptRunner.DEFAULT_BATCH_SIZE,
+                    p -> System.out.println("[DB-INIT] " + filename
+                            + ": wykonano " + p.statements()
+                            + " poleceń, wstawiono " + p.rows()
+                            + " wierszy"));
+            runner.run(conn, reader, -1);
+
+        } catch (SQLException | IOException e) {
             System.err.println("Błąd podczas wykonywania skryptu " +
                     filename + ": " + e.getMessage());
             e.printStackTrace();
@@ -89,21 +98,15 @@ public class DatabaseInitializer implements ILacz {
     }
 
     /**
-     * Ładuje skrypt SQL z zasobów.
+     * Otwiera skrypt SQL z zasobów do odczytu strumieniowego.
      */
-    private String loadSqlScript(String filename) {
-        try (InputStream is = getClass().getClassLoader()
+    private Reader openSqlScript(String filename) throws IOException {
+        InputStream is = getClass().getClassLoader()
                 .getResourceAsStream(filename);
-             BufferedReader reader = new BufferedReader(
-                     new InputStreamReader(is))) {
-
-            return reader.lines().collect(Collectors.joining("\n"));
-
-        } catch (Exception e) {
-            System.err.println("Błąd podczas ładowania skryptu " +
-                    filename + ": " + e.getMessage());
-            e.printStackTrace();
-            return "";
+        if (is == null) {
+            throw new IOException("Nie znaleziono skryptu " + filename);
         }
+        return new BufferedReader(new InputStreamReader(is,
+                StandardCharsets.UTF_8), 1 << 16);
     }
-}
\ No newline at end of file
+}
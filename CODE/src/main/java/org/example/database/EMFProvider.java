@@ -38,29 +38,37 @@ public class EMFProvider {
                 // Utwórz mapę właściwości połączenia
                 Map<String, String> properties = new HashMap<>();
 
-                // Konfiguracja połączenia
-                String jdbcUrl = String.format("jdbc:mysql://%s:%s/%s?allow" +
-                                "PublicKeyRetrieval=true&useSSL=" +
-                                "false&serverTimezone=UTC",
-                        DatabaseConfig.properties.getProperty("db.host"),
-                        DatabaseConfig.properties.getProperty("db.port"),
-                        DatabaseConfig.properties.getProperty("db.name"));
-
-                properties.put("jakarta.persistence.jdbc.url", jdbcUrl);
-                properties.put("jakarta.persistence.jdbc.user", DatabaseConfig
-                        .properties.getProperty("db.user"));
-                properties.put("jakarta.persistence.jdbc.password",
-                        DatabaseConfig.properties.getProperty("db.password"));
-                properties.put("jakarta.persistence.jdbc.driver",
-                        "com.mysql.cj.jdbc.Driver");
+                // Połączenia pochodzą z puli ConnectionPool, przekazywanej
+                // jako nie-JTA DataSource w PersistenceUnitInfo poniżej
+                DataSource dataSource = ConnectionPool.getDataSource();
 
                 // Konfiguracja Hibernate
-                properties.put("hibernate.dialect",
-                        "org.hibernate.dialect.MySQLDialect");
+                // Przy wymuszonym adresie JDBC (np. H2) dialekt wykrywany
+                // jest automatycznie na podstawie połączenia
+                if (DatabaseConfig.getJdbcUrlOverride() == null) {
+                    properties.put("hibernate.dialect",
+                            "org.hibernate.dialect.MySQLDialect");
+                }
                 properties.put("hibernate.hbm2ddl.auto", "update");
                 properties.put("hibernate.show_sql", "false");
                 properties.put("hibernate.format_sql", "false");
 
+                // Wsadowe INSERT/UPDATE (np. pozycje transakcji przy kasie)
+                properties.put("hibernate.jdbc.batch_size", "50");
+                properties.put("hibernate.order_inserts", "true");
+                properties.put("hibernate.order_updates", "true");
+
+                // Liczenie instrukcji SQL (metryki repozytoriów)
+                properties.put("hibernate.session_factory."
+                                + "statement_inspector",
+                        SqlStatementCounter.class.getName());
+
+                // Opcjonalna pamięć podręczna drugiego poziomu
+                SecondLevelCache.configure(properties);
+                SharedCacheMode cacheMode = SecondLevelCache.isEnabled()
+                        ? SharedCacheMode.ENABLE_SELECTIVE
+                        : SharedCacheMode.NONE;
+
                 // Utwórz własną implementację PersistenceUnitInfo
                 PersistenceUnitInfo persistenceUnitInfo =
                         new PersistenceUnitInfo() {
@@ -86,7 +94,7 @@ public class EMFProvider {
 
                     @Override
                     public DataSource getNonJtaDataSource() {
-                        return null;
+                        return dataSource;
                     }
 
                     @Override
@@ -134,6 +142,8 @@ public class EMFProvider {
                         managedClasses.add("org.example.sys.Order");
                         managedClasses.add("org.example.sys." +
                                 "PasswordResetToken");
+                        managedClasses.add("org.example.sys.DailySales");
+                        managedClasses.add("org.example.sys.DailySalesId");
 
                         // dodaj pozostałe klasy encyjne, które używasz
 
@@ -147,7 +157,7 @@ public class EMFProvider {
 
                     @Override
                     public SharedCacheMode getSharedCacheMode() {
-                        return SharedCacheMode.UNSPECIFIED;
+                        return cacheMode;
                     }
 
                     @Override
@@ -184,11 +194,13 @@ public class EMFProvider {
                     }
                 };
 
-                // Utwórz EntityManagerFactory
+                // Utwórz EntityManagerFactory (opakowaną pomiarem
+                // czasów metod repozytoriów i obsługą jednostek pracy)
                 HibernatePersistenceProvider provider =
                         new HibernatePersistenceProvider();
-                emf = provider.createContainerEntityManagerFactory(
-                        persistenceUnitInfo, properties);
+                emf = UnitOfWork.bind(RepositoryMetrics.instrument(
+                        provider.createContainerEntityManagerFactory(
+                                persistenceUnitInfo, properties)));
 
                 System.out.println("[EMF] EntityManagerFactory " +
                         "utworzone pomyślnie");
@@ -203,7 +215,7 @@ public class EMFProvider {
     }
 
     /**
-     * Zamyka EntityManagerFactory.
+     * Zamyka EntityManagerFactory oraz pulę połączeń.
      */
     public static void close() {
         if (emf != null && emf.isOpen()) {
@@ -211,5 +223,6 @@ public class EMFProvider {
             emf.close();
             emf = null;
         }
+        ConnectionPool.close();
     }
 }
\ No newline at end of file
@@ -0,0 +1,741 @@
+/*
+ * Classname: IncrementalCsvBackup
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.database;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Przyrostowa kopia zapasowa bazy danych w plikach CSV.
+ * <p>
+ * Dla każdej tabeli manifest ({@value #MANIFEST_FILE}) przechowuje
+ * łańcuch plików (kopia bazowa i kolejne przyrosty), najwyższą
+ * wyeksportowaną wartość klucza (high-water mark) oraz liczbę
+ * wierszy i sumę kontrolną wierszy objętych kopią.
+ * <ul>
+ *   <li>Tabele, których klucz główny zaczyna się od kolumny
+ *   całkowitoliczbowej (np. Transakcje, Transakcje_Produkty), są
+ *   eksportowane przyrostowo: zapisywane są tylko wiersze z kluczem
+ *   większym niż zapamiętany high-water mark.</li>
+ *   <li>Suma kontrolna wierszy poniżej high-water mark liczona jest
+ *   po stronie bazy (jedno zapytanie agregujące, bez przesyłania
+ *   wierszy). Jej zmiana oznacza, że wiersz został zmieniony lub
+ *   usunięty – wtedy tabela zapisywana jest od nowa jako nowa kopia
+ *   bazowa.</li>
+ *   <li>Tabele bez takiego klucza są zapisywane w całości tylko wtedy,
+ *   gdy zmieniła się ich suma kontrolna.</li>
+ * </ul>
+ * Odtworzenie ({@link #restore(String)}) odczytuje dla każdej tabeli
+ * kopię bazową i przyrosty w kolejności i wstawia je w jednej
+ * transakcji.
+ */
+public final class IncrementalCsvBackup {
+
+    private static final Logger logger =
+            LogManager.getLogger(IncrementalCsvBackup.class);
+
+    /**
+     * Nazwa pliku manifestu w katalogu kopii.
+     */
+    public static final String MANIFEST_FILE = "backup-manifest.properties";
+
+    /**
+     * Liczba wierszy wstawianych jednym wsadem przy odtwarzaniu.
+     */
+    private static final int RESTORE_BATCH_SIZE = 1000;
+
+    private IncrementalCsvBackup() {
+    }
+
+    /**
+     * Wynik przyrostowej kopii.
+     *
+     * @param tables       liczba tabel objętych kopią
+     * @param failed       liczba tabel, których nie udało się zapisać
+     * @param rebased      liczba tabel zapisanych od nowa
+     * @param appendedRows liczba wierszy dopisanych w przyrostach
+     *                     i nowych kopiach bazowych
+     */
+    public record BackupSummary(int tables,
+                                int failed,
+                                int rebased,
+                                long appendedRows) {
+    }
+
+    /**
+     * Stan kopii jednej tabeli zapisany w manifeście.
+     *
+     * @param key      kolumna klucza przyrostów (null – brak)
+     * @param columns  lista kolumn tabeli w chwili kopii
+     * @param hwm      najwyższa wyeksportowana wartość klucza
+     * @param rows     liczba wierszy objętych kopią
+     * @param checksum suma kontrolna wierszy objętych kopią
+     * @param files    łańcuch plików: kopia bazowa i przyrosty
+     * @param sequence numer ostatnio utworzonego pliku
+     */
+    record TableState(String key,
+                      String columns,
+                      long hwm,
+                      long rows,
+                      String checksum,
+                      List<String> files,
+                      int sequence) {
+    }
+
+    /**
+     * Wynik kopii jednej tabeli.
+     */
+    private record TableResult(TableState state,
+                               boolean rebased,
+                               long written,
+                               List<String> obsoleteFiles) {
+    }
+
+    /**
+     * Wykonuje przyrostową kopię wszystkich tabel do podanego katalogu.
+     * Manifest jest zapisywany atomowo po zakończeniu eksportu,
+     * a pliki, które przestały należeć do łańcucha, są usuwane
+     * dopiero po jego zapisaniu.
+     *
+     * @param outputFolder katalog kopii
+     * @param gzip         czy kompresować nowe pliki gzipem
+     * @param listener     odbiorca postępu (może być null)
+     * @return podsumowanie kopii
+     * @throws SQLException Jeśli nie można pobrać listy tabel
+     * @throws IOException Jeśli nie można odczytać lub zapisać manifestu
+     */
+    public static BackupSummary backup(
+            String outputFolder,
+            boolean gzip,
+            DatabaseBackupExporter.ProgressListener listener
+    ) throws SQLException, IOException {
+        Path folder = Paths.get(outputFolder);
+        Files.createDirectories(folder);
+        Map<String, TableState> manifest = readManifest(folder);
+
+        List<String> tables;
+        try (Connection conn = ConnectionPool.getDataSource()
+                .getConnection()) {
+            tables = DatabaseBackupExporter.getAllTables(conn);
+        }
+        logger.info("backup() – kopia przyrostowa {} tabel do {}",
+                tables.size(), folder.toAbsolutePath());
+
+        Map<String, TableResult> results = DatabaseBackupExporter
+                .runPerTable(tables, table -> backupTable(table, folder,
+                        gzip, manifest.get(table), listener));
+
+        int rebased = 0;
+        long written = 0;
+        List<String> obsolete = new ArrayList<>();
+        for (Map.Entry<String, TableResult> e : results.entrySet()) {
+            TableResult result = e.getValue();
+            manifest.put(e.getKey(), result.state());
+            if (result.rebased()) {
+                rebased++;
+            }
+            written += result.written();
+            obsolete.addAll(result.obsoleteFiles());
+        }
+        writeManifest(folder, manifest);
+        for (String file : obsolete) {
+            Files.deleteIfExists(folder.resolve(file));
+        }
+
+        BackupSummary summary = new BackupSummary(tables.size(),
+                tables.size() - results.size(), rebased, written);
+        logger.info("backup() – zakończono: {}", summary);
+        return summary;
+    }
+
+    /**
+     * Odtwarza wszystkie tabele z manifestu: usuwa ich bieżącą
+     * zawartość i wstawia wiersze z kopii bazowej oraz kolejnych
+     * przyrostów. Całość wykonywana jest w jednej transakcji,
+     * z wyłączonym sprawdzaniem kluczy obcych.
+     *
+     * @param backupFolder katalog kopii
+     * @return liczba odtworzonych wierszy
+     * @throws SQLException Jeśli wystąpi błąd bazy danych
+     * @throws IOException Jeśli brak manifestu lub pliku kopii
+     */
+    public static long restore(String backupFolder)
+            throws SQLException, IOException {
+        Path folder = Paths.get(backupFolder);
+        if (!Files.exists(folder.resolve(MANIFEST_FILE))) {
+            throw new IOException("Brak manifestu kopii w katalogu: "
+                    + folder.toAbsolutePath());
+        }
+        Map<String, TableState> manifest = readManifest(folder);
+        logger.info("restore() – odtwarzanie {} tabel z {}",
+                manifest.size(), folder.toAbsolutePath());
+
+        long total = 0;
+        try (Connection conn = ConnectionPool.getDataSource()
+                .getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                setForeignKeyChecks(stmt, false);
+                try {
+                    for (Map.Entry<String, TableState> e
+                            : manifest.entrySet()) {
+                        stmt.executeUpdate("DELETE FROM " + e.getKey());
+                        for (String file : e.getValue().files()) {
+                            total += restoreFile(conn, e.getKey(),
+                                    folder.resolve(file));
+                        }
+                    }
+                    conn.commit();
+                } catch (SQLException | IOException | RuntimeException ex) {
+                    conn.rollback();
+                    throw ex;
+                } finally {
+                    setForeignKeyChecks(stmt, true);
+                    conn.setAutoCommit(autoCommit);
+                }
+            }
+        }
+        SecondLevelCache.evictAll();
+        logger.info("restore() – odtworzono {} wierszy", total);
+        return total;
+    }
+
+    /**
+     * Wykonuje kopię jednej tabeli.
+     */
+    private static TableResult backupTable(
+            String table,
+            Path folder,
+            boolean gzip,
+            TableState previous,
+            DatabaseBackupExporter.ProgressListener listener
+    ) throws SQLException, IOException {
+        long start = System.nanoTime();
+        try (Connection conn = ConnectionPool.getDataSource()
+                .getConnection()) {
+            List<String> columns = columnNames(conn, table);
+            String columnList = String.join(",", columns);
+            String key = incrementalKey(conn, table);
+            int sequence = previous == null ? 0 : previous.sequence();
+            boolean sameShape = previous != null
+                    && columnList.equals(previous.columns())
+                    && Objects.equals(key, previous.key());
+
+            if (key == null) {
+                Stats all = stats(conn, table, columns, null, null, 0);
+                if (sameShape && all.matches(previous)) {
+                    DatabaseBackupExporter.report(listener, table, 0, start,
+                            true);
+                    return new TableResult(previous, false, 0, List.of());
+                }
+                String file = fileName(table, ++sequence, gzip);
+                long rows = export(conn, table, null, 0, 0, folder, file,
+                        listener, start);
+                return rebase(previous, new TableState(null, columnList, 0,
+                        all.rows(), all.checksum(), List.of(file),
+                        sequence), rows);
+            }
+
+            long maxKey = maxKey(conn, table, key);
+            long oldHwm = sameShape ? previous.hwm() : 0;
+            Stats stats = stats(conn, table, columns, key, oldHwm, maxKey);
+
+            if (sameShape && stats.matchesOld(previous)) {
+                List<String> files = new ArrayList<>(previous.files());
+                long rows = 0;
+                if (maxKey > oldHwm) {
+                    String file = fileName(table, ++sequence, gzip);
+                    rows = export(conn, table, key, oldHwm, maxKey, folder,
+                            file, listener, start);
+                    files.add(file);
+                } else {
+                    DatabaseBackupExporter.report(listener, table, 0, start,
+                            true);
+                }
+                return new TableResult(new TableState(key, columnList,
+                        Math.max(maxKey, oldHwm), stats.rows(),
+                        stats.checksum(), List.copyOf(files), sequence),
+                        false, rows, List.of());
+            }
+
+            String file = fileName(table, ++sequence, gzip);
+            long rows = export(conn, table, key, Long.MIN_VALUE, maxKey,
+                    folder, file, listener, start);
+            return rebase(previous, new TableState(key, columnList, maxKey,
+                    stats.rows(), stats.checksum(), List.of(file),
+                    sequence), rows);
+        }
+    }
+
+    private static TableResult rebase(TableState previous,
+                                      TableState state,
+                                      long rows) {
+        logger.info("backupTable() – nowa kopia bazowa {}", state.files());
+        return new TableResult(state, true, rows,
+                previous == null ? List.of() : previous.files());
+    }
+
+    /**
+     * Liczba wierszy i suma kontrolna części tabeli.
+     *
+     * @param oldRows     wiersze z kluczem do poprzedniego high-water mark
+     * @param oldChecksum suma kontrolna tych wierszy
+     * @param rows        wszystkie wiersze objęte kopią
+     * @param checksum    suma kontrolna wszystkich wierszy objętych kopią
+     */
+    private record Stats(long oldRows,
+                         String oldChecksum,
+                         long rows,
+                         String checksum) {
+
+        boolean matches(TableState state) {
+            return state != null && rows == state.rows()
+                    && checksum.equals(state.checksum());
+        }
+
+        boolean matchesOld(TableState state) {
+            return state != null && oldRows == state.rows()
+                    && oldChecksum.equals(state.checksum());
+        }
+    }
+
+    /**
+     * Liczy po stronie bazy liczbę wierszy i sumę skrótów wierszy:
+     * do poprzedniego high-water mark oraz do bieżącego maksimum klucza.
+     * Dla tabel bez klucza obie wartości dotyczą całej tabeli.
+     */
+    private static Stats stats(Connection conn,
+                               String table,
+                               List<String> columns,
+                               String key,
+                               Long oldHwm,
+                               long maxKey) throws SQLException {
+        String hash = rowHashExpression(columns);
+        String sql;
+        if (key == null) {
+            sql = "SELECT COUNT(*), COALESCE(SUM(" + hash + "), 0), "
+                    + "COUNT(*), COALESCE(SUM(" + hash + "), 0) "
+                    + "FROM " + table;
+        } else {
+            sql = "SELECT COALESCE(SUM(CASE WHEN " + key + " <= ? "
+                    + "THEN 1 ELSE 0 END), 0), "
+                    + "COALESCE(SUM(CASE WHEN " + key + " <= ? THEN "
+                    + hash + " ELSE 0 END), 0), "
+                    + "COUNT(*), COALESCE(SUM(" + hash + "), 0) "
+                    + "FROM " + table + " WHERE " + key + " <= ?";
+        }
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            if (key != null) {
+                ps.setLong(1, oldHwm);
+                ps.setLong(2, oldHwm);
+                ps.setLong(3, maxKey);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return new Stats(rs.getLong(1), checksum(rs, 2),
+                        rs.getLong(3), checksum(rs, 4));
+            }
+        }
+    }
+
+    private static String checksum(ResultSet rs, int column)
+            throws SQLException {
+        BigDecimal value = rs.getBigDecimal(column);
+        return value == null ? "0" : value.toBigInteger().toString();
+    }
+
+    /**
+     * Wyrażenie SQL liczące skrót wiersza. MySQL udostępnia CRC32,
+     * baza H2 używana w testach – ORA_HASH. CONCAT_WS pomija wartości
+     * NULL, więc każda kolumna zamieniana jest na znacznik
+     * {@link DatabaseBackupExporter#NULL_TOKEN} – inaczej zmiana
+     * pustego napisu na NULL albo przesunięcie wartości między
+     * kolumnami nie zmieniałyby sumy kontrolnej.
+     */
+    private static String rowHashExpression(List<String> columns) {
+        boolean mysql = DatabaseConfig.getJdbcUrlOverride() == null;
+        List<String> values = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            // MySQL traktuje ukośnik w literale jako znak ucieczki;
+            // H2 nie łączy typów w COALESCE tak jak MySQL, więc kolumny
+            // nienapisowe trzeba jawnie rzutować.
+            values.add(mysql
+                    ? "COALESCE(" + column + ", '\\\\N')"
+                    : "COALESCE(CAST(" + column + " AS VARCHAR), '\\N')");
+        }
+        String row = "CONCAT_WS('|', " + String.join(", ", values) + ")";
+        return mysql ? "CRC32(" + row + ")" : "ORA_HASH(" + row + ")";
+    }
+
+    private static long maxKey(Connection conn, String table, String key)
+            throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT COALESCE(MAX(" + key + "), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Zapisuje strumieniowo wiersze tabeli do pliku: całą tabelę
+     * (key == null) albo wiersze z kluczem w przedziale (from, to].
+     */
+    private static long export(Connection conn,
+                               String table,
+                               String key,
+                               long from,
+                               long to,
+                               Path folder,
+                               String file,
+                               DatabaseBackupExporter.ProgressListener
+                                       listener,
+                               long start) throws SQLException, IOException {
+        String sql = key == null
+                ? "SELECT * FROM " + table
+                : "SELECT * FROM " + table + " WHERE " + key + " > ? AND "
+                + key + " <= ? ORDER BY " + key;
+        try (PreparedStatement ps = conn.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(DatabaseConfig.getStreamingFetchSize());
+            if (key != null) {
+                ps.setLong(1, from);
+                ps.setLong(2, to);
+            }
+            try (ResultSet rs = ps.executeQuery();
+                 Writer writer = DatabaseBackupExporter.openWriter(
+                         folder.resolve(file), file.endsWith(".gz"))) {
+                DatabaseBackupExporter.writeColumnHeaders(rs, writer);
+                long rows = DatabaseBackupExporter.writeDataRows(rs, writer,
+                        table, start, listener);
+                DatabaseBackupExporter.report(listener, table, rows, start,
+                        true);
+                logger.debug("export() – {}: {} wierszy do {}", table, rows,
+                        file);
+                return rows;
+            }
+        }
+    }
+
+    /**
+     * Zwraca kolumnę klucza przyrostów: pierwszą kolumnę klucza
+     * głównego, jeśli jest całkowitoliczbowa, w przeciwnym razie null.
+     */
+    private static String incrementalKey(Connection conn, String table)
+            throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        String first = null;
+        try (ResultSet rs = meta.getPrimaryKeys(conn.getCatalog(),
+                conn.getSchema(), table)) {
+            while (rs.next()) {
+                if (rs.getShort("KEY_SEQ") == 1) {
+                    first = rs.getString("COLUMN_NAME");
+                }
+            }
+        }
+        if (first == null) {
+            return null;
+        }
+        try (ResultSet rs = meta.getColumns(conn.getCatalog(),
+                conn.getSchema(), table, first)) {
+            if (rs.next()) {
+                int type = rs.getInt("DATA_TYPE");
+                if (type == Types.INTEGER || type == Types.BIGINT
+                        || type == Types.SMALLINT || type == Types.TINYINT) {
+                    return first;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static List<String> columnNames(Connection conn, String table)
+            throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(),
+                conn.getSchema(), table, "%")) {
+            while (rs.next()) {
+                columns.add(rs.getString("COLUMN_NAME"));
+            }
+        }
+        return columns;
+    }
+
+    private static String fileName(String table, int sequence, boolean gzip) {
+        return String.format("%s.%04d.csv%s", table, sequence,
+                gzip ? ".gz" : "");
+    }
+
+    /**
+     * Wstawia wiersze jednego pliku kopii wsadami.
+     */
+    private static long restoreFile(Connection conn, String table, Path file)
+            throws SQLException, IOException {
+        InputStream in = Files.newInputStream(file);
+        if (file.getFileName().toString().endsWith(".gz")) {
+            in = new GZIPInputStream(in);
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                return 0;
+            }
+            List<String> columns = parseLine(header);
+            String placeholders = String.join(", ",
+                    Collections.nCopies(columns.size(), "?"));
+            long rows = 0;
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO " + table + " (" + String.join(", ", columns)
+                            + ") VALUES (" + placeholders + ")")) {
+                int[] types = parameterTypes(conn, table, columns);
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    List<String> values = parseLine(line);
+                    for (int i = 0; i < columns.size(); i++) {
+                        bind(ps, i + 1, types[i],
+                                i < values.size() ? values.get(i) : null);
+                    }
+                    ps.addBatch();
+                    if (++rows % RESTORE_BATCH_SIZE == 0) {
+                        ps.executeBatch();
+                    }
+                }
+                ps.executeBatch();
+            }
+            logger.debug("restoreFile() – {}: {} wierszy z {}", table, rows,
+                    file.getFileName());
+            return rows;
+        }
+    }
+
+    private static int[] parameterTypes(Connection conn,
+                                        String table,
+                                        List<String> columns)
+            throws SQLException {
+        int[] types = new int[columns.size()];
+        Arrays.fill(types, Types.VARCHAR);
+        try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(),
+                conn.getSchema(), table, "%")) {
+            while (rs.next()) {
+                int index = columns.indexOf(rs.getString("COLUMN_NAME"));
+                if (index >= 0) {
+                    types[index] = rs.getInt("DATA_TYPE");
+                }
+            }
+        }
+        return types;
+    }
+
+    private static void bind(PreparedStatement ps,
+                             int index,
+                             int type,
+                             String value) throws SQLException {
+        // NULL zapisywany jest znacznikiem, więc puste pole to pusty
+        // napis; w kolumnach nienapisowych (i w kopiach sprzed
+        // wprowadzenia znacznika) puste pole oznacza NULL.
+        if (value == null || (value.isEmpty() && !isCharacter(type))) {
+            ps.setNull(index, type);
+        } else if (type == Types.BIT || type == Types.BOOLEAN) {
+            ps.setBoolean(index, value.equals("1")
+                    || Boolean.parseBoolean(value));
+        } else {
+            ps.setString(index, value);
+        }
+    }
+
+    private static boolean isCharacter(int type) {
+        return type == Types.VARCHAR || type == Types.CHAR
+                || type == Types.LONGVARCHAR || type == Types.NVARCHAR
+                || type == Types.NCHAR || type == Types.LONGNVARCHAR
+                || type == Types.CLOB || type == Types.NCLOB;
+    }
+
+    /**
+     * Dzieli wiersz CSV zapisany przez {@link DatabaseBackupExporter}
+     * na pola: obsługuje pola w cudzysłowach z podwojonym cudzysłowem
+     * oraz sekwencje \\, \n i \r zastępujące ukośnik wsteczny i znaki
+     * nowej linii. Pole
+     * równe {@link DatabaseBackupExporter#NULL_TOKEN} bez cudzysłowu
+     * zwracane jest jako null.
+     *
+     * @param line wiersz pliku CSV
+     * @return lista pól (null dla wartości NULL)
+     */
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    i = appendChar(line, i, field);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(fieldValue(field, wasQuoted));
+                field.setLength(0);
+                wasQuoted = false;
+            } else {
+                i = appendChar(line, i, field);
+            }
+        }
+        fields.add(fieldValue(field, wasQuoted));
+        return fields;
+    }
+
+    private static String fieldValue(StringBuilder field, boolean quoted) {
+        String value = field.toString();
+        return !quoted && value.equals(DatabaseBackupExporter.NULL_TOKEN)
+                ? null : value;
+    }
+
+    private static int appendChar(String line, int i, StringBuilder field) {
+        char c = line.charAt(i);
+        if (c == '\\' && i + 1 < line.length()) {
+            char next = line.charAt(i + 1);
+            if (next == 'n') {
+                field.append('\n');
+                return i + 1;
+            }
+            if (next == 'r') {
+                field.append('\r');
+                return i + 1;
+            }
+            if (next == '\\') {
+                field.append('\\');
+                return i + 1;
+            }
+        }
+        field.append(c);
+        return i;
+    }
+
+    /**
+     * Wyłącza lub włącza sprawdzanie kluczy obcych na połączeniu.
+     */
+    private static void setForeignKeyChecks(Statement stmt, boolean enabled)
+            throws SQLException {
+        if (DatabaseConfig.getJdbcUrlOverride() == null) {
+            stmt.execute("SET FOREIGN_KEY_CHECKS = " + (enabled ? 1 : 0));
+        } else {
+            stmt.execute("SET REFERENTIAL_INTEGRITY "
+                    + (enabled ? "TRUE" : "FALSE"));
+        }
+    }
+
+    /**
+     * Odczytuje manifest kopii (pusty, jeśli jeszcze nie istnieje).
+     *
+     * @param folder katalog kopii
+     * @return stan kopii poszczególnych tabel, uporządkowany po nazwie
+     * @throws IOException Jeśli nie można odczytać manifestu
+     */
+    static Map<String, TableState> readManifest(Path folder)
+            throws IOException {
+        Map<String, TableState> manifest = new TreeMap<>();
+        Path file = folder.resolve(MANIFEST_FILE);
+        if (!Files.exists(file)) {
+            return manifest;
+        }
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+        }
+        for (String name : props.stringPropertyNames()) {
+            if (!name.endsWith(".files")) {
+                continue;
+            }
+            String table = name.substring(0, name.length() - ".files".length());
+            String key = props.getProperty(table + ".key", "");
+            String files = props.getProperty(name);
+            manifest.put(table, new TableState(
+                    key.isEmpty() ? null : key,
+                    props.getProperty(table + ".columns", ""),
+                    Long.parseLong(props.getProperty(table + ".hwm", "0")),
+                    Long.parseLong(props.getProperty(table + ".rows", "0")),
+                    props.getProperty(table + ".checksum", "0"),
+                    files.isEmpty() ? List.of()
+                            : List.of(files.split(",")),
+                    Integer.parseInt(props.getProperty(table + ".sequence",
+                            "0"))));
+        }
+        return manifest;
+    }
+
+    /**
+     * Zapisuje manifest do pliku tymczasowego i podmienia go atomowo,
+     * więc przerwana kopia nie zostawia uszkodzonego manifestu.
+     */
+    private static void writeManifest(Path folder,
+                                      Map<String, TableState> manifest)
+            throws IOException {
+        Properties props = new Properties();
+        manifest.forEach((table, state) -> {
+            props.setProperty(table + ".key",
+                    state.key() == null ? "" : state.key());
+            props.setProperty(table + ".columns", state.columns());
+            props.setProperty(table + ".hwm", Long.toString(state.hwm()));
+            props.setProperty(table + ".rows", Long.toString(state.rows()));
+            props.setProperty(table + ".checksum", state.checksum());
+            props.setProperty(table + ".files",
+                    String.join(",", state.files()));
+            props.setProperty(table + ".sequence",
+                    Integer.toString(state.sequence()));
+        });
+        Path tmp = folder.resolve(MANIFEST_FILE + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            props.store(out, "Kopia przyrostowa CSV – " + Instant.now());
+        }
+        Files.move(tmp, folder.resolve(MANIFEST_FILE),
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+}
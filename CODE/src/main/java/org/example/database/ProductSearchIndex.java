@@ -0,0 +1,526 @@
+/*
+ * Classname: ProductSearchIndex
+ * Version information: 1.0
+ * Date: 2025-06-04
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.database;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.sys.Product;
+import org.example.sys.ProductPage;
+
+import java.math.BigDecimal;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Indeks trigramowy nazw i kategorii produktów trzymany w pamięci.
+ * Pozwala wyszukiwać produkty po dowolnym fragmencie nazwy
+ * lub kategorii bez pełnego przeglądania tabeli Produkty.
+ * <p>
+ * Dla każdego trzyznakowego fragmentu (trigramu) przechowywana jest
+ * lista produktów, które go zawierają, posortowana tak jak wyniki
+ * (nazwa, identyfikator). Nazwy porównywane są tak jak w bazie, aby
+ * kursor strony z indeksu i z {@code ProductRepository.searchProducts()}
+ * wskazywał to samo miejsce: dla MySQL według domyślnego porównania
+ * utf8mb4_0900_ai_ci (bez rozróżniania wielkości liter i akcentów),
+ * dla bazy H2 – binarnie. Zapytanie wybiera najkrótszą z list trigramów
+ * szukanego tekstu i przegląda ją od kursora strony, kończąc po
+ * znalezieniu pełnej strony wyników. Tekst jest porównywany bez rozróżniania
+ * wielkości liter i polskich znaków diakrytycznych
+ * (np. "zolty" znajduje "Żółty ser").
+ * <p>
+ * Indeks budowany jest przy starcie aplikacji przez
+ * {@code ProductRepository.rebuildSearchIndex()}, a następnie
+ * aktualizowany przez metody dodające, zmieniające i usuwające produkty.
+ * Indeks przechowuje kopię potrzebnych pól produktu, więc późniejsze
+ * zmiany przekazanych obiektów go nie naruszają. Zmiany wprowadzone na innych stanowiskach widoczne są po kolejnym
+ * przebudowaniu indeksu.
+ */
+public final class ProductSearchIndex {
+
+    private static final Logger logger =
+            LogManager.getLogger(ProductSearchIndex.class);
+
+    private static final ProductSearchIndex SHARED = new ProductSearchIndex();
+
+    private static final Pattern COMBINING_MARKS =
+            Pattern.compile("\\p{M}+");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Integer, Entry> entries = new HashMap<>();
+    private Map<Long, EntryList> postings = new HashMap<>();
+    private EntryList all = new EntryList();
+    private long version = 0;
+    private Collator collator = databaseCollator();
+    private volatile boolean ready = false;
+    private volatile long builtAtMillis = 0;
+
+    /**
+     * Niezmienna kopia pól produktu wraz z kluczem sortowania oraz
+     * znormalizowaną nazwą i kategorią. Klucz sortowania
+     * ({@code sortKey}, null przy porównaniu binarnym) wyznacza
+     * położenie wpisu na listach.
+     */
+    private record Entry(int id,
+                         String name,
+                         String category,
+                         BigDecimal price,
+                         CollationKey sortKey,
+                         String searchName,
+                         String searchCategory) implements Comparable<Entry> {
+
+        boolean matches(String fragment) {
+            return searchName.contains(fragment)
+                    || searchCategory.contains(fragment);
+        }
+
+        Product toProduct() {
+            Product product = new Product();
+            product.setId(id);
+            product.setName(name);
+            product.setCategory(category);
+            product.setPrice(price);
+            return product;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return compareKey(other.name, other.sortKey, other.id);
+        }
+
+        /**
+         * Porównuje wpis z kluczem (nazwa, identyfikator) – takim samym
+         * jak kursor stronicowania {@link ProductPage}.
+         */
+        int compareKey(String otherName, CollationKey otherKey, int otherId) {
+            int cmp = sortKey != null ? sortKey.compareTo(otherKey)
+                    : name.compareTo(otherName);
+            return cmp != 0 ? cmp : Integer.compare(id, otherId);
+        }
+    }
+
+    /**
+     * Tworzy pusty indeks. W aplikacji używany jest indeks
+     * współdzielony – {@link #shared()}.
+     */
+    public ProductSearchIndex() {
+    }
+
+    /**
+     * Zwraca indeks współdzielony przez całą aplikację.
+     *
+     * @return współdzielony indeks produktów
+     */
+    public static ProductSearchIndex shared() {
+        return SHARED;
+    }
+
+    /**
+     * Sprawdza, czy indeks został zbudowany i można z niego korzystać.
+     *
+     * @return true, jeśli indeks jest gotowy
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Zwraca czas ostatniego pełnego zbudowania indeksu.
+     *
+     * @return znacznik czasu w milisekundach lub 0, jeśli indeks
+     *         nie był jeszcze budowany
+     */
+    public long getBuiltAtMillis() {
+        return builtAtMillis;
+    }
+
+    /**
+     * Zwraca numer wersji indeksu, zwiększany przy każdej zmianie
+     * pojedynczego produktu. Służy do wykrycia zmian wprowadzonych
+     * w trakcie wczytywania produktów do przebudowy.
+     *
+     * @return bieżąca wersja indeksu
+     */
+    public long getVersion() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Zwraca liczbę zaindeksowanych produktów.
+     *
+     * @return liczba produktów w indeksie
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Buduje indeks od nowa z podanej listy produktów.
+     * Nowe struktury są przygotowywane poza blokadą, więc wyszukiwania
+     * korzystają ze starego indeksu aż do chwili podmiany.
+     *
+     * @param products wszystkie produkty
+     */
+    public void rebuild(Collection<Product> products) {
+        rebuild(products, -1);
+    }
+
+    /**
+     * Buduje indeks od nowa, o ile od odczytania wersji
+     * {@code expectedVersion} nie zmieniono w nim żadnego produktu.
+     * Pozwala to nie zgubić zmian wprowadzonych w trakcie wczytywania
+     * produktów z bazy.
+     *
+     * @param products        wszystkie produkty
+     * @param expectedVersion wersja z {@link #getVersion()} sprzed
+     *                        wczytania produktów lub -1, aby podmienić
+     *                        indeks bezwarunkowo
+     * @return true, jeśli indeks został podmieniony
+     */
+    public boolean rebuild(Collection<Product> products, long expectedVersion) {
+        long start = System.nanoTime();
+        Collator newCollator = databaseCollator();
+        Map<Integer, Entry> newEntries = new HashMap<>(products.size() * 2);
+        for (Product product : products) {
+            newEntries.put(product.getId(), toEntry(product, newCollator));
+        }
+        Entry[] sorted = newEntries.values().toArray(new Entry[0]);
+        Arrays.sort(sorted);
+
+        // Wpisy dokładane w kolejności sortowania – listy są od razu
+        // posortowane
+        EntryList newAll = new EntryList();
+        Map<Long, EntryList> newPostings = new HashMap<>();
+        for (Entry entry : sorted) {
+            newAll.append(entry);
+            for (long trigram : trigramsOf(entry)) {
+                newPostings.computeIfAbsent(trigram, t -> new EntryList())
+                        .append(entry);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (expectedVersion >= 0 && expectedVersion != version) {
+                logger.debug("rebuild() – indeks zmieniony w trakcie "
+                        + "wczytywania, pomijam podmianę");
+                return false;
+            }
+            entries = newEntries;
+            postings = newPostings;
+            all = newAll;
+            collator = newCollator;
+            version++;
+            ready = true;
+            builtAtMillis = System.currentTimeMillis();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("rebuild() – zaindeksowano {} produktów, {} trigramów "
+                        + "w {} ms", newEntries.size(), newPostings.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return true;
+    }
+
+    /**
+     * Dodaje produkt do indeksu lub aktualizuje jego wpis.
+     *
+     * @param product dodany lub zmieniony produkt
+     */
+    public void put(Product product) {
+        if (product == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Entry entry = toEntry(product, collator);
+            removeEntry(product.getId());
+            entries.put(product.getId(), entry);
+            all.insert(entry);
+            for (long trigram : trigramsOf(entry)) {
+                postings.computeIfAbsent(trigram, t -> new EntryList())
+                        .insert(entry);
+            }
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Usuwa produkt z indeksu.
+     *
+     * @param productId identyfikator usuniętego produktu
+     */
+    public void remove(int productId) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(productId);
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Usuwa z indeksu wszystkie produkty z podanej kategorii.
+     *
+     * @param category kategoria usuniętych produktów
+     */
+    public void removeCategory(String category) {
+        lock.writeLock().lock();
+        try {
+            List<Integer> ids = new ArrayList<>();
+            for (Entry entry : entries.values()) {
+                if (category.equals(entry.category())) {
+                    ids.add(entry.id());
+                }
+            }
+            ids.forEach(this::removeEntry);
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Wyszukuje produkty, których nazwa lub kategoria zawiera
+     * podany fragment. Wyniki są posortowane według nazwy.
+     *
+     * @param fragment szukany fragment tekstu
+     * @param limit    maksymalna liczba wyników
+     * @return pasujące produkty
+     */
+    public List<Product> search(String fragment, int limit) {
+        return searchPage(fragment, null, null, limit).items();
+    }
+
+    /**
+     * Stronicowane wyszukiwanie produktów po fragmencie nazwy
+     * lub kategorii. Kursor działa tak samo jak w
+     * {@code ProductRepository.searchProducts()} dla sortowania po nazwie.
+     * Zwracane są nowe obiekty produktów utworzone z wpisów indeksu.
+     *
+     * @param fragment szukany fragment (null lub pusty – wszystkie produkty)
+     * @param category kategoria wymagana dokładnie (null – dowolna)
+     * @param after    ostatni produkt poprzedniej strony lub null
+     * @param pageSize maksymalna liczba produktów na stronie
+     * @return strona wyników
+     */
+    public ProductPage searchPage(String fragment,
+                                  String category,
+                                  Product after,
+                                  int pageSize) {
+        if (pageSize <= 0) {
+            return new ProductPage(List.of(), false);
+        }
+        String query = fragment == null ? "" : normalize(fragment.trim());
+        List<Product> items = new ArrayList<>(pageSize + 1);
+
+        lock.readLock().lock();
+        try {
+            EntryList candidates = query.length() < 3
+                    ? all : shortestPostingList(query);
+            if (candidates != null) {
+                int from = 0;
+                if (after != null) {
+                    String afterName = nullToEmpty(after.getName());
+                    from = candidates.firstAfter(afterName,
+                            sortKey(afterName, collator), after.getId());
+                }
+                // Pobieramy pageSize + 1 wyników, aby wiedzieć
+                // o kolejnej stronie
+                for (int i = from; i < candidates.size
+                        && items.size() <= pageSize; i++) {
+                    Entry entry = candidates.items[i];
+                    if (entry.matches(query) && (category == null
+                            || category.equals(entry.category()))) {
+                        items.add(entry.toProduct());
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        boolean hasNext = items.size() > pageSize;
+        if (hasNext) {
+            items = items.subList(0, pageSize);
+        }
+        return new ProductPage(List.copyOf(items), hasNext);
+    }
+
+    /**
+     * Zamienia tekst na postać używaną w indeksie: małe litery,
+     * bez znaków diakrytycznych.
+     *
+     * @param text tekst do znormalizowania
+     * @return znormalizowany tekst
+     */
+    static String normalize(String text) {
+        String lower = text.toLowerCase(Locale.ROOT).replace('ł', 'l');
+        String decomposed = Normalizer.normalize(lower, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("");
+    }
+
+    /**
+     * Zwraca najkrótszą listę produktów spośród trigramów zapytania
+     * lub null, jeśli któryś trigram nie występuje w żadnym produkcie.
+     */
+    private EntryList shortestPostingList(String query) {
+        EntryList shortest = null;
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            EntryList list = postings.get(trigram(query, i));
+            if (list == null) {
+                return null;
+            }
+            if (shortest == null || list.size < shortest.size) {
+                shortest = list;
+            }
+        }
+        return shortest;
+    }
+
+    private void removeEntry(int productId) {
+        Entry old = entries.remove(productId);
+        if (old == null) {
+            return;
+        }
+        all.remove(old);
+        for (long trigram : trigramsOf(old)) {
+            EntryList list = postings.get(trigram);
+            if (list != null && list.remove(old) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    private static Entry toEntry(Product product, Collator collator) {
+        String name = nullToEmpty(product.getName());
+        String category = nullToEmpty(product.getCategory());
+        return new Entry(product.getId(), name, category, product.getPrice(),
+                sortKey(name, collator), normalize(name), normalize(category));
+    }
+
+    private static CollationKey sortKey(String name, Collator collator) {
+        return collator == null ? null : collator.getCollationKey(name);
+    }
+
+    /**
+     * Zwraca porównanie nazw zgodne z bazą: dla MySQL odpowiednik
+     * utf8mb4_0900_ai_ci (porządek Unicode, siła podstawowa), dla bazy
+     * H2 bez ustawionego porównania – null, czyli porównanie binarne.
+     */
+    private static Collator databaseCollator() {
+        if (DatabaseConfig.getJdbcUrlOverride() != null) {
+            return null;
+        }
+        Collator collator = Collator.getInstance(Locale.ROOT);
+        collator.setStrength(Collator.PRIMARY);
+        return collator;
+    }
+
+    private static Set<Long> trigramsOf(Entry entry) {
+        Set<Long> trigrams = new HashSet<>();
+        addTrigrams(entry.searchName(), trigrams);
+        addTrigrams(entry.searchCategory(), trigrams);
+        return trigrams;
+    }
+
+    private static void addTrigrams(String text, Set<Long> target) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            target.add(trigram(text, i));
+        }
+    }
+
+    private static long trigram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32)
+                | ((long) text.charAt(offset + 1) << 16)
+                | text.charAt(offset + 2);
+    }
+
+    private static String nullToEmpty(String text) {
+        return text == null ? "" : text;
+    }
+
+    /**
+     * Rozszerzalna lista wpisów posortowana według (nazwa, identyfikator).
+     */
+    private static final class EntryList {
+        private Entry[] items = new Entry[4];
+        private int size = 0;
+
+        /** Dopisuje wpis na końcu; wywołujący zapewnia kolejność. */
+        void append(Entry entry) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = entry;
+        }
+
+        void insert(Entry entry) {
+            int pos = firstAfter(entry.name(), entry.sortKey(), entry.id());
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            System.arraycopy(items, pos, items, pos + 1, size - pos);
+            items[pos] = entry;
+            size++;
+        }
+
+        boolean remove(Entry entry) {
+            int pos = Arrays.binarySearch(items, 0, size, entry);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(items, pos + 1, items, pos, size - pos - 1);
+            items[--size] = null;
+            return true;
+        }
+
+        /**
+         * Zwraca pozycję pierwszego wpisu większego od klucza
+         * (nazwa, identyfikator).
+         */
+        int firstAfter(String name, CollationKey key, int id) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (items[mid].compareKey(name, key, id) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
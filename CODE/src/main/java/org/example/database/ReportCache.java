@@ -0,0 +1,236 @@
+/*
+ * Classname: ReportCache
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.database;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.utils.AppPaths;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Pamięć podręczna wygenerowanych raportów PDF na dysku.
+ * <p>
+ * Wpis identyfikują typ raportu, jego parametry (okres, filtry)
+ * oraz znacznik wersji danych, np. liczba pozycji, najwyższy
+ * identyfikator transakcji i suma wartości w okresie. Dopóki znacznik
+ * się nie zmieni, raport kopiowany jest z pamięci podręcznej bez
+ * zapytań o dane i bez ponownego renderowania PDF. Nowy znacznik
+ * oznacza nowy wpis, a poprzednia wersja tego samego raportu jest
+ * usuwana.
+ * <p>
+ * Pliki przechowywane są w katalogu {@code cache} w katalogu raportów
+ * ({@link AppPaths#getReportsDirectory()}); właściwość systemowa
+ * {@code stonka.reports.cache} wskazuje inny katalog (np. w testach).
+ */
+public final class ReportCache {
+
+    private static final Logger logger =
+            LogManager.getLogger(ReportCache.class);
+
+    /**
+     * Największa liczba przechowywanych plików; najdawniej używane
+     * są usuwane.
+     */
+    private static final int MAX_ENTRIES = 200;
+
+    private static final String EXTENSION = ".pdf";
+
+    /**
+     * Zapis raportu do wskazanego pliku.
+     */
+    @FunctionalInterface
+    public interface Renderer {
+
+        /**
+         * Generuje raport.
+         *
+         * @param target plik docelowy
+         * @throws Exception błąd generowania
+         */
+        void render(Path target) throws Exception;
+    }
+
+    private ReportCache() {
+    }
+
+    /**
+     * Zapisuje raport do pliku docelowego – z pamięci podręcznej, jeśli
+     * istnieje wpis dla tego typu, parametrów i wersji danych,
+     * a w przeciwnym razie przez {@code renderer}, zapamiętując wynik.
+     * Bez znacznika wersji (null) raport jest zawsze generowany.
+     *
+     * @param type        typ raportu
+     * @param parameters  parametry decydujące o treści raportu
+     * @param dataVersion znacznik wersji danych lub null
+     * @param target      plik docelowy
+     * @param renderer    generowanie raportu przy braku wpisu
+     * @return true, jeśli raport pochodzi z pamięci podręcznej
+     * @throws Exception błąd generowania raportu
+     */
+    public static boolean getOrRender(String type, List<?> parameters,
+                                      String dataVersion, Path target,
+                                      Renderer renderer) throws Exception {
+        if (dataVersion == null) {
+            logger.debug("getOrRender() – {} bez wersji danych, "
+                    + "pomijam pamięć podręczną", type);
+            renderer.render(target);
+            return false;
+        }
+
+        Path dir = getDirectory();
+        String keyPrefix = hash(type + '|' + parameters) + '-';
+        Path cached = dir.resolve(keyPrefix + hash(dataVersion) + EXTENSION);
+
+        if (Files.isRegularFile(cached)) {
+            try {
+                copy(cached, target);
+                Files.setLastModifiedTime(cached,
+                        FileTime.fromMillis(System.currentTimeMillis()));
+                logger.info("getOrRender() – {} {} z pamięci podręcznej "
+                        + "(wersja {})", type, parameters, dataVersion);
+                return true;
+            } catch (IOException e) {
+                logger.warn("getOrRender() – nie można odczytać wpisu {}, "
+                        + "generuję raport ponownie", cached, e);
+            }
+        }
+
+        renderer.render(target);
+        store(target, dir, keyPrefix, cached);
+        logger.info("getOrRender() – {} {} wygenerowany i zapamiętany "
+                + "(wersja {})", type, parameters, dataVersion);
+        return false;
+    }
+
+    /**
+     * Usuwa wszystkie wpisy pamięci podręcznej.
+     *
+     * @return liczba usuniętych plików
+     */
+    public static int clear() {
+        int removed = 0;
+        for (Path file : listEntries(getDirectory())) {
+            try {
+                Files.deleteIfExists(file);
+                removed++;
+            } catch (IOException e) {
+                logger.warn("clear() – nie można usunąć {}", file, e);
+            }
+        }
+        logger.info("clear() – usunięto {} wpisów", removed);
+        return removed;
+    }
+
+    /**
+     * @return katalog pamięci podręcznej raportów
+     */
+    public static Path getDirectory() {
+        String override = System.getProperty("stonka.reports.cache");
+        if (override != null && !override.isBlank()) {
+            return Paths.get(override);
+        }
+        return AppPaths.getReportsDirectory().resolve("cache");
+    }
+
+    /**
+     * Zapamiętuje wygenerowany raport. Plik trafia do katalogu przez
+     * plik tymczasowy i przeniesienie, więc równoległy odczyt nie
+     * zobaczy niepełnego wpisu. Błąd zapisu nie przerywa raportu.
+     */
+    private static void store(Path rendered, Path dir, String keyPrefix,
+                              Path cached) {
+        try {
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, keyPrefix, ".tmp");
+            try {
+                Files.copy(rendered, temp,
+                        StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temp, cached, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            for (Path file : listEntries(dir)) {
+                if (file.getFileName().toString().startsWith(keyPrefix)
+                        && !file.equals(cached)) {
+                    Files.deleteIfExists(file);
+                    logger.debug("store() – usunięto poprzednią wersję {}",
+                            file.getFileName());
+                }
+            }
+            prune(dir);
+        } catch (IOException e) {
+            logger.warn("store() – nie zapamiętano raportu {}", rendered, e);
+        }
+    }
+
+    private static void prune(Path dir) throws IOException {
+        List<Path> entries = listEntries(dir);
+        if (entries.size() <= MAX_ENTRIES) {
+            return;
+        }
+        entries.sort(Comparator.comparing(ReportCache::lastModified));
+        for (int i = 0; i < entries.size() - MAX_ENTRIES; i++) {
+            Files.deleteIfExists(entries.get(i));
+        }
+    }
+
+    private static List<Path> listEntries(Path dir) {
+        List<Path> entries = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return entries;
+        }
+        try (DirectoryStream<Path> stream =
+                     Files.newDirectoryStream(dir, "*" + EXTENSION)) {
+            stream.forEach(entries::add);
+        } catch (IOException e) {
+            logger.warn("listEntries() – nie można odczytać {}", dir, e);
+        }
+        return entries;
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void copy(Path source, Path target) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Brak algorytmu SHA-256", e);
+        }
+    }
+}
@@ -0,0 +1,383 @@
+/*
+ * Classname: ReportJobQueue
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.database;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kolejka zadań generowania raportów PDF działających w tle.
+ * <p>
+ * Zadania wykonywane są przez {@link DatabaseExecutor} w ramach zasobu
+ * {@link DatabaseExecutor.Resource#REPORTS}, więc jednocześnie działa
+ * ich najwyżej {@code db.async.reports.permits} (domyślnie 2);
+ * pozostałe czekają w stanie {@link State#QUEUED}. Każde zadanie
+ * ({@link Job}) ma stan, postęp i komunikat, które interfejs odczytuje
+ * cyklicznie zamiast czekać na wynik w wątku JavaFX.
+ * <p>
+ * Zgłoszenie raportu o tym samym typie i parametrach (np. okres
+ * i kategorie), gdy identyczne zadanie jeszcze trwa, nie tworzy nowego
+ * zadania – zwracane jest zadanie już istniejące. Anulowanie jest
+ * kooperacyjne: zadanie w kolejce nie zostanie uruchomione, a zadanie
+ * w trakcie kończy się przy najbliższym wywołaniu
+ * {@link Job#update(double, String)}.
+ */
+public final class ReportJobQueue {
+
+    private static final Logger logger =
+            LogManager.getLogger(ReportJobQueue.class);
+
+    /**
+     * Liczba zakończonych zadań przechowywanych w tabeli zadań.
+     */
+    private static final int FINISHED_RETENTION = 50;
+
+    /**
+     * Stan zadania raportu.
+     */
+    public enum State {
+        QUEUED("W kolejce"),
+        RUNNING("W trakcie"),
+        DONE("Gotowy"),
+        FAILED("Błąd"),
+        CANCELLED("Anulowany");
+
+        private final String displayName;
+
+        State(String displayName) {
+            this.displayName = displayName;
+        }
+
+        /**
+         * @return nazwa stanu wyświetlana w interfejsie
+         */
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        /**
+         * @return true dla stanów końcowych
+         */
+        public boolean isFinished() {
+            return this == DONE || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    /**
+     * Treść zadania raportu.
+     *
+     * @param <T> typ wyniku (np. ścieżka zapisanego pliku)
+     */
+    @FunctionalInterface
+    public interface Task<T> {
+
+        /**
+         * Generuje raport, zgłaszając postęp przez
+         * {@link Job#update(double, String)}.
+         *
+         * @param job bieżące zadanie
+         * @return wynik zadania
+         * @throws Exception błąd generowania
+         */
+        T run(Job<T> job) throws Exception;
+    }
+
+    /**
+     * Klucz łączenia identycznych zgłoszeń.
+     */
+    private record Key(String type, List<?> parameters) {
+    }
+
+    /**
+     * Zadanie raportu w tabeli zadań.
+     *
+     * @param <T> typ wyniku
+     */
+    public static final class Job<T> {
+
+        private final long id;
+        private final String type;
+        private final Key key;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private volatile State state = State.QUEUED;
+        private volatile double progress;
+        private volatile String message = State.QUEUED.getDisplayName();
+        private volatile boolean cancelRequested;
+
+        private Job(long id, String type, Key key) {
+            this.id = id;
+            this.type = type;
+            this.key = key;
+        }
+
+        /**
+         * Zgłasza postęp zadania i sprawdza, czy nie zostało anulowane.
+         * Wywoływana przez treść zadania między kolejnymi etapami.
+         *
+         * @param fraction postęp od 0 do 1
+         * @param message  opis bieżącego etapu
+         * @throws CancellationException gdy zadanie anulowano
+         */
+        public void update(double fraction, String message) {
+            if (cancelRequested) {
+                throw new CancellationException("Anulowano raport " + type);
+            }
+            this.progress = Math.max(0, Math.min(1, fraction));
+            this.message = message;
+            logger.debug("Zadanie {} ({}) – {} %, {}", id, type,
+                    Math.round(progress * 100), message);
+        }
+
+        /**
+         * Zgłasza anulowanie zadania. Zadanie w kolejce nie zostanie
+         * uruchomione; zadanie w trakcie zakończy się przy najbliższym
+         * zgłoszeniu postępu.
+         *
+         * @return true, jeśli zadanie nie było jeszcze zakończone
+         */
+        public synchronized boolean cancel() {
+            if (state.isFinished()) {
+                return false;
+            }
+            cancelRequested = true;
+            message = "Anulowanie…";
+            logger.info("Zadanie {} ({}) – zgłoszono anulowanie", id, type);
+            if (state == State.QUEUED) {
+                finish(State.CANCELLED, null, null);
+            }
+            return true;
+        }
+
+        /**
+         * @return identyfikator zadania
+         */
+        public long getId() {
+            return id;
+        }
+
+        /**
+         * @return typ raportu
+         */
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * @return czas zgłoszenia zadania
+         */
+        public LocalDateTime getSubmittedAt() {
+            return submittedAt;
+        }
+
+        /**
+         * @return bieżący stan
+         */
+        public State getState() {
+            return state;
+        }
+
+        /**
+         * @return postęp od 0 do 1
+         */
+        public double getProgress() {
+            return progress;
+        }
+
+        /**
+         * @return opis bieżącego etapu lub przyczyna błędu
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * @return true dla zadania w stanie końcowym
+         */
+        public boolean isFinished() {
+            return state.isFinished();
+        }
+
+        /**
+         * @return wynik zadania lub null, gdy nie zakończyło się
+         * powodzeniem
+         */
+        public T getResult() {
+            return state == State.DONE ? future.getNow(null) : null;
+        }
+
+        /**
+         * @return przyszły wynik; anulowane zadanie kończy się
+         * {@link CancellationException}
+         */
+        public CompletableFuture<T> future() {
+            return future;
+        }
+
+        private synchronized boolean start() {
+            if (cancelRequested || state.isFinished()) {
+                return false;
+            }
+            state = State.RUNNING;
+            message = State.RUNNING.getDisplayName();
+            return true;
+        }
+
+        private void execute(Task<T> task) {
+            if (!start()) {
+                finish(State.CANCELLED, null, null);
+                return;
+            }
+            try {
+                T result = task.run(this);
+                if (cancelRequested) {
+                    finish(State.CANCELLED, null, null);
+                } else {
+                    finish(State.DONE, result, null);
+                }
+            } catch (CancellationException e) {
+                finish(State.CANCELLED, null, null);
+            } catch (Exception e) {
+                logger.error("Zadanie {} ({}) – błąd generowania raportu",
+                        id, type, e);
+                finish(State.FAILED, null, e);
+            }
+        }
+
+        private synchronized void finish(State finalState, T result,
+                                         Throwable error) {
+            if (state.isFinished()) {
+                return;
+            }
+            state = finalState;
+            active.remove(key, this);
+            switch (finalState) {
+                case DONE -> {
+                    progress = 1;
+                    message = State.DONE.getDisplayName();
+                    future.complete(result);
+                }
+                case FAILED -> {
+                    message = error.getMessage() != null
+                            ? error.getMessage() : error.toString();
+                    future.completeExceptionally(error);
+                }
+                default -> {
+                    message = State.CANCELLED.getDisplayName();
+                    future.completeExceptionally(new CancellationException(
+                            "Anulowano raport " + type));
+                }
+            }
+            logger.info("Zadanie {} ({}) – {}", id, type,
+                    finalState.getDisplayName());
+            pruneFinished();
+        }
+
+        @Override
+        public String toString() {
+            return "Job{" + id + ", " + type + ", " + state + ", "
+                    + Math.round(progress * 100) + "%}";
+        }
+    }
+
+    private static final AtomicLong nextId = new AtomicLong(1);
+
+    private static final Map<Long, Job<?>> jobs =
+            new ConcurrentSkipListMap<>();
+
+    private static final Map<Key, Job<?>> active = new ConcurrentHashMap<>();
+
+    private ReportJobQueue() {
+    }
+
+    /**
+     * Zgłasza raport do wygenerowania w tle. Jeśli identyczny raport
+     * (ten sam typ i parametry) jest w kolejce lub w trakcie i nie
+     * zgłoszono jego anulowania, zwracane jest istniejące zadanie.
+     *
+     * @param type       typ raportu (np. „Raport sprzedaży”)
+     * @param parameters parametry raportu decydujące o jego treści
+     *                   (okres, kategorie, filtry); mogą zawierać null
+     * @param task       treść zadania
+     * @param <T>        typ wyniku
+     * @return nowe lub istniejące zadanie
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Job<T> submit(String type, List<?> parameters,
+                                    Task<T> task) {
+        Key key = new Key(type,
+                Collections.unmodifiableList(new ArrayList<>(parameters)));
+        List<Job<T>> created = new ArrayList<>(1);
+        Job<?> job = active.compute(key, (k, existing) -> {
+            // Zadanie, którego anulowanie już zgłoszono, nie przyjmuje
+            // nowych zgłoszeń – zakończyłoby się bez wyniku.
+            if (existing != null && !existing.isFinished()
+                    && !existing.cancelRequested) {
+                return existing;
+            }
+            created.add(new Job<>(nextId.getAndIncrement(), type, key));
+            return created.get(0);
+        });
+        if (created.isEmpty()) {
+            logger.info("submit() – {} {} już w toku, dołączono do zadania "
+                    + "{}", type, parameters, job.getId());
+            return (Job<T>) job;
+        }
+        Job<T> queued = created.get(0);
+        jobs.put(queued.getId(), queued);
+        logger.info("submit() – zadanie {} ({}) w kolejce, parametry={}",
+                queued.getId(), type, parameters);
+        DatabaseExecutor.submit(DatabaseExecutor.Resource.REPORTS, () -> {
+            queued.execute(task);
+            return null;
+        });
+        return queued;
+    }
+
+    /**
+     * Zwraca tabelę zadań: trwające i ostatnio zakończone,
+     * od najstarszego.
+     *
+     * @return migawka listy zadań
+     */
+    public static List<Job<?>> getJobs() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    /**
+     * Zwraca zadanie o podanym identyfikatorze.
+     *
+     * @param id identyfikator zadania
+     * @return zadanie lub null, jeśli nie istnieje lub zostało usunięte
+     * z tabeli
+     */
+    public static Job<?> getJob(long id) {
+        return jobs.get(id);
+    }
+
+    private static void pruneFinished() {
+        List<Job<?>> finished = jobs.values().stream()
+                .filter(Job::isFinished)
+                .toList();
+        for (int i = 0; i < finished.size() - FINISHED_RETENTION; i++) {
+            jobs.remove(finished.get(i).getId());
+        }
+    }
+}
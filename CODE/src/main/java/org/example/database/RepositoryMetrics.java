@@ -0,0 +1,357 @@
+/*
+ * Classname: RepositoryMetrics
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.database;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.NoResultException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.utils.LatencyHistogram;
+import org.example.utils.StonkaEvents;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rejestr czasów i liczników wywołań metod repozytoriów.
+ * <p>
+ * Każda metoda repozytorium otwiera własny EntityManager
+ * ({@code EMFProvider.get().createEntityManager()}) i zamyka go
+ * na końcu, więc czas życia EntityManagera odpowiada czasowi
+ * wywołania. {@link EMFProvider} opakowuje fabrykę przez
+ * {@link #instrument(EntityManagerFactory)}; opakowany EntityManager
+ * przy utworzeniu ustala wywołującą metodę (pierwsza ramka stosu
+ * z pakietu {@code org.example}), a przy zamknięciu zapisuje czas,
+ * liczbę zwróconych lub zmienionych wierszy, liczbę instrukcji SQL
+ * ({@link SqlStatementCounter}) i ewentualny błąd (wyjątek albo
+ * wycofanie transakcji). Wewnątrz {@link UnitOfWork} jeden
+ * EntityManager obsługuje wiele metod repozytoriów – wtedy całe
+ * wywołanie jest przypisywane metodzie, która uruchomiła jednostkę.
+ * <p>
+ * Liczniki są bezblokadowe ({@link LongAdder}, {@link LatencyHistogram}).
+ * Każde wywołanie jest też emitowane jako zdarzenie JFR
+ * {@link StonkaEvents.RepositoryCall}. Pomiar (razem ze zdarzeniami)
+ * można wyłączyć właściwością systemową
+ * {@code -Dstonka.metrics=false}.
+ */
+public final class RepositoryMetrics {
+
+    private static final Logger logger =
+            LogManager.getLogger(RepositoryMetrics.class);
+
+    private static final boolean ENABLED = Boolean.parseBoolean(
+            System.getProperty("stonka.metrics", "true"));
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private static final Map<String, OperationStats> operations =
+            new ConcurrentHashMap<>();
+
+    private RepositoryMetrics() {
+    }
+
+    /**
+     * Statystyki jednej operacji (metody repozytorium).
+     *
+     * @param operation  nazwa w postaci {@code Klasa.metoda}
+     * @param calls      liczba wywołań
+     * @param errors     liczba wywołań zakończonych błędem
+     *                   lub wycofaniem transakcji
+     * @param rows       łączna liczba zwróconych lub zmienionych wierszy
+     * @param statements łączna liczba instrukcji SQL
+     * @param totalMs    łączny czas wywołań [ms]
+     * @param p50Ms      mediana czasu wywołania [ms]
+     * @param p95Ms      95. percentyl czasu wywołania [ms]
+     * @param p99Ms      99. percentyl czasu wywołania [ms]
+     * @param maxMs      najdłuższy czas wywołania [ms]
+     */
+    public record Snapshot(String operation,
+                           long calls,
+                           long errors,
+                           long rows,
+                           long statements,
+                           double totalMs,
+                           double p50Ms,
+                           double p95Ms,
+                           double p99Ms,
+                           double maxMs) {
+    }
+
+    private static final class OperationStats {
+        final LongAdder errors = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final LatencyHistogram latency = new LatencyHistogram();
+
+        Snapshot snapshot(String operation) {
+            long calls = latency.getCount();
+            return new Snapshot(operation, calls, errors.sum(), rows.sum(),
+                    statements.sum(),
+                    latency.getMeanMillis() * calls,
+                    latency.getPercentileMillis(50),
+                    latency.getPercentileMillis(95),
+                    latency.getPercentileMillis(99),
+                    latency.getMaxMillis());
+        }
+    }
+
+    /**
+     * Czy pomiar jest włączony.
+     *
+     * @return true, jeśli wywołania są mierzone
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Zwraca statystyki wszystkich operacji, od najbardziej
+     * obciążających bazę (największy łączny czas).
+     *
+     * @return lista statystyk
+     */
+    public static List<Snapshot> snapshot() {
+        List<Snapshot> result = new ArrayList<>(operations.size());
+        operations.forEach((name, stats) ->
+                result.add(stats.snapshot(name)));
+        result.sort(Comparator.comparingDouble(Snapshot::totalMs)
+                .reversed());
+        return result;
+    }
+
+    /**
+     * Zeruje wszystkie statystyki.
+     */
+    public static void reset() {
+        operations.clear();
+        logger.info("reset() – wyzerowano statystyki repozytoriów");
+    }
+
+    /**
+     * Zapisuje wywołanie operacji.
+     *
+     * @param operation nazwa operacji
+     * @param nanos     czas wywołania w nanosekundach
+     * @param rows       liczba wierszy
+     * @param statements liczba instrukcji SQL
+     * @param error      czy wywołanie zakończyło się błędem
+     */
+    public static void record(String operation, long nanos, long rows,
+                              long statements, boolean error) {
+        OperationStats stats = operations.computeIfAbsent(operation,
+                k -> new OperationStats());
+        stats.latency.recordNanos(nanos);
+        stats.rows.add(rows);
+        stats.statements.add(statements);
+        if (error) {
+            stats.errors.increment();
+        }
+    }
+
+    /**
+     * Opakowuje fabrykę tak, aby tworzone przez nią EntityManagery
+     * były mierzone. Gdy pomiar jest wyłączony, zwraca fabrykę bez zmian.
+     *
+     * @param emf fabryka Hibernate
+     * @return fabryka mierząca wywołania
+     */
+    static EntityManagerFactory instrument(EntityManagerFactory emf) {
+        if (!ENABLED) {
+            return emf;
+        }
+        return (EntityManagerFactory) Proxy.newProxyInstance(
+                RepositoryMetrics.class.getClassLoader(),
+                new Class<?>[] {EntityManagerFactory.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(emf, method, args);
+                    if (result instanceof EntityManager em
+                            && method.getName().equals(
+                                    "createEntityManager")) {
+                        return new TimedEntityManager(em, callerName())
+                                .proxy();
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * Ustala nazwę wywołującej metody: pierwsza ramka z pakietu
+     * {@code org.example} poza samą warstwą pomiaru. Metody lambda
+     * ({@code lambda$metoda$0}) przypisywane są do metody otaczającej.
+     */
+    private static String callerName() {
+        return WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith("org.example.")
+                        && !f.getClassName().startsWith(
+                                RepositoryMetrics.class.getName())
+                        && !f.getClassName().equals(
+                                EMFProvider.class.getName())
+                        && !f.getClassName().equals(
+                                UnitOfWork.class.getName()))
+                .findFirst()
+                .map(f -> simpleName(f.getClassName()) + "."
+                        + methodName(f.getMethodName()))
+                .orElse("(inne)"));
+    }
+
+    private static String simpleName(String className) {
+        String name = className.substring(className.lastIndexOf('.') + 1);
+        int nested = name.indexOf('$');
+        return nested > 0 ? name.substring(0, nested) : name;
+    }
+
+    private static String methodName(String method) {
+        if (method.startsWith("lambda$")) {
+            int end = method.indexOf('$', 7);
+            return end > 7 ? method.substring(7, end) : method;
+        }
+        return method;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args)
+            throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Stan pomiaru jednego EntityManagera – od utworzenia do zamknięcia.
+     */
+    private static final class TimedEntityManager {
+        private final EntityManager target;
+        private final String operation;
+        private final long start = System.nanoTime();
+        private final Thread owner = Thread.currentThread();
+        private final long statementsBefore = SqlStatementCounter.current();
+        private final LongAdder rows = new LongAdder();
+        private final StonkaEvents.RepositoryCall event =
+                new StonkaEvents.RepositoryCall();
+        private volatile boolean error;
+        private volatile boolean recorded;
+
+        TimedEntityManager(EntityManager target, String operation) {
+            this.target = target;
+            this.operation = operation;
+            event.begin();
+        }
+
+        EntityManager proxy() {
+            return (EntityManager) wrap(EntityManager.class,
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.equals("close")) {
+                            try {
+                                return call(target, method, args);
+                            } finally {
+                                finish();
+                            }
+                        }
+                        Object result = call(target, method, args);
+                        if (name.equals("find") && result != null) {
+                            rows.increment();
+                        } else if (result instanceof EntityTransaction tx) {
+                            return wrapTransaction(tx);
+                        } else if (isQuery(method)) {
+                            return wrapQuery(result, method.getReturnType());
+                        }
+                        return result;
+                    });
+        }
+
+        private Object wrapTransaction(EntityTransaction tx) {
+            return wrap(EntityTransaction.class, (proxy, method, args) -> {
+                if (method.getName().equals("rollback")) {
+                    error = true;
+                }
+                return call(tx, method, args);
+            });
+        }
+
+        private Object wrapQuery(Object query, Class<?> type) {
+            return wrap(type, (proxy, method, args) -> {
+                Object result = call(query, method, args);
+                switch (method.getName()) {
+                    case "getResultList" ->
+                            rows.add(((Collection<?>) result).size());
+                    case "getSingleResult", "getSingleResultOrNull" -> {
+                        if (result != null) {
+                            rows.increment();
+                        }
+                    }
+                    case "executeUpdate" -> rows.add((Integer) result);
+                    default -> {
+                        // setParameter, setMaxResults itp. zwracają
+                        // to samo zapytanie – zachowaj opakowanie
+                        if (result == query) {
+                            return proxy;
+                        }
+                    }
+                }
+                return result;
+            });
+        }
+
+        private Object call(Object target, Method method, Object[] args)
+                throws Throwable {
+            try {
+                return invoke(target, method, args);
+            } catch (NoResultException e) {
+                // brak wyniku to zwykła odpowiedź, nie błąd
+                throw e;
+            } catch (Throwable t) {
+                error = true;
+                throw t;
+            }
+        }
+
+        private void finish() {
+            if (!recorded) {
+                recorded = true;
+                // licznik instrukcji jest per wątek – zamknięcie w innym
+                // wątku niż utworzenie nie pozwala go policzyć
+                long statements = Thread.currentThread() == owner
+                        ? SqlStatementCounter.current() - statementsBefore
+                        : 0;
+                record(operation, System.nanoTime() - start, rows.sum(),
+                        statements, error);
+                if (event.shouldCommit()) {
+                    event.operation = operation;
+                    event.rows = rows.sum();
+                    event.statements = statements;
+                    event.error = error;
+                    event.commit();
+                }
+            }
+        }
+
+        private static boolean isQuery(Method method) {
+            return method.getName().startsWith("create")
+                    && method.getName().endsWith("Query")
+                    && method.getReturnType().isInterface();
+        }
+    }
+
+    private static Object wrap(Class<?> type, InvocationHandler handler) {
+        return Proxy.newProxyInstance(RepositoryMetrics.class
+                .getClassLoader(), new Class<?>[] {type}, handler);
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Classname: SecondLevelCache
+ * Version information: 1.0
+ * Date: 2025-06-04
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.database;
+
+import jakarta.persistence.Cache;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.sys.Address;
+import org.example.sys.Product;
+import org.example.sys.Warehouse;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Obsługa lokalnej pamięci podręcznej drugiego poziomu Hibernate
+ * (encje Product, Warehouse i Address oraz wyniki zapytań katalogowych).
+ * Pamięć jest opcjonalna i włączana kluczem db.cache.enabled=true
+ * w pliku config/database.properties. Konfiguracja regionów
+ * (rozmiary, czasy życia) znajduje się w pliku ehcache.xml.
+ * Gdy pamięć jest wyłączona, wszystkie metody są bezpieczne
+ * i nic nie robią.
+ */
+public final class SecondLevelCache {
+
+    private static final Logger logger =
+            LogManager.getLogger(SecondLevelCache.class);
+
+    /** Region encji {@link Product}. */
+    public static final String PRODUCT_REGION = "produkty";
+
+    /** Region encji {@link Warehouse}. */
+    public static final String WAREHOUSE_REGION = "stany";
+
+    /** Region encji {@link Address}. */
+    public static final String ADDRESS_REGION = "adresy";
+
+    /** Domyślny region wyników zapytań Hibernate. */
+    public static final String QUERY_REGION = "default-query-results-region";
+
+    /** Podpowiedź JPA oznaczająca zapytanie jako buforowane. */
+    public static final String HINT_CACHEABLE = "org.hibernate.cacheable";
+
+    private SecondLevelCache() {
+    }
+
+    /**
+     * Statystyki pojedynczego regionu pamięci podręcznej.
+     *
+     * @param region nazwa regionu
+     * @param hits   liczba trafień
+     * @param misses liczba chybień
+     * @param puts   liczba zapisów do regionu
+     */
+    public record RegionStats(String region,
+                              long hits,
+                              long misses,
+                              long puts) {
+
+        /**
+         * Zwraca współczynnik trafień w przedziale 0..1.
+         *
+         * @return współczynnik trafień lub 0, jeśli brak odczytów
+         */
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : hits / (double) total;
+        }
+    }
+
+    /**
+     * Sprawdza, czy pamięć podręczna została włączona w konfiguracji.
+     *
+     * @return true, jeśli db.cache.enabled=true
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(DatabaseConfig.properties
+                .getProperty("db.cache.enabled", "false").trim());
+    }
+
+    /**
+     * Uzupełnia właściwości Hibernate o ustawienia pamięci podręcznej.
+     * Wywoływane przez {@link EMFProvider} przed utworzeniem fabryki.
+     *
+     * @param properties mapa właściwości przekazywana do Hibernate
+     */
+    static void configure(Map<String, String> properties) {
+        if (!isEnabled()) {
+            properties.put("hibernate.cache.use_second_level_cache", "false");
+            properties.put("hibernate.cache.use_query_cache", "false");
+            return;
+        }
+        logger.info("Włączanie pamięci podręcznej drugiego poziomu");
+        properties.put("hibernate.cache.use_second_level_cache", "true");
+        properties.put("hibernate.cache.use_query_cache", "true");
+        properties.put("hibernate.cache.region.factory_class", "jcache");
+        properties.put("hibernate.javax.cache.provider",
+                "org.ehcache.jsr107.EhcacheCachingProvider");
+        properties.put("hibernate.javax.cache.uri", "ehcache.xml");
+        properties.put("hibernate.javax.cache.missing_cache_strategy",
+                "create-warn");
+        properties.put("hibernate.generate_statistics", "true");
+    }
+
+    /**
+     * Zwraca statystyki trafień i chybień dla regionów encji
+     * oraz regionu zapytań.
+     *
+     * @return lista statystyk lub pusta lista, gdy pamięć jest wyłączona
+     */
+    public static List<RegionStats> snapshot() {
+        if (!isEnabled() || !EMFProvider.isInitialized()) {
+            return List.of();
+        }
+        List<RegionStats> result = new ArrayList<>();
+        try {
+            Statistics stats = EMFProvider.get()
+                    .unwrap(SessionFactory.class).getStatistics();
+            for (String region : List.of(PRODUCT_REGION, WAREHOUSE_REGION,
+                    ADDRESS_REGION)) {
+                CacheRegionStatistics s =
+                        stats.getDomainDataRegionStatistics(region);
+                if (s != null) {
+                    result.add(new RegionStats(region, s.getHitCount(),
+                            s.getMissCount(), s.getPutCount()));
+                }
+            }
+            CacheRegionStatistics q =
+                    stats.getQueryRegionStatistics(QUERY_REGION);
+            if (q != null) {
+                result.add(new RegionStats(QUERY_REGION, q.getHitCount(),
+                        q.getMissCount(), q.getPutCount()));
+            }
+        } catch (Exception e) {
+            logger.error("snapshot() – błąd odczytu statystyk pamięci", e);
+        }
+        return result;
+    }
+
+    /**
+     * Usuwa produkt z pamięci podręcznej wraz z buforowanymi
+     * wynikami zapytań katalogowych.
+     *
+     * @param productId identyfikator produktu
+     */
+    public static void evictProduct(int productId) {
+        evict(Product.class, productId);
+        evictQueries();
+    }
+
+    /**
+     * Usuwa z pamięci podręcznej wszystkie produkty
+     * (np. po masowym usunięciu kategorii).
+     */
+    public static void evictAllProducts() {
+        evict(Product.class, null);
+        evictQueries();
+    }
+
+    /**
+     * Usuwa stan magazynowy produktu z pamięci podręcznej.
+     *
+     * @param productId identyfikator produktu
+     */
+    public static void evictWarehouse(int productId) {
+        evict(Warehouse.class, productId);
+    }
+
+    /**
+     * Usuwa adres z pamięci podręcznej wraz z buforowanymi
+     * wynikami zapytań.
+     *
+     * @param addressId identyfikator adresu
+     */
+    public static void evictAddress(int addressId) {
+        evict(Address.class, addressId);
+        evictQueries();
+    }
+
+    /**
+     * Czyści całą pamięć podręczną drugiego poziomu
+     * (np. po odtworzeniu bazy z kopii zapasowej).
+     */
+    public static void evictAll() {
+        if (!isEnabled() || !EMFProvider.isInitialized()) {
+            return;
+        }
+        EMFProvider.get().getCache().evictAll();
+        logger.debug("evictAll() – wyczyszczono pamięć podręczną");
+    }
+
+    private static void evict(Class<?> entity, Object id) {
+        if (!isEnabled() || !EMFProvider.isInitialized()) {
+            return;
+        }
+        Cache cache = EMFProvider.get().getCache();
+        if (id == null) {
+            cache.evict(entity);
+        } else {
+            cache.evict(entity, id);
+        }
+        logger.debug("evict() – {} id={}", entity.getSimpleName(), id);
+    }
+
+    private static void evictQueries() {
+        if (!isEnabled() || !EMFProvider.isInitialized()) {
+            return;
+        }
+        EMFProvider.get().unwrap(SessionFactory.class)
+                .getCache().evictDefaultQueryRegion();
+    }
+}
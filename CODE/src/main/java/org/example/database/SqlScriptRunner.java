@@ -0,0 +1,394 @@
+/*
+ * Classname: SqlScriptRunner
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.database;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Wykonuje skrypty SQL w jednej transakcji, grupując kolejne polecenia
+ * INSERT/REPLACE w paczki JDBC ({@link Statement#addBatch(String)}).
+ * <p>
+ * Skrypt jest czytany strumieniowo przez {@link Parser}, który
+ * poprawnie pomija komentarze i nie dzieli poleceń na średnikach
+ * wewnątrz literałów, dzięki czemu można wykonywać także duże,
+ * generowane zestawy danych. Polecenia sterujące transakcją
+ * ze skryptu (START TRANSACTION, BEGIN, COMMIT) są pomijane –
+ * transakcją zarządza {@link #run(Connection, Reader, long)}.
+ * <p>
+ * Na MySQL paczki są wysyłane jednym pakietem, jeśli połączenie ma
+ * włączone {@code rewriteBatchedStatements}.
+ */
+public final class SqlScriptRunner {
+
+    private static final Logger logger =
+            LogManager.getLogger(SqlScriptRunner.class);
+
+    /**
+     * Domyślna liczba poleceń w jednej paczce.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * Maksymalna łączna długość poleceń w paczce (w znakach).
+     */
+    private static final long MAX_BATCH_CHARS = 8L << 20;
+
+    private final int batchSize;
+    private final ProgressListener listener;
+
+    /**
+     * Postęp wykonywania skryptu.
+     *
+     * @param statements liczba wykonanych poleceń
+     * @param rows       liczba wierszy wstawionych poleceniami
+     *                   INSERT/REPLACE (o ile sterownik ją zwraca)
+     * @param position   liczba przeczytanych znaków skryptu
+     * @param total      długość skryptu w znakach lub -1, jeśli nieznana
+     */
+    public record Progress(long statements,
+                           long rows,
+                           long position,
+                           long total) {
+    }
+
+    /**
+     * Odbiorca postępu, wywoływany po każdej paczce i na końcu skryptu.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(Progress progress);
+    }
+
+    /**
+     * Wynik wykonania skryptu.
+     *
+     * @param statements liczba wykonanych poleceń
+     * @param rows       liczba wstawionych wierszy
+     */
+    public record Result(long statements, long rows) {
+    }
+
+    /**
+     * @param batchSize maksymalna liczba poleceń w paczce
+     * @param listener  odbiorca postępu (może być null)
+     */
+    public SqlScriptRunner(int batchSize, ProgressListener listener) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(
+                    "Rozmiar paczki musi być dodatni: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        this.listener = listener;
+    }
+
+    /**
+     * Wykonuje skrypt w jednej transakcji. W razie błędu transakcja
+     * jest wycofywana, a wyjątek przekazywany dalej. Polecenia DDL
+     * w MySQL zatwierdzają transakcję niejawnie.
+     *
+     * @param conn   połączenie z bazą
+     * @param script treść skryptu
+     * @param total  długość skryptu w znakach lub -1, jeśli nieznana
+     * @return podsumowanie wykonania
+     * @throws SQLException Jeśli polecenie zakończy się błędem
+     * @throws IOException Jeśli nie można odczytać skryptu
+     */
+    public Result run(Connection conn, Reader script, long total)
+            throws SQLException, IOException {
+        String product = conn.getMetaData().getDatabaseProductName();
+        Parser parser = new Parser(script, product.contains("MySQL")
+                || product.contains("MariaDB"));
+        return inTransaction(conn, () -> execute(conn, parser, total));
+    }
+
+    /**
+     * Wykonuje gotowe polecenia (np. z generatora danych) w jednej
+     * transakcji.
+     *
+     * @param conn       połączenie z bazą
+     * @param statements kolejne polecenia, bez średnika na końcu
+     * @return podsumowanie wykonania
+     * @throws SQLException Jeśli polecenie zakończy się błędem
+     */
+    public Result run(Connection conn, Iterator<String> statements)
+            throws SQLException {
+        try {
+            return inTransaction(conn, () -> execute(conn,
+                    () -> statements.hasNext() ? statements.next() : null,
+                    -1));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Wykonuje polecenia z parsera bez zarządzania transakcją.
+     *
+     * @param conn   połączenie z bazą
+     * @param parser źródło poleceń
+     * @param total  długość skryptu w znakach lub -1, jeśli nieznana
+     * @return podsumowanie wykonania
+     * @throws SQLException Jeśli polecenie zakończy się błędem
+     * @throws IOException Jeśli nie można odczytać skryptu
+     */
+    Result execute(Connection conn, StatementSource parser, long total)
+            throws SQLException, IOException {
+        long statements = 0;
+        long rows = 0;
+        try (Statement stmt = conn.createStatement()) {
+            int batched = 0;
+            long batchedChars = 0;
+            String sql;
+            while ((sql = parser.next()) != null) {
+                if (isTransactionControl(sql)) {
+                    logger.debug("execute() – pominięto: {}", sql);
+                    continue;
+                }
+                if (isBatchable(sql)) {
+                    stmt.addBatch(sql);
+                    batched++;
+                    batchedChars += sql.length();
+                    if (batched >= batchSize
+                            || batchedChars >= MAX_BATCH_CHARS) {
+                        rows += executeBatch(stmt);
+                        statements += batched;
+                        batched = 0;
+                        batchedChars = 0;
+                        report(statements, rows, parser, total);
+                    }
+                    continue;
+                }
+                if (batched > 0) {
+                    rows += executeBatch(stmt);
+                    statements += batched;
+                    batched = 0;
+                    batchedChars = 0;
+                }
+                stmt.execute(sql);
+                statements++;
+            }
+            if (batched > 0) {
+                rows += executeBatch(stmt);
+                statements += batched;
+            }
+        }
+        report(statements, rows, parser, total);
+        return new Result(statements, rows);
+    }
+
+    @FunctionalInterface
+    private interface TransactionWork {
+        Result run() throws SQLException, IOException;
+    }
+
+    private static Result inTransaction(Connection conn, TransactionWork work)
+            throws SQLException, IOException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            Result result = work.run();
+            conn.commit();
+            logger.info("run() – wykonano {} poleceń, wstawiono {} wierszy",
+                    result.statements(), result.rows());
+            return result;
+        } catch (SQLException | IOException | RuntimeException e) {
+            logger.error("run() – błąd skryptu, wycofywanie transakcji", e);
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static long executeBatch(Statement stmt) throws SQLException {
+        long rows = 0;
+        for (int count : stmt.executeBatch()) {
+            if (count > 0) {
+                rows += count;
+            }
+        }
+        stmt.clearBatch();
+        return rows;
+    }
+
+    private void report(long statements, long rows,
+                        StatementSource parser, long total) {
+        if (listener != null) {
+            long position = parser instanceof Parser p ? p.position() : -1;
+            listener.onProgress(new Progress(statements, rows, position,
+                    total));
+        }
+    }
+
+    private static boolean isBatchable(String sql) {
+        String head = head(sql);
+        return head.startsWith("INSERT") || head.startsWith("REPLACE");
+    }
+
+    private static boolean isTransactionControl(String sql) {
+        String head = head(sql);
+        return head.equals("START TRANSACTION") || head.equals("BEGIN")
+                || head.equals("BEGIN WORK") || head.equals("COMMIT")
+                || head.equals("COMMIT WORK");
+    }
+
+    private static String head(String sql) {
+        return sql.substring(0, Math.min(sql.length(), 32)).strip()
+                .replaceAll("\\s+", " ").toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Źródło kolejnych poleceń SQL.
+     */
+    @FunctionalInterface
+    interface StatementSource {
+        /**
+         * @return kolejne polecenie lub null na końcu
+         * @throws IOException błąd odczytu
+         */
+        String next() throws IOException;
+    }
+
+    /**
+     * Strumieniowo dzieli skrypt na polecenia zakończone średnikiem.
+     * Średniki w literałach ('…', "…") i identyfikatorach (`…`) nie
+     * kończą polecenia. Komentarze {@code -- …}, {@code # …} (MySQL)
+     * i {@code /* … *}{@code /} są pomijane, z wyjątkiem komentarzy
+     * warunkowych MySQL {@code /*! … *}{@code /}, które pozostają
+     * częścią polecenia.
+     */
+    public static final class Parser implements StatementSource {
+        private final Reader reader;
+        private final boolean mysql;
+        private final StringBuilder current = new StringBuilder();
+        private int pending = -2;
+        private long position;
+
+        /**
+         * @param reader źródło skryptu
+         * @param mysql  czy ukośnik wsteczny jest znakiem ucieczki
+         *               w literałach, a {@code #} rozpoczyna komentarz
+         */
+        public Parser(Reader reader, boolean mysql) {
+            this.reader = reader;
+            this.mysql = mysql;
+        }
+
+        /**
+         * @return liczba przeczytanych znaków skryptu
+         */
+        public long position() {
+            return position;
+        }
+
+        @Override
+        public String next() throws IOException {
+            current.setLength(0);
+            int c;
+            while ((c = read()) != -1) {
+                char ch = (char) c;
+                if (ch == '\'' || ch == '"' || ch == '`') {
+                    readQuoted(ch);
+                } else if (ch == ';') {
+                    String sql = current.toString().strip();
+                    if (!sql.isEmpty()) {
+                        return sql;
+                    }
+                    current.setLength(0);
+                } else if (ch == '-' && peek() == '-') {
+                    read();
+                    int after = peek();
+                    if (after == -1 || Character.isWhitespace(after)) {
+                        skipLine();
+                    } else {
+                        current.append("--");
+                    }
+                } else if (ch == '#' && mysql) {
+                    skipLine();
+                } else if (ch == '/' && peek() == '*') {
+                    read();
+                    if (peek() == '!') {
+                        current.append("/*");
+                    } else {
+                        skipBlockComment();
+                    }
+                } else {
+                    current.append(ch);
+                }
+            }
+            String rest = current.toString().strip();
+            return rest.isEmpty() ? null : rest;
+        }
+
+        private void readQuoted(char quote) throws IOException {
+            current.append(quote);
+            int c;
+            while ((c = read()) != -1) {
+                char ch = (char) c;
+                current.append(ch);
+                if (ch == '\\' && mysql && quote != '`') {
+                    int escaped = read();
+                    if (escaped != -1) {
+                        current.append((char) escaped);
+                    }
+                } else if (ch == quote) {
+                    return;
+                }
+            }
+        }
+
+        private void skipLine() throws IOException {
+            int c;
+            while ((c = read()) != -1 && c != '\n') {
+                // pomijanie komentarza
+            }
+            current.append('\n');
+        }
+
+        private void skipBlockComment() throws IOException {
+            int c;
+            while ((c = read()) != -1) {
+                if (c == '*' && peek() == '/') {
+                    read();
+                    break;
+                }
+            }
+            current.append(' ');
+        }
+
+        private int read() throws IOException {
+            int c;
+            if (pending != -2) {
+                c = pending;
+                pending = -2;
+            } else {
+                c = reader.read();
+            }
+            if (c != -1) {
+                position++;
+            }
+            return c;
+        }
+
+        private int peek() throws IOException {
+            if (pending == -2) {
+                pending = reader.read();
+            }
+            return pending;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Classname: SqlStatementCounter
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.database;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Licznik instrukcji SQL przygotowywanych przez Hibernate.
+ * <p>
+ * Rejestrowany w {@link EMFProvider} jako
+ * {@code hibernate.session_factory.statement_inspector}; Hibernate
+ * woła {@link #inspect(String)} dla każdej instrukcji przed jej
+ * przygotowaniem (wsad INSERT-ów z tym samym SQL liczony jest raz).
+ * Licznik prowadzony jest osobno dla każdego wątku, dzięki czemu
+ * {@link RepositoryMetrics} i {@link UnitOfWork} mogą policzyć
+ * zapytania wykonane w trakcie jednej operacji. Treść SQL nie jest
+ * zmieniana.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> perThread =
+            ThreadLocal.withInitial(() -> new long[1]);
+
+    private static final LongAdder total = new LongAdder();
+
+    /**
+     * Tworzona przez Hibernate na podstawie nazwy klasy.
+     */
+    public SqlStatementCounter() {
+    }
+
+    @Override
+    public String inspect(String sql) {
+        perThread.get()[0]++;
+        total.increment();
+        return sql;
+    }
+
+    /**
+     * Liczba instrukcji przygotowanych dotąd w bieżącym wątku.
+     * Różnica dwóch odczytów daje liczbę zapytań w danym fragmencie kodu.
+     *
+     * @return licznik bieżącego wątku
+     */
+    public static long current() {
+        return perThread.get()[0];
+    }
+
+    /**
+     * Liczba instrukcji przygotowanych we wszystkich wątkach.
+     *
+     * @return licznik globalny
+     */
+    public static long total() {
+        return total.sum();
+    }
+}
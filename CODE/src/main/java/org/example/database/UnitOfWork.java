@@ -0,0 +1,263 @@
+/*
+ * Classname: UnitOfWork
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.database;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Jednostka pracy – kilka operacji repozytoriów w jednym
+ * EntityManagerze i jednej transakcji.
+ * <p>
+ * Każda metoda repozytorium sama otwiera i zamyka EntityManager
+ * ({@code EMFProvider.get().createEntityManager()}). Wewnątrz
+ * {@link #call(Supplier)} fabryka zwraca zamiast tego widok
+ * wspólnego EntityManagera bieżącego wątku:
+ * <ul>
+ *     <li>{@code close()} nic nie robi – EntityManager zamyka jednostka,</li>
+ *     <li>{@code begin()} i {@code commit()} transakcji repozytorium
+ *     nie kończą transakcji wspólnej ({@code commit()} wykonuje tylko
+ *     {@code flush()}),</li>
+ *     <li>{@code rollback()} oznacza całą jednostkę do wycofania.</li>
+ * </ul>
+ * Dzięki temu ekran korzysta z jednego połączenia z puli, a encje
+ * pobrane raz (np. przez {@code em.find}) są brane z pamięci
+ * podręcznej pierwszego poziomu. Jednostka kończy się zatwierdzeniem
+ * transakcji, a w razie wyjątku lub wycofania przez repozytorium –
+ * jej wycofaniem i wyjątkiem, więc wywołujący nie uzna wycofanych
+ * zmian za zapisane. Wywołanie zagnieżdżone dołącza do jednostki
+ * zewnętrznej.
+ * <p>
+ * Zmiany stanu poza bazą (pamięć podręczna drugiego poziomu, indeks
+ * wyszukiwania produktów) repozytoria rejestrują przez
+ * {@link #afterCommit(Runnable)}; wewnątrz jednostki wykonywane są
+ * dopiero po zatwierdzeniu transakcji zewnętrznej, a przy wycofaniu
+ * są pomijane. Jednostka jest związana z wątkiem, więc nie obejmuje
+ * zadań przekazanych do {@link DatabaseExecutor}; można za to
+ * uruchomić całą jednostkę jako jedno zadanie {@link AsyncRepository}.
+ * <pre>{@code
+ * List<StockRow> rows = UnitOfWork.call(() -> StockRow.join(
+ *         productRepository.getAllProducts(),
+ *         warehouseRepository.getAllStates()));
+ * }</pre>
+ */
+public final class UnitOfWork {
+
+    private static final Logger logger =
+            LogManager.getLogger(UnitOfWork.class);
+
+    private static final ThreadLocal<UnitOfWork> current =
+            new ThreadLocal<>();
+
+    private final EntityManager entityManager;
+    private final EntityManager view;
+    private final List<Runnable> afterCommit = new ArrayList<>();
+    private int joinedCalls;
+    private boolean rollbackOnly;
+
+    private UnitOfWork(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.view = (EntityManager) wrap(EntityManager.class,
+                this::invokeShared);
+    }
+
+    /**
+     * Czy w bieżącym wątku trwa jednostka pracy.
+     *
+     * @return true wewnątrz {@link #call(Supplier)} lub {@link #run(Runnable)}
+     */
+    public static boolean isActive() {
+        return current.get() != null;
+    }
+
+    /**
+     * Wykonuje operacje repozytoriów we wspólnym EntityManagerze
+     * i transakcji.
+     *
+     * @param work operacje do wykonania
+     * @param <T>  typ wyniku
+     * @return wynik operacji
+     * @throws IllegalStateException gdy repozytorium wycofało swoją
+     *                               operację (np. po przechwyconym
+     *                               błędzie zapisu); transakcja jest
+     *                               wtedy wycofywana
+     * @throws RuntimeException      wyjątek zgłoszony przez operacje;
+     *                               transakcja jest wtedy wycofywana
+     */
+    public static <T> T call(Supplier<T> work) {
+        if (isActive()) {
+            return work.get();
+        }
+        long statementsBefore = SqlStatementCounter.current();
+        EntityManager em = EMFProvider.get().createEntityManager();
+        UnitOfWork unit = new UnitOfWork(em);
+        EntityTransaction tx = em.getTransaction();
+        boolean committed = false;
+        current.set(unit);
+        try {
+            tx.begin();
+            T result = work.get();
+            if (unit.rollbackOnly || tx.getRollbackOnly()) {
+                tx.rollback();
+                logger.warn("call() – jednostka pracy wycofana "
+                        + "przez repozytorium");
+                throw new IllegalStateException("Operację wycofano – "
+                        + "zmiany nie zostały zapisane");
+            }
+            tx.commit();
+            committed = true;
+            return result;
+        } catch (RuntimeException | Error e) {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            throw e;
+        } finally {
+            current.remove();
+            em.close();
+            logger.debug("call() – {} wywołań repozytoriów, {} instrukcji "
+                            + "SQL, 1 EntityManager", unit.joinedCalls,
+                    SqlStatementCounter.current() - statementsBefore);
+            if (committed) {
+                unit.runAfterCommit();
+            }
+        }
+    }
+
+    /**
+     * Wykonuje operacje repozytoriów bez wyniku we wspólnym
+     * EntityManagerze i transakcji.
+     *
+     * @param work operacje do wykonania
+     */
+    public static void run(Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Rejestruje akcję do wykonania po zatwierdzeniu zmian, np.
+     * usunięcie encji z pamięci podręcznej drugiego poziomu. Wewnątrz
+     * jednostki pracy akcja czeka na zatwierdzenie transakcji
+     * zewnętrznej i jest pomijana przy wycofaniu; poza jednostką
+     * (transakcja repozytorium została już zatwierdzona) wykonuje się
+     * od razu.
+     *
+     * @param action akcja po zatwierdzeniu
+     */
+    public static void afterCommit(Runnable action) {
+        UnitOfWork unit = current.get();
+        if (unit == null) {
+            action.run();
+        } else {
+            unit.afterCommit.add(action);
+        }
+    }
+
+    /**
+     * Wykonuje akcje zarejestrowane w jednostce. Błąd jednej z nich
+     * nie cofa już zatwierdzonej transakcji ani nie pomija pozostałych.
+     */
+    private void runAfterCommit() {
+        for (Runnable action : afterCommit) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                logger.error("runAfterCommit() – błąd akcji po "
+                        + "zatwierdzeniu", e);
+            }
+        }
+    }
+
+    /**
+     * Opakowuje fabrykę tak, aby wewnątrz jednostki pracy zwracała
+     * wspólny EntityManager bieżącego wątku.
+     *
+     * @param emf fabryka
+     * @return fabryka świadoma jednostek pracy
+     */
+    static EntityManagerFactory bind(EntityManagerFactory emf) {
+        return (EntityManagerFactory) wrap(EntityManagerFactory.class,
+                (proxy, method, args) -> {
+                    UnitOfWork unit = current.get();
+                    if (unit != null && method.getName()
+                            .equals("createEntityManager")) {
+                        unit.joinedCalls++;
+                        return unit.view;
+                    }
+                    return invoke(emf, method, args);
+                });
+    }
+
+    private Object invokeShared(Object proxy, Method method, Object[] args)
+            throws Throwable {
+        switch (method.getName()) {
+            case "close" -> {
+                return null;
+            }
+            case "getTransaction" -> {
+                return joinedTransaction(entityManager.getTransaction());
+            }
+            default -> {
+                return invoke(entityManager, method, args);
+            }
+        }
+    }
+
+    /**
+     * Transakcja repozytorium dołączona do transakcji jednostki.
+     */
+    private Object joinedTransaction(EntityTransaction tx) {
+        return wrap(EntityTransaction.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "begin" -> {
+                    return null;
+                }
+                case "commit" -> {
+                    entityManager.flush();
+                    return null;
+                }
+                case "rollback" -> {
+                    rollbackOnly = true;
+                    tx.setRollbackOnly();
+                    return null;
+                }
+                default -> {
+                    return invoke(tx, method, args);
+                }
+            }
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args)
+            throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Object wrap(Class<?> type, InvocationHandler handler) {
+        return Proxy.newProxyInstance(UnitOfWork.class.getClassLoader(),
+                new Class<?>[] {type}, handler);
+    }
+}
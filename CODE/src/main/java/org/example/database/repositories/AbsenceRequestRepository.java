@@ -80,7 +80,7 @@ public class AbsenceRequestRepository {
         EntityManager em = EMFProvider.get().createEntityManager();
         try {
             AbsenceRequest w = em.find(AbsenceRequest.class, id);
-            logger.info("findRequestById() - znaleziono: {}", w);
+            logger.debug("findRequestById() - znaleziono: {}", w);
             return w;
         } catch (Exception e) {
             logger.error("findRequestById() " +
@@ -108,7 +108,7 @@ public class AbsenceRequestRepository {
                     .createQuery("SELECT w FROM AbsenceRequest w",
                             AbsenceRequest.class)
                     .getResultList();
-            logger.info("getAllRequests() - pobrano {} wniosków",
+            logger.debug("getAllRequests() - pobrano {} wniosków",
                     list.size());
             return list;
         } catch (Exception e) {
@@ -206,7 +206,7 @@ public class AbsenceRequestRepository {
                     )
                     .setParameter("employee", employee)
                     .getResultList();
-            logger.info("findEmployeeRequests() " +
+            logger.debug("findEmployeeRequests() " +
                     "- znaleziono {} wniosków", list.size());
             return list;
         } catch (Exception e) {
@@ -241,7 +241,7 @@ public class AbsenceRequestRepository {
                     )
                     .setParameter("id", employeeId)
                     .getResultList();
-            logger.info("findEmployeeRequestsById() " +
+            logger.debug("findEmployeeRequestsById() " +
                     "- znaleziono {} wniosków", list.size());
             return list;
         } catch (Exception e) {
@@ -277,7 +277,7 @@ public class AbsenceRequestRepository {
                     )
                     .setParameter("type", requestType)
                     .getResultList();
-            logger.info("findRequestsByType() " +
+            logger.debug("findRequestsByType() " +
                     "- znaleziono {} wniosków", list.size());
             return list;
         } catch (Exception e) {
@@ -314,7 +314,7 @@ public class AbsenceRequestRepository {
                     )
                     .setParameter("status", status)
                     .getResultList();
-            logger.info("findRequestsByStatus() " +
+            logger.debug("findRequestsByStatus() " +
                     "- znaleziono {} wniosków", list.size());
             return list;
         } catch (Exception e) {
@@ -349,7 +349,7 @@ public class AbsenceRequestRepository {
                     )
                     .setParameter("fromDate", fromDate)
                     .getResultList();
-            logger.info("findRequestsFromDate() " +
+            logger.debug("findRequestsFromDate() " +
                     "- znaleziono {} wniosków", list.size());
             return list;
         } catch (Exception e) {
@@ -384,7 +384,7 @@ public class AbsenceRequestRepository {
                     )
                     .setParameter("toDate", toDate)
                     .getResultList();
-            logger.info("findRequestsToDate() " +
+            logger.debug("findRequestsToDate() " +
                     "- znaleziono {} wniosków", list.size());
             return list;
         } catch (Exception e) {
@@ -428,7 +428,7 @@ public class AbsenceRequestRepository {
                     .setParameter("fromDate", fromDate)
                     .setParameter("toDate", toDate)
                     .getResultList();
-            logger.info("findDateRangeRequests() " +
+            logger.debug("findDateRangeRequests() " +
                     "- znaleziono {} wniosków", list.size());
             return list;
         } catch (Exception e) {
@@ -472,7 +472,7 @@ public class AbsenceRequestRepository {
                     .setParameter("toDate", toDate)
                     .setParameter("fromDate", fromDate)
                     .getResultList();
-            logger.info("findRequestsOverlappingDateRange() " +
+            logger.debug("findRequestsOverlappingDateRange() " +
                     "- znaleziono {} wniosków", list.size());
             return list;
         } catch (Exception e) {
@@ -13,6 +13,8 @@ import jakarta.persistence.EntityTransaction;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.example.database.EMFProvider;
+import org.example.database.SecondLevelCache;
+import org.example.database.UnitOfWork;
 import org.example.sys.Address;
 
 import java.util.List;
@@ -78,7 +80,7 @@ public class AddressRepository implements AutoCloseable {
         EntityManager em = EMFProvider.get().createEntityManager();
         try {
             Address a = em.find(Address.class, id);
-            logger.info("findAddressById() - znaleziono: {}", a);
+            logger.debug("findAddressById() - znaleziono: {}", a);
             return a;
         } catch (Exception e) {
             logger.error("findAddressById() " +
@@ -104,8 +106,9 @@ public class AddressRepository implements AutoCloseable {
             List<Address> list = em
                     .createQuery("SELECT a FROM Address a",
                             Address.class)
+                    .setHint(SecondLevelCache.HINT_CACHEABLE, true)
                     .getResultList();
-            logger.info("getAllAddresses() " +
+            logger.debug("getAllAddresses() " +
                     "- pobrano {} adresów", list.size());
             return list;
         } catch (Exception e) {
@@ -141,6 +144,7 @@ public class AddressRepository implements AutoCloseable {
                         "- brak adresu o id={}", id);
             }
             tx.commit();
+            UnitOfWork.afterCommit(() -> SecondLevelCache.evictAddress(id));
         } catch (Exception e) {
             logger.error("removeAddress() " +
                     "- błąd podczas usuwania adresu "
@@ -170,7 +174,7 @@ public class AddressRepository implements AutoCloseable {
                             Address.class)
                     .setParameter("town", town)
                     .getResultList();
-            logger.info("findByTown() " +
+            logger.debug("findByTown() " +
                     "- znaleziono {} adresów", list.size());
             return list;
         } catch (Exception e) {
@@ -201,7 +205,7 @@ public class AddressRepository implements AutoCloseable {
                             Address.class)
                     .setParameter("houseNumber", houseNumber)
                     .getResultList();
-            logger.info(
+            logger.debug(
                     "findByHouseNumber() " +
                             "- znaleziono {} adresów",
                     list.size());
@@ -236,7 +240,7 @@ public class AddressRepository implements AutoCloseable {
                             Address.class)
                     .setParameter("apartmentNumber", apartmentNumber)
                     .getResultList();
-            logger.info(
+            logger.debug(
                     "findByApartmentNumber() - znaleziono {} adresów",
                     list.size());
             return list;
@@ -267,7 +271,7 @@ public class AddressRepository implements AutoCloseable {
                             Address.class)
                     .setParameter("zipCode", zipCode)
                     .getResultList();
-            logger.info("findByZipCode() - znaleziono {} adresów",
+            logger.debug("findByZipCode() - znaleziono {} adresów",
                     list.size());
             return list;
         } catch (Exception e) {
@@ -297,7 +301,7 @@ public class AddressRepository implements AutoCloseable {
                             Address.class)
                     .setParameter("city", city)
                     .getResultList();
-            logger.info("findByCity() " +
+            logger.debug("findByCity() " +
                     "- znaleziono {} adresów", list.size());
             return list;
         } catch (Exception e) {
@@ -0,0 +1,221 @@
+/*
+ * Classname: CheckoutService
+ * Version information: 1.0
+ * Date: 2025-06-04
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.database.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.database.EMFProvider;
+import org.example.database.SecondLevelCache;
+import org.example.sys.Employee;
+import org.example.sys.Product;
+import org.example.sys.Transaction;
+import org.example.sys.TransactionItem;
+import org.example.sys.TransactionProduct;
+import org.hibernate.Session;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Serwis finalizujący sprzedaż na kasie.
+ * Zapisuje transakcję, jej pozycje oraz zmniejsza stany magazynowe
+ * w jednej transakcji bazodanowej, na jednym EntityManagerze.
+ * Pozycje transakcji wstawiane są wsadowo (hibernate.jdbc.batch_size),
+ * a zmiany stanów wysyłane jednym wsadem JDBC, więc liczba
+ * przejść do bazy nie rośnie liniowo z liczbą pozycji koszyka.
+ * Stany zmniejszane są warunkowo ({@code Ilosc >= ?}), dlatego
+ * równoległe kasy nie mogą sprzedać więcej towaru, niż jest w magazynie.
+ * W tej samej transakcji aktualizowane są dzienne podsumowania
+ * sprzedaży ({@link DailySalesRepository}) i wykrywane przekroczenia
+ * progów zamówień, publikowane po zatwierdzeniu do
+ * {@link ReorderMonitor}.
+ */
+public class CheckoutService {
+
+    private static final Logger logger =
+            LogManager.getLogger(CheckoutService.class);
+
+    /**
+     * Wynik finalizacji sprzedaży.
+     *
+     * @param success       czy transakcja została zapisana
+     * @param transactionId identyfikator zapisanej transakcji
+     *                      lub 0 w przypadku błędu
+     * @param message       komunikat dla użytkownika
+     * @param rejectedProductIds identyfikatory produktów, których stan
+     *                      nie pokrywa zamówionej ilości
+     */
+    public record CheckoutResult(boolean success,
+                                 int transactionId,
+                                 String message,
+                                 List<Integer> rejectedProductIds) {
+
+        static CheckoutResult failure(String message) {
+            return new CheckoutResult(false, 0, message, List.of());
+        }
+    }
+
+    /**
+     * Domyślny konstruktor – korzysta ze wspólnego EMF z EMFProvider.
+     */
+    public CheckoutService() {
+        logger.info("Utworzono CheckoutService, korzysta z EMFProvider");
+    }
+
+    /**
+     * Finalizuje sprzedaż: zapisuje transakcję wraz z pozycjami
+     * i zmniejsza stany magazynowe sprzedanych produktów.
+     * Wszystkie zmiany są zatwierdzane razem albo wycofywane razem.
+     * Jeśli dla którejkolwiek pozycji brakuje towaru, cała sprzedaż
+     * jest wycofywana, a wynik wskazuje odrzucone produkty.
+     * Pozycje z tym samym produktem są łączone w jedną.
+     *
+     * @param employee kasjer realizujący sprzedaż
+     * @param items    pozycje koszyka
+     * @return wynik operacji
+     */
+    public CheckoutResult checkout(Employee employee,
+                                   List<TransactionItem> items) {
+        logger.debug("checkout() – start, pozycji={}",
+                items == null ? 0 : items.size());
+        if (employee == null) {
+            return CheckoutResult.failure("Nie jesteś zalogowany.");
+        }
+        if (items == null || items.isEmpty()) {
+            return CheckoutResult.failure("Koszyk jest pusty.");
+        }
+
+        Map<Integer, Integer> quantities = mergeLines(items);
+        Map<Integer, BigDecimal> prices = unitPrices(items);
+
+        EntityManager em = EMFProvider.get().createEntityManager();
+        EntityTransaction tx = em.getTransaction();
+        try {
+            tx.begin();
+
+            Transaction transaction = new Transaction();
+            transaction.setEmployee(employee);
+            transaction.setDate(new Date());
+            em.persist(transaction);
+
+            for (Map.Entry<Integer, Integer> line : quantities.entrySet()) {
+                Product product = em.getReference(Product.class,
+                        line.getKey());
+                TransactionProduct tp = new TransactionProduct(transaction,
+                        product, line.getValue());
+                tp.setUnitPrice(prices.get(line.getKey()));
+                em.persist(tp);
+            }
+            em.flush();
+
+            List<Integer> rejected = em.unwrap(Session.class)
+                    .doReturningWork(connection -> WarehouseRepository
+                            .decrementIfAvailable(connection, quantities));
+            if (!rejected.isEmpty()) {
+                tx.rollback();
+                logger.warn("checkout() – niewystarczający stan dla "
+                        + "produktów {}, sprzedaż wycofana", rejected);
+                return new CheckoutResult(false, 0,
+                        "Niewystarczający stan magazynowy dla części "
+                                + "pozycji.", rejected);
+            }
+
+            List<DailySalesRepository.Delta> deltas =
+                    salesDeltas(prices, quantities);
+            List<ReorderMonitor.Crossing> crossings = em.unwrap(Session.class)
+                    .doReturningWork(connection -> {
+                        DailySalesRepository.apply(connection,
+                                LocalDate.now(), employee.getId(), deltas);
+                        return WarehouseRepository.findReorderCrossings(
+                                connection, quantities, employee.getId());
+                    });
+
+            tx.commit();
+            quantities.keySet().forEach(SecondLevelCache::evictWarehouse);
+            ReorderMonitor.publish(crossings);
+            logger.info("checkout() – zapisano transakcję id={}, pozycji={}",
+                    transaction.getId(), quantities.size());
+            return new CheckoutResult(true, transaction.getId(),
+                    "Transakcja zapisana pomyślnie.", List.of());
+        } catch (Exception e) {
+            logger.error("checkout() – błąd podczas zapisu sprzedaży", e);
+            if (tx.isActive()) tx.rollback();
+            return CheckoutResult.failure(
+                    "Wystąpił błąd podczas zapisu: " + e.getMessage());
+        } finally {
+            em.close();
+            logger.debug("checkout() – EM zamknięty");
+        }
+    }
+
+    /**
+     * Łączy pozycje koszyka dotyczące tego samego produktu
+     * i porządkuje je rosnąco według identyfikatora produktu.
+     * Stany magazynowe blokowane są w tej kolejności, więc dwie kasy
+     * sprzedające te same produkty w różnej kolejności w koszyku nie
+     * zakleszczają się na wierszach magazynu.
+     *
+     * @param items pozycje koszyka
+     * @return mapa identyfikator produktu → łączna ilość
+     */
+    private static Map<Integer, Integer> mergeLines(
+            List<TransactionItem> items) {
+        Map<Integer, Integer> quantities = new TreeMap<>();
+        for (TransactionItem item : items) {
+            quantities.merge(item.getProduct().getId(),
+                    item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    /**
+     * Zwraca ceny produktów z koszyka – ceny sprzedaży zapisywane
+     * w pozycjach transakcji i w dziennych podsumowaniach.
+     *
+     * @param items pozycje koszyka
+     * @return mapa identyfikator produktu → cena jednostkowa
+     */
+    private static Map<Integer, BigDecimal> unitPrices(
+            List<TransactionItem> items) {
+        Map<Integer, BigDecimal> prices = new LinkedHashMap<>();
+        for (TransactionItem item : items) {
+            Product product = item.getProduct();
+            prices.putIfAbsent(product.getId(),
+                    product.getPrice() == null
+                            ? BigDecimal.ZERO : product.getPrice());
+        }
+        return prices;
+    }
+
+    /**
+     * Wylicza zmiany dziennych podsumowań sprzedaży na podstawie
+     * cen sprzedaży produktów z koszyka.
+     *
+     * @param prices     ceny jednostkowe produktów
+     * @param quantities połączone ilości produktów
+     * @return zmiany podsumowań dla poszczególnych produktów
+     */
+    private static List<DailySalesRepository.Delta> salesDeltas(
+            Map<Integer, BigDecimal> prices,
+            Map<Integer, Integer> quantities) {
+        List<DailySalesRepository.Delta> deltas = new ArrayList<>();
+        quantities.forEach((productId, quantity) ->
+                deltas.add(new DailySalesRepository.Delta(productId,
+                        quantity, prices.get(productId)
+                        .multiply(BigDecimal.valueOf(quantity)))));
+        return deltas;
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Classname: DailySalesRepository
+ * Version information: 1.0
+ * Date: 2025-06-04
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.database.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.database.EMFProvider;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Repozytorium tabeli Sprzedaz_Dzienna – dziennych podsumowań sprzedaży
+ * (dzień × produkt × pracownik → ilość, przychód).
+ * Podsumowania są aktualizowane przyrostowo w tej samej transakcji
+ * bazodanowej co sprzedaż ({@link CheckoutService}) lub jej zmiana
+ * ({@link TransactionRepository}), a w razie potrzeby mogą zostać
+ * odbudowane z historii transakcji metodą {@link #rebuild()}.
+ * Przychód we wszystkich ścieżkach pochodzi z ceny jednostkowej
+ * zapisanej w pozycji transakcji w chwili sprzedaży
+ * (Transakcje_Produkty.Cena); tylko pozycje sprzed wprowadzenia tej
+ * kolumny wyceniane są bieżącą ceną produktu.
+ */
+public class DailySalesRepository {
+
+    private static final Logger logger =
+            LogManager.getLogger(DailySalesRepository.class);
+
+    /**
+     * Dopisuje zmianę do podsumowania albo tworzy nowy wiersz.
+     */
+    static final String UPSERT_SQL =
+            "INSERT INTO Sprzedaz_Dzienna "
+                    + "(Data, Id_produktu, Id_pracownika, Ilosc, Przychod) "
+                    + "VALUES (?, ?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE "
+                    + "Ilosc = Ilosc + VALUES(Ilosc), "
+                    + "Przychod = Przychod + VALUES(Przychod)";
+
+    private static final String REBUILD_SQL =
+            "INSERT INTO Sprzedaz_Dzienna "
+                    + "(Data, Id_produktu, Id_pracownika, Ilosc, Przychod) "
+                    + "SELECT t.Data, tp.Id_produktu, "
+                    + "COALESCE(t.Id_pracownika, 0), "
+                    + "SUM(tp.Ilosc), "
+                    + "SUM(tp.Ilosc * COALESCE(tp.Cena, p.Cena)) "
+                    + "FROM Transakcje t "
+                    + "JOIN Transakcje_Produkty tp ON tp.Id_transakcji = t.Id "
+                    + "JOIN Produkty p ON p.Id = tp.Id_produktu "
+                    + "WHERE t.Data IS NOT NULL "
+                    + "GROUP BY t.Data, tp.Id_produktu, "
+                    + "COALESCE(t.Id_pracownika, 0)";
+
+    /**
+     * Zmiana sprzedaży jednego produktu.
+     *
+     * @param productId identyfikator produktu
+     * @param quantity  zmiana liczby sztuk (ujemna przy wycofaniu)
+     * @param revenue   zmiana przychodu (ujemna przy wycofaniu)
+     */
+    record Delta(int productId, int quantity, BigDecimal revenue) {
+    }
+
+    /**
+     * Domyślny konstruktor – korzysta ze wspólnego EMF z EMFProvider.
+     */
+    public DailySalesRepository() {
+        logger.info("Utworzono DailySalesRepository, korzysta z EMFProvider");
+    }
+
+    /**
+     * Wysyła jednym wsadem JDBC zmiany podsumowań dla jednego dnia
+     * i pracownika. Metoda nie zatwierdza transakcji – wywołujący
+     * wykonuje ją na połączeniu swojej transakcji, dzięki czemu
+     * podsumowanie zmienia się razem ze sprzedażą albo wcale.
+     *
+     * @param connection połączenie bieżącej transakcji
+     * @param day        dzień sprzedaży
+     * @param employeeId identyfikator pracownika (0 – brak)
+     * @param deltas     zmiany dla poszczególnych produktów
+     * @throws SQLException błąd wykonania wsadu
+     */
+    static void apply(Connection connection,
+                      LocalDate day,
+                      int employeeId,
+                      Collection<Delta> deltas) throws SQLException {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = connection.prepareStatement(UPSERT_SQL)) {
+            java.sql.Date sqlDay = java.sql.Date.valueOf(day);
+            for (Delta delta : deltas) {
+                ps.setDate(1, sqlDay);
+                ps.setInt(2, delta.productId());
+                ps.setInt(3, employeeId);
+                ps.setInt(4, delta.quantity());
+                ps.setBigDecimal(5, delta.revenue());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        logger.debug("apply() – zaktualizowano {} podsumowań dla dnia {}, "
+                + "pracownik={}", deltas.size(), day, employeeId);
+    }
+
+    /**
+     * Odbudowuje wszystkie podsumowania z historii transakcji.
+     * Operacja jest wykonywana w jednej transakcji; w razie błędu
+     * dotychczasowe podsumowania pozostają bez zmian.
+     *
+     * @return liczba utworzonych wierszy lub -1 w przypadku błędu
+     */
+    public int rebuild() {
+        logger.debug("rebuild() – start");
+        EntityManager em = EMFProvider.get().createEntityManager();
+        EntityTransaction tx = em.getTransaction();
+        try {
+            tx.begin();
+            em.createNativeQuery("DELETE FROM Sprzedaz_Dzienna")
+                    .executeUpdate();
+            int rows = em.createNativeQuery(REBUILD_SQL).executeUpdate();
+            tx.commit();
+            logger.info("rebuild() – odbudowano {} podsumowań dziennych",
+                    rows);
+            return rows;
+        } catch (Exception e) {
+            logger.error("rebuild() – błąd podczas odbudowy podsumowań", e);
+            if (tx.isActive()) tx.rollback();
+            return -1;
+        } finally {
+            em.close();
+            logger.debug("rebuild() – EM zamknięty");
+        }
+    }
+
+    /**
+     * Odbudowuje podsumowania, jeśli tabela jest pusta, a w bazie
+     * istnieją już transakcje (np. po aktualizacji aplikacji
+     * na istniejącej bazie).
+     *
+     * @return true, jeśli podsumowania zostały odbudowane
+     */
+    public boolean rebuildIfEmpty() {
+        logger.debug("rebuildIfEmpty() – start");
+        EntityManager em = EMFProvider.get().createEntityManager();
+        boolean needed;
+        try {
+            boolean rollupEmpty = em.createQuery(
+                            "SELECT d.id.productId FROM DailySales d",
+                            Integer.class)
+                    .setMaxResults(1)
+                    .getResultList()
+                    .isEmpty();
+            needed = rollupEmpty && !em.createQuery(
+                            "SELECT tp.quantity FROM TransactionProduct tp",
+                            Integer.class)
+                    .setMaxResults(1)
+                    .getResultList()
+                    .isEmpty();
+        } catch (Exception e) {
+            logger.error("rebuildIfEmpty() – błąd sprawdzania podsumowań", e);
+            return false;
+        } finally {
+            em.close();
+            logger.debug("rebuildIfEmpty() – EM zamknięty");
+        }
+        return needed && rebuild() >= 0;
+    }
+
+    /**
+     * Zwraca łączną sprzedaż pracownika w danym dniu.
+     *
+     * @param employeeId identyfikator pracownika
+     * @param day        dzień sprzedaży
+     * @return podsumowanie (zerowe, gdy brak sprzedaży lub wystąpił błąd)
+     */
+    public Totals getEmployeeTotals(int employeeId, LocalDate day) {
+        logger.debug("getEmployeeTotals() – start, employeeId={}, day={}",
+                employeeId, day);
+        EntityManager em = EMFProvider.get().createEntityManager();
+        try {
+            Object[] row = em.createQuery(
+                            "SELECT COALESCE(SUM(d.quantity), 0), "
+                                    + "COALESCE(SUM(d.revenue), 0) "
+                                    + "FROM DailySales d "
+                                    + "WHERE d.id.employeeId = :emp "
+                                    + "AND d.id.date = :day",
+                            Object[].class)
+                    .setParameter("emp", employeeId)
+                    .setParameter("day", day)
+                    .getSingleResult();
+            Totals totals = new Totals(((Number) row[0]).longValue(),
+                    new BigDecimal(row[1].toString()));
+            logger.info("getEmployeeTotals() – {}", totals);
+            return totals;
+        } catch (Exception e) {
+            logger.error("getEmployeeTotals() – błąd pobierania "
+                    + "podsumowania", e);
+            return new Totals(0, BigDecimal.ZERO);
+        } finally {
+            em.close();
+            logger.debug("getEmployeeTotals() – EM zamknięty");
+        }
+    }
+
+    /**
+     * Łączna sprzedaż.
+     *
+     * @param quantity liczba sprzedanych sztuk
+     * @param revenue  przychód
+     */
+    public record Totals(long quantity, BigDecimal revenue) {
+    }
+}
@@ -10,12 +10,17 @@ package org.example.database.repositories;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.TemporalType;
+import jakarta.persistence.TypedQuery;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.example.database.EMFProvider;
 import org.example.sys.EmpTask;
+import pdf.StatsRaportGenerator;
+import pdf.TaskRaportGenerator;
+import pdf.WorkloadReportGenerator.EmployeeWorkload;
 
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Date;
 import java.util.List;
@@ -82,7 +87,7 @@ public class EmpTaskRepository implements AutoCloseable {
         EntityManager em = EMFProvider.get().createEntityManager();
         try {
             EmpTask t = em.find(EmpTask.class, id);
-            logger.info("findTaskById() – znaleziono: {}", t);
+            logger.debug("findTaskById() – znaleziono: {}", t);
             return t;
         } catch (Exception e) {
             logger.error("findTaskById() " +
@@ -116,7 +121,7 @@ public class EmpTaskRepository implements AutoCloseable {
                                     "WHERE t.usuniety = false",
                             EmpTask.class)
                     .getResultList();
-            logger.info("getAllTasks() " +
+            logger.debug("getAllTasks() " +
                             "– pobrano {} nieusunietych zadań z przypisaniami",
                     list.size());
             return list;
@@ -149,7 +154,7 @@ public class EmpTaskRepository implements AutoCloseable {
                                     "WHERE t.usuniety = true",
                             EmpTask.class)
                     .getResultList();
-            logger.info("getAllDeletedTasks() " +
+            logger.debug("getAllDeletedTasks() " +
                             "– pobrano {} usuniętych zadań z przypisaniami",
                     list.size());
             return list;
@@ -321,7 +326,7 @@ public class EmpTaskRepository implements AutoCloseable {
                             EmpTask.class)
                     .setParameter("frag", nameFragment)
                     .getResultList();
-            logger.info("findByName() " +
+            logger.debug("findByName() " +
                     "– znaleziono {} zadań", list.size());
             return list;
         } catch (Exception e) {
@@ -351,7 +356,7 @@ public class EmpTaskRepository implements AutoCloseable {
                             EmpTask.class)
                     .setParameter("date", date, TemporalType.DATE)
                     .getResultList();
-            logger.info("findByDate() " +
+            logger.debug("findByDate() " +
                     "– znaleziono {} zadań", list.size());
             return list;
         } catch (Exception e) {
@@ -382,7 +387,7 @@ public class EmpTaskRepository implements AutoCloseable {
                             EmpTask.class)
                     .setParameter("status", status)
                     .getResultList();
-            logger.info("findByStatus() " +
+            logger.debug("findByStatus() " +
                     "– znaleziono {} zadań", list.size());
             return list;
         } catch (Exception e) {
@@ -415,7 +420,7 @@ public class EmpTaskRepository implements AutoCloseable {
                             EmpTask.class)
                     .setParameter("frag", descriptionFragment)
                     .getResultList();
-            logger.info("findByDescription() " +
+            logger.debug("findByDescription() " +
                     "– znaleziono {} zadań", list.size());
             return list;
         } catch (Exception e) {
@@ -454,7 +459,7 @@ public class EmpTaskRepository implements AutoCloseable {
                     .setParameter("from", from)
                     .setParameter("toTime", toTime)
                     .getResultList();
-            logger.info("findByTimeShiftDuration() " +
+            logger.debug("findByTimeShiftDuration() " +
                             "– znaleziono {} zadań",
                     list.size());
             return list;
@@ -485,7 +490,7 @@ public class EmpTaskRepository implements AutoCloseable {
                                     "WHERE t.usuniety = false",
                             EmpTask.class)
                     .getResultList();
-            logger.info("getAllTasksWithEmployees() " +
+            logger.debug("getAllTasksWithEmployees() " +
                     "– pobrano {} zadań", list.size());
             return list;
         } catch (Exception e) {
@@ -518,7 +523,7 @@ public class EmpTaskRepository implements AutoCloseable {
                                     "LEFT JOIN FETCH te.employee ",
                             EmpTask.class)
                     .getResultList();
-            logger.info("getAllTasksWithEmployeesAndAssignees() " +
+            logger.debug("getAllTasksWithEmployeesAndAssignees() " +
                             "– pobrano {} zadań",
                     list.size());
             return list;
@@ -533,6 +538,232 @@ public class EmpTaskRepository implements AutoCloseable {
         }
     }
 
+    /**
+     * Warunek wybierający jednego wykonawcę zadania (o najniższym
+     * identyfikatorze), tak aby zadanie z kilkoma przypisaniami dało
+     * w raporcie jeden wiersz. Zadania bez przypisań przechodzą
+     * dzięki LEFT JOIN.
+     */
+    private static final String FIRST_ASSIGNEE =
+            "(te.id.employeeId IS NULL OR te.id.employeeId = "
+                    + "(SELECT MIN(te2.id.employeeId) FROM TaskEmployee te2 "
+                    + "WHERE te2.task = t)) ";
+
+    /**
+     * Pobiera dane raportu KPI (StatsRaportGenerator) dla nieusuniętych
+     * zadań z podanego okresu. Zakres dat, stanowiska i priorytety są
+     * filtrowane w zapytaniu, a wynik to krotki (nazwa, data, status,
+     * priorytet, login i stanowisko wykonawcy) bez wczytywania encji,
+     * więc koszt zależy od liczby zadań w okresie, a nie od całej
+     * historii. Zadanie o statusie „Zakończone” otrzymuje datę
+     * zakończenia równą dacie zadania.
+     *
+     * @param from       początek okresu (włącznie) lub null
+     * @param to         koniec okresu (włącznie) lub null
+     * @param positions  stanowiska wykonawców (null lub pusta lista –
+     *                   wszystkie)
+     * @param priorities priorytety (null lub pusta lista – wszystkie)
+     * @return rekordy raportu lub pusta lista w przypadku błędu
+     */
+    public List<StatsRaportGenerator.TaskRecord> getTaskStatsRecords(
+            LocalDate from,
+            LocalDate to,
+            List<String> positions,
+            List<StatsRaportGenerator.Priority> priorities) {
+        logger.debug("getTaskStatsRecords() – start, from={}, to={}, "
+                + "positions={}, priorities={}", from, to, positions,
+                priorities);
+        boolean filterPositions = positions != null && !positions.isEmpty();
+        boolean filterPriorities = priorities != null
+                && !priorities.isEmpty();
+        String jpql = "SELECT t.name, t.date, t.status, t.priority, "
+                + "e.login, e.position "
+                + "FROM EmpTask t "
+                + "LEFT JOIN t.taskEmployees te LEFT JOIN te.employee e "
+                + "WHERE t.usuniety = false AND " + FIRST_ASSIGNEE
+                + dateRange(from, to)
+                + (filterPositions ? "AND e.position IN :positions " : "")
+                + (filterPriorities ? "AND t.priority IN :priorities " : "")
+                + "ORDER BY t.date, t.id";
+
+        EntityManager em = EMFProvider.get().createEntityManager();
+        try {
+            TypedQuery<Object[]> query = em.createQuery(jpql,
+                    Object[].class);
+            bindRange(query, from, to);
+            if (filterPositions) {
+                query.setParameter("positions", positions);
+            }
+            if (filterPriorities) {
+                query.setParameter("priorities", priorities.stream()
+                        .map(p -> EmpTask.Priority.valueOf(p.name()))
+                        .toList());
+            }
+            List<StatsRaportGenerator.TaskRecord> records =
+                    query.getResultList().stream()
+                            .map(row -> {
+                                LocalDate date = toLocalDate((Date) row[1]);
+                                EmpTask.Priority priority =
+                                        (EmpTask.Priority) row[3];
+                                return new StatsRaportGenerator.TaskRecord(
+                                        (String) row[0],
+                                        row[5] != null ? (String) row[5]
+                                                : "Brak",
+                                        priority != null
+                                                ? StatsRaportGenerator
+                                                .Priority.valueOf(
+                                                        priority.name())
+                                                : null,
+                                        date,
+                                        "Zakończone".equals(row[2])
+                                                ? date : null,
+                                        row[4] != null ? (String) row[4]
+                                                : "Brak");
+                            })
+                            .toList();
+            logger.debug("getTaskStatsRecords() – pobrano {} zadań",
+                    records.size());
+            return records;
+        } catch (Exception e) {
+            logger.error("getTaskStatsRecords() – błąd pobierania zadań "
+                    + "między {} a {}", from, to, e);
+            return List.of();
+        } finally {
+            em.close();
+            logger.debug("getTaskStatsRecords() – EntityManager zamknięty");
+        }
+    }
+
+    /**
+     * Pobiera dane raportu zadań (TaskRaportGenerator) dla nieusuniętych
+     * zadań z podanego okresu. Zakres dat jest filtrowany w zapytaniu;
+     * statusy filtruje generator, ponieważ wyznacza je także z terminu
+     * (np. „Opóźnione”).
+     *
+     * @param from początek okresu (włącznie) lub null
+     * @param to   koniec okresu (włącznie) lub null
+     * @return rekordy raportu lub pusta lista w przypadku błędu
+     */
+    public List<TaskRaportGenerator.TaskRecord> getTaskReportRecords(
+            LocalDate from,
+            LocalDate to) {
+        logger.debug("getTaskReportRecords() – start, from={}, to={}",
+                from, to);
+        String jpql = "SELECT t.name, t.date, t.status, e.login "
+                + "FROM EmpTask t "
+                + "LEFT JOIN t.taskEmployees te LEFT JOIN te.employee e "
+                + "WHERE t.usuniety = false AND " + FIRST_ASSIGNEE
+                + dateRange(from, to)
+                + "ORDER BY t.date, t.id";
+
+        EntityManager em = EMFProvider.get().createEntityManager();
+        try {
+            TypedQuery<Object[]> query = em.createQuery(jpql,
+                    Object[].class);
+            bindRange(query, from, to);
+            List<TaskRaportGenerator.TaskRecord> records =
+                    query.getResultList().stream()
+                            .map(row -> {
+                                LocalDate date = toLocalDate((Date) row[1]);
+                                String status = (String) row[2];
+                                return new TaskRaportGenerator.TaskRecord(
+                                        (String) row[0],
+                                        date,
+                                        "Zakończone".equals(status)
+                                                ? date : null,
+                                        row[3] != null ? (String) row[3]
+                                                : "Brak",
+                                        status);
+                            })
+                            .toList();
+            logger.debug("getTaskReportRecords() – pobrano {} zadań",
+                    records.size());
+            return records;
+        } catch (Exception e) {
+            logger.error("getTaskReportRecords() – błąd pobierania zadań "
+                    + "między {} a {}", from, to, e);
+            return List.of();
+        } finally {
+            em.close();
+            logger.debug("getTaskReportRecords() – EntityManager zamknięty");
+        }
+    }
+
+    /**
+     * Pobiera obciążenie pracowników dla raportu obciążenia
+     * (WorkloadReportGenerator): suma czasu trwania zmian nieusuniętych
+     * zadań z okresu, pogrupowana w zapytaniu według wykonawcy zadania.
+     * Zadania bez wykonawcy lub bez czasu trwania zmiany są pomijane.
+     *
+     * @param from początek okresu (włącznie) lub null
+     * @param to   koniec okresu (włącznie) lub null
+     * @return login, stanowisko i suma godzin każdego pracownika lub
+     * pusta lista w przypadku błędu
+     */
+    public List<EmployeeWorkload> getTaskWorkload(LocalDate from,
+                                                  LocalDate to) {
+        logger.debug("getTaskWorkload() – start, from={}, to={}", from, to);
+        String jpql = "SELECT e.login, e.position, "
+                + "SUM(EXTRACT(HOUR FROM t.durationOfTheShift) "
+                + "+ EXTRACT(MINUTE FROM t.durationOfTheShift) / 60.0) "
+                + "FROM EmpTask t "
+                + "JOIN t.taskEmployees te JOIN te.employee e "
+                + "WHERE t.usuniety = false "
+                + "AND t.durationOfTheShift IS NOT NULL "
+                + "AND " + FIRST_ASSIGNEE
+                + dateRange(from, to)
+                + "GROUP BY e.id, e.login, e.position";
+
+        EntityManager em = EMFProvider.get().createEntityManager();
+        try {
+            TypedQuery<Object[]> query = em.createQuery(jpql,
+                    Object[].class);
+            bindRange(query, from, to);
+            List<EmployeeWorkload> workload = query.getResultList().stream()
+                    .map(row -> new EmployeeWorkload(
+                            (String) row[0],
+                            (String) row[1],
+                            ((Number) row[2]).doubleValue()))
+                    .toList();
+            logger.debug("getTaskWorkload() – dane dla {} pracowników",
+                    workload.size());
+            return workload;
+        } catch (Exception e) {
+            logger.error("getTaskWorkload() – błąd pobierania obciążenia "
+                    + "między {} a {}", from, to, e);
+            return List.of();
+        } finally {
+            em.close();
+            logger.debug("getTaskWorkload() – EntityManager zamknięty");
+        }
+    }
+
+    private static String dateRange(LocalDate from, LocalDate to) {
+        return "AND t.date IS NOT NULL "
+                + (from != null ? "AND t.date >= :from " : "")
+                + (to != null ? "AND t.date <= :to " : "");
+    }
+
+    private static void bindRange(TypedQuery<?> query, LocalDate from,
+                                  LocalDate to) {
+        if (from != null) {
+            query.setParameter("from", java.sql.Date.valueOf(from));
+        }
+        if (to != null) {
+            query.setParameter("to", java.sql.Date.valueOf(to));
+        }
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        if (date == null) {
+            return null;
+        }
+        // Kolumna Data jest typu DATE (java.sql.Date), która nie obsługuje
+        // toInstant()
+        return date instanceof java.sql.Date sqlDate ? sqlDate.toLocalDate()
+                : new java.sql.Date(date.getTime()).toLocalDate();
+    }
+
     /**
      * Zamyka wspólną fabrykę EMF (na zakończenie działania aplikacji).
      * Implementacja jest pusta, ponieważ korzystamy z EMFProvider.
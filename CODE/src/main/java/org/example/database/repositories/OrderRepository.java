@@ -14,9 +14,12 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.example.database.EMFProvider;
 import org.example.sys.Order;
+import org.hibernate.Session;
 
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -33,6 +36,26 @@ public class OrderRepository implements AutoCloseable {
     private static final Logger logger = LogManager.getLogger(
             OrderRepository.class);
 
+    private static final String INSERT_DRAFT_SQL =
+            "INSERT INTO Zamowienia "
+                    + "(Id_produktu, Id_pracownika, Ilosc, Cena, Data) "
+                    + "VALUES (?, ?, ?, ?, ?)";
+
+    /**
+     * Projekt zamówienia utworzony automatycznie (bez encji Product
+     * i Employee – wystarczą identyfikatory).
+     *
+     * @param productId  identyfikator produktu
+     * @param employeeId identyfikator pracownika, którego operacja
+     *                   spowodowała zamówienie
+     * @param quantity   zamawiana ilość
+     * @param price      łączna cena zamówienia
+     * @param date       data zamówienia
+     */
+    record Draft(int productId, int employeeId, int quantity,
+                 BigDecimal price, LocalDate date) {
+    }
+
     /**
      * Domyślny konstruktor – korzysta ze wspólnego EMF z EMFProvider.
      * Operacja jest logowana na poziomie INFO.
@@ -69,6 +92,53 @@ public class OrderRepository implements AutoCloseable {
         }
     }
 
+    /**
+     * Zapisuje projekty zamówień jednym wsadem JDBC w jednej transakcji.
+     * Encja Order ma klucz IDENTITY, przy którym Hibernate nie grupuje
+     * INSERT-ów, dlatego wsad jest wysyłany bezpośrednio na połączeniu
+     * sesji. W przypadku błędu transakcja jest wycofywana.
+     *
+     * @param drafts projekty zamówień
+     * @return liczba zapisanych zamówień (0 w przypadku błędu)
+     */
+    int addDrafts(Collection<Draft> drafts) {
+        logger.debug("addDrafts() – start, projektów={}", drafts.size());
+        if (drafts.isEmpty()) {
+            return 0;
+        }
+        EntityManager em = EMFProvider.get().createEntityManager();
+        EntityTransaction tx = em.getTransaction();
+        try {
+            tx.begin();
+            em.unwrap(Session.class).doWork(connection -> {
+                try (PreparedStatement ps =
+                             connection.prepareStatement(INSERT_DRAFT_SQL)) {
+                    for (Draft draft : drafts) {
+                        ps.setInt(1, draft.productId());
+                        ps.setInt(2, draft.employeeId());
+                        ps.setInt(3, draft.quantity());
+                        ps.setBigDecimal(4, draft.price());
+                        ps.setDate(5, java.sql.Date.valueOf(draft.date()));
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }
+            });
+            tx.commit();
+            logger.info("addDrafts() – zapisano {} projektów zamówień",
+                    drafts.size());
+            return drafts.size();
+        } catch (Exception e) {
+            logger.error("addDrafts() " +
+                    "– błąd podczas zapisu projektów zamówień", e);
+            if (tx.isActive()) tx.rollback();
+            return 0;
+        } finally {
+            em.close();
+            logger.debug("addDrafts() – EM zamknięty");
+        }
+    }
+
     /**
      * Znajduje zamówienie o podanym identyfikatorze.
      * W przypadku błędu, wyjątek jest logowany i zwracana jest wartość null.
@@ -81,7 +151,7 @@ public class OrderRepository implements AutoCloseable {
         EntityManager em = EMFProvider.get().createEntityManager();
         try {
             Order o = em.find(Order.class, id);
-            logger.info("findOrderById() " +
+            logger.debug("findOrderById() " +
                     "– znaleziono: {}", o);
             return o;
         } catch (Exception e) {
@@ -109,7 +179,7 @@ public class OrderRepository implements AutoCloseable {
                             "SELECT o FROM Order o",
                             Order.class)
                     .getResultList();
-            logger.info("getAllOrders() " +
+            logger.debug("getAllOrders() " +
                     "– pobrano {} zamówień", list.size());
             return list;
         } catch (Exception e) {
@@ -201,7 +271,7 @@ public class OrderRepository implements AutoCloseable {
                             Order.class)
                     .setParameter("pid", productId)
                     .getResultList();
-            logger.info("findOrdersByProductId() " +
+            logger.debug("findOrdersByProductId() " +
                             "– znaleziono {} zamówień",
                     list.size());
             return list;
@@ -233,7 +303,7 @@ public class OrderRepository implements AutoCloseable {
                             Order.class)
                     .setParameter("eid", employeeId)
                     .getResultList();
-            logger.info("findOrdersByEmployeeId() " +
+            logger.debug("findOrdersByEmployeeId() " +
                             "– znaleziono {} zamówień",
                     list.size());
             return list;
@@ -263,7 +333,7 @@ public class OrderRepository implements AutoCloseable {
                             Order.class)
                     .setParameter("d", date)
                     .getResultList();
-            logger.info("findOrdersByDate() " +
+            logger.debug("findOrdersByDate() " +
                     "– znaleziono {} zamówień", list.size());
             return list;
         } catch (Exception e) {
@@ -296,7 +366,7 @@ public class OrderRepository implements AutoCloseable {
                     .setParameter("from", from)
                     .setParameter("to", to)
                     .getResultList();
-            logger.info("findDateRangeOrders() " +
+            logger.debug("findDateRangeOrders() " +
                             "– znaleziono {} zamówień",
                     list.size());
             return list;
@@ -329,7 +399,7 @@ public class OrderRepository implements AutoCloseable {
                             Order.class)
                     .setParameter("mq", minimalQuantity)
                     .getResultList();
-            logger.info("findOrdersWithMinimalQuantity() " +
+            logger.debug("findOrdersWithMinimalQuantity() " +
                             "– znaleziono {} zamówień",
                     list.size());
             return list;
@@ -368,7 +438,7 @@ public class OrderRepository implements AutoCloseable {
                     .setParameter("min", min)
                     .setParameter("max", max)
                     .getResultList();
-            logger.info("findPriceRangeOrders() " +
+            logger.debug("findPriceRangeOrders() " +
                             "– znaleziono {} zamówień",
                     list.size());
             return list;
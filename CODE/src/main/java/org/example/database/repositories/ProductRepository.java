@@ -10,12 +10,19 @@ package org.example.database.repositories;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.TypedQuery;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.example.database.EMFProvider;
+import org.example.database.ProductSearchIndex;
+import org.example.database.SecondLevelCache;
+import org.example.database.UnitOfWork;
 import org.example.sys.Product;
+import org.example.sys.ProductPage;
+import org.example.sys.ProductSort;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -56,6 +63,8 @@ public class ProductRepository implements AutoCloseable {
             tx.begin();
             em.persist(product);
             tx.commit();
+            UnitOfWork.afterCommit(
+                    () -> ProductSearchIndex.shared().put(product));
             logger.info("addProduct() " +
                     "– product dodany: {}", product);
         } catch (Exception e) {
@@ -80,7 +89,7 @@ public class ProductRepository implements AutoCloseable {
         EntityManager em = EMFProvider.get().createEntityManager();
         try {
             Product p = em.find(Product.class, id);
-            logger.info("findProductById() " +
+            logger.debug("findProductById() " +
                     "– znaleziono: {}", p);
             return p;
         } catch (Exception e) {
@@ -107,8 +116,9 @@ public class ProductRepository implements AutoCloseable {
             List<Product> list = em.createQuery(
                             "SELECT p FROM Product p",
                             Product.class)
+                    .setHint(SecondLevelCache.HINT_CACHEABLE, true)
                     .getResultList();
-            logger.info("getAllProducts() " +
+            logger.debug("getAllProducts() " +
                     "– pobrano {} produktów", list.size());
             return list;
         } catch (Exception e) {
@@ -136,9 +146,10 @@ public class ProductRepository implements AutoCloseable {
             List<Product> list = em.createQuery(
                             "SELECT p FROM Product p WHERE p.category = :k",
                             Product.class)
+                    .setHint(SecondLevelCache.HINT_CACHEABLE, true)
                     .setParameter("k", category)
                     .getResultList();
-            logger.info("getProductsByCategory() " +
+            logger.debug("getProductsByCategory() " +
                             "– znaleziono {} produktów",
                     list.size());
             return list;
@@ -175,6 +186,10 @@ public class ProductRepository implements AutoCloseable {
                         "– brak produktu o id={}", id);
             }
             tx.commit();
+            UnitOfWork.afterCommit(() -> {
+                SecondLevelCache.evictProduct(id);
+                ProductSearchIndex.shared().remove(id);
+            });
         } catch (Exception e) {
             logger.error("removeProduct() " +
                             "– błąd podczas usuwania produktu id={}",
@@ -199,8 +214,12 @@ public class ProductRepository implements AutoCloseable {
         EntityTransaction tx = em.getTransaction();
         try {
             tx.begin();
-            em.merge(product);
+            Product merged = em.merge(product);
             tx.commit();
+            UnitOfWork.afterCommit(() -> {
+                SecondLevelCache.evictProduct(product.getId());
+                ProductSearchIndex.shared().put(merged);
+            });
             logger.info("updateProduct() " +
                     "– product zaktualizowany: {}", product);
         } catch (Exception e) {
@@ -240,6 +259,12 @@ public class ProductRepository implements AutoCloseable {
                         + " id={}", id);
             }
             tx.commit();
+            UnitOfWork.afterCommit(() -> {
+                SecondLevelCache.evictProduct(id);
+                if (p != null) {
+                    ProductSearchIndex.shared().put(p);
+                }
+            });
         } catch (Exception e) {
             logger.error("updateProductPrice() " +
                     "– błąd podczas aktualizacji ceny", e);
@@ -270,6 +295,10 @@ public class ProductRepository implements AutoCloseable {
                     .setParameter("k", category)
                     .executeUpdate();
             tx.commit();
+            UnitOfWork.afterCommit(() -> {
+                SecondLevelCache.evictAllProducts();
+                ProductSearchIndex.shared().removeCategory(category);
+            });
             logger.info("removeProductsFromCategory() " +
                     "– usunięto {} produktów", count);
             return count;
@@ -307,7 +336,7 @@ public class ProductRepository implements AutoCloseable {
                     .setParameter("min", min)
                     .setParameter("max", max)
                     .getResultList();
-            logger.info("getPriceRangeProducts() " +
+            logger.debug("getPriceRangeProducts() " +
                             "– znaleziono {} produktów",
                     list.size());
             return list;
@@ -334,8 +363,9 @@ public class ProductRepository implements AutoCloseable {
             List<String> list = em.createQuery(
                             "SELECT DISTINCT p.category FROM Product p",
                             String.class)
+                    .setHint(SecondLevelCache.HINT_CACHEABLE, true)
                     .getResultList();
-            logger.info("getCategories() " +
+            logger.debug("getCategories() " +
                     "– znaleziono {} kategorii", list.size());
             return list;
         } catch (Exception e) {
@@ -366,7 +396,7 @@ public class ProductRepository implements AutoCloseable {
                             Product.class)
                     .setParameter("f", fragName)
                     .getResultList();
-            logger.info("findByName() " +
+            logger.debug("findByName() " +
                     "– znaleziono {} produktów", list.size());
             return list;
         } catch (Exception e) {
@@ -378,6 +408,64 @@ public class ProductRepository implements AutoCloseable {
         }
     }
 
+    /**
+     * Wyszukuje produkty, których nazwa lub kategoria zawiera podany
+     * fragment, korzystając z indeksu w pamięci
+     * ({@link ProductSearchIndex}). Jeśli indeks nie jest jeszcze
+     * zbudowany, wyszukiwanie wykonywane jest w bazie
+     * przez {@link #findByName(String)}.
+     *
+     * @param fragment szukany fragment
+     * @param limit    maksymalna liczba wyników
+     * @return lista pasujących produktów posortowana według nazwy
+     */
+    public List<Product> quickSearch(String fragment, int limit) {
+        ProductSearchIndex index = ProductSearchIndex.shared();
+        if (index.isReady()) {
+            return index.search(fragment, limit);
+        }
+        logger.debug("quickSearch() – indeks niegotowy, "
+                + "wyszukiwanie w bazie");
+        List<Product> list = findByName(fragment);
+        return list.size() > limit ? list.subList(0, limit) : list;
+    }
+
+    /**
+     * Buduje od nowa indeks wyszukiwania produktów w pamięci
+     * na podstawie wszystkich produktów z bazy.
+     * Jeśli w trakcie wczytywania któryś produkt został zmieniony
+     * przez to stanowisko, wczytanie jest powtarzane.
+     * W przypadku błędu dotychczasowy indeks pozostaje bez zmian.
+     *
+     * @return true, jeśli indeks został zbudowany
+     */
+    public boolean rebuildSearchIndex() {
+        logger.debug("rebuildSearchIndex() – start");
+        ProductSearchIndex index = ProductSearchIndex.shared();
+        for (int attempt = 0; attempt < 3; attempt++) {
+            long version = index.getVersion();
+            EntityManager em = EMFProvider.get().createEntityManager();
+            try {
+                List<Product> list = em.createQuery(
+                                "SELECT p FROM Product p", Product.class)
+                        .getResultList();
+                if (index.rebuild(list, version)) {
+                    return true;
+                }
+            } catch (Exception e) {
+                logger.error("rebuildSearchIndex() – błąd podczas "
+                        + "wczytywania produktów", e);
+                return false;
+            } finally {
+                em.close();
+                logger.debug("rebuildSearchIndex() – EM zamknięty");
+            }
+        }
+        logger.warn("rebuildSearchIndex() – produkty zmieniały się "
+                + "w trakcie wczytywania, indeks nie został podmieniony");
+        return false;
+    }
+
     /**
      * Wyszukuje produkty o dokładnie zadanej cenie.
      * Zwraca produkty, których cena jest równa podanej wartości.
@@ -394,7 +482,7 @@ public class ProductRepository implements AutoCloseable {
                             Product.class)
                     .setParameter("c", price)
                     .getResultList();
-            logger.info("findByExactPrice() " +
+            logger.debug("findByExactPrice() " +
                     "– znaleziono {} produktów", list.size());
             return list;
         } catch (Exception e) {
@@ -423,7 +511,7 @@ public class ProductRepository implements AutoCloseable {
                             Product.class)
                     .setParameter("min", minPrice)
                     .getResultList();
-            logger.info("findByMinPrice() – znaleziono {} produktów",
+            logger.debug("findByMinPrice() – znaleziono {} produktów",
                     list.size());
             return list;
         } catch (Exception e) {
@@ -452,7 +540,7 @@ public class ProductRepository implements AutoCloseable {
                             Product.class)
                     .setParameter("max", maxPrice)
                     .getResultList();
-            logger.info("findByMaxPrice() – znaleziono {} produktów",
+            logger.debug("findByMaxPrice() – znaleziono {} produktów",
                     list.size());
             return list;
         } catch (Exception e) {
@@ -465,6 +553,98 @@ public class ProductRepository implements AutoCloseable {
         }
     }
 
+    /**
+     * Stronicowane wyszukiwanie produktów po prefiksie nazwy
+     * i/lub kategorii. Korzysta ze stronicowania kluczem (keyset):
+     * zamiast przesunięcia OFFSET przekazywany jest ostatni produkt
+     * poprzedniej strony, dzięki czemu koszt pobrania strony nie rośnie
+     * wraz z jej numerem, a zapytanie może korzystać z indeksów
+     * idx_produkty_nazwa i idx_produkty_kategoria.
+     * W przypadku błędu zwracana jest pusta strona.
+     *
+     * @param namePrefix     początek nazwy produktu (null lub pusty
+     *                       – bez filtra)
+     * @param categoryPrefix początek nazwy kategorii (null lub pusty
+     *                       – bez filtra)
+     * @param sort           kolumna sortowania
+     * @param ascending      true dla kolejności rosnącej
+     * @param after          ostatni produkt poprzedniej strony
+     *                       lub null dla pierwszej strony
+     * @param pageSize       maksymalna liczba produktów na stronie
+     * @return strona wyników
+     */
+    public ProductPage searchProducts(String namePrefix,
+                                      String categoryPrefix,
+                                      ProductSort sort,
+                                      boolean ascending,
+                                      Product after,
+                                      int pageSize) {
+        logger.debug("searchProducts() – name={}, category={}, sort={}, "
+                        + "asc={}, afterId={}, pageSize={}",
+                namePrefix, categoryPrefix, sort, ascending,
+                after == null ? null : after.getId(), pageSize);
+        String column = sort.getPath();
+        String cmp = ascending ? ">" : "<";
+        String dir = ascending ? " ASC" : " DESC";
+
+        List<String> conditions = new ArrayList<>();
+        if (namePrefix != null && !namePrefix.isBlank()) {
+            conditions.add("p.name LIKE :name ESCAPE '!'");
+        }
+        if (categoryPrefix != null && !categoryPrefix.isBlank()) {
+            conditions.add("p.category LIKE :category ESCAPE '!'");
+        }
+        if (after != null) {
+            conditions.add("(" + column + " " + cmp + " :key OR ("
+                    + column + " = :key AND p.id " + cmp + " :lastId))");
+        }
+        String jpql = "SELECT p FROM Product p"
+                + (conditions.isEmpty() ? ""
+                : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY " + column + dir + ", p.id" + dir;
+
+        EntityManager em = EMFProvider.get().createEntityManager();
+        try {
+            TypedQuery<Product> query = em.createQuery(jpql, Product.class)
+                    .setMaxResults(pageSize + 1);
+            if (namePrefix != null && !namePrefix.isBlank()) {
+                query.setParameter("name", likePrefix(namePrefix));
+            }
+            if (categoryPrefix != null && !categoryPrefix.isBlank()) {
+                query.setParameter("category", likePrefix(categoryPrefix));
+            }
+            if (after != null) {
+                query.setParameter("key", sort.keyOf(after));
+                query.setParameter("lastId", after.getId());
+            }
+            List<Product> list = query.getResultList();
+            boolean hasNext = list.size() > pageSize;
+            if (hasNext) {
+                list = list.subList(0, pageSize);
+            }
+            logger.debug("searchProducts() – pobrano {} produktów, "
+                    + "kolejna strona: {}", list.size(), hasNext);
+            return new ProductPage(List.copyOf(list), hasNext);
+        } catch (Exception e) {
+            logger.error("searchProducts() – błąd podczas wyszukiwania", e);
+            return new ProductPage(List.of(), false);
+        } finally {
+            em.close();
+            logger.debug("searchProducts() – EM zamknięty");
+        }
+    }
+
+    /**
+     * Zamienia tekst na wzorzec LIKE dopasowujący prefiks,
+     * z ucieczką znaków specjalnych (znak ucieczki: '!').
+     */
+    static String likePrefix(String text) {
+        return text.trim()
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_") + "%";
+    }
+
     /**
      * Zamyka wspólną fabrykę EMF (na zakończenie działania aplikacji).
      * Implementacja jest pusta, ponieważ korzystamy z EMFProvider.
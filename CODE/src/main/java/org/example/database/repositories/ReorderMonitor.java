@@ -0,0 +1,211 @@
+/*
+ * Classname: ReorderMonitor
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.database.repositories;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.database.DatabaseConfig;
+import org.example.database.DatabaseExecutor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wykrywanie niskich stanów w chwili zmniejszenia stanu i tworzenie
+ * projektów zamówień.
+ * <p>
+ * Każde zmniejszenie stanu (sprzedaż w {@link CheckoutService},
+ * {@link WarehouseRepository#decrementIfAvailable(int, int)},
+ * {@link WarehouseRepository#setProductQuantity(int, int)}) sprawdza
+ * dla zmienionych produktów, czy stan przeszedł z wartości powyżej
+ * progu zamówienia ({@code Prog_zamowienia}) do progu lub niżej.
+ * Sprawdzenie dotyczy tylko zmienionych wierszy (po kluczu głównym),
+ * a nie całej tabeli StanyMagazynowe. Przekroczenia są publikowane
+ * po zatwierdzeniu transakcji i łączone: produkt czekający już
+ * na zapis nie jest dodawany drugi raz. Po {@code db.reorder.coalesceMs}
+ * (domyślnie 500 ms) od pierwszego przekroczenia wszystkie oczekujące
+ * projekty są zapisywane przez {@link OrderRepository} jednym wsadem.
+ * Odczekanie odbywa się poza pulą {@link DatabaseExecutor}, więc
+ * pozwolenie bazy zajmowane jest tylko na czas zapisu. Nieudany zapis
+ * zwraca projekty do kolejki i planuje ponowienie z rosnącym odstępem
+ * (najwyżej {@value #MAX_RETRY_MILLIS} ms). Kolejny projekt dla produktu powstanie dopiero po ponownym
+ * podniesieniu stanu ponad próg i kolejnym spadku.
+ */
+public final class ReorderMonitor {
+
+    private static final Logger logger =
+            LogManager.getLogger(ReorderMonitor.class);
+
+    /**
+     * Przekroczenie progu zamówienia przez stan produktu.
+     *
+     * @param productId       identyfikator produktu
+     * @param quantity        stan po zmianie
+     * @param threshold       próg zamówienia
+     * @param reorderQuantity ilość do zamówienia (0 – równa progowi)
+     * @param unitPrice       cena jednostkowa produktu
+     * @param employeeId      pracownik, którego operacja zmniejszyła stan
+     */
+    public record Crossing(int productId, int quantity, int threshold,
+                           int reorderQuantity, BigDecimal unitPrice,
+                           int employeeId) {
+
+        /**
+         * Sprawdza, czy zmiana stanu przekroczyła próg.
+         *
+         * @param before    stan przed zmianą
+         * @param after     stan po zmianie
+         * @param threshold próg zamówienia (0 – wyłączony)
+         * @return true, gdy stan spadł z wartości powyżej progu
+         * do progu lub niżej
+         */
+        static boolean crossed(int before, int after, int threshold) {
+            return threshold > 0 && before > threshold && after <= threshold;
+        }
+
+        /**
+         * @return ilość zamawiana w projekcie zamówienia
+         */
+        public int draftQuantity() {
+            return reorderQuantity > 0 ? reorderQuantity : threshold;
+        }
+
+        private OrderRepository.Draft toDraft(LocalDate date) {
+            BigDecimal price = unitPrice == null ? BigDecimal.ZERO
+                    : unitPrice.multiply(BigDecimal.valueOf(draftQuantity()));
+            return new OrderRepository.Draft(productId, employeeId,
+                    draftQuantity(), price, date);
+        }
+    }
+
+    private static final Map<Integer, Crossing> pending =
+            new ConcurrentHashMap<>();
+
+    private static final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Liczba kolejnych nieudanych zapisów; wydłuża odstęp ponowienia.
+     */
+    private static final AtomicInteger failures = new AtomicInteger();
+
+    /**
+     * Największy odstęp ponowienia nieudanego zapisu.
+     */
+    private static final long MAX_RETRY_MILLIS = 60_000;
+
+    private ReorderMonitor() {
+    }
+
+    /**
+     * Dodaje przekroczenia do oczekujących projektów i planuje ich
+     * zapis. Wywoływana po zatwierdzeniu transakcji zmieniającej stan.
+     *
+     * @param crossings wykryte przekroczenia progów
+     */
+    static void publish(Collection<Crossing> crossings) {
+        if (crossings.isEmpty()) {
+            return;
+        }
+        for (Crossing crossing : crossings) {
+            if (crossing.employeeId() <= 0) {
+                logger.warn("publish() – brak pracownika dla produktu {}, "
+                        + "pominięto projekt zamówienia",
+                        crossing.productId());
+                continue;
+            }
+            pending.putIfAbsent(crossing.productId(), crossing);
+        }
+        logger.debug("publish() – oczekujących projektów: {}",
+                pending.size());
+        if (!pending.isEmpty()) {
+            scheduleFlush(DatabaseConfig.getReorderCoalesceMillis());
+        }
+    }
+
+    /**
+     * Planuje zapis oczekujących projektów po podanym czasie, jeśli
+     * zapis nie jest już zaplanowany. Zadanie trafia do puli bazy
+     * dopiero po odczekaniu.
+     *
+     * @param delayMillis opóźnienie zapisu w milisekundach
+     */
+    private static void scheduleFlush(long delayMillis) {
+        if (!scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS)
+                .execute(() -> DatabaseExecutor.submit(
+                        DatabaseExecutor.Resource.DATABASE, () -> {
+                            scheduled.set(false);
+                            return flush();
+                        }));
+    }
+
+    /**
+     * Zapisuje od razu wszystkie oczekujące projekty zamówień.
+     * Przy błędzie zapisu projekty wracają do kolejki, a ich zapis
+     * jest ponawiany w tle.
+     *
+     * @return liczba zapisanych zamówień
+     */
+    public static int flush() {
+        List<Crossing> batch = new ArrayList<>();
+        for (Integer productId : List.copyOf(pending.keySet())) {
+            Crossing crossing = pending.remove(productId);
+            if (crossing != null) {
+                batch.add(crossing);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        LocalDate today = LocalDate.now();
+        int saved = new OrderRepository().addDrafts(batch.stream()
+                .map(crossing -> crossing.toDraft(today))
+                .toList());
+        if (saved == 0) {
+            batch.forEach(c -> pending.putIfAbsent(c.productId(), c));
+            long retry = retryDelayMillis(failures.incrementAndGet());
+            logger.warn("flush() – nie zapisano {} projektów zamówień, "
+                    + "ponowienie za {} ms", batch.size(), retry);
+            scheduleFlush(retry);
+        } else {
+            failures.set(0);
+            logger.info("flush() – utworzono {} projektów zamówień dla "
+                    + "produktów {}", saved, batch.stream()
+                    .map(Crossing::productId).toList());
+        }
+        return saved;
+    }
+
+    /**
+     * Odstęp ponowienia po kolejnym nieudanym zapisie: podwajany od
+     * czasu łączenia (co najmniej 1 s) do {@value #MAX_RETRY_MILLIS} ms.
+     */
+    private static long retryDelayMillis(int failureCount) {
+        long base = Math.max(1000, DatabaseConfig.getReorderCoalesceMillis());
+        return Math.min(MAX_RETRY_MILLIS,
+                base << Math.min(failureCount - 1, 6));
+    }
+
+    /**
+     * @return liczba produktów czekających na zapis projektu zamówienia
+     */
+    public static int getPendingCount() {
+        return pending.size();
+    }
+}
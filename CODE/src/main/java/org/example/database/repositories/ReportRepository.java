@@ -78,7 +78,7 @@ public class ReportRepository {
         EntityManager em = emf.createEntityManager();
         try {
             Report report = em.find(Report.class, id);
-            logger.info("findReportById() – znaleziono: {}", report);
+            logger.debug("findReportById() – znaleziono: {}", report);
             return report;
         } catch (Exception e) {
             logger.error("findReportById() – błąd id={}", id, e);
@@ -102,7 +102,7 @@ public class ReportRepository {
                             "SELECT r FROM Report r",
                             Report.class)
                     .getResultList();
-            logger.info("getAllReports() – pobrano {} raportów",
+            logger.debug("getAllReports() – pobrano {} raportów",
                     reports.size());
             return reports;
         } catch (Exception e) {
@@ -134,7 +134,7 @@ public class ReportRepository {
                     .setParameter("pid", employeeId)
                     .setParameter("day", day)
                     .getResultList();
-            logger.info("getEmployeeDayReport() " +
+            logger.debug("getEmployeeDayReport() " +
                             "– znaleziono {} raportów",
                     reports.size());
             return reports;
@@ -230,7 +230,7 @@ public class ReportRepository {
                             Report.class)
                     .setParameter("frag", typeFragment)
                     .getResultList();
-            logger.info("findByType() – znaleziono {} raportów",
+            logger.debug("findByType() – znaleziono {} raportów",
                     reports.size());
             return reports;
         } catch (Exception e) {
@@ -262,7 +262,7 @@ public class ReportRepository {
                     .setParameter("start", startDate, TemporalType.DATE)
                     .setParameter("end", endDate, TemporalType.DATE)
                     .getResultList();
-            logger.info("findByStartDate() " +
+            logger.debug("findByStartDate() " +
                     "– znaleziono {} raportów", reports.size());
             return reports;
         } catch (Exception e) {
@@ -293,7 +293,7 @@ public class ReportRepository {
                     .setParameter("start", startDate, TemporalType.DATE)
                     .setParameter("end", endDate, TemporalType.DATE)
                     .getResultList();
-            logger.info("findByEndDate() – znaleziono {} raportów",
+            logger.debug("findByEndDate() – znaleziono {} raportów",
                     reports.size());
             return reports;
         } catch (Exception e) {
@@ -320,7 +320,7 @@ public class ReportRepository {
                             Report.class)
                     .setParameter("pid", employeeId)
                     .getResultList();
-            logger.info("findByEmployee() " +
+            logger.debug("findByEmployee() " +
                     "– znaleziono {} raportów", reports.size());
             return reports;
         } catch (Exception e) {
@@ -348,7 +348,7 @@ public class ReportRepository {
                             Report.class)
                     .setParameter("frag", fragment)
                     .getResultList();
-            logger.info("findByFilePath() " +
+            logger.debug("findByFilePath() " +
                     "– znaleziono {} raportów", reports.size());
             return reports;
         } catch (Exception e) {
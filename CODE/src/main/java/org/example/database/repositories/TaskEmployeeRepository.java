@@ -153,7 +153,7 @@ public class TaskEmployeeRepository implements AutoCloseable {
                             TaskEmployee.class)
                     .setParameter("eid", employeeId)
                     .getResultList();
-            logger.info("findByEmployee() " +
+            logger.debug("findByEmployee() " +
                     "– znaleziono {} przypisań", list.size());
             return list;
         } catch (Exception e) {
@@ -183,7 +183,7 @@ public class TaskEmployeeRepository implements AutoCloseable {
                             TaskEmployee.class)
                     .setParameter("tid", taskId)
                     .getResultList();
-            logger.info("findByTask() " +
+            logger.debug("findByTask() " +
                     "– znaleziono {} przypisań", list.size());
             return list;
         } catch (Exception e) {
@@ -252,7 +252,7 @@ public class TaskEmployeeRepository implements AutoCloseable {
                     .setParameter("eid", employeeId)
                     .setParameter("day", day)
                     .getResultList();
-            logger.info("findEmployeeTasksForDate() " +
+            logger.debug("findEmployeeTasksForDate() " +
                             "– znaleziono {} przypisań",
                     list.size());
             return list;
@@ -327,7 +327,7 @@ public class TaskEmployeeRepository implements AutoCloseable {
                             EmpTask.class)
                     .setParameter("taskId", taskId)
                     .getSingleResult();
-            logger.info("findTaskWithEmployees() " +
+            logger.debug("findTaskWithEmployees() " +
                             "– pobrano zadanie z {} przypisaniami",
                     task.getTaskEmployees().size());
             return task;
@@ -76,7 +76,7 @@ public class TechnicalIssueRepository {
         EntityManager em = emf.createEntityManager();
         try {
             TechnicalIssue issue = em.find(TechnicalIssue.class, id);
-            logger.info("findIssueById() – znaleziono: {}", issue);
+            logger.debug("findIssueById() – znaleziono: {}", issue);
             return issue;
         } catch (Exception e) {
             logger.error("findIssueById() " +
@@ -100,7 +100,7 @@ public class TechnicalIssueRepository {
                             "SELECT t FROM TechnicalIssue t",
                             TechnicalIssue.class)
                     .getResultList();
-            logger.info("getAllIssues() " +
+            logger.debug("getAllIssues() " +
                     "– pobrano {} zgłoszeń", issues.size());
             return issues;
         } catch (Exception e) {
@@ -188,7 +188,7 @@ public class TechnicalIssueRepository {
                             TechnicalIssue.class)
                     .setParameter("frag", typeFragment)
                     .getResultList();
-            logger.info("findByType() " +
+            logger.debug("findByType() " +
                     "– znaleziono {} zgłoszeń", issues.size());
             return issues;
         } catch (Exception e) {
@@ -222,7 +222,7 @@ public class TechnicalIssueRepository {
                     .setParameter("start", start)
                     .setParameter("end", end)
                     .getResultList();
-            logger.info("findByDate() " +
+            logger.debug("findByDate() " +
                     "– znaleziono {} zgłoszeń", issues.size());
             return issues;
         } catch (Exception e) {
@@ -249,7 +249,7 @@ public class TechnicalIssueRepository {
                             TechnicalIssue.class)
                     .setParameter("status", status)
                     .getResultList();
-            logger.info("findByStatus() " +
+            logger.debug("findByStatus() " +
                     "– znaleziono {} zgłoszeń", issues.size());
             return issues;
         } catch (Exception e) {
@@ -276,7 +276,7 @@ public class TechnicalIssueRepository {
                             TechnicalIssue.class)
                     .setParameter("pid", employeeId)
                     .getResultList();
-            logger.info("findByEmployee() " +
+            logger.debug("findByEmployee() " +
                     "– znaleziono {} zgłoszeń", issues.size());
             return issues;
         } catch (Exception e) {
@@ -78,7 +78,7 @@ public class TransactionProductRepository {
             TransactionProductId id
                     = new TransactionProductId(transactionId, productId);
             TransactionProduct tp = em.find(TransactionProduct.class, id);
-            logger.info("findById() – znaleziono: {}", tp);
+            logger.debug("findById() – znaleziono: {}", tp);
             return tp;
         } catch (Exception e) {
             logger.error("findById() – błąd przy find()", e);
@@ -102,7 +102,7 @@ public class TransactionProductRepository {
                     TransactionProduct.class);
             q.setParameter("txId", transactionId);
             List<TransactionProduct> list = q.getResultList();
-            logger.info("getByTransaction() – zwrócono {} pozycji",
+            logger.debug("getByTransaction() – zwrócono {} pozycji",
                     list.size());
             return list;
         } catch (Exception e) {
@@ -127,7 +127,7 @@ public class TransactionProductRepository {
                     TransactionProduct.class);
             q.setParameter("prodId", productId);
             List<TransactionProduct> list = q.getResultList();
-            logger.info("getByProduct() – zwrócono {} pozycji",
+            logger.debug("getByProduct() – zwrócono {} pozycji",
                     list.size());
             return list;
         } catch (Exception e) {
@@ -149,7 +149,7 @@ public class TransactionProductRepository {
                             "SELECT tp FROM TransactionProduct tp",
                             TransactionProduct.class)
                     .getResultList();
-            logger.info("getAllTransactionProducts() " +
+            logger.debug("getAllTransactionProducts() " +
                     "– zwrócono {} pozycji", list.size());
             return list;
         } catch (Exception e) {
@@ -16,22 +16,37 @@ import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Root;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.example.database.DatabaseConfig;
 import org.example.database.EMFProvider;
 import org.example.sys.Product;
 import org.example.sys.Transaction;
 import org.example.sys.TransactionProduct;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
+import org.hibernate.query.Query;
+import pdf.SalesReportGenerator.SalesRecord;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Repozytorium do zarządzania transakcjami w systemie.
  * Zapewnia operacje CRUD oraz metody wyszukiwania transakcji
  * według różnych kryteriów. Wykorzystuje EntityManager
  * do komunikacji z bazą danych.
+ * Operacje zmieniające sprzedaż aktualizują w tej samej transakcji
+ * dzienne podsumowania sprzedaży ({@link DailySalesRepository}).
  */
 public class TransactionRepository {
 
@@ -66,6 +81,7 @@ public class TransactionRepository {
         try {
             tx.begin();
             em.persist(transaction);
+            SalesSnapshot.of(transaction, 1).apply(em);
             tx.commit();
             logger.info("addTransaction() – transaction dodana: {}",
                     transaction);
@@ -91,7 +107,7 @@ public class TransactionRepository {
         EntityManager em = EMFProvider.get().createEntityManager();
         try {
             Transaction t = em.find(Transaction.class, id);
-            logger.info("findTransactionById() – znaleziono: {}", t);
+            logger.debug("findTransactionById() – znaleziono: {}", t);
             return t;
         } catch (Exception e) {
             logger.error("findTransactionById() " +
@@ -117,7 +133,7 @@ public class TransactionRepository {
                             "SELECT t FROM Transaction t",
                             Transaction.class)
                     .getResultList();
-            logger.info("getAllTransactions() " +
+            logger.debug("getAllTransactions() " +
                     "– pobrano {} transakcji", list.size());
             return list;
         } catch (Exception e) {
@@ -145,6 +161,7 @@ public class TransactionRepository {
             tx.begin();
             Transaction t = em.find(Transaction.class, id);
             if (t != null) {
+                SalesSnapshot.of(t, -1).apply(em);
                 em.remove(t);
                 logger.info("removeTransactions() " +
                         "– usunięto transakcję: {}", t);
@@ -177,7 +194,14 @@ public class TransactionRepository {
         EntityTransaction tx = em.getTransaction();
         try {
             tx.begin();
-            em.merge(transaction);
+            Transaction current = em.find(Transaction.class,
+                    transaction.getId());
+            SalesSnapshot previous = current == null
+                    ? SalesSnapshot.EMPTY
+                    : SalesSnapshot.of(current, -1);
+            Transaction merged = em.merge(transaction);
+            previous.apply(em);
+            SalesSnapshot.of(merged, 1).apply(em);
             tx.commit();
             logger.info("updateTransaction() " +
                             "– transaction zaktualizowana: {}",
@@ -195,7 +219,8 @@ public class TransactionRepository {
 
     /**
      * Oblicza ilość sprzedanych sztuk produktu w określonym dniu.
-     * Wykorzystuje zapytanie agregujące SUM.
+     * Sumuje dzienne podsumowania sprzedaży produktu (po jednym
+     * wierszu na pracownika) zamiast pozycji wszystkich transakcji.
      *
      * @param product produkt, dla którego obliczana jest sprzedaż
      * @param date data, dla której obliczana jest sprzedaż
@@ -210,20 +235,17 @@ public class TransactionRepository {
                 product, date);
         EntityManager em = EMFProvider.get().createEntityManager();
         try {
-            Date sqlDate = Date.from(date.atStartOfDay(
-                    ZoneId.systemDefault()).toInstant());
             Long total = em.createQuery(
-                            "SELECT COALESCE(SUM(tp.quantity), 0) " +
-                                    "FROM TransactionProduct tp " +
-                                    "JOIN tp.transaction t " +
-                                    "WHERE tp.product = :product " +
-                                    "AND t.date = :date",
+                            "SELECT COALESCE(SUM(d.quantity), 0) " +
+                                    "FROM DailySales d " +
+                                    "WHERE d.id.productId = :productId " +
+                                    "AND d.id.date = :date",
                             Long.class)
-                    .setParameter("product", product)
-                    .setParameter("date", sqlDate, TemporalType.DATE)
+                    .setParameter("productId", product.getId())
+                    .setParameter("date", date)
                     .getSingleResult();
             int result = total.intValue();
-            logger.info("getSoldQuantityForProductOnDate() " +
+            logger.debug("getSoldQuantityForProductOnDate() " +
                     "– sprzedano {} sztuk "
                     + "produktu {} w dniu {}", result, product, date);
             return result;
@@ -266,7 +288,7 @@ public class TransactionRepository {
                     .orderBy(cb.asc(root.get("date")));
 
             List<Transaction> result = em.createQuery(cq).getResultList();
-            logger.info("getTransactionsBetweenDates() " +
+            logger.debug("getTransactionsBetweenDates() " +
                             "– znaleziono {} transakcji",
                     result.size());
             return result;
@@ -282,6 +304,198 @@ public class TransactionRepository {
         }
     }
 
+    /**
+     * Sprawdza, czy w podanym zakresie dat istnieje choć jedna
+     * transakcja, bez wczytywania transakcji z bazy.
+     *
+     * @param startDate początek zakresu dat (włącznie)
+     * @param endDate koniec zakresu dat (włącznie)
+     * @return true, jeśli istnieje transakcja z podanego zakresu
+     */
+    public boolean hasTransactionsBetweenDates(Date startDate, Date endDate) {
+        logger.debug("hasTransactionsBetweenDates() – start, from={}, to={}",
+                startDate, endDate);
+        EntityManager em = EMFProvider.get().createEntityManager();
+        try {
+            boolean exists = !em.createQuery(
+                            "SELECT t.id FROM Transaction t "
+                                    + "WHERE t.date BETWEEN :from AND :to",
+                            Integer.class)
+                    .setParameter("from", startDate)
+                    .setParameter("to", endDate)
+                    .setMaxResults(1)
+                    .getResultList()
+                    .isEmpty();
+            logger.debug("hasTransactionsBetweenDates() – wynik: {}", exists);
+            return exists;
+        } catch (Exception e) {
+            logger.error("hasTransactionsBetweenDates() – błąd sprawdzania "
+                    + "transakcji między {} a {}", startDate, endDate, e);
+            return false;
+        } finally {
+            em.close();
+            logger.debug("hasTransactionsBetweenDates() "
+                    + "– EntityManager zamknięty");
+        }
+    }
+
+    /**
+     * Zwraca znacznik wersji danych sprzedaży z podanego zakresu dat,
+     * używany jako klucz pamięci podręcznej raportów
+     * ({@link org.example.database.ReportCache}). Znacznik składa się
+     * z liczby pozycji, najwyższego identyfikatora transakcji, łącznej
+     * ilości i wartości pozycji, więc zmienia się po dodaniu, usunięciu
+     * lub zmianie sprzedaży w okresie (a dla pozycji bez zapisanej ceny
+     * sprzedaży – także po zmianie cen produktów).
+     * Jedno zapytanie agregujące nie wczytuje żadnych pozycji.
+     *
+     * @param startDate  początek zakresu dat (włącznie)
+     * @param endDate    koniec zakresu dat (włącznie)
+     * @param categories kategorie produktów do uwzględnienia
+     *                   (null lub pusta lista – wszystkie)
+     * @return znacznik wersji lub null w przypadku błędu
+     */
+    public String getSalesDataVersion(Date startDate,
+                                      Date endDate,
+                                      List<String> categories) {
+        logger.debug("getSalesDataVersion() – start, from={}, to={}, "
+                + "categories={}", startDate, endDate, categories);
+        boolean filterCategories = categories != null
+                && !categories.isEmpty();
+        String jpql = "SELECT COUNT(t.id), MAX(t.id), "
+                + "COALESCE(SUM(tp.quantity), 0), "
+                + "COALESCE(SUM(tp.quantity "
+                + "* COALESCE(tp.unitPrice, p.price)), 0) "
+                + "FROM TransactionProduct tp "
+                + "JOIN tp.transaction t JOIN tp.product p "
+                + "WHERE t.date BETWEEN :from AND :to "
+                + (filterCategories ? "AND p.category IN :categories" : "");
+
+        EntityManager em = EMFProvider.get().createEntityManager();
+        try {
+            var query = em.createQuery(jpql, Object[].class)
+                    .setParameter("from", startDate)
+                    .setParameter("to", endDate);
+            if (filterCategories) {
+                query.setParameter("categories", categories);
+            }
+            Object[] row = query.getSingleResult();
+            String version = row[0] + ":" + row[1] + ":" + row[2] + ":"
+                    + new BigDecimal(row[3].toString()).stripTrailingZeros()
+                    .toPlainString();
+            logger.debug("getSalesDataVersion() – wersja: {}", version);
+            return version;
+        } catch (Exception e) {
+            logger.error("getSalesDataVersion() – błąd wyznaczania wersji "
+                    + "danych między {} a {}", startDate, endDate, e);
+            return null;
+        } finally {
+            em.close();
+            logger.debug("getSalesDataVersion() – EntityManager zamknięty");
+        }
+    }
+
+    /**
+     * Przekazuje pozycje sprzedaży z podanego zakresu dat do raportu
+     * sprzedaży, wiersz po wierszu. Zapytanie zwraca krotki
+     * (transakcja, data, produkt, ilość, wartość) złączone w SQL,
+     * bez ładowania encji Transaction, TransactionProduct i Product,
+     * a wynik jest przewijany kursorem tylko do przodu
+     * (ScrollableResults), więc zużycie pamięci nie zależy od liczby
+     * pozycji w okresie.
+     * Nazwy i kategorie produktów są współdzielone między rekordami
+     * tego samego produktu.
+     *
+     * @param startDate  początek zakresu dat (włącznie)
+     * @param endDate    koniec zakresu dat (włącznie)
+     * @param categories kategorie produktów do uwzględnienia
+     *                   (null lub pusta lista – wszystkie)
+     * @param sink       odbiorca kolejnych rekordów
+     * @return liczba przekazanych rekordów lub -1 w przypadku błędu
+     */
+    public int streamSalesRecords(Date startDate,
+                                  Date endDate,
+                                  List<String> categories,
+                                  Consumer<SalesRecord> sink) {
+        logger.debug("streamSalesRecords() – start, from={}, to={}, "
+                + "categories={}", startDate, endDate, categories);
+        boolean filterCategories = categories != null
+                && !categories.isEmpty();
+        String jpql = "SELECT t.id, t.date, p.id, p.name, p.category, "
+                + "tp.quantity, tp.quantity * COALESCE(tp.unitPrice, p.price) "
+                + "FROM TransactionProduct tp "
+                + "JOIN tp.transaction t JOIN tp.product p "
+                + "WHERE t.date BETWEEN :from AND :to "
+                + (filterCategories ? "AND p.category IN :categories " : "")
+                + "ORDER BY t.date, t.id";
+
+        EntityManager em = EMFProvider.get().createEntityManager();
+        try {
+            Query<Object[]> query = em.unwrap(Session.class)
+                    .createQuery(jpql, Object[].class)
+                    .setParameter("from", startDate)
+                    .setParameter("to", endDate)
+                    .setReadOnly(true)
+                    .setFetchSize(DatabaseConfig.getStreamingFetchSize());
+            if (filterCategories) {
+                query.setParameterList("categories", categories);
+            }
+
+            Map<Integer, String[]> productLabels = new HashMap<>();
+            int count = 0;
+            try (ScrollableResults<Object[]> rows =
+                         query.scroll(ScrollMode.FORWARD_ONLY)) {
+                while (rows.next()) {
+                    Object[] row = rows.get();
+                    String[] label = productLabels.computeIfAbsent(
+                            (Integer) row[2], id -> new String[] {
+                                    (String) row[3], (String) row[4]});
+                    // Kolumna Data jest typu DATE (java.sql.Date),
+                    // która nie obsługuje toInstant()
+                    LocalDateTime time = LocalDateTime.ofInstant(
+                            Instant.ofEpochMilli(((Date) row[1]).getTime()),
+                            ZoneId.systemDefault());
+                    sink.accept(new SalesRecord((Integer) row[0], time,
+                            label[0], label[1], (Integer) row[5],
+                            ((Number) row[6]).doubleValue()));
+                    count++;
+                }
+            }
+            logger.debug("streamSalesRecords() – przekazano {} rekordów",
+                    count);
+            return count;
+        } catch (Exception e) {
+            logger.error("streamSalesRecords() – błąd pobierania pozycji "
+                    + "sprzedaży między {} a {}", startDate, endDate, e);
+            return -1;
+        } finally {
+            em.close();
+            logger.debug("streamSalesRecords() – EntityManager zamknięty");
+        }
+    }
+
+    /**
+     * Pobiera pozycje sprzedaży z podanego zakresu dat jako rekordy
+     * raportu sprzedaży. Korzysta z
+     * {@link #streamSalesRecords(Date, Date, List, Consumer)}.
+     *
+     * @param startDate  początek zakresu dat (włącznie)
+     * @param endDate    koniec zakresu dat (włącznie)
+     * @param categories kategorie produktów do uwzględnienia
+     *                   (null lub pusta lista – wszystkie)
+     * @return lista rekordów lub pusta lista w przypadku błędu
+     */
+    public List<SalesRecord> getSalesRecords(Date startDate,
+                                             Date endDate,
+                                             List<String> categories) {
+        List<SalesRecord> records = new ArrayList<>();
+        if (streamSalesRecords(startDate, endDate, categories,
+                records::add) < 0) {
+            return List.of();
+        }
+        return records;
+    }
+
     /**
      * Dodaje produkt do transakcji lub aktualizuje ilość,
      * jeśli już istnieje.
@@ -316,13 +530,23 @@ public class TransactionRepository {
                         .setParameter("txId", managedTx.getId())
                         .setParameter("prodId", managedPr.getId())
                         .getResultList();
+                int previousQuantity = existing.isEmpty()
+                        ? 0 : existing.get(0).getQuantity();
+                // nowa pozycja sprzedawana jest po bieżącej cenie,
+                // istniejąca zachowuje cenę z chwili sprzedaży
+                BigDecimal unitPrice = existing.isEmpty()
+                        ? managedPr.getPrice()
+                        : existing.get(0).getUnitPrice();
+                SalesSnapshot.of(managedTx, managedPr, unitPrice,
+                        quantity - previousQuantity).apply(em);
                 if (existing.isEmpty()) {
                     TransactionProduct tp = new TransactionProduct();
                     tp.setTransaction(managedTx);
                     tp.setProduct(managedPr);
                     tp.setQuantity(quantity);
+                    tp.setUnitPrice(unitPrice);
                     em.persist(tp);
-                    logger.info("addProductToTransaction() " +
+                    logger.debug("addProductToTransaction() " +
                                     "– utworzono relację "
                                     + "(tx={}, prod={}, qty={})",
                             managedTx.getId(), managedPr.getId(), quantity);
@@ -330,7 +554,7 @@ public class TransactionRepository {
                     TransactionProduct tp = existing.get(0);
                     tp.setQuantity(quantity);
                     em.merge(tp);
-                    logger.info("addProductToTransaction() " +
+                    logger.debug("addProductToTransaction() " +
                                     "– zaktualizowano qty w relacji "
                                     + "(tx={}, prod={}, qty={})",
                             managedTx.getId(), managedPr.getId(), quantity);
@@ -371,7 +595,7 @@ public class TransactionRepository {
                             Transaction.class)
                     .setParameter("pid", employeeId)
                     .getResultList();
-            logger.info("findByEmployee() " +
+            logger.debug("findByEmployee() " +
                     "– znaleziono {} transakcji", list.size());
             return list;
         } catch (Exception e) {
@@ -401,7 +625,7 @@ public class TransactionRepository {
                             Transaction.class)
                     .setParameter("date", date, TemporalType.DATE)
                     .getResultList();
-            logger.info("findByDate() " +
+            logger.debug("findByDate() " +
                     "– znaleziono {} transakcji", list.size());
             return list;
         } catch (Exception e) {
@@ -434,7 +658,7 @@ public class TransactionRepository {
                     .setParameter("from", fromDate, TemporalType.DATE)
                     .setParameter("to", toDate, TemporalType.DATE)
                     .getResultList();
-            logger.info("findByDateRange() " +
+            logger.debug("findByDateRange() " +
                     "– znaleziono {} transakcji", list.size());
             return list;
         } catch (Exception e) {
@@ -473,4 +697,113 @@ public class TransactionRepository {
      */
     public void close() {
     }
-}
\ No newline at end of file
+
+    /**
+     * Zamienia datę (również java.sql.Date) na dzień w strefie
+     * systemowej.
+     *
+     * @param date data
+     * @return dzień odpowiadający dacie
+     */
+    private static LocalDate toLocalDate(Date date) {
+        return Instant.ofEpochMilli(date.getTime())
+                .atZone(ZoneId.systemDefault())
+                .toLocalDate();
+    }
+
+    /**
+     * Zmiany dziennych podsumowań sprzedaży wynikające z jednej
+     * transakcji. Przychód liczony jest z ceny zapisanej w pozycji
+     * w chwili sprzedaży (dla pozycji bez niej – z bieżącej ceny
+     * produktu).
+     *
+     * @param day        dzień transakcji
+     * @param employeeId identyfikator pracownika (0 – brak)
+     * @param deltas     zmiany dla poszczególnych produktów
+     */
+    private record SalesSnapshot(LocalDate day,
+                                 int employeeId,
+                                 List<DailySalesRepository.Delta> deltas) {
+
+        static final SalesSnapshot EMPTY =
+                new SalesSnapshot(null, 0, List.of());
+
+        /**
+         * Tworzy zmiany dla wszystkich pozycji transakcji.
+         *
+         * @param transaction transakcja
+         * @param sign        1 – dodanie sprzedaży, -1 – jej wycofanie
+         * @return zmiany podsumowań
+         */
+        static SalesSnapshot of(Transaction transaction, int sign) {
+            if (transaction.getDate() == null
+                    || transaction.getTransactionProducts() == null) {
+                return EMPTY;
+            }
+            Map<Integer, DailySalesRepository.Delta> merged =
+                    new LinkedHashMap<>();
+            for (TransactionProduct tp
+                    : transaction.getTransactionProducts()) {
+                DailySalesRepository.Delta delta = delta(tp.getProduct(),
+                        tp.getUnitPrice(), sign * tp.getQuantity());
+                merged.merge(delta.productId(), delta, (a, b) ->
+                        new DailySalesRepository.Delta(a.productId(),
+                                a.quantity() + b.quantity(),
+                                a.revenue().add(b.revenue())));
+            }
+            return new SalesSnapshot(toLocalDate(transaction.getDate()),
+                    employeeIdOf(transaction),
+                    List.copyOf(merged.values()));
+        }
+
+        /**
+         * Tworzy zmianę ilości jednego produktu w transakcji.
+         *
+         * @param transaction transakcja
+         * @param product     produkt
+         * @param unitPrice   cena jednostkowa pozycji w chwili sprzedaży
+         * @param quantity    zmiana liczby sztuk
+         * @return zmiany podsumowań
+         */
+        static SalesSnapshot of(Transaction transaction,
+                                Product product,
+                                BigDecimal unitPrice,
+                                int quantity) {
+            if (transaction.getDate() == null || quantity == 0) {
+                return EMPTY;
+            }
+            return new SalesSnapshot(toLocalDate(transaction.getDate()),
+                    employeeIdOf(transaction),
+                    List.of(delta(product, unitPrice, quantity)));
+        }
+
+        /**
+         * Zapisuje zmiany na połączeniu bieżącej transakcji.
+         *
+         * @param em EntityManager z aktywną transakcją
+         */
+        void apply(EntityManager em) {
+            if (deltas.isEmpty()) {
+                return;
+            }
+            em.unwrap(Session.class).doWork(connection ->
+                    DailySalesRepository.apply(connection, day,
+                            employeeId, deltas));
+        }
+
+        private static DailySalesRepository.Delta delta(Product product,
+                                                        BigDecimal unitPrice,
+                                                        int quantity) {
+            BigDecimal price = unitPrice != null ? unitPrice
+                    : product.getPrice() != null ? product.getPrice()
+                    : BigDecimal.ZERO;
+            return new DailySalesRepository.Delta(product.getId(), quantity,
+                    price.multiply(BigDecimal.valueOf(quantity)));
+        }
+
+        private static int employeeIdOf(Transaction transaction) {
+            return transaction.getEmployee() == null
+                    ? 0 : transaction.getEmployee().getId();
+        }
+    }
+}
@@ -57,7 +57,7 @@ public class UserRepository {
                                     "WHERE e.deleted = false",
                             Employee.class)
                     .getResultList();
-            logger.info("getAllEmployees() " +
+            logger.debug("getAllEmployees() " +
                     "– znaleziono {} pracowników", list.size());
             return list;
         } catch (Exception e) {
@@ -85,7 +85,7 @@ public class UserRepository {
                                     + "AND e.deleted = false",
                             Employee.class)
                     .getResultList();
-            logger.info("getCashiers() " +
+            logger.debug("getCashiers() " +
                     "– znaleziono {} kasjerów", list.size());
             return list;
         } catch (Exception e) {
@@ -117,7 +117,7 @@ public class UserRepository {
                     .setParameter("login", login)
                     .getSingleResult();
             if (e != null && !e.isDeleted()) {
-                logger.info("findByLogin() – znaleziono: {}", e);
+                logger.debug("findByLogin() – znaleziono: {}", e);
                 return e;
             } else {
                 logger.warn("findByLogin() – pracownik usunięty lub null");
@@ -204,7 +204,7 @@ public class UserRepository {
         try {
             Employee e = em.find(Employee.class, id);
             if (e != null && !e.isDeleted()) {
-                logger.info("findById() – znaleziono: {}", e);
+                logger.debug("findById() – znaleziono: {}", e);
                 return e;
             } else {
                 logger.warn("findById() " +
@@ -354,7 +354,7 @@ public class UserRepository {
         try {
             Employee e = em.find(Employee.class, loggedInEmployeeId);
             if (e != null && !e.isDeleted()) {
-                logger.info("getCurrentEmployee() – zwrócono: {}", e);
+                logger.debug("getCurrentEmployee() – zwrócono: {}", e);
                 return e;
             } else {
                 logger.warn("getCurrentEmployee() " +
@@ -378,6 +378,15 @@ public class UserRepository {
         loggedInEmployeeId = employeeId;
     }
 
+    /**
+     * Zwraca ID aktualnie zalogowanego pracownika bez odczytu z bazy.
+     *
+     * @return identyfikator pracownika lub -1, gdy nikt nie jest zalogowany
+     */
+    public static int getLoggedInEmployeeId() {
+        return loggedInEmployeeId;
+    }
+
     /**
      * Resetuje ID aktualnie zalogowanego pracownika.
      * Używana przy wylogowaniu.
@@ -406,7 +415,7 @@ public class UserRepository {
                             Employee.class)
                     .setParameter("frag", nameFragment)
                     .getResultList();
-            logger.info("findByName() " +
+            logger.debug("findByName() " +
                     "– znaleziono {} pracowników", list.size());
             return list;
         } catch (Exception e) {
@@ -437,7 +446,7 @@ public class UserRepository {
                             Employee.class)
                     .setParameter("frag", surnameFragment)
                     .getResultList();
-            logger.info("findBySurname() " +
+            logger.debug("findBySurname() " +
                     "– znaleziono {} pracowników", list.size());
             return list;
         } catch (Exception e) {
@@ -468,7 +477,7 @@ public class UserRepository {
                     .setParameter("min", min)
                     .setParameter("max", max)
                     .getResultList();
-            logger.info("findByAge() " +
+            logger.debug("findByAge() " +
                     "– znaleziono {} pracowników", list.size());
             return list;
         } catch (Exception e) {
@@ -497,7 +506,7 @@ public class UserRepository {
                             Employee.class)
                     .setParameter("aid", addressId)
                     .getResultList();
-            logger.info("findByAddress() " +
+            logger.debug("findByAddress() " +
                     "– znaleziono {} pracowników", list.size());
             return list;
         } catch (Exception e) {
@@ -528,7 +537,7 @@ public class UserRepository {
                             Employee.class)
                     .setParameter("frag", emailFragment)
                     .getResultList();
-            logger.info("findByEmail() " +
+            logger.debug("findByEmail() " +
                     "– znaleziono {} pracowników", list.size());
             return list;
         } catch (Exception e) {
@@ -559,7 +568,7 @@ public class UserRepository {
                     .setParameter("min", min)
                     .setParameter("max", max)
                     .getResultList();
-            logger.info("findBySalary() " +
+            logger.debug("findBySalary() " +
                     "– znaleziono {} pracowników", list.size());
             return list;
         } catch (Exception e) {
@@ -588,7 +597,7 @@ public class UserRepository {
                             Employee.class)
                     .setParameter("st", position)
                     .getResultList();
-            logger.info("findByPosition() " +
+            logger.debug("findByPosition() " +
                     "– znaleziono {} pracowników", list.size());
             return list;
         } catch (Exception e) {
@@ -615,7 +624,7 @@ public class UserRepository {
                                     "= TRUE AND e.deleted = FALSE",
                             Employee.class)
                     .getResultList();
-            logger.info("getOnSickLeave() " +
+            logger.debug("getOnSickLeave() " +
                     "– znaleziono {} pracowników", list.size());
             return list;
         } catch (Exception e) {
@@ -642,7 +651,7 @@ public class UserRepository {
                                     "= FALSE AND e.deleted = FALSE",
                             Employee.class)
                     .getResultList();
-            logger.info("getNotOnSickLeave()" +
+            logger.debug("getNotOnSickLeave()" +
                     " – znaleziono {} pracowników", list.size());
             return list;
         } catch (Exception e) {
@@ -824,7 +833,7 @@ public class UserRepository {
                     .setParameter("now", java.time.LocalDateTime.now())
                     .getResultList();
 
-            logger.info("findValidTokensByUserId() – znaleziono {} " +
+            logger.debug("findValidTokensByUserId() – znaleziono {} " +
                     "tokenów", tokens.size());
             return tokens;
         } catch (Exception e) {
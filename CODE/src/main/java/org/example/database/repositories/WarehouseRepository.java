@@ -9,12 +9,31 @@ package org.example.database.repositories;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.TypedQuery;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.example.database.EMFProvider;
+import org.example.database.SecondLevelCache;
+import org.example.database.UnitOfWork;
+import org.example.sys.CategoryStock;
+import org.example.sys.StockPage;
+import org.example.sys.StockRow;
+import org.example.sys.StockSort;
 import org.example.sys.Warehouse;
+import org.example.sys.WarehouseReportRow;
+import org.hibernate.Session;
 
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Repozytorium do zarządzania stanem magazynowym produktów.
@@ -30,6 +49,29 @@ public class WarehouseRepository {
     private static final Logger logger = LogManager.getLogger(
             WarehouseRepository.class);
 
+    /**
+     * Warunkowe, atomowe zmniejszenie stanu. Baza sprawdza dostępność
+     * i zmienia ilość w jednym poleceniu, więc dwie równoległe sprzedaże
+     * nie mogą zgubić aktualizacji ani zejść poniżej zera.
+     */
+    static final String DECREMENT_IF_AVAILABLE_SQL =
+            "UPDATE StanyMagazynowe SET Ilosc = Ilosc - ? " +
+                    "WHERE Id_produktu = ? AND Ilosc >= ?";
+
+    /**
+     * Zmienione produkty, których stan jest na progu zamówienia lub
+     * poniżej. Czy to właśnie ta zmiana przekroczyła próg, rozstrzyga
+     * porównanie ze stanem sprzed zmiany.
+     */
+    private static final String REORDER_CANDIDATES_SQL =
+            "SELECT s.Id_produktu, s.Ilosc, s.Prog_zamowienia, " +
+                    "s.Ilosc_zamowienia, p.Cena " +
+                    "FROM StanyMagazynowe s " +
+                    "JOIN Produkty p ON p.Id = s.Id_produktu " +
+                    "WHERE s.Prog_zamowienia > 0 " +
+                    "AND s.Ilosc <= s.Prog_zamowienia " +
+                    "AND s.Id_produktu IN (%s)";
+
     /**
      * Domyślny konstruktor – korzysta ze wspólnego EMF z EMFProvider.
      * Operacja jest logowana na poziomie INFO.
@@ -78,7 +120,7 @@ public class WarehouseRepository {
         EntityManager em = EMFProvider.get().createEntityManager();
         try {
             Warehouse stan = em.find(Warehouse.class, productId);
-            logger.info("findStateByProductId() " +
+            logger.debug("findStateByProductId() " +
                     "– znaleziono: {}", stan);
             return stan;
         } catch (Exception ex) {
@@ -107,7 +149,7 @@ public class WarehouseRepository {
                             "SELECT w FROM Warehouse w",
                             Warehouse.class)
                     .getResultList();
-            logger.info("getAllStates() " +
+            logger.debug("getAllStates() " +
                     "– pobrano {} rekordów", list.size());
             return list;
         } catch (Exception ex) {
@@ -142,6 +184,8 @@ public class WarehouseRepository {
                         "– brak rekordu dla productId={}", productId);
             }
             tx.commit();
+            UnitOfWork.afterCommit(
+                    () -> SecondLevelCache.evictWarehouse(productId));
         } catch (Exception ex) {
             logger.error("removeState() " +
                             "– błąd podczas usuwania productId={}",
@@ -168,6 +212,8 @@ public class WarehouseRepository {
             tx.begin();
             em.merge(state);
             tx.commit();
+            UnitOfWork.afterCommit(() ->
+                    SecondLevelCache.evictWarehouse(state.getProductId()));
             logger.info("updateState() " +
                     "– zaktualizowano state: {}", state);
         } catch (Exception ex) {
@@ -184,11 +230,30 @@ public class WarehouseRepository {
      * Bezpośrednio ustawia ilość produktu w magazynie.
      * Operacja jest wykonywana w transakcji.
      * Jeśli produkt nie istnieje, operacja jest logowana jako ostrzeżenie.
+     * Projekt zamówienia po przekroczeniu progu jest przypisywany
+     * zalogowanemu pracownikowi.
      *
      * @param productId identyfikator produktu
      * @param newQty nowa ilość produktu
      */
     public void setProductQuantity(int productId, int newQty) {
+        setProductQuantity(productId, newQty,
+                UserRepository.getLoggedInEmployeeId());
+    }
+
+    /**
+     * Bezpośrednio ustawia ilość produktu w magazynie.
+     * Operacja jest wykonywana w transakcji.
+     * Jeśli produkt nie istnieje, operacja jest logowana jako ostrzeżenie.
+     * Gdy nowa ilość przekracza próg zamówienia, po zatwierdzeniu
+     * zmiany powstaje projekt zamówienia ({@link ReorderMonitor}).
+     *
+     * @param productId  identyfikator produktu
+     * @param newQty     nowa ilość produktu
+     * @param employeeId pracownik zmieniający stan
+     */
+    public void setProductQuantity(int productId, int newQty,
+                                   int employeeId) {
         logger.debug("setProductQuantity() " +
                         "– start, productId={}, newQty={}",
                 productId, newQty);
@@ -197,9 +262,19 @@ public class WarehouseRepository {
         try {
             tx.begin();
             Warehouse w = em.find(Warehouse.class, productId);
+            ReorderMonitor.Crossing crossing = null;
             if (w != null) {
+                int before = w.getQuantity();
                 w.setQuantity(newQty);
                 em.merge(w);
+                if (ReorderMonitor.Crossing.crossed(before, newQty,
+                        w.getReorderThreshold())) {
+                    crossing = new ReorderMonitor.Crossing(productId, newQty,
+                            w.getReorderThreshold(), w.getReorderQuantity(),
+                            w.getProduct() == null ? null
+                                    : w.getProduct().getPrice(),
+                            employeeId);
+                }
                 logger.info("setProductQuantity() " +
                                 "– ilość zaktualizowana: {} → {}",
                         productId, newQty);
@@ -209,6 +284,13 @@ public class WarehouseRepository {
                         productId);
             }
             tx.commit();
+            ReorderMonitor.Crossing reorder = crossing;
+            UnitOfWork.afterCommit(() -> {
+                SecondLevelCache.evictWarehouse(productId);
+                if (reorder != null) {
+                    ReorderMonitor.publish(List.of(reorder));
+                }
+            });
         } catch (Exception ex) {
             logger.error("setProductQuantity() " +
                     "– błąd podczas ustawiania ilości", ex);
@@ -219,6 +301,431 @@ public class WarehouseRepository {
         }
     }
 
+    /**
+     * Ustawia próg zamówienia produktu i zamawianą ilość.
+     * Operacja jest wykonywana w transakcji.
+     *
+     * @param productId       identyfikator produktu
+     * @param threshold       próg zamówienia (0 – wyłącza zamawianie)
+     * @param reorderQuantity ilość zamawiana po przekroczeniu progu
+     *                        (0 – równa progowi)
+     * @return true, jeśli rekord stanu istnieje i został zmieniony
+     */
+    public boolean setReorderThreshold(int productId, int threshold,
+                                       int reorderQuantity) {
+        logger.debug("setReorderThreshold() – start, productId={}, " +
+                "próg={}, ilość={}", productId, threshold, reorderQuantity);
+        if (threshold < 0 || reorderQuantity < 0) {
+            logger.warn("setReorderThreshold() – ujemny próg lub ilość");
+            return false;
+        }
+        EntityManager em = EMFProvider.get().createEntityManager();
+        EntityTransaction tx = em.getTransaction();
+        try {
+            tx.begin();
+            Warehouse w = em.find(Warehouse.class, productId);
+            if (w == null) {
+                tx.rollback();
+                logger.warn("setReorderThreshold() " +
+                        "– brak rekordu dla productId={}", productId);
+                return false;
+            }
+            w.setReorderThreshold(threshold);
+            w.setReorderQuantity(reorderQuantity);
+            tx.commit();
+            UnitOfWork.afterCommit(
+                    () -> SecondLevelCache.evictWarehouse(productId));
+            logger.info("setReorderThreshold() – productId={}, próg={}",
+                    productId, threshold);
+            return true;
+        } catch (Exception ex) {
+            logger.error("setReorderThreshold() " +
+                    "– błąd podczas ustawiania progu", ex);
+            if (tx.isActive()) tx.rollback();
+            return false;
+        } finally {
+            em.close();
+            logger.debug("setReorderThreshold() – EM zamknięty");
+        }
+    }
+
+    /**
+     * Zmniejsza stan produktu o podaną ilość, jeśli jest on wystarczający.
+     * Sprawdzenie i zmiana wykonywane są jednym poleceniem UPDATE,
+     * co chroni przed utratą aktualizacji przy równoległej sprzedaży
+     * (w przeciwieństwie do odczytu i {@link #setProductQuantity}).
+     *
+     * @param productId identyfikator produktu
+     * @param quantity  ilość do zdjęcia ze stanu (większa od zera)
+     * @return true, jeśli stan został zmniejszony; false, gdy towaru
+     * jest za mało, produkt nie istnieje lub wystąpił błąd
+     */
+    public boolean decrementIfAvailable(int productId, int quantity) {
+        logger.debug("decrementIfAvailable() – start, productId={}, qty={}",
+                productId, quantity);
+        if (quantity <= 0) {
+            logger.warn("decrementIfAvailable() – niepoprawna ilość: {}",
+                    quantity);
+            return false;
+        }
+        EntityManager em = EMFProvider.get().createEntityManager();
+        EntityTransaction tx = em.getTransaction();
+        try {
+            tx.begin();
+            Map<Integer, Integer> lines = Map.of(productId, quantity);
+            List<ReorderMonitor.Crossing> crossings = new ArrayList<>();
+            List<Integer> rejected = em.unwrap(Session.class).doReturningWork(
+                    connection -> {
+                        List<Integer> r = decrementIfAvailable(connection,
+                                lines);
+                        if (r.isEmpty()) {
+                            crossings.addAll(findReorderCrossings(connection,
+                                    lines,
+                                    UserRepository.getLoggedInEmployeeId()));
+                        }
+                        return r;
+                    });
+            tx.commit();
+            UnitOfWork.afterCommit(() -> {
+                SecondLevelCache.evictWarehouse(productId);
+                ReorderMonitor.publish(crossings);
+            });
+            boolean success = rejected.isEmpty();
+            logger.debug("decrementIfAvailable() – productId={}, wynik={}",
+                    productId, success);
+            return success;
+        } catch (Exception ex) {
+            logger.error("decrementIfAvailable() " +
+                    "– błąd podczas zmniejszania stanu", ex);
+            if (tx.isActive()) tx.rollback();
+            return false;
+        } finally {
+            em.close();
+            logger.debug("decrementIfAvailable() – EM zamknięty");
+        }
+    }
+
+    /**
+     * Wysyła jednym wsadem JDBC warunkowe zmniejszenia stanów
+     * dla wielu produktów, w ramach bieżącej transakcji połączenia.
+     * Wywołujący decyduje, czy przy odrzuconych pozycjach zatwierdzić,
+     * czy wycofać transakcję. Wiersze blokowane są w kolejności
+     * iteracji mapy – przy wielu produktach powinna to być kolejność
+     * identyfikatorów (np. {@link java.util.TreeMap}), aby równoległe
+     * transakcje się nie zakleszczały.
+     *
+     * @param connection połączenie z aktywną transakcją
+     * @param lines      mapa identyfikator produktu → ilość do zdjęcia
+     * @return identyfikatory produktów, dla których stan był
+     * niewystarczający (pusta lista, gdy wszystkie pozycje przeszły)
+     * @throws SQLException w przypadku błędu bazy danych
+     */
+    static List<Integer> decrementIfAvailable(Connection connection,
+                                              Map<Integer, Integer> lines)
+            throws SQLException {
+        List<Integer> productIds = new ArrayList<>(lines.keySet());
+        try (PreparedStatement ps = connection
+                .prepareStatement(DECREMENT_IF_AVAILABLE_SQL)) {
+            for (Integer productId : productIds) {
+                int quantity = lines.get(productId);
+                ps.setInt(1, quantity);
+                ps.setInt(2, productId);
+                ps.setInt(3, quantity);
+                ps.addBatch();
+            }
+            int[] counts = ps.executeBatch();
+
+            List<Integer> rejected = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    rejected.add(productIds.get(i));
+                }
+            }
+            return rejected;
+        }
+    }
+
+    /**
+     * Wykrywa przekroczenia progów zamówień po zmniejszeniu stanów,
+     * w ramach bieżącej transakcji połączenia. Odczytywane są tylko
+     * zmienione wiersze (po kluczu głównym), a dla każdego z nich
+     * wystarcza porównanie stanu przed i po zmianie.
+     *
+     * @param connection połączenie z aktywną transakcją, w której stany
+     *                   zostały już zmniejszone
+     * @param decrements mapa identyfikator produktu → zdjęta ilość
+     * @param employeeId pracownik, którego operacja zmniejszyła stany
+     * @return przekroczenia do opublikowania po zatwierdzeniu transakcji
+     * @throws SQLException w przypadku błędu bazy danych
+     */
+    static List<ReorderMonitor.Crossing> findReorderCrossings(
+            Connection connection, Map<Integer, Integer> decrements,
+            int employeeId) throws SQLException {
+        if (decrements.isEmpty()) {
+            return List.of();
+        }
+        List<Integer> productIds = new ArrayList<>(decrements.keySet());
+        String sql = String.format(REORDER_CANDIDATES_SQL,
+                productIds.stream().map(id -> "?")
+                        .collect(Collectors.joining(", ")));
+        List<ReorderMonitor.Crossing> crossings = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < productIds.size(); i++) {
+                ps.setInt(i + 1, productIds.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int productId = rs.getInt(1);
+                    int after = rs.getInt(2);
+                    int threshold = rs.getInt(3);
+                    int before = after + decrements.get(productId);
+                    if (ReorderMonitor.Crossing.crossed(before, after,
+                            threshold)) {
+                        crossings.add(new ReorderMonitor.Crossing(productId,
+                                after, threshold, rs.getInt(4),
+                                rs.getBigDecimal(5), employeeId));
+                    }
+                }
+            }
+        }
+        logger.debug("findReorderCrossings() – zmienionych={}, " +
+                "przekroczeń={}", productIds.size(), crossings.size());
+        return crossings;
+    }
+
+    /**
+     * Pobiera jednym zapytaniem ilości dla podanych produktów
+     * (np. dla wszystkich pozycji widocznej strony tabeli).
+     * Produkty bez rekordu stanu nie występują w wyniku.
+     * W przypadku błędu zwracana jest pusta mapa.
+     *
+     * @param productIds identyfikatory produktów
+     * @return mapa identyfikator produktu → ilość w magazynie
+     */
+    public Map<Integer, Integer> findQuantitiesByProductIds(
+            Collection<Integer> productIds) {
+        logger.debug("findQuantitiesByProductIds() – ids={}",
+                productIds.size());
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        EntityManager em = EMFProvider.get().createEntityManager();
+        try {
+            List<Object[]> rows = em.createQuery(
+                            "SELECT w.productId, w.quantity " +
+                                    "FROM Warehouse w " +
+                                    "WHERE w.productId IN :ids",
+                            Object[].class)
+                    .setParameter("ids", productIds)
+                    .getResultList();
+            Map<Integer, Integer> result = new HashMap<>();
+            for (Object[] row : rows) {
+                result.put((Integer) row[0], (Integer) row[1]);
+            }
+            logger.debug("findQuantitiesByProductIds() " +
+                    "– znaleziono {} stanów", result.size());
+            return result;
+        } catch (Exception ex) {
+            logger.error("findQuantitiesByProductIds() " +
+                    "– błąd podczas pobierania stanów", ex);
+            return Map.of();
+        } finally {
+            em.close();
+            logger.debug("findQuantitiesByProductIds() – EM zamknięty");
+        }
+    }
+
+    /**
+     * Stronicowana tabela stanów magazynowych. Wiersze
+     * {@link StockRow} są budowane w bazie jednym zapytaniem
+     * (złączenie stanów z produktami, projekcja tylko id, nazwy
+     * i ilości), bez ładowania encji {@link Warehouse} i produktów.
+     * Sortowanie, filtry i stronicowanie kluczem (keyset) wykonuje
+     * baza, więc pamięć potrzebna na stronę nie zależy od wielkości
+     * asortymentu. Filtr {@code maxQuantity} służy do wyszukiwania
+     * produktów o niskim stanie. W przypadku błędu zwracana jest
+     * pusta strona.
+     *
+     * @param namePrefix  początek nazwy produktu (null lub pusty
+     *                    – bez filtra)
+     * @param minQuantity minimalna ilość (włącznie) lub null
+     * @param maxQuantity maksymalna ilość (włącznie) lub null
+     * @param sort        kolumna sortowania
+     * @param ascending   true dla kolejności rosnącej
+     * @param after       ostatni wiersz poprzedniej strony
+     *                    lub null dla pierwszej strony
+     * @param pageSize    maksymalna liczba wierszy na stronie
+     * @return strona tabeli stanów
+     */
+    public StockPage findStockPage(String namePrefix,
+                                   Integer minQuantity,
+                                   Integer maxQuantity,
+                                   StockSort sort,
+                                   boolean ascending,
+                                   StockRow after,
+                                   int pageSize) {
+        logger.debug("findStockPage() – name={}, min={}, max={}, sort={}, "
+                        + "asc={}, afterId={}, pageSize={}",
+                namePrefix, minQuantity, maxQuantity, sort, ascending,
+                after == null ? null : after.getId(), pageSize);
+        String column = sort.getPath();
+        String cmp = ascending ? ">" : "<";
+        String dir = ascending ? " ASC" : " DESC";
+
+        List<String> conditions = new ArrayList<>();
+        if (namePrefix != null && !namePrefix.isBlank()) {
+            conditions.add("p.name LIKE :name ESCAPE '!'");
+        }
+        if (minQuantity != null) {
+            conditions.add("w.quantity >= :minQty");
+        }
+        if (maxQuantity != null) {
+            conditions.add("w.quantity <= :maxQty");
+        }
+        if (after != null) {
+            conditions.add(sort == StockSort.ID
+                    ? "p.id " + cmp + " :lastId"
+                    : "(" + column + " " + cmp + " :key OR ("
+                    + column + " = :key AND p.id " + cmp + " :lastId))");
+        }
+        String jpql = "SELECT new org.example.sys.StockRow("
+                + "p.id, p.name, w.quantity) "
+                + "FROM Warehouse w JOIN w.product p"
+                + (conditions.isEmpty() ? ""
+                : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY "
+                + (sort == StockSort.ID ? "" : column + dir + ", ")
+                + "p.id" + dir;
+
+        EntityManager em = EMFProvider.get().createEntityManager();
+        try {
+            TypedQuery<StockRow> query = em.createQuery(jpql, StockRow.class)
+                    .setMaxResults(pageSize + 1);
+            if (namePrefix != null && !namePrefix.isBlank()) {
+                query.setParameter("name",
+                        ProductRepository.likePrefix(namePrefix));
+            }
+            if (minQuantity != null) {
+                query.setParameter("minQty", minQuantity);
+            }
+            if (maxQuantity != null) {
+                query.setParameter("maxQty", maxQuantity);
+            }
+            if (after != null) {
+                if (sort != StockSort.ID) {
+                    query.setParameter("key", sort.keyOf(after));
+                }
+                query.setParameter("lastId", after.getId());
+            }
+            List<StockRow> list = query.getResultList();
+            boolean hasNext = list.size() > pageSize;
+            if (hasNext) {
+                list = list.subList(0, pageSize);
+            }
+            logger.debug("findStockPage() – pobrano {} wierszy, "
+                    + "kolejna strona: {}", list.size(), hasNext);
+            return new StockPage(List.copyOf(list), hasNext);
+        } catch (Exception ex) {
+            logger.error("findStockPage() – błąd podczas pobierania "
+                    + "stanów", ex);
+            return new StockPage(List.of(), false);
+        } finally {
+            em.close();
+            logger.debug("findStockPage() – EM zamknięty");
+        }
+    }
+
+    /**
+     * Podsumowuje stany magazynowe według kategorii w bazie danych
+     * (liczba produktów, łączna ilość i wartość). Produkty bez rekordu
+     * stanu liczą się z ilością 0.
+     * W przypadku błędu zwracana jest pusta lista.
+     *
+     * @param categories kategorie do uwzględnienia (pusta – wszystkie)
+     * @return podsumowania posortowane po nazwie kategorii
+     */
+    public List<CategoryStock> getCategoryStats(List<String> categories) {
+        logger.debug("getCategoryStats() – start, kategorie={}", categories);
+        EntityManager em = EMFProvider.get().createEntityManager();
+        try {
+            String jpql = "SELECT p.category, COUNT(p), SUM(w.quantity), " +
+                    "SUM(w.quantity * p.price) " +
+                    "FROM Product p " +
+                    "LEFT JOIN Warehouse w ON w.productId = p.id" +
+                    (categories.isEmpty() ? ""
+                            : " WHERE p.category IN :categories") +
+                    " GROUP BY p.category ORDER BY p.category";
+            TypedQuery<Object[]> query = em.createQuery(jpql, Object[].class);
+            if (!categories.isEmpty()) {
+                query.setParameter("categories", categories);
+            }
+            List<CategoryStock> stats = new ArrayList<>();
+            for (Object[] row : query.getResultList()) {
+                BigDecimal value = row[3] == null ? BigDecimal.ZERO
+                        : new BigDecimal(row[3].toString());
+                stats.add(new CategoryStock((String) row[0],
+                        ((Number) row[1]).longValue(),
+                        row[2] == null ? 0 : ((Number) row[2]).longValue(),
+                        value));
+            }
+            logger.debug("getCategoryStats() – kategorii={}", stats.size());
+            return stats;
+        } catch (Exception ex) {
+            logger.error("getCategoryStats() " +
+                    "– błąd podczas podsumowania kategorii", ex);
+            return List.of();
+        } finally {
+            em.close();
+            logger.debug("getCategoryStats() – EM zamknięty");
+        }
+    }
+
+    /**
+     * Pobiera jednym zapytaniem wiersze raportu magazynowego: nazwę,
+     * kategorię, cenę i ilość produktów z wybranych kategorii.
+     * Filtrowanie po kategorii odbywa się w bazie, a encje Product
+     * i Warehouse nie są ładowane. Produkty bez rekordu stanu mają
+     * ilość 0.
+     * W przypadku błędu zwracana jest pusta lista.
+     *
+     * @param categories kategorie do uwzględnienia (pusta – wszystkie)
+     * @return wiersze raportu w kolejności identyfikatorów produktów
+     */
+    public List<WarehouseReportRow> getReportRows(List<String> categories) {
+        logger.debug("getReportRows() – start, kategorie={}", categories);
+        EntityManager em = EMFProvider.get().createEntityManager();
+        try {
+            String jpql = "SELECT p.name, p.category, p.price, w.quantity " +
+                    "FROM Product p " +
+                    "LEFT JOIN Warehouse w ON w.productId = p.id" +
+                    (categories.isEmpty() ? ""
+                            : " WHERE p.category IN :categories") +
+                    " ORDER BY p.id";
+            TypedQuery<Object[]> query = em.createQuery(jpql, Object[].class);
+            if (!categories.isEmpty()) {
+                query.setParameter("categories", categories);
+            }
+            List<Object[]> result = query.getResultList();
+            List<WarehouseReportRow> rows = new ArrayList<>(result.size());
+            for (Object[] row : result) {
+                BigDecimal price = (BigDecimal) row[2];
+                rows.add(new WarehouseReportRow((String) row[0],
+                        (String) row[1],
+                        price == null ? 0.0 : price.doubleValue(),
+                        row[3] == null ? 0 : ((Number) row[3]).intValue()));
+            }
+            logger.debug("getReportRows() – wierszy={}", rows.size());
+            return rows;
+        } catch (Exception ex) {
+            logger.error("getReportRows() " +
+                    "– błąd podczas pobierania wierszy raportu", ex);
+            return List.of();
+        } finally {
+            em.close();
+            logger.debug("getReportRows() – EM zamknięty");
+        }
+    }
+
     /**
      * Wyszukuje produkty o dokładnie określonej ilości w magazynie.
      * W przypadku błędu, wyjątek jest logowany i zwracana jest pusta lista.
@@ -236,7 +743,7 @@ public class WarehouseRepository {
                             Warehouse.class)
                     .setParameter("quantity", quantity)
                     .getResultList();
-            logger.info("findByQuantity() " +
+            logger.debug("findByQuantity() " +
                     "– znaleziono {} rekordów", list.size());
             return list;
         } catch (Exception ex) {
@@ -266,7 +773,7 @@ public class WarehouseRepository {
                             Warehouse.class)
                     .setParameter("max", max)
                     .getResultList();
-            logger.info("findByQuantityLowerThan() " +
+            logger.debug("findByQuantityLowerThan() " +
                             "– znaleziono {} rekordów",
                     list.size());
             return list;
@@ -297,7 +804,7 @@ public class WarehouseRepository {
                             Warehouse.class)
                     .setParameter("min", min)
                     .getResultList();
-            logger.info("findByQuantityGreaterThan() " +
+            logger.debug("findByQuantityGreaterThan() " +
                             "– znaleziono {} rekordów",
                     list.size());
             return list;
@@ -331,7 +838,7 @@ public class WarehouseRepository {
                     .setParameter("min", min)
                     .setParameter("max", max)
                     .getResultList();
-            logger.info("findByQuantityBetween() " +
+            logger.debug("findByQuantityBetween() " +
                     "– znaleziono {} rekordów", list.size());
             return list;
         } catch (Exception ex) {
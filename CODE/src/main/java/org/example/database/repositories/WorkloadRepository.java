@@ -88,7 +88,7 @@ public class WorkloadRepository implements AutoCloseable {
                     .setParameter("end",   Date.valueOf(endDate))
                     .getResultList();
 
-            logger.info("getWorkloadData() – zwrócono {} rekordów",
+            logger.debug("getWorkloadData() – zwrócono {} rekordów",
                     result.size());
             return result;
         } catch (Exception ex) {
@@ -0,0 +1,518 @@
+/*
+ * Classname: StoreDataGenerator
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.database.simulation;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.database.ConnectionPool;
+import org.example.database.EMFProvider;
+import org.example.database.SecondLevelCache;
+import org.example.database.repositories.DailySalesRepository;
+import org.example.database.repositories.ProductRepository;
+import org.example.sys.PasswordHasher;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generator syntetycznych danych sklepu do testów obciążeniowych.
+ * <p>
+ * Wypełnia tabele Produkty, StanyMagazynowe, Pracownicy, Zadania
+ * (z przypisaniami) oraz historię Transakcje/Transakcje_Produkty
+ * z zadanej liczby dni, a na końcu przebudowuje dzienne podsumowania
+ * sprzedaży. Dane wstawiane są wsadowo przez JDBC, więc generowanie
+ * setek tysięcy transakcji trwa sekundy, a nie godziny. Wynik jest
+ * powtarzalny dla tego samego ziarna ({@link Scale#seed()}).
+ * <p>
+ * Generowanie nie jest jedną transakcją: każdy etap (produkty, stany,
+ * pracownicy, zadania) jest zatwierdzany osobno, a historia sprzedaży
+ * co {@value #COMMIT_EVERY} wierszy, aby nie trzymać blokad i dziennika
+ * wycofań dla całego zbioru. Błąd wycofuje tylko bieżącą,
+ * niezatwierdzoną porcję – wcześniej zapisane dane pozostają w bazie.
+ * <p>
+ * Wygenerowani pracownicy logują się loginem {@code sym<ziarno>_<nr>}
+ * i hasłem równym loginowi; w bazie zapisywany jest skrót hasła
+ * ({@link PasswordHasher}).
+ * <p>
+ * Popularność produktów jest nierównomierna (kilka procent
+ * produktów odpowiada za większość sprzedaży), jak w prawdziwym sklepie.
+ */
+public class StoreDataGenerator {
+
+    private static final Logger logger =
+            LogManager.getLogger(StoreDataGenerator.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int COMMIT_EVERY = 20_000;
+
+    private static final String[] CATEGORIES = {
+            "Nabiał", "Pieczywo", "Napoje", "Warzywa", "Owoce", "Mięso",
+            "Słodycze", "Chemia", "Mrożonki", "Przekąski", "Alkohole",
+            "Kosmetyki"
+    };
+    private static final String[] ADJECTIVES = {
+            "Świeży", "Ekologiczny", "Domowy", "Klasyczny", "Lekki",
+            "Premium", "Wiejski", "Tradycyjny"
+    };
+    private static final String[] TASK_STATUSES = {
+            "Nowe", "W trakcie", "Zakończone"
+    };
+    private static final String[] PRIORITIES = {"HIGH", "MEDIUM", "LOW"};
+
+    /**
+     * Skala generowanych danych.
+     *
+     * @param products           liczba produktów
+     * @param employees          liczba pracowników (kasjerów)
+     * @param tasks              liczba zadań
+     * @param days               liczba dni historii sprzedaży
+     * @param transactionsPerDay liczba transakcji dziennie
+     * @param maxBasketSize      maksymalna liczba pozycji w transakcji
+     * @param initialStock       początkowy stan każdego produktu
+     * @param seed               ziarno generatora liczb losowych
+     */
+    public record Scale(int products,
+                        int employees,
+                        int tasks,
+                        int days,
+                        int transactionsPerDay,
+                        int maxBasketSize,
+                        int initialStock,
+                        long seed) {
+
+        /**
+         * Mały zestaw do testów jednostkowych.
+         */
+        public static Scale small() {
+            return new Scale(200, 5, 20, 7, 50, 5, 10_000, 42);
+        }
+
+        /**
+         * Zestaw odpowiadający średniemu sklepowi (rok sprzedaży).
+         */
+        public static Scale medium() {
+            return new Scale(5_000, 25, 500, 365, 1_000, 15, 100_000, 42);
+        }
+
+        /**
+         * Zestaw odpowiadający dużemu sklepowi (trzy lata sprzedaży).
+         */
+        public static Scale large() {
+            return new Scale(50_000, 100, 5_000, 3 * 365, 5_000, 25,
+                    1_000_000, 42);
+        }
+    }
+
+    /**
+     * Podsumowanie generowania.
+     *
+     * @param products     liczba utworzonych produktów
+     * @param employees    liczba utworzonych pracowników
+     * @param tasks        liczba utworzonych zadań
+     * @param transactions liczba utworzonych transakcji
+     * @param lines        liczba utworzonych pozycji transakcji
+     * @param elapsed      czas generowania
+     */
+    public record Summary(int products,
+                          int employees,
+                          int tasks,
+                          long transactions,
+                          long lines,
+                          Duration elapsed) {
+    }
+
+    /**
+     * Odbiorca postępu generowania.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * @param phase nazwa etapu (np. "Transakcje")
+         * @param done  liczba wykonanych jednostek etapu
+         * @param total łączna liczba jednostek etapu
+         */
+        void onProgress(String phase, long done, long total);
+    }
+
+    private final ProgressListener listener;
+
+    /**
+     * Tworzy generator bez raportowania postępu.
+     */
+    public StoreDataGenerator() {
+        this(null);
+    }
+
+    /**
+     * @param listener odbiorca postępu (może być null)
+     */
+    public StoreDataGenerator(ProgressListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Generuje dane w podanej skali, dopisując je do istniejącej
+     * zawartości bazy. Etapy zatwierdzane są kolejno; po błędzie
+     * w bazie zostają dane etapów i porcji zatwierdzonych wcześniej.
+     *
+     * @param scale skala danych
+     * @return podsumowanie generowania
+     * @throws SQLException Jeśli wystąpi błąd bazy danych
+     */
+    public Summary generate(Scale scale) throws SQLException {
+        logger.info("generate() – start, {}", scale);
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(scale.seed());
+        // Hibernate (hbm2ddl) tworzy brakujące tabele przy starcie EMF
+        EMFProvider.get();
+
+        long transactions;
+        long lines;
+        List<Integer> productIds;
+        List<Integer> employeeIds;
+        try (Connection conn = ConnectionPool.getDataSource()
+                .getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                int addressId = insertAddress(conn);
+                productIds = insertProducts(conn, scale, random);
+                insertStock(conn, productIds, scale.initialStock());
+                employeeIds = insertEmployees(conn, scale, random,
+                        addressId);
+                insertTasks(conn, scale, random, employeeIds);
+                long[] counts = insertTransactions(conn, scale, random,
+                        productIds, employeeIds);
+                transactions = counts[0];
+                lines = counts[1];
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                // Wycofywana jest tylko niezatwierdzona porcja
+                logger.error("generate() – błąd generowania danych, "
+                        + "wcześniej zatwierdzone etapy pozostają w bazie", e);
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+
+        SecondLevelCache.evictAll();
+        new DailySalesRepository().rebuild();
+        new ProductRepository().rebuildSearchIndex();
+
+        Summary summary = new Summary(productIds.size(), employeeIds.size(),
+                scale.tasks(), transactions, lines,
+                Duration.ofNanos(System.nanoTime() - start));
+        logger.info("generate() – zakończono: {}", summary);
+        return summary;
+    }
+
+    private int insertAddress(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO Adresy (Miejscowosc, Numer_domu, Kod_pocztowy, "
+                        + "Miasto) VALUES (?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            ps.setString(1, "Symulacja");
+            ps.setString(2, "1");
+            ps.setString(3, "00-001");
+            ps.setString(4, "Symulacja");
+            ps.executeUpdate();
+            return generatedKeys(ps).get(0);
+        }
+    }
+
+    private List<Integer> insertProducts(Connection conn,
+                                         Scale scale,
+                                         SplittableRandom random)
+            throws SQLException {
+        List<Integer> ids = new ArrayList<>(scale.products());
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO Produkty (Nazwa, Kategoria, Cena) "
+                        + "VALUES (?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < scale.products(); i++) {
+                String category = CATEGORIES[random.nextInt(
+                        CATEGORIES.length)];
+                BigDecimal price = BigDecimal.valueOf(
+                                random.nextDouble(0.49, 199.99))
+                        .setScale(2, RoundingMode.HALF_UP);
+                ps.setString(1, ADJECTIVES[random.nextInt(
+                        ADJECTIVES.length)] + " " + category.toLowerCase()
+                        + " " + (i + 1));
+                ps.setString(2, category);
+                ps.setBigDecimal(3, price);
+                ps.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    ps.executeBatch();
+                    ids.addAll(generatedKeys(ps));
+                    progress("Produkty", i + 1, scale.products());
+                }
+            }
+            ps.executeBatch();
+            ids.addAll(generatedKeys(ps));
+        }
+        progress("Produkty", ids.size(), scale.products());
+        conn.commit();
+        return ids;
+    }
+
+    private void insertStock(Connection conn,
+                             List<Integer> productIds,
+                             int quantity) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO StanyMagazynowe (Id_produktu, Ilosc) "
+                        + "VALUES (?, ?)")) {
+            int batched = 0;
+            for (int id : productIds) {
+                ps.setInt(1, id);
+                ps.setInt(2, quantity);
+                ps.addBatch();
+                if (++batched % BATCH_SIZE == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+        conn.commit();
+    }
+
+    private List<Integer> insertEmployees(Connection conn,
+                                          Scale scale,
+                                          SplittableRandom random,
+                                          int addressId)
+            throws SQLException {
+        List<Integer> ids = new ArrayList<>(scale.employees());
+        List<String> logins = new ArrayList<>(scale.employees());
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO Pracownicy (Imie, Nazwisko, Wiek, Id_adresu, "
+                        + "Login, Haslo, Email, Zarobki, Stanowisko, "
+                        + "onSickLeave, usuniety) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < scale.employees(); i++) {
+                String login = "sym" + scale.seed() + "_" + (i + 1);
+                logins.add(login);
+                ps.setString(1, "Kasjer");
+                ps.setString(2, "Symulacja " + (i + 1));
+                ps.setInt(3, 20 + random.nextInt(40));
+                ps.setInt(4, addressId);
+                ps.setString(5, login);
+                // Skrót hasła zależy od identyfikatora – uzupełniany
+                // niżej, przed zatwierdzeniem
+                ps.setString(6, "");
+                ps.setString(7, login + "@example.com");
+                ps.setBigDecimal(8, BigDecimal.valueOf(
+                        3500 + random.nextInt(3000)));
+                ps.setString(9, "Kasjer");
+                ps.setBoolean(10, false);
+                ps.setBoolean(11, false);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            ids.addAll(generatedKeys(ps));
+        }
+        try (PreparedStatement ps = conn.prepareStatement(
+                "UPDATE Pracownicy SET Haslo = ? WHERE Id = ?")) {
+            for (int i = 0; i < ids.size(); i++) {
+                ps.setString(1, hashPassword(logins.get(i), ids.get(i)));
+                ps.setInt(2, ids.get(i));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        conn.commit();
+        progress("Pracownicy", ids.size(), scale.employees());
+        return ids;
+    }
+
+    private void insertTasks(Connection conn,
+                             Scale scale,
+                             SplittableRandom random,
+                             List<Integer> employeeIds)
+            throws SQLException {
+        LocalDate today = LocalDate.now();
+        try (PreparedStatement task = conn.prepareStatement(
+                "INSERT INTO Zadania (Nazwa, Data, Status, Opis, "
+                        + "Priorytet, usuniety) VALUES (?, ?, ?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement assignment = conn.prepareStatement(
+                     "INSERT INTO Zadania_Pracownicy (Id_pracownika, "
+                             + "Id_zadania) VALUES (?, ?)")) {
+            for (int done = 0; done < scale.tasks(); ) {
+                int chunk = Math.min(BATCH_SIZE, scale.tasks() - done);
+                for (int i = 0; i < chunk; i++) {
+                    int number = done + i + 1;
+                    task.setString(1, "Zadanie " + number);
+                    task.setDate(2, Date.valueOf(today.minusDays(
+                            random.nextInt(Math.max(1, scale.days())))));
+                    task.setString(3, TASK_STATUSES[random.nextInt(
+                            TASK_STATUSES.length)]);
+                    task.setString(4, "Zadanie wygenerowane do testów "
+                            + "obciążeniowych nr " + number);
+                    task.setString(5, PRIORITIES[random.nextInt(
+                            PRIORITIES.length)]);
+                    task.setBoolean(6, false);
+                    task.addBatch();
+                }
+                task.executeBatch();
+                if (!employeeIds.isEmpty()) {
+                    for (int taskId : generatedKeys(task)) {
+                        assignment.setInt(1, employeeIds.get(
+                                random.nextInt(employeeIds.size())));
+                        assignment.setInt(2, taskId);
+                        assignment.addBatch();
+                    }
+                    assignment.executeBatch();
+                }
+                done += chunk;
+                progress("Zadania", done, scale.tasks());
+            }
+        }
+        conn.commit();
+    }
+
+    private static String hashPassword(String password, int employeeId) {
+        try {
+            return PasswordHasher.hashPassword(password, employeeId);
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(
+                    "Nie można zahaszować hasła pracownika", e);
+        }
+    }
+
+    /**
+     * Generuje historię sprzedaży, dzień po dniu, od najstarszego.
+     *
+     * @return liczba transakcji i liczba pozycji
+     */
+    private long[] insertTransactions(Connection conn,
+                                      Scale scale,
+                                      SplittableRandom random,
+                                      List<Integer> productIds,
+                                      List<Integer> employeeIds)
+            throws SQLException {
+        long total = (long) scale.days() * scale.transactionsPerDay();
+        if (productIds.isEmpty() || employeeIds.isEmpty() || total == 0) {
+            return new long[] {0, 0};
+        }
+        long transactions = 0;
+        long lines = 0;
+        long uncommitted = 0;
+        LocalDate first = LocalDate.now().minusDays(scale.days() - 1L);
+        try (PreparedStatement header = conn.prepareStatement(
+                "INSERT INTO Transakcje (Id_pracownika, Data) VALUES (?, ?)",
+                Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement line = conn.prepareStatement(
+                     "INSERT INTO Transakcje_Produkty (Id_transakcji, "
+                             + "Id_produktu, Ilosc) VALUES (?, ?, ?)")) {
+            for (int day = 0; day < scale.days(); day++) {
+                Date date = Date.valueOf(first.plusDays(day));
+                for (int done = 0; done < scale.transactionsPerDay(); ) {
+                    int chunk = Math.min(BATCH_SIZE,
+                            scale.transactionsPerDay() - done);
+                    for (int i = 0; i < chunk; i++) {
+                        header.setInt(1, employeeIds.get(
+                                random.nextInt(employeeIds.size())));
+                        header.setDate(2, date);
+                        header.addBatch();
+                    }
+                    header.executeBatch();
+
+                    int batchedLines = 0;
+                    for (int transactionId : generatedKeys(header)) {
+                        int basket = 1 + random.nextInt(
+                                Math.min(scale.maxBasketSize(),
+                                        productIds.size()));
+                        for (int productId : pickProducts(random,
+                                productIds, basket)) {
+                            line.setInt(1, transactionId);
+                            line.setInt(2, productId);
+                            line.setInt(3, 1 + random.nextInt(5));
+                            line.addBatch();
+                            batchedLines++;
+                        }
+                        if (batchedLines >= BATCH_SIZE) {
+                            line.executeBatch();
+                            lines += batchedLines;
+                            uncommitted += batchedLines;
+                            batchedLines = 0;
+                        }
+                    }
+                    line.executeBatch();
+                    lines += batchedLines;
+                    uncommitted += batchedLines + chunk;
+                    transactions += chunk;
+                    done += chunk;
+
+                    if (uncommitted >= COMMIT_EVERY) {
+                        conn.commit();
+                        uncommitted = 0;
+                        progress("Transakcje", transactions, total);
+                    }
+                }
+            }
+        }
+        progress("Transakcje", transactions, total);
+        return new long[] {transactions, lines};
+    }
+
+    /**
+     * Losuje różne produkty do koszyka z rozkładem preferującym
+     * początek listy (popularne produkty).
+     */
+    private static int[] pickProducts(SplittableRandom random,
+                                      List<Integer> productIds,
+                                      int count) {
+        int[] picked = new int[count];
+        int size = 0;
+        while (size < count) {
+            double skew = random.nextDouble();
+            int id = productIds.get((int) (productIds.size()
+                    * skew * skew * skew));
+            boolean duplicate = false;
+            for (int i = 0; i < size && !duplicate; i++) {
+                duplicate = picked[i] == id;
+            }
+            if (!duplicate) {
+                picked[size++] = id;
+            }
+        }
+        return picked;
+    }
+
+    private static List<Integer> generatedKeys(Statement stmt)
+            throws SQLException {
+        List<Integer> keys = new ArrayList<>();
+        try (ResultSet rs = stmt.getGeneratedKeys()) {
+            while (rs.next()) {
+                keys.add(rs.getInt(1));
+            }
+        }
+        return keys;
+    }
+
+    private void progress(String phase, long done, long total) {
+        if (listener != null) {
+            listener.onProgress(phase, done, total);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Classname: TillLoadSimulator
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.database.simulation;
+
+import jakarta.persistence.EntityManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.database.EMFProvider;
+import org.example.database.repositories.CheckoutService;
+import org.example.sys.Employee;
+import org.example.sys.Product;
+import org.example.sys.TransactionItem;
+import org.example.utils.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bezgłowy symulator obciążenia kas.
+ * <p>
+ * Uruchamia N wirtualnych „kas” na wątkach wirtualnych. Każda kasa
+ * ma przypisanego kasjera i w pętli finalizuje losowe koszyki przez
+ * {@link CheckoutService} – tę samą ścieżkę, z której korzysta panel
+ * kasjera. Mierzony jest czas każdej sprzedaży (łącznie z oczekiwaniem
+ * na połączenie z puli), a raport zawiera liczbę sprzedaży na sekundę
+ * oraz percentyle p50/p99.
+ * <p>
+ * Symulator działa na bazie wskazanej przez {@code stonka.db.url}
+ * (np. H2) albo na lokalnym MySQL z konfiguracji aplikacji.
+ * Uruchomienie z linii poleceń: {@code TillLoadSimulator [kasy]
+ * [sekundy] [none|small|medium|large]} – ostatni argument
+ * pozwala najpierw wygenerować dane ({@link StoreDataGenerator}).
+ */
+public class TillLoadSimulator {
+
+    private static final Logger logger =
+            LogManager.getLogger(TillLoadSimulator.class);
+
+    /**
+     * Parametry symulacji.
+     *
+     * @param tills           liczba równoległych kas
+     * @param duration        maksymalny czas symulacji
+     * @param maxSalesPerTill maksymalna liczba sprzedaży na kasę
+     *                        (0 – bez limitu, do upływu czasu)
+     * @param maxBasketSize   maksymalna liczba pozycji koszyka
+     * @param maxQuantity     maksymalna ilość sztuk w pozycji
+     * @param seed            ziarno generatora koszyków
+     */
+    public record Config(int tills,
+                         Duration duration,
+                         int maxSalesPerTill,
+                         int maxBasketSize,
+                         int maxQuantity,
+                         long seed) {
+
+        public Config {
+            if (tills < 1) {
+                throw new IllegalArgumentException(
+                        "Liczba kas musi być dodatnia: " + tills);
+            }
+            if (maxBasketSize < 1 || maxQuantity < 1) {
+                throw new IllegalArgumentException(
+                        "Rozmiar koszyka i ilość muszą być dodatnie");
+            }
+        }
+
+        /**
+         * Symulacja ograniczona czasem, z typowymi koszykami.
+         *
+         * @param tills    liczba kas
+         * @param duration czas symulacji
+         * @return konfiguracja
+         */
+        public static Config of(int tills, Duration duration) {
+            return new Config(tills, duration, 0, 10, 3, 7);
+        }
+    }
+
+    /**
+     * Wynik symulacji.
+     *
+     * @param tills          liczba kas
+     * @param sales          liczba zapisanych sprzedaży
+     * @param rejected       liczba sprzedaży odrzuconych z braku towaru
+     * @param failed         liczba sprzedaży zakończonych błędem
+     * @param elapsed        czas trwania symulacji
+     * @param salesPerSecond zapisane sprzedaże na sekundę
+     * @param p50Millis      mediana czasu sprzedaży w ms
+     * @param p99Millis      99. percentyl czasu sprzedaży w ms
+     * @param maxMillis      najdłuższy czas sprzedaży w ms
+     */
+    public record Report(int tills,
+                         long sales,
+                         long rejected,
+                         long failed,
+                         Duration elapsed,
+                         double salesPerSecond,
+                         double p50Millis,
+                         double p99Millis,
+                         double maxMillis) {
+
+        /**
+         * @return jednowierszowe podsumowanie dla użytkownika
+         */
+        public String format() {
+            return String.format("Kasy: %d, sprzedaże: %d (odrzucone: %d, "
+                            + "błędy: %d) w %.1f s – %.1f sprzedaży/s, "
+                            + "p50 %.2f ms, p99 %.2f ms, max %.2f ms",
+                    tills, sales, rejected, failed,
+                    elapsed.toMillis() / 1000.0, salesPerSecond,
+                    p50Millis, p99Millis, maxMillis);
+        }
+    }
+
+    private final CheckoutService checkoutService;
+
+    public TillLoadSimulator() {
+        this(new CheckoutService());
+    }
+
+    /**
+     * @param checkoutService serwis finalizujący sprzedaż
+     */
+    public TillLoadSimulator(CheckoutService checkoutService) {
+        this.checkoutService = checkoutService;
+    }
+
+    /**
+     * Przeprowadza symulację i czeka na zakończenie wszystkich kas.
+     *
+     * @param config parametry symulacji
+     * @return raport z przepustowością i czasami sprzedaży
+     * @throws IllegalStateException Jeśli w bazie brak pracowników
+     *                               lub produktów
+     */
+    public Report run(Config config) {
+        List<Employee> cashiers = loadCashiers(config.tills());
+        List<Product> products = loadProducts();
+        if (cashiers.isEmpty() || products.isEmpty()) {
+            throw new IllegalStateException("Symulacja wymaga pracowników "
+                    + "i produktów w bazie – najpierw wygeneruj dane");
+        }
+        logger.info("run() – start: {} kas, {} kasjerów, {} produktów",
+                config.tills(), cashiers.size(), products.size());
+
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder sales = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        LongAdder failed = new LongAdder();
+        long start = System.nanoTime();
+        long deadline = start + config.duration().toNanos();
+
+        try (ExecutorService tills =
+                     Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.tills(); i++) {
+                Employee cashier = cashiers.get(i % cashiers.size());
+                SplittableRandom random =
+                        new SplittableRandom(config.seed() + i);
+                tills.submit(() -> {
+                    for (int n = 0; System.nanoTime() < deadline
+                            && (config.maxSalesPerTill() == 0
+                            || n < config.maxSalesPerTill()); n++) {
+                        List<TransactionItem> basket =
+                                randomBasket(random, products, config);
+                        long t0 = System.nanoTime();
+                        CheckoutService.CheckoutResult result =
+                                checkoutService.checkout(cashier, basket);
+                        latency.recordNanos(System.nanoTime() - t0);
+                        if (result.success()) {
+                            sales.increment();
+                        } else if (!result.rejectedProductIds().isEmpty()) {
+                            rejected.increment();
+                        } else {
+                            failed.increment();
+                        }
+                    }
+                });
+            }
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        double seconds = Math.max(elapsed.toNanos(), 1) / 1_000_000_000.0;
+        Report report = new Report(config.tills(), sales.sum(),
+                rejected.sum(), failed.sum(), elapsed,
+                sales.sum() / seconds,
+                latency.getPercentileMillis(50),
+                latency.getPercentileMillis(99),
+                latency.getMaxMillis());
+        logger.info("run() – {}", report.format());
+        return report;
+    }
+
+    private static List<TransactionItem> randomBasket(SplittableRandom random,
+                                                      List<Product> products,
+                                                      Config config) {
+        int size = 1 + random.nextInt(Math.min(config.maxBasketSize(),
+                products.size()));
+        List<TransactionItem> basket = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            double skew = random.nextDouble();
+            Product product = products.get((int) (products.size()
+                    * skew * skew * skew));
+            basket.add(new TransactionItem(product,
+                    1 + random.nextInt(config.maxQuantity())));
+        }
+        return basket;
+    }
+
+    private static List<Employee> loadCashiers(int limit) {
+        EntityManager em = EMFProvider.get().createEntityManager();
+        try {
+            return em.createQuery("SELECT e FROM Employee e "
+                            + "WHERE e.deleted = false ORDER BY e.id",
+                            Employee.class)
+                    .setMaxResults(limit)
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    private static List<Product> loadProducts() {
+        EntityManager em = EMFProvider.get().createEntityManager();
+        try {
+            return em.createQuery("SELECT p FROM Product p ORDER BY p.id",
+                            Product.class)
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Uruchamia symulację z linii poleceń.
+     *
+     * @param args [liczba kas] [czas w sekundach]
+     *             [none|small|medium|large]
+     * @throws Exception Jeśli generowanie danych się nie powiedzie
+     */
+    public static void main(String[] args) throws Exception {
+        int tills = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        String scale = args.length > 2 ? args[2] : "none";
+
+        try {
+            if (!scale.equals("none")) {
+                StoreDataGenerator.Summary summary = new StoreDataGenerator(
+                        (phase, done, total) -> System.out.printf(
+                                "%s: %d/%d%n", phase, done, total))
+                        .generate(switch (scale) {
+                            case "small" -> StoreDataGenerator.Scale.small();
+                            case "medium" ->
+                                    StoreDataGenerator.Scale.medium();
+                            case "large" -> StoreDataGenerator.Scale.large();
+                            default -> throw new IllegalArgumentException(
+                                    "Nieznana skala danych: " + scale);
+                        });
+                System.out.println("Wygenerowano dane: " + summary);
+            }
+            Report report = new TillLoadSimulator().run(
+                    Config.of(tills, Duration.ofSeconds(seconds)));
+            System.out.println(report.format());
+        } finally {
+            EMFProvider.close();
+        }
+    }
+}
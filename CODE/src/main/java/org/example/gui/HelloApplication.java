@@ -33,6 +33,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.example.database.DatabaseErrorHandler;
 import org.example.database.EMFProvider;
+import org.example.database.repositories.DailySalesRepository;
+import org.example.database.repositories.ProductRepository;
 import org.example.database.repositories.UserRepository;
 import org.example.sys.ConfigPdf;
 import org.example.sys.Employee;
@@ -900,6 +902,16 @@ public class HelloApplication extends Application {
                 );
             }
 
+            // Indeks wyszukiwania produktów budowany w tle,
+            // do czasu jego zbudowania kasa szuka w bazie
+            Thread.ofVirtual().name("product-index").start(() ->
+                    new ProductRepository().rebuildSearchIndex());
+
+            // Podsumowania sprzedaży odbudowywane z historii, gdy tabela
+            // jest pusta (np. pierwsze uruchomienie na istniejącej bazie)
+            Thread.ofVirtual().name("daily-sales").start(() ->
+                    new DailySalesRepository().rebuildIfEmpty());
+
             Platform.setImplicitExit(true);
             logger.info("Uruchamianie aplikacji JavaFX");
             launch(args);
@@ -41,13 +41,17 @@ import org.apache.logging.log4j.Logger;
 import org.example.database.*;
 import org.example.database.repositories.AddressRepository;
 import org.example.database.repositories.EmpTaskRepository;
+import org.example.database.repositories.ProductRepository;
 import org.example.database.repositories.TechnicalIssueRepository;
 import org.example.database.repositories.UserRepository;
+import org.example.gui.elements.ReportJobDialog;
 import org.example.gui.panels.AdminPanel;
 import org.example.gui.HelloApplication;
 import org.example.pdflib.ConfigManager;
 import org.example.sys.*;
 import org.example.utils.AppPaths;
+import org.example.utils.FlightRecording;
+import org.example.utils.StonkaEvents;
 import org.example.wyjatki.PasswordException;
 import org.example.wyjatki.SalaryException;
 
@@ -58,9 +62,7 @@ import java.nio.file.Path;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.util.*;
-import java.time.LocalTime;
 
 import pdf.StatsRaportGenerator;
 import pdf.TaskRaportGenerator;
@@ -68,8 +70,10 @@ import pdf.WorkloadReportGenerator;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 /**
@@ -81,6 +85,7 @@ public class AdminPanelController {
     private final AdminPanel adminPanel;
     private final Stage primaryStage;
     private final UserRepository userRepository;
+    private final AsyncRepository<UserRepository> asyncUsers;
     private TableView<Employee> tableView;
     private final TechnicalIssueRepository technicalIssueRepository;
 
@@ -104,6 +109,7 @@ public class AdminPanelController {
         this.adminPanel = adminPanel;
         this.primaryStage = adminPanel.getPrimaryStage();
         this.userRepository = new UserRepository();
+        this.asyncUsers = AsyncRepository.of(userRepository);
         this.technicalIssueRepository = new TechnicalIssueRepository();
 
         String configuredPath = ConfigManager.getReportPath();
@@ -322,10 +328,9 @@ public class AdminPanelController {
 
         // Adres
         Label addressLabel = new Label("Adres:");
-        AddressRepository addressRepository = new AddressRepository();
         ComboBox<Address> addressComboBox = new ComboBox<>();
-        addressComboBox.getItems().addAll(addressRepository.getAllAddresses());
         addressComboBox.setValue(selected.getAddress());
+        loadAddresses(addressComboBox);
         addressComboBox.setPromptText("Wybierz adres");
 
         Button addNewAddressBtn = new Button("Dodaj nowy adres");
@@ -449,31 +454,20 @@ public class AdminPanelController {
                 selected.setSalary(new BigDecimal(salaryField.getText()
                         .trim()));
 
-                Task<Void> updateTask = new Task<>() {
-                    @Override
-                    protected Void call() throws Exception {
-                        userRepository.updateEmployee(selected);
-                        return null;
-                    }
-                };
-
-                updateTask.setOnSucceeded(evt -> {
-                    showAlert(Alert.AlertType.INFORMATION,
-                            "Sukces",
-                            "Dane użytkownika zostały zaktualizowane.");
-                    showUserManagement();
-                });
-
-                updateTask.setOnFailed(evt -> {
-                    updateTask.getException().printStackTrace();
-                    showAlert(Alert.AlertType.ERROR,
-                            "Błąd",
-                            "Wystąpił błąd podczas zapisywania zmian: "
-                                    + updateTask.getException().getMessage());
-                    showUserManagement();
-                });
-
-                executor.execute(updateTask);
+                asyncUsers.runOnFx(repo -> repo.updateEmployee(selected),
+                        () -> {
+                            showAlert(Alert.AlertType.INFORMATION,
+                                    "Sukces",
+                                    "Dane użytkownika zostały " +
+                                            "zaktualizowane.");
+                            showUserManagement();
+                        }, ex -> {
+                            showAlert(Alert.AlertType.ERROR,
+                                    "Błąd",
+                                    "Wystąpił błąd podczas zapisywania " +
+                                            "zmian: " + ex.getMessage());
+                            showUserManagement();
+                        });
 
             } catch (NumberFormatException ex) {
                 showAlert(Alert.AlertType.ERROR,
@@ -551,9 +545,8 @@ public class AdminPanelController {
 
         // Adres
         Label addressLabel = new Label("Adres:");
-        AddressRepository addressRepository = new AddressRepository();
         ComboBox<Address> addressComboBox = new ComboBox<>();
-        addressComboBox.getItems().addAll(addressRepository.getAllAddresses());
+        loadAddresses(addressComboBox);
         addressComboBox.setPromptText("Wybierz istniejący adres");
 
         Button addNewAddressBtn = new Button("Dodaj nowy adres");
@@ -649,17 +642,6 @@ public class AdminPanelController {
                     return;
                 }
 
-                UserRepository checkRepo = new UserRepository();
-                Employee existingEmployee = checkRepo.findByLogin(loginText);
-                if (existingEmployee != null) {
-                    showAlert(Alert.AlertType.ERROR,
-                            "Login zajęty",
-                            "Użytkownik o loginie '" + loginText +
-                                    "' już istnieje w systemie. Wybierz inny " +
-                                    "login.");
-                    return;
-                }
-
                 int age = Integer.parseInt(ageField.getText().trim());
                 BigDecimal salary = new BigDecimal(salaryField.getText()
                         .trim());
@@ -676,53 +658,21 @@ public class AdminPanelController {
                 newEmployee.setAge(age);
                 newEmployee.setSalary(salary);
 
-                // Task dodający użytkownika i następnie hashujący hasło
-                Task<Void> addTask = new Task<>() {
-                    @Override
-                    protected Void call() throws Exception {
-                        userRepository.addEmployee(newEmployee);
-
-                        Employee addedEmployee = userRepository
-                                .findEmployeeWithHighestId();
-
-                        if (addedEmployee != null) {
-                            try {
-                                String hashedPassword = PasswordHasher.hashPassword(
-                                        plainPassword, addedEmployee.getId());
-
-                                addedEmployee.setPassword(hashedPassword);
-                                userRepository.updateEmployee(addedEmployee);
-
-                            } catch (NoSuchAlgorithmException |
-                                     InvalidKeyException ex) {
-                                throw new RuntimeException("Błąd podczas " +
-                                        "hashowania hasła: " + ex.getMessage(),
-                                        ex);
+                // Sprawdzenie unikalności loginu w tle, następnie zapis
+                asyncUsers.callOnFx(repo -> repo.findByLogin(loginText),
+                        existingEmployee -> {
+                            if (existingEmployee != null) {
+                                showAlert(Alert.AlertType.ERROR,
+                                        "Login zajęty",
+                                        "Użytkownik o loginie '" + loginText +
+                                                "' już istnieje w systemie. " +
+                                                "Wybierz inny login.");
+                                return;
                             }
-                        } else {
-                            throw new RuntimeException("Nie udało się znaleźć" +
-                                    " dodanego użytkownika.");
-                        }
-
-                        return null;
-                    }
-                };
-
-                addTask.setOnSucceeded(evt -> {
-                    showAlert(Alert.AlertType.INFORMATION, "Sukces",
-                            "Dodano nowego użytkownika!");
-                    showUserManagement();
-                });
-
-                addTask.setOnFailed(evt -> {
-                    addTask.getException().printStackTrace();
-                    showAlert(Alert.AlertType.ERROR, "Błąd",
-                            "Nie udało się dodać użytkownika: "
-                                    + addTask.getException().getMessage());
-                    showUserManagement();
-                });
-
-                executor.execute(addTask);
+                            addEmployee(newEmployee, plainPassword);
+                        }, ex -> showAlert(Alert.AlertType.ERROR, "Błąd",
+                                "Nie udało się sprawdzić loginu: "
+                                        + ex.getMessage()));
 
             } catch (NumberFormatException ex) {
                 showAlert(Alert.AlertType.ERROR, "Błąd",
@@ -742,6 +692,59 @@ public class AdminPanelController {
         cancelButton.setOnAction(e -> showUserManagement());
     }
 
+    /**
+     * Zapisuje nowego pracownika w tle, a następnie hashuje jego hasło
+     * z użyciem nadanego identyfikatora.
+     *
+     * @param newEmployee   pracownik z niezahaszowanym hasłem
+     * @param plainPassword hasło w postaci jawnej
+     */
+    private void addEmployee(Employee newEmployee, String plainPassword) {
+        asyncUsers.runOnFx(repo -> {
+            repo.addEmployee(newEmployee);
+
+            Employee addedEmployee = repo.findEmployeeWithHighestId();
+            if (addedEmployee == null) {
+                throw new IllegalStateException("Nie udało się znaleźć" +
+                        " dodanego użytkownika.");
+            }
+            try {
+                addedEmployee.setPassword(PasswordHasher.hashPassword(
+                        plainPassword, addedEmployee.getId()));
+                repo.updateEmployee(addedEmployee);
+            } catch (NoSuchAlgorithmException | InvalidKeyException
+                     | PasswordException ex) {
+                throw new IllegalStateException("Błąd podczas " +
+                        "hashowania hasła: " + ex.getMessage(), ex);
+            }
+        }, () -> {
+            showAlert(Alert.AlertType.INFORMATION, "Sukces",
+                    "Dodano nowego użytkownika!");
+            showUserManagement();
+        }, ex -> {
+            showAlert(Alert.AlertType.ERROR, "Błąd",
+                    "Nie udało się dodać użytkownika: " + ex.getMessage());
+            showUserManagement();
+        });
+    }
+
+    /**
+     * Wczytuje listę adresów w tle i wypełnia nią listę rozwijaną,
+     * zachowując bieżący wybór.
+     *
+     * @param addressComboBox lista rozwijana adresów
+     */
+    private void loadAddresses(ComboBox<Address> addressComboBox) {
+        AsyncRepository.of(new AddressRepository()).callOnFx(
+                AddressRepository::getAllAddresses, addresses -> {
+                    Address current = addressComboBox.getValue();
+                    addressComboBox.getItems().setAll(addresses);
+                    addressComboBox.setValue(current);
+                }, ex -> showAlert(Alert.AlertType.ERROR, "Błąd",
+                        "Nie udało się wczytać adresów: "
+                                + ex.getMessage()));
+    }
+
     /**
      * Usuwa zaznaczonego użytkownika asynchronicznie.
      * Zabezpiecza przed usunięciem użytkownika z rolą "root".
@@ -771,19 +774,30 @@ public class AdminPanelController {
             return;
         }
 
-        UserRepository repo = new UserRepository();
-        Employee currentUser = repo.getCurrentEmployee();
-
-        if (currentUser != null && currentUser.getId() == selected.getId()) {
-            showAlert(
-                    Alert.AlertType.WARNING,
-                    "Niedozwolona operacja",
-                    "Nie możesz usunąć własnego konta będąc " +
-                            "zalogowanym."
-            );
-            return;
-        }
+        asyncUsers.callOnFx(UserRepository::getCurrentEmployee,
+                currentUser -> {
+                    if (currentUser != null
+                            && currentUser.getId() == selected.getId()) {
+                        showAlert(
+                                Alert.AlertType.WARNING,
+                                "Niedozwolona operacja",
+                                "Nie możesz usunąć własnego konta będąc " +
+                                        "zalogowanym."
+                        );
+                        return;
+                    }
+                    confirmRemoveUser(selected);
+                }, ex -> showAlert(Alert.AlertType.ERROR, "Błąd",
+                        "Nie udało się sprawdzić zalogowanego " +
+                                "użytkownika: " + ex.getMessage()));
+    }
 
+    /**
+     * Prosi o potwierdzenie i oznacza użytkownika jako usuniętego w tle.
+     *
+     * @param selected użytkownik do usunięcia
+     */
+    private void confirmRemoveUser(Employee selected) {
         Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
         confirm.getDialogPane().setMinWidth(350);
         confirm.getDialogPane().setMinHeight(220);
@@ -794,23 +808,21 @@ public class AdminPanelController {
 
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                try {
-                    userRepository.removeEmployee(selected);
-                    refreshEmployeeList();
-                    showAlert(
-                            Alert.AlertType.INFORMATION,
-                            "Sukces",
-                            "Użytkownik został oznaczony jako usunięty."
-                    );
-                } catch (Exception e) {
-                    e.printStackTrace();
-                    showAlert(
-                            Alert.AlertType.ERROR,
-                            "Błąd",
-                            "Nie udało się usunąć użytkownika: "
-                                    + e.getMessage()
-                    );
-                }
+                asyncUsers.runOnFx(repo -> repo.removeEmployee(selected),
+                        () -> {
+                            refreshEmployeeList();
+                            showAlert(
+                                    Alert.AlertType.INFORMATION,
+                                    "Sukces",
+                                    "Użytkownik został oznaczony jako " +
+                                            "usunięty."
+                            );
+                        }, e -> showAlert(
+                                Alert.AlertType.ERROR,
+                                "Błąd",
+                                "Nie udało się usunąć użytkownika: "
+                                        + e.getMessage()
+                        ));
             }
         });
     }
@@ -853,16 +865,31 @@ public class AdminPanelController {
         styleAdminButton(backupButton, "#27AE60");
         backupButton.setOnAction(e -> performDatabaseBackup());
 
+        Button restoreBackupButton = new Button("Odtwórz backup bazy danych");
+        styleAdminButton(restoreBackupButton, "#C0392B");
+        restoreBackupButton.setOnAction(e -> restoreDatabaseBackup());
+
         Button exportCsvButton = new Button("Eksportuj bazę danych do CSV");
         styleAdminButton(exportCsvButton, "#16A085");
         exportCsvButton.setOnAction(e -> exportDatabaseToCsv());
 
+        Button incrementalCsvButton = new Button("Kopia przyrostowa CSV");
+        styleAdminButton(incrementalCsvButton, "#16A085");
+        incrementalCsvButton.setOnAction(e -> backupDatabaseIncrementally());
+
+        Button restoreCsvButton = new Button("Odtwórz kopię przyrostową CSV");
+        styleAdminButton(restoreCsvButton, "#C0392B");
+        restoreCsvButton.setOnAction(e -> restoreIncrementalBackup());
+
         layout.getChildren().addAll(
                 titleLabel,
                 openLogsButton,
                 configurePDF,
                 backupButton,
-                exportCsvButton
+                restoreBackupButton,
+                exportCsvButton,
+                incrementalCsvButton,
+                restoreCsvButton
         );
 
         return layout;
@@ -870,7 +897,113 @@ public class AdminPanelController {
 
     private void exportDatabaseToCsv() {
         Path folder = AppPaths.getBackupCsvDirectory();
+        runTableTask("Eksport CSV – trwa…", "CsvExportTask", folder,
+                progress -> {
+                    logger.info("Rozpoczęcie eksportu CSV do: {}",
+                            folder.toAbsolutePath());
+                    DatabaseBackupExporter.ExportSummary summary =
+                            DatabaseBackupExporter.exportAllTablesToCsv(
+                                    folder.toString(), false,
+                                    rowProgress(progress));
+                    return "Wyeksportowano " + summary.exported() + " z "
+                            + summary.total() + " tabel.\n"
+                            + "Pliki CSV znajdują się w:\n"
+                            + folder.toAbsolutePath();
+                });
+    }
+
+    /**
+     * Wykonuje przyrostową kopię CSV: zapisuje tylko nowe wiersze
+     * i tabele, które zmieniły się od poprzedniej kopii.
+     */
+    private void backupDatabaseIncrementally() {
+        Path folder = getIncrementalBackupDirectory();
+        runTableTask("Kopia przyrostowa CSV – trwa…", "CsvBackupTask",
+                folder, progress -> {
+                    IncrementalCsvBackup.BackupSummary summary =
+                            IncrementalCsvBackup.backup(folder.toString(),
+                                    true, rowProgress(progress));
+                    return "Tabele: " + summary.tables()
+                            + ", zapisane od nowa: " + summary.rebased()
+                            + ", błędy: " + summary.failed() + ".\n"
+                            + "Zapisano wierszy: " + summary.appendedRows()
+                            + ".\nKopia znajduje się w:\n"
+                            + folder.toAbsolutePath();
+                });
+    }
+
+    /**
+     * Odtwarza bazę danych z przyrostowej kopii CSV po potwierdzeniu
+     * przez administratora.
+     */
+    private void restoreIncrementalBackup() {
+        Path folder = getIncrementalBackupDirectory();
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Odtwarzanie kopii");
+        confirm.setHeaderText("Czy na pewno odtworzyć bazę z kopii?");
+        confirm.setContentText("Bieżąca zawartość tabel objętych kopią "
+                + "zostanie zastąpiona danymi z:\n"
+                + folder.toAbsolutePath());
+        if (confirm.showAndWait().orElse(ButtonType.CANCEL)
+                != ButtonType.OK) {
+            return;
+        }
+        runTableTask("Odtwarzanie kopii – trwa…", "CsvRestoreTask",
+                folder, progress -> {
+                    long rows = IncrementalCsvBackup.restore(
+                            folder.toString());
+                    new ProductRepository().rebuildSearchIndex();
+                    return "Odtworzono " + rows + " wierszy.";
+                });
+    }
+
+    private static Path getIncrementalBackupDirectory() {
+        return AppPaths.getBackupCsvDirectory().resolve("przyrostowa");
+    }
+
+    /**
+     * Operacja na tabelach bazy (eksport, kopia, odtwarzanie)
+     * wykonywana w tle.
+     */
+    @FunctionalInterface
+    private interface TableJob {
+        /**
+         * @param progress odbiorca postępu: nazwa tabeli i opis postępu
+         * @return komunikat dla użytkownika po zakończeniu
+         */
+        String run(BiConsumer<String, String> progress) throws Exception;
+    }
+
+    /**
+     * Opisuje postęp w wierszach na sekundę (pliki CSV).
+     */
+    private static DatabaseBackupExporter.ProgressListener rowProgress(
+            BiConsumer<String, String> progress) {
+        return p -> progress.accept(p.table(), String.format(
+                "%s: %,d wierszy (%,.0f w/s)%s",
+                p.table(), p.rows(), p.rowsPerSecond(),
+                p.finished() ? " ✓" : ""));
+    }
+
+    /**
+     * Opisuje postęp w megabajtach na sekundę (kopia SQL).
+     */
+    private static DatabaseBackupEngine.ProgressListener byteProgress(
+            BiConsumer<String, String> progress) {
+        return p -> progress.accept(p.table(), String.format(
+                "%s: %,d wierszy, %.1f MB (łącznie %.1f MB/s)%s",
+                p.table(), p.rows(), p.bytes() / 1_048_576.0,
+                p.megabytesPerSecond(), p.finished() ? " ✓" : ""));
+    }
 
+    /**
+     * Uruchamia operację na tabelach w tle, pokazując okno
+     * z postępem poszczególnych tabel.
+     */
+    private void runTableTask(String title,
+                              String threadName,
+                              Path folder,
+                              TableJob job) {
         try {
             Files.createDirectories(folder);
         } catch (IOException e) {
@@ -885,39 +1018,44 @@ public class AdminPanelController {
         loaderStage.initModality(Modality.APPLICATION_MODAL);
         loaderStage.initStyle(StageStyle.UNDECORATED);
 
-        VBox box = new VBox(10, new ProgressIndicator());
+        Label progressLabel = new Label("Przygotowanie…");
+        VBox box = new VBox(10, new ProgressIndicator(), progressLabel);
         box.setPadding(new Insets(20));
         box.setAlignment(Pos.CENTER);
         loaderStage.setScene(new Scene(box));
-        loaderStage.setTitle("Eksport CSV – trwa…");
+        loaderStage.setTitle(title);
         loaderStage.show();
 
-        Task<Void> task = new Task<>() {
+        Task<String> task = new Task<>() {
+            // Ostatni postęp każdej tabeli, uporządkowany po nazwie
+            private final Map<String, String> lines =
+                    new ConcurrentSkipListMap<>();
+
             @Override
-            protected Void call() throws Exception {
-                logger.info("Rozpoczęcie eksportu CSV do: {}",
-                        folder.toAbsolutePath());
-                DatabaseBackupExporter.exportAllTablesToCsv(folder.toString());
-                return null;
+            protected String call() throws Exception {
+                return job.run((table, line) -> {
+                    lines.put(table, line);
+                    updateMessage(String.join("\n", lines.values()));
+                });
             }
         };
+        progressLabel.textProperty().bind(task.messageProperty());
 
         task.setOnSucceeded(ev -> Platform.runLater(() -> {
             loaderStage.close();
-            showAlert(Alert.AlertType.INFORMATION, "Eksport zakończony",
-                    "Pliki CSV znajdują się w:\n"
-                            + folder.toAbsolutePath());
+            showAlert(Alert.AlertType.INFORMATION, "Operacja zakończona",
+                    task.getValue());
         }));
 
         task.setOnFailed(ev -> Platform.runLater(() -> {
             loaderStage.close();
             Throwable ex = task.getException();
-            logger.error("Błąd eksportu CSV", ex);
-            showAlert(Alert.AlertType.ERROR, "Błąd eksportu",
+            logger.error("Błąd operacji na tabelach ({})", threadName, ex);
+            showAlert(Alert.AlertType.ERROR, "Błąd",
                     (ex != null) ? ex.getMessage() : "Nieznany błąd");
         }));
 
-        new Thread(task, "CsvExportTask").start();
+        new Thread(task, threadName).start();
     }
 
     public void openLogsDirectory() {
@@ -1193,7 +1331,8 @@ public class AdminPanelController {
                 // Walidacja zakresu jednego dnia
                 if (startDate.equals(endDate)) {
                     List<StatsRaportGenerator.TaskRecord> tasks =
-                            fetchTaskStatsData(startDate, endDate);
+                            fetchTaskStatsData(startDate, endDate,
+                                    List.of(), List.of());
                     boolean hasTasks = tasks.stream().anyMatch(
                             task -> {
                         LocalDate dateToCheck = task.completionDate() !=
@@ -1271,35 +1410,52 @@ public class AdminPanelController {
             return;
         }
 
-        try {
-            logger.debug("Generowanie raportu KPI dla dat: {}–{}, " +
-                            "stanowiska: {}, priorytety: {}",
-                    from, to, positions, priors);
-
-            StatsRaportGenerator gen   = new StatsRaportGenerator();
-            String logoPath = ConfigManager.getLogoPath();
-            if (logoPath != null && !logoPath.isBlank()) {
-                gen.setLogoPath(logoPath);
-            }
-            List<StatsRaportGenerator.TaskRecord> taskData
-                    = fetchTaskStatsData(from, to);
-            logger.info("Pobrano {} zadań dla raportu KPI",
-                    taskData.size());
-
-            gen.setTaskData(taskData);
+        // Pobranie danych i zapis PDF w tle – stan zadania
+        // odczytuje okno postępu
+        ReportJobQueue.Job<String> job = ReportJobQueue.submit(
+                "Raport KPI", List.of(from, to, positions, priors), j -> {
+                    logger.debug("Generowanie raportu KPI dla dat: {}–{}, " +
+                                    "stanowiska: {}, priorytety: {}",
+                            from, to, positions, priors);
+                    j.update(0.1, "Pobieranie zadań");
+
+                    StatsRaportGenerator gen   = new StatsRaportGenerator();
+                    String logoPath = ConfigManager.getLogoPath();
+                    if (logoPath != null && !logoPath.isBlank()) {
+                        gen.setLogoPath(logoPath);
+                    }
+                    List<StatsRaportGenerator.TaskRecord> taskData
+                            = fetchTaskStatsData(from, to, positions,
+                            priors);
+                    logger.info("Pobrano {} zadań dla raportu KPI",
+                            taskData.size());
 
-            String out = ConfigManager.getReportPath()
-                    + "/stats-" + System.currentTimeMillis() + ".pdf";
+                    gen.setTaskData(taskData);
+                    j.update(0.5, "Generowanie PDF");
 
-            gen.generateReport(out, from, to, positions, priors);
+                    String out = reportPath
+                            + "/stats-" + System.currentTimeMillis() + ".pdf";
 
-            showAlert(Alert.AlertType.INFORMATION, "Raport wygenerowany",
-                    out);
+                    StonkaEvents.ReportGeneration event =
+                            new StonkaEvents.ReportGeneration();
+                    event.begin();
+                    try {
+                        gen.generateReport(out, from, to, positions, priors);
+                        event.success = true;
+                    } finally {
+                        event.report = "StatsRaportGenerator";
+                        event.records = taskData.size();
+                        event.file = out;
+                        event.commit();
+                    }
+                    return out;
+                });
 
-        } catch (Exception ex) {
-            logger.error("Błąd podczas generowania raportu KPI", ex);
-            showAlert(Alert.AlertType.ERROR, "Błąd", ex.getMessage());
-        }
+        ReportJobDialog.show(job,
+                out -> showAlert(Alert.AlertType.INFORMATION,
+                        "Raport wygenerowany", out),
+                message -> showAlert(Alert.AlertType.ERROR, "Błąd",
+                        message));
     }
 
     /**
@@ -1358,44 +1514,52 @@ public class AdminPanelController {
      */
     /* dokładnie ta jedna linijka jest kluczowa */
     private void generateTaskPDF(PeriodType period, List<String> statuses) {
-        try {
-            logger.debug("Generowanie raportu zadań dla okresu: {}, " +
-                            "statusy: {}",
-                    period, statuses);
-
-            TaskRaportGenerator gen = new TaskRaportGenerator();
-            // ustawienie ścieżki do logo:
-            String logoPath = ConfigManager.getLogoPath();
-            if (logoPath != null && !logoPath.isBlank()) {
-                gen.setLogoPath(logoPath);
-            }
-
-            // dane z repozytorium
-            List<TaskRaportGenerator.TaskRecord> taskData
-                    = fetchTaskSimpleData(period);
-            logger.info("Pobrano {} zadań dla raportu zadań",
-                    taskData.size());
-
-            gen.setTaskData(taskData);
-
-            // mapowanie własnego enum-a na enum generatora
-            TaskRaportGenerator.PeriodType pdfPeriod = switch (period) {
-                case DAILY   -> TaskRaportGenerator.PeriodType.LAST_WEEK;
-                case MONTHLY -> TaskRaportGenerator.PeriodType.LAST_MONTH;
-                case YEARLY  -> TaskRaportGenerator.PeriodType.LAST_QUARTER;
-            };
-
-            String out = ConfigManager.getReportPath()
-                    + "/tasks-" + System.currentTimeMillis() + ".pdf";
+        ReportJobQueue.Job<String> job = ReportJobQueue.submit(
+                "Raport zadań", List.of(String.valueOf(period), statuses),
+                j -> {
+                    logger.debug("Generowanie raportu zadań dla okresu: " +
+                            "{}, statusy: {}", period, statuses);
+                    j.update(0.1, "Pobieranie zadań");
+
+                    TaskRaportGenerator gen = new TaskRaportGenerator();
+                    // ustawienie ścieżki do logo:
+                    String logoPath = ConfigManager.getLogoPath();
+                    if (logoPath != null && !logoPath.isBlank()) {
+                        gen.setLogoPath(logoPath);
+                    }
 
-            gen.generateReport(out, pdfPeriod, statuses);
-            showAlert(Alert.AlertType.INFORMATION, "Raport wygenerowany",
-                    out);
+                    // dane z repozytorium
+                    List<TaskRaportGenerator.TaskRecord> taskData
+                            = fetchTaskSimpleData(period);
+                    logger.info("Pobrano {} zadań dla raportu zadań",
+                            taskData.size());
+
+                    gen.setTaskData(taskData);
+                    j.update(0.5, "Generowanie PDF");
+
+                    // mapowanie własnego enum-a na enum generatora
+                    TaskRaportGenerator.PeriodType pdfPeriod =
+                            switch (period) {
+                        case DAILY   ->
+                                TaskRaportGenerator.PeriodType.LAST_WEEK;
+                        case MONTHLY ->
+                                TaskRaportGenerator.PeriodType.LAST_MONTH;
+                        case YEARLY  ->
+                                TaskRaportGenerator.PeriodType.LAST_QUARTER;
+                    };
+
+                    String out = ConfigManager.getReportPath()
+                            + "/tasks-" + System.currentTimeMillis() + ".pdf";
+
+                    gen.generateReport(out, pdfPeriod, statuses);
+                    return out;
+                });
 
-        } catch (Exception ex) {
-            logger.error("Błąd podczas generowania raportu zadań", ex);
-            showAlert(Alert.AlertType.ERROR, "Błąd", ex.getMessage());
-        }
+        ReportJobDialog.show(job,
+                out -> showAlert(Alert.AlertType.INFORMATION,
+                        "Raport wygenerowany", out),
+                message -> showAlert(Alert.AlertType.ERROR, "Błąd",
+                        message));
     }
 
 
@@ -1479,92 +1643,67 @@ public class AdminPanelController {
     private void generateWorkloadPDF(LocalDate from, LocalDate to,
                                      List<String> positions,
                                      List<String> statuses) {
-        try {
-            logger.debug("Generowanie raportu obciążenia dla " +
-                            "dat: {} do {}, stanowiska: {}, statusy: {}",
-                    from, to, positions, statuses);
-            WorkloadReportGenerator gen = new WorkloadReportGenerator();
-            // ustawienie ścieżki do logo:
-            String logoPath = ConfigManager.getLogoPath();
-            if (logoPath != null && !logoPath.isBlank()) {
-                gen.setLogoPath(logoPath);
-            }
-            List<WorkloadReportGenerator.EmployeeWorkload> workloadData =
-                    fetchWorkloadData(from, to);
-            logger.info("Pobrano dane dla {} pracowników dla " +
-                            "raportu obciążenia",
-                    workloadData.size());
-            gen.setWorkloadData(workloadData);
-            String out = ConfigManager.getReportPath() + "/workload-" +
-                    System.currentTimeMillis() + ".pdf";
-            gen.generateReport(out, from, to, positions, statuses);
-            showAlert(Alert.AlertType.INFORMATION, "Raport wygenerowany",
-                    out);
-        } catch (Exception ex) {
-            logger.error("Błąd podczas generowania raportu obciążenia",
-                    ex);
-            showAlert(Alert.AlertType.ERROR, "Błąd", ex.getMessage());
-        }
+        ReportJobQueue.Job<String> job = ReportJobQueue.submit(
+                "Raport obciążenia",
+                Arrays.asList(from, to, positions, statuses), j -> {
+                    logger.debug("Generowanie raportu obciążenia dla " +
+                                    "dat: {} do {}, stanowiska: {}, " +
+                                    "statusy: {}",
+                            from, to, positions, statuses);
+                    j.update(0.1, "Pobieranie danych obciążenia");
+                    WorkloadReportGenerator gen =
+                            new WorkloadReportGenerator();
+                    // ustawienie ścieżki do logo:
+                    String logoPath = ConfigManager.getLogoPath();
+                    if (logoPath != null && !logoPath.isBlank()) {
+                        gen.setLogoPath(logoPath);
+                    }
+                    List<WorkloadReportGenerator.EmployeeWorkload>
+                            workloadData = fetchWorkloadData(from, to);
+                    logger.info("Pobrano dane dla {} pracowników dla " +
+                                    "raportu obciążenia",
+                            workloadData.size());
+                    gen.setWorkloadData(workloadData);
+                    j.update(0.5, "Generowanie PDF");
+                    String out = ConfigManager.getReportPath() +
+                            "/workload-" + System.currentTimeMillis() +
+                            ".pdf";
+                    gen.generateReport(out, from, to, positions, statuses);
+                    return out;
+                });
+
+        ReportJobDialog.show(job,
+                out -> showAlert(Alert.AlertType.INFORMATION,
+                        "Raport wygenerowany", out),
+                message -> showAlert(Alert.AlertType.ERROR, "Błąd",
+                        message));
     }
 
+    /**
+     * Pobiera dane raportu KPI. Okres, stanowiska i priorytety są
+     * filtrowane w zapytaniu ({@link EmpTaskRepository}).
+     *
+     * @param from       początek okresu raportowania (inclusive)
+     * @param to         koniec okresu raportowania (inclusive)
+     * @param positions  stanowiska (pusta lista – wszystkie)
+     * @param priorities priorytety (pusta lista – wszystkie)
+     * @return lista rekordów TaskRecord
+     */
     private List<StatsRaportGenerator.TaskRecord> fetchTaskStatsData(
             LocalDate from,
-            LocalDate to) {
+            LocalDate to,
+            List<String> positions,
+            List<StatsRaportGenerator.Priority> priorities) {
         logger.debug("Pobieranie danych dla raportu KPI od {} do {}",
                 from, to);
         EmpTaskRepository repo = new EmpTaskRepository();
-        List<EmpTask> allTasks = repo.getAllTasksWithEmployeesAndAssignees();
-        logger.info("Pobrano {} zadań z repozytorium", allTasks.size());
-
-        // Logowanie szczegółów surowych zadań
-        allTasks.forEach(t -> logger.debug("Zadanie " +
-                        "surowe: id={}, name={}, date={}, status={}, " +
-                        "priority={}, assignee={}",
-                t.getId(), t.getName(), toLocalDate(t.getDate()), t.getStatus(),
-                t.getPriority(), t.getSingleAssignee() !=
-                        null ? t.getSingleAssignee().getLogin() : "Brak"));
-
-        List<StatsRaportGenerator.TaskRecord> filteredTasks = allTasks.stream()
-                .filter(t -> inRange(t.getDate(), from, to))
-                .map(t -> {
-                    Employee assignee = t.getSingleAssignee();
-                    StatsRaportGenerator.Priority priority = null;
-                    if (t.getPriority() != null) {
-                        try {
-                            priority = StatsRaportGenerator.Priority.valueOf(t
-                                    .getPriority().name());
-                        } catch (IllegalArgumentException e) {
-                            logger.warn("Nie można zmapować " +
-                                            "priorytetu: {} dla zadania: {}",
-                                    t.getPriority(), t.getName());
-                        }
-                    }
-                    StatsRaportGenerator.TaskRecord record
-                            = new StatsRaportGenerator.TaskRecord(
-                            t.getName(),
-                            assignee != null ? assignee.getPosition() : "Brak",
-                            priority,
-                            toLocalDate(t.getDate()), // dueDate
-                            "Zakończone".equals(t.getStatus()) ? toLocalDate(
-                                    t.getDate()) : null, // completionDate
-                            assignee != null ? assignee.getLogin() : "Brak"
-                    );
-                    // Logowanie każdego utworzonego TaskRecord
-                    logger.debug("Utworzono TaskRecord: " +
-                                    "taskName={}, position={}, priority={}, " +
-                                    "dueDate={}, completionDate={}, " +
-                                    "assignee={}",
-                            record.taskName(), record.position(),
-                            record.priority(),
-                            record.dueDate(), record.completionDate(),
-                            record.assignee());
-                    return record;
-                })
-                .toList();
-
-        logger.info("Po filtracji dat: {} zadań", filteredTasks.size());
+        List<StatsRaportGenerator.TaskRecord> filteredTasks =
+                repo.getTaskStatsRecords(from, to, positions, priorities);
+
+        logger.info("Pobrano {} zadań z okresu", filteredTasks.size());
+        // Podsumowanie budowane leniwie – tylko gdy DEBUG jest włączony
         logger.debug("Podsumowanie TaskRecords: {}",
-                filteredTasks.stream()
+                () -> filteredTasks.stream()
                 .map(r -> String.format("{taskName=%s, " +
                                 "dueDate=%s, completionDate=%s," +
                                 " priority=%s, position=%s, assignee=%s}",
@@ -1582,31 +1721,11 @@ public class AdminPanelController {
         logger.debug("Pobieranie danych dla raportu zadań od {} " +
                 "do {}", from, to);
 
-        EmpTaskRepository repo   = new EmpTaskRepository();
-        List<EmpTask>     source = repo.getAllTasksWithEmployeesAndAssignees();
-        logger.info("Pobrano {} zadań z repozytorium", source.size());
-
-        List<TaskRaportGenerator.TaskRecord> result = source.stream()
-                .filter(t -> inRange(t.getDate(), from, to))
-                .map(t -> {
-                    Employee assignee = t.getSingleAssignee();
-                    return new TaskRaportGenerator.TaskRecord(
-                            t.getName(),
-                            // dueDate
-                            toLocalDate(t.getDate()),
-                            // completionDate
-                            "Zakończone".equals(t.getStatus())
-                                    ? toLocalDate(t.getDate())
-                                    : null,
-                            // assignee
-                            assignee != null ? assignee.getLogin() : "Brak",
-                            // dbStatus  <- NOWE
-                            t.getStatus()
-                    );
-                })
-                .toList();
-
-        logger.info("Po filtracji dat: {} zadań", result.size());
+        EmpTaskRepository repo = new EmpTaskRepository();
+        List<TaskRaportGenerator.TaskRecord> result =
+                repo.getTaskReportRecords(from, to);
+
+        logger.info("Pobrano {} zadań z okresu", result.size());
         return result;
     }
 
@@ -1629,7 +1748,8 @@ public class AdminPanelController {
     /**
      * Pobiera dane do raportu obciążenia pracowników
      * (WorkloadReportGenerator) w postaci listy obiektów
-     * EmployeeWorkload.
+     * EmployeeWorkload. Suma godzin liczona jest w zapytaniu,
+     * pogrupowana według wykonawcy zadania.
      *
      * @param from  początek okresu raportowania (inclusive)
      * @param to    koniec okresu raportowania (inclusive)
@@ -1641,27 +1761,9 @@ public class AdminPanelController {
         logger.debug("Pobieranie danych dla raportu obciążenia od {} " +
                 "do {}", from, to);
         EmpTaskRepository repo = new EmpTaskRepository();
-        List<EmpTask> allTasks = repo.getAllTasksWithEmployeesAndAssignees();
-        logger.info("Pobrano {} zadań z repozytorium", allTasks.size());
         List<WorkloadReportGenerator.EmployeeWorkload> workloadData
-                = allTasks.stream()
-                .filter(t -> !t.getTaskEmployees().isEmpty()
-                        && t.getDurationOfTheShift() != null
-                        && inRange(t.getDate(), from, to))
-                .collect(Collectors.groupingBy(
-                        EmpTask::getSingleAssignee,
-                        Collectors.summingDouble(
-                                t -> hours(t.getDurationOfTheShift()))
-                ))
-                .entrySet().stream()
-                .map(e -> new WorkloadReportGenerator
-                        .EmployeeWorkload(
-                        e.getKey().getLogin(),
-                        e.getKey().getPosition(),
-                        e.getValue()
-                ))
-                .toList();
-        logger.info("Po filtracji i grupowaniu: dane " +
+                = repo.getTaskWorkload(from, to);
+        logger.info("Po grupowaniu: dane " +
                         "dla {} pracowników",
                 workloadData.size());
         return workloadData;
@@ -1669,35 +1771,141 @@ public class AdminPanelController {
 
 
     /**
-     * Sprawdza, czy data d mieści się w podanym zakresie
-     * (inclusive).
-     *
-     * @param d   data do sprawdzenia
-     * @param from początek zakresu (inclusive)
-     * @param to   koniec zakresu (inclusive)
-     * @return true, jeśli data jest w zakresie, false w przeciwnym
-     *         przypadku
+     * Wyświetla panel diagnostyki: czasy i liczniki metod repozytoriów,
+     * stan puli połączeń oraz trafienia cache drugiego poziomu.
      */
-    private static boolean inRange(Date d, LocalDate from, LocalDate to) {
-        if (d == null) return false;
-        LocalDate ld = toLocalDate(d);
-        return (from == null || !ld.isBefore(from)) && (to == null
-                || !ld.isAfter(to));
+    public void showDiagnosticsPanel() {
+        VBox layout = new VBox(10);
+        layout.setPadding(new Insets(20));
+
+        Label title = new Label("Diagnostyka bazy danych");
+        title.setStyle("-fx-font-size: 14px; -fx-font-weight: bold;");
+
+        Label poolLabel = new Label();
+        Label cacheLabel = new Label();
+        cacheLabel.setWrapText(true);
+
+        TableView<RepositoryMetrics.Snapshot> tbl = new TableView<>();
+        tbl.setColumnResizePolicy(
+                TableView.CONSTRAINED_RESIZE_POLICY);
+        tbl.setPlaceholder(new Label(RepositoryMetrics.isEnabled()
+                ? "Brak wywołań repozytoriów"
+                : "Pomiar wyłączony (-Dstonka.metrics=false)"));
+
+        TableColumn<RepositoryMetrics.Snapshot, String> opCol =
+                new TableColumn<>("Operacja");
+        opCol.setCellValueFactory(data -> new javafx.beans.property
+                .SimpleStringProperty(data.getValue().operation()));
+        opCol.setPrefWidth(260);
+
+        tbl.getColumns().addAll(List.of(opCol,
+                metricColumn("Wywołania", RepositoryMetrics.Snapshot::calls),
+                metricColumn("Błędy", RepositoryMetrics.Snapshot::errors),
+                metricColumn("Wiersze", RepositoryMetrics.Snapshot::rows),
+                metricColumn("Zapytania SQL",
+                        RepositoryMetrics.Snapshot::statements),
+                metricColumn("Suma [ms]", RepositoryMetrics.Snapshot::totalMs),
+                metricColumn("p50 [ms]", RepositoryMetrics.Snapshot::p50Ms),
+                metricColumn("p95 [ms]", RepositoryMetrics.Snapshot::p95Ms),
+                metricColumn("p99 [ms]", RepositoryMetrics.Snapshot::p99Ms),
+                metricColumn("Max [ms]", RepositoryMetrics.Snapshot::maxMs)));
+
+        Runnable refresh = () -> {
+            tbl.setItems(FXCollections.observableArrayList(
+                    RepositoryMetrics.snapshot()));
+            ConnectionPool.Snapshot pool = ConnectionPool.snapshot();
+            poolLabel.setText(String.format("Pula połączeń: aktywne %d, "
+                            + "wolne %d, oczekujące %d (maks. %d); "
+                            + "pobrania %d, przekroczenia czasu %d; "
+                            + "p50 %.2f ms, p99 %.2f ms, max %.2f ms",
+                    pool.active(), pool.idle(), pool.waiting(),
+                    pool.maxSize(), pool.acquisitions(), pool.timeouts(),
+                    pool.acquireP50Ms(), pool.acquireP99Ms(),
+                    pool.acquireMaxMs()));
+            cacheLabel.setText(SecondLevelCache.snapshot().stream()
+                    .map(r -> String.format("%s: %d/%d (%.0f%%)",
+                            r.region(), r.hits(), r.hits() + r.misses(),
+                            r.hitRatio() * 100))
+                    .collect(Collectors.joining(", ",
+                            "Cache 2. poziomu (trafienia/odczyty): ", "")));
+        };
+
+        Button refreshButton = new Button("Odśwież");
+        styleAdminButton(refreshButton, "#3498DB");
+        refreshButton.setOnAction(e -> refresh.run());
+
+        Button resetButton = new Button("Wyzeruj statystyki");
+        styleAdminButton(resetButton, "#E67E22");
+        resetButton.setOnAction(e -> {
+            RepositoryMetrics.reset();
+            refresh.run();
+        });
+
+        Button jfrButton = new Button();
+        styleAdminButton(jfrButton, "#8E44AD");
+        Runnable updateJfrButton = () -> jfrButton.setText(
+                FlightRecording.isRecording()
+                        ? "Zatrzymaj nagrywanie JFR"
+                        : "Rozpocznij nagrywanie JFR");
+        updateJfrButton.run();
+        jfrButton.setOnAction(e -> {
+            toggleFlightRecording();
+            updateJfrButton.run();
+        });
+
+        HBox btnBox = new HBox(10, refreshButton, resetButton, jfrButton);
+        btnBox.setAlignment(Pos.CENTER);
+
+        layout.getChildren().addAll(title, poolLabel, cacheLabel, tbl,
+                btnBox);
+        refresh.run();
+        adminPanel.setCenterPane(layout);
     }
 
-    private static LocalDate toLocalDate(Date d) {
-        if (d instanceof java.sql.Date) {
-            return ((java.sql.Date) d).toLocalDate();
-        } else {
-            return d.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    /**
+     * Rozpoczyna albo zatrzymuje nagrywanie Java Flight Recorder
+     * do katalogu logów.
+     */
+    private void toggleFlightRecording() {
+        try {
+            if (FlightRecording.isRecording()) {
+                Path file = FlightRecording.stop();
+                showAlert(Alert.AlertType.INFORMATION, "Nagrywanie JFR",
+                        "Zapisano nagranie:\n" + file.toAbsolutePath());
+            } else {
+                Path file = FlightRecording.start();
+                showAlert(Alert.AlertType.INFORMATION, "Nagrywanie JFR",
+                        "Rozpoczęto nagrywanie do:\n"
+                                + file.toAbsolutePath());
+            }
+        } catch (Exception ex) {
+            logger.error("Błąd nagrywania JFR", ex);
+            showAlert(Alert.AlertType.ERROR, "Błąd",
+                    "Nagrywanie JFR nie powiodło się: " + ex.getMessage());
         }
     }
 
-    private static double hours(LocalTime t) {
-        return t.getHour() + t.getMinute() / 60d;
+    /**
+     * Tworzy kolumnę liczbową tabeli diagnostyki. Wartości
+     * zmiennoprzecinkowe są zaokrąglane do dwóch miejsc.
+     */
+    private static TableColumn<RepositoryMetrics.Snapshot, Number> metricColumn(
+            String title,
+            java.util.function.Function<RepositoryMetrics.Snapshot,
+                    Number> value) {
+        TableColumn<RepositoryMetrics.Snapshot, Number> col =
+                new TableColumn<>(title);
+        col.setCellValueFactory(data -> {
+            Number n = value.apply(data.getValue());
+            if (n instanceof Double d) {
+                n = Math.round(d * 100) / 100.0;
+            }
+            return new javafx.beans.property.SimpleObjectProperty<>(n);
+        });
+        col.setStyle("-fx-alignment: CENTER-RIGHT;");
+        return col;
     }
 
-
     /**
      * Wyświetla panel zgłoszeń technicznych.
      */
@@ -1895,169 +2103,64 @@ public class AdminPanelController {
     }
 
     /**
-     * Wykonuje backup bazy danych MySQL do pliku .sql.
-     * Obsługuje zarówno XAMPP, jak i standardową instalację
-     * MySQL na Windows, Linux i Mac OS.
+     * Wykonuje logiczną kopię bazy danych do nowego katalogu
+     * w katalogu backupu. Tabele zrzucane są równolegle, bez
+     * zewnętrznego programu mysqldump.
      */
     private void performDatabaseBackup() {
-        Stage loaderStage = new Stage();
-        loaderStage.initOwner(primaryStage);
-        loaderStage.initModality(Modality.APPLICATION_MODAL);
-        loaderStage.initStyle(StageStyle.UNDECORATED);
-
-        VBox box = new VBox(10, new ProgressIndicator());
-        box.setPadding(new Insets(20));
-        box.setAlignment(Pos.CENTER);
-        loaderStage.setScene(new Scene(box));
-        loaderStage.setTitle("Backup bazy – trwa…");
-        loaderStage.show();
-
-        // Utworzenie tymczasowego obiektu implementującego
-        // ILacz dla dostępu do konfiguracji
-        ILacz dbConfig = new ILacz() {};
-
-        String os = System.getProperty("os.name").toLowerCase();
-        String mysqldumpPath;
-        try {
-            if (os.contains("win")) {
-                File programFiles
-                        = new File("C:\\Program Files\\MySQL");
-                File found = searchForMysqlDump(programFiles,
-                        "mysqldump.exe");
-                if (found != null && found.exists()) {
-                    mysqldumpPath = found.getAbsolutePath();
-                } else {
-                    File xampp = new File(
-                            "C:\\xampp\\mysql\\bin\\mysqldump.exe");
-                    if (xampp.exists()) {
-                        mysqldumpPath = xampp.getAbsolutePath();
-                    } else {
-                        loaderStage.close();
-                        showAlert(Alert.AlertType.ERROR,
-                                "Nie znaleziono mysqldump.exe",
-                                "Nie znaleziono mysqldump ani " +
-                                        "w Program Files, ani w XAMPP.");
-                        return;
-                    }
-                }
-            } else if (os.contains("nix") || os.contains("nux")
-                    || os.contains("mac")) {
-                File[] paths = {
-                        new File("/usr/bin/mysqldump"),
-                        new File("/usr/local/bin/mysqldump"),
-                        new File("/usr/local/mysql/bin/mysqldump"),
-                        new File("/opt/mysql/bin/mysqldump")
-                };
-                File found = null;
-                for (File p : paths) if (p.exists()) { found = p; break; }
-                mysqldumpPath = (found != null)
-                        ? found.getAbsolutePath() : "mysqldump";
-            } else {
-                loaderStage.close();
-                showAlert(Alert.AlertType.ERROR, "Nieobsługiwany system",
-                        "System „" + os + "nie jest obsługiwany.");
-                return;
-            }
-        } catch (Exception ex) {
-            loaderStage.close();
-            logger.error("Błąd wyszukiwania mysqldump", ex);
-            showAlert(Alert.AlertType.ERROR, "Błąd", ex.getMessage());
-            return;
-        }
-
-        // Pobierz dane konfiguracyjne z instancji ILacz
-        final String dbUser = dbConfig.getMySqlUser();
-        final String dbPassword = dbConfig.getMySqlPassword();
-        final String dbName = dbConfig.getDbName();
-
-        Task<Path> task = new Task<>() {
-            @Override
-            protected Path call() throws Exception {
-
-                String ts = java.time.LocalDateTime.now().toString()
-                        .replace(":", "-");
-                String name = "stonkadb-backup-" + ts + ".sql";
-
-                // Użyj AppPaths do uzyskania katalogu backupu
-                Path backupDir = AppPaths.getBackupDirectory();
-                Path backupFile = backupDir.resolve(name);
-
-                ProcessBuilder pb = new ProcessBuilder(
-                        mysqldumpPath,
-                        "-u", dbUser,
-                        "--password=" + dbPassword,
-                        "--routines",
-                        "--events",
-                        "--triggers",
-                        "--single-transaction",
-                        "--quick",
-                        "--skip-lock-tables",
-                        "--add-drop-database",
-                        "--add-drop-table",
-                        "--complete-insert",
-                        "--databases", dbName
-                );
-
-                if (dbPassword != null && !dbPassword.isEmpty()) {
-                    pb.environment().put("MYSQL_PWD", dbPassword);
-                }
-
-                pb.redirectOutput(backupFile.toFile());
-                pb.redirectError(ProcessBuilder.Redirect.INHERIT);
-
-                Process proc = pb.start();
-                if (proc.waitFor() != 0)
-                    throw new IOException("mysqldump zakończył się " +
-                            "nie-zerowym kodem.");
-
-                return backupFile;
-            }
-        };
-
-        task.setOnSucceeded(ev -> Platform.runLater(() -> {
-            loaderStage.close();
-            Path p = task.getValue();
-            showAlert(Alert.AlertType.INFORMATION, "Backup zakończony",
-                    "Plik zapisano w:\n" + p.toAbsolutePath());
-        }));
-
-        task.setOnFailed(ev -> Platform.runLater(() -> {
-            loaderStage.close();
-            Throwable ex = task.getException();
-            logger.error("Błąd backupu", ex);
-            showAlert(Alert.AlertType.ERROR, "Błąd backupu",
-                    (ex != null) ? ex.getMessage() : "Nieznany błąd");
-        }));
-
-        new Thread(task, "BackupTask").start();
+        Path folder = AppPaths.getBackupDirectory();
+        runTableTask("Backup bazy – trwa…", "BackupTask", folder,
+                progress -> {
+                    DatabaseBackupEngine.Result result =
+                            DatabaseBackupEngine.dump(folder,
+                                    byteProgress(progress));
+                    return String.format("Zapisano %d tabel (%,d wierszy, "
+                                    + "%.1f MB, %.1f MB/s).%nKopię "
+                                    + "zapisano w:%n%s",
+                            result.tables(), result.rows(),
+                            result.bytes() / 1_048_576.0,
+                            result.megabytesPerSecond(),
+                            result.location().toAbsolutePath());
+                });
     }
 
     /**
-     * Przeszukuje rekurencyjnie podany katalog w poszukiwaniu pliku
-     * o nazwie targetName.
-     * Zatrzymuje się po znalezieniu pierwszego pasującego pliku.
-     *
-     * @param dir        Katalog początkowy, od którego rozpoczyna się
-     *                   przeszukiwanie
-     * @param targetName Nazwa szukanego pliku (np. "mysqldump.exe"),
-     *                   bez względu na wielkość liter
+     * Odtwarza bazę danych z wybranego katalogu kopii po potwierdzeniu
+     * przez administratora.
      */
-    private File searchForMysqlDump(File dir, String targetName) {
-        File[] files = dir.listFiles();
-        if (files == null) return null;
+    private void restoreDatabaseBackup() {
+        DirectoryChooser chooser = new DirectoryChooser();
+        chooser.setTitle("Wybierz katalog kopii bazy danych");
+        File initialDir = AppPaths.getBackupDirectory().toFile();
+        if (initialDir.isDirectory()) {
+            chooser.setInitialDirectory(initialDir);
+        }
+        File selected = chooser.showDialog(primaryStage);
+        if (selected == null) {
+            return;
+        }
+        Path folder = selected.toPath();
 
-        for (File file : files) {
-            try {
-                if (file.isDirectory() && !file.isHidden()) {
-                    File result = searchForMysqlDump(file, targetName);
-                    if (result != null) return result;
-                } else if (file.getName().equalsIgnoreCase(targetName)) {
-                    return file;
-                }
-            } catch (SecurityException ignored) {
-            }
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Odtwarzanie bazy danych");
+        confirm.setHeaderText("Czy na pewno odtworzyć bazę z kopii?");
+        confirm.setContentText("Bieżąca zawartość bazy zostanie "
+                + "zastąpiona danymi z:\n" + folder.toAbsolutePath());
+        if (confirm.showAndWait().orElse(ButtonType.CANCEL)
+                != ButtonType.OK) {
+            return;
         }
-        return null;
+        runTableTask("Odtwarzanie bazy – trwa…", "RestoreTask", folder,
+                progress -> {
+                    DatabaseBackupEngine.Result result =
+                            DatabaseBackupEngine.restore(folder,
+                                    byteProgress(progress));
+                    new ProductRepository().rebuildSearchIndex();
+                    return String.format("Odtworzono %d tabel (%,d wierszy, "
+                                    + "%.1f MB/s).",
+                            result.tables(), result.rows(),
+                            result.megabytesPerSecond());
+                });
     }
 
     /**
@@ -2167,7 +2270,6 @@ public class AdminPanelController {
                 return;
             }
 
-            AddressRepository repo = new AddressRepository();
             Address newAddress = new Address();
             newAddress.setTown(sTown);
             newAddress.setHouseNumber(sHouse);
@@ -2176,22 +2278,19 @@ public class AdminPanelController {
             newAddress.setZipCode(sZip);
             newAddress.setCity(sCity);
 
-            try {
-                repo.addAddress(newAddress);
-            } catch (Exception ex) {
-                showAlert(Alert.AlertType.ERROR,
-                        "Błąd zapisu",
-                        "Wystąpił problem podczas zapisywania " +
-                                "adresu:\n" + ex.getMessage());
-                return;
-            }
-
-            List<Address> updatedList = repo.getAllAddresses();
-            addressComboBox.getItems().clear();
-            addressComboBox.getItems().addAll(updatedList);
-            addressComboBox.setValue(newAddress);
-
-            stage.close();
+            saveButton.setDisable(true);
+            AsyncRepository.of(new AddressRepository()).runOnFx(
+                    repo -> repo.addAddress(newAddress), () -> {
+                        addressComboBox.setValue(newAddress);
+                        loadAddresses(addressComboBox);
+                        stage.close();
+                    }, ex -> {
+                        saveButton.setDisable(false);
+                        showAlert(Alert.AlertType.ERROR,
+                                "Błąd zapisu",
+                                "Wystąpił problem podczas zapisywania " +
+                                        "adresu:\n" + ex.getMessage());
+                    });
         });
 
         layout.getChildren().addAll(
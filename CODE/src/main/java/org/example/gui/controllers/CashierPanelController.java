@@ -8,6 +8,7 @@
 package org.example.gui.controllers;
 
 import javafx.animation.FadeTransition;
+import javafx.animation.PauseTransition;
 import javafx.animation.ParallelTransition;
 import javafx.animation.TranslateTransition;
 import javafx.beans.property.SimpleDoubleProperty;
@@ -26,22 +27,32 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 import javafx.util.converter.IntegerStringConverter;
+import org.example.database.AsyncRepository;
+import org.example.database.DatabaseExecutor;
+import org.example.database.ProductSearchIndex;
+import org.example.database.ReportCache;
+import org.example.database.ReportJobQueue;
 import org.example.database.repositories.*;
+import org.example.gui.elements.ReportJobDialog;
 import org.example.gui.panels.CashierPanel;
 import org.example.gui.HelloApplication;
 import org.example.sys.*;
 
 import org.example.pdflib.ConfigManager;
+import org.example.utils.StonkaEvents;
 import pdf.SalesReportGenerator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import java.awt.Desktop;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Kontroler obsługujący panel kasjera.
@@ -54,15 +65,31 @@ public class CashierPanelController {
     private final ReportRepository reportRepository;
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
-    private boolean reportGeneratedInCurrentSession = false;
+    private final CheckoutService checkoutService;
+    private final DailySalesRepository dailySalesRepository;
+    private volatile boolean reportGeneratedInCurrentSession = false;
 
     private static final String REPORTS_DIRECTORY = "reports";
 
+    private static final int SEARCH_PAGE_SIZE = 50;
+    private static final int SEARCH_DEBOUNCE_MS = 250;
+    private static final String ALL_CATEGORIES = "Wszystkie";
+    /** Po tym czasie indeks produktów jest przebudowywany w tle,
+     *  aby uwzględnić zmiany z innych stanowisk. */
+    private static final long SEARCH_INDEX_MAX_AGE_MS = 5 * 60_000;
+
+    /** Strona wyników wyszukiwania wraz ze stanami magazynowymi. */
+    private record PageWithStock(ProductPage page,
+                                 Map<Integer, Integer> stock) {
+    }
+
     public CashierPanelController(CashierPanel cashierPanel) {
         this.cashierPanel = cashierPanel;
         this.reportRepository = new ReportRepository();
         this.transactionRepository = new TransactionRepository();
         this.userRepository = new UserRepository();
+        this.checkoutService = new CheckoutService();
+        this.dailySalesRepository = new DailySalesRepository();
         this.reportGeneratedInCurrentSession = false;
 
         File reportsDir = new File(REPORTS_DIRECTORY);
@@ -107,8 +134,9 @@ public class CashierPanelController {
         Label searchLabel = new Label("Wyszukaj produkt:");
         TextField searchField = createStyledTextField("Wpisz nazwę " +
                 "produktu...");
+        HBox pagerBox = new HBox(10);
         TableView<Product> productTable = createProductTableWithSearch(
-                searchField);
+                searchField, pagerBox);
 
         HBox quantityBox = new HBox(10);
         Label quantityLabel = new Label("Ilość:");
@@ -123,7 +151,7 @@ public class CashierPanelController {
         quantityBox.setAlignment(Pos.CENTER_LEFT);
 
         productSearchBox.getChildren().addAll(searchLabel, searchField,
-                productTable, quantityBox);
+                pagerBox, productTable, quantityBox);
 
         // Prawa strona: koszyk
         VBox cartBox = new VBox(10);
@@ -151,10 +179,11 @@ public class CashierPanelController {
         // Akcje przycisków
         addToCartButton.setOnAction(e -> {
             Product selectedProduct = productTable.getSelectionModel().getSelectedItem();
-            if (selectedProduct != null) {
-                int quantity = quantitySpinner.getValue();
-                int availableQuantity = getAvailableQuantity(selectedProduct);
-
+            if (selectedProduct == null) {
+                return;
+            }
+            int quantity = quantitySpinner.getValue();
+            withAvailableQuantity(selectedProduct, availableQuantity -> {
                 if (availableQuantity < quantity) {
                     showNotification("Błąd",
                             "Niewystarczająca ilość produktu. " +
@@ -183,7 +212,7 @@ public class CashierPanelController {
                 }
                 cartTable.refresh();
                 updateTotalPrice(cartItems, totalPriceLabel);
-            }
+            });
         });
 
         confirmButton.setOnAction(e -> {
@@ -242,6 +271,7 @@ public class CashierPanelController {
     /**
      * Odświeża tabelę raportów, pokazując tylko
      * te wygenerowane przez aktualnego pracownika.
+     * Raporty pobierane są w tle, a tabela uzupełniana w wątku JavaFX.
      */
     private void refreshReportTable(TableView<Report> tableView) {
 
@@ -249,22 +279,18 @@ public class CashierPanelController {
             return;
         }
 
-        Employee currentEmployee = userRepository.getCurrentEmployee();
-        if (currentEmployee == null) {
-            tableView.setItems(FXCollections.observableArrayList());
-            return;
-        }
-
-        List<Report> allReports = reportRepository.getAllReports();
-        List<Report> filtered = new ArrayList<>();
-        for (Report r : allReports) {
-            if (r.getEmployee() !=
-                    null && r.getEmployee().getId() == currentEmployee
-                    .getId()) {
-                filtered.add(r);
-            }
-        }
-        tableView.setItems(FXCollections.observableArrayList(filtered));
+        AsyncRepository.deliverOnFx(DatabaseExecutor.submit(
+                DatabaseExecutor.Resource.DATABASE, () -> {
+                    Employee currentEmployee =
+                            userRepository.getCurrentEmployee();
+                    return currentEmployee == null
+                            ? List.<Report>of()
+                            : reportRepository.findByEmployee(
+                                    currentEmployee.getId());
+                }), reports -> tableView.setItems(
+                        FXCollections.observableArrayList(reports)),
+                error -> showNotification("Błąd",
+                        "Nie udało się wczytać raportów."));
     }
 
     /**
@@ -315,10 +341,11 @@ public class CashierPanelController {
         categoryListView.setPrefHeight(150);
         categoryListView.getSelectionModel().setSelectionMode(
                 SelectionMode.MULTIPLE);
-        ProductRepository productRepo = new ProductRepository();
-        categoryListView.setItems(FXCollections.observableArrayList(
-                productRepo.getCategories()));
-        productRepo.close();
+        AsyncRepository.of(new ProductRepository()).callOnFx(
+                ProductRepository::getCategories,
+                categories -> categoryListView.setItems(
+                        FXCollections.observableArrayList(categories)),
+                null);
 
         Button generateBtn = cashierPanel.createStyledButton("Generuj " +
                         "raport",
@@ -341,44 +368,53 @@ public class CashierPanelController {
                 return;
             }
 
-            try {
-                PeriodType periodType = getPeriodTypeFromString(reportTypeStr);
-                LocalDate[] dates = calculateReportDates(periodType,
-                        selectedDate);
-
-                Date d1 = Date.from(dates[0].atStartOfDay(ZoneId
-                        .systemDefault()).toInstant());
-                Date d2 = Date.from(dates[1].atTime(
-                        23,59,59).atZone(
-                        ZoneId.systemDefault()).toInstant());
-                List<Transaction> transactions =
-                        transactionRepository.getTransactionsBetweenDates(
-                                d1, d2);
-
-                if (transactions.isEmpty()) {
-                    saveEmptyReportInfo(periodType, dates[0], dates[1]);
+            PeriodType periodType = getPeriodTypeFromString(reportTypeStr);
+            LocalDate[] dates = calculateReportDates(periodType,
+                    selectedDate);
+
+            // Sprawdzenie danych, zapis PDF i wpisu w tabeli raportów
+            // w tle; identyczne zgłoszenie (typ, okres, kategorie)
+            // dołącza do trwającego zadania, więc wpis powstaje raz na
+            // zadanie, a nie raz na okno postępu.
+            // Wynik null oznacza brak transakcji w okresie.
+            ReportJobQueue.Job<String> job = ReportJobQueue.submit(
+                    "Raport sprzedaży",
+                    List.of(periodType, dates[0], dates[1],
+                            selectedCategories),
+                    j -> {
+                        j.update(0.05, "Sprawdzanie transakcji");
+                        Date d1 = Date.from(dates[0].atStartOfDay(ZoneId
+                                .systemDefault()).toInstant());
+                        Date d2 = Date.from(dates[1].atTime(
+                                23,59,59).atZone(
+                                ZoneId.systemDefault()).toInstant());
+                        if (!transactionRepository
+                                .hasTransactionsBetweenDates(d1, d2)) {
+                            saveEmptyReportInfo(periodType, dates[0],
+                                    dates[1]);
+                            return null;
+                        }
+                        String reportPath = generateSalesReport(j,
+                                periodType, dates[0], dates[1],
+                                selectedCategories);
+                        j.update(0.95, "Zapisywanie informacji o raporcie");
+                        saveReportInfo(periodType, dates[0], dates[1],
+                                reportPath);
+                        return reportPath;
+                    });
+            dialog.close();
+
+            ReportJobDialog.show(job, reportPath -> {
+                if (reportPath == null) {
                     showNotification("Brak danych", "Nie " +
                             "znaleziono transakcji w wybranym okresie.");
-                    // Od razu odświeżamy tabelę raportów:
-                    refreshReportTable(tableView);
-                    dialog.close();
-                    return;
+                } else {
+                    showNotification("Sukces", "Raport zapisano: "
+                            + reportPath);
                 }
-
-                String reportPath = generateSalesReport(periodType, dates[0],
-                        dates[1], selectedCategories);
-                saveReportInfo(periodType, dates[0], dates[1], reportPath);
-                showNotification("Sukces", "Raport zapisano: "
-                        + reportPath);
                 refreshReportTable(tableView);
-
-                dialog.close();
-            } catch (Exception ex) {
-                ex.printStackTrace();
-                showNotification("Błąd",
-                        "Nie udało się wygenerować raportu: "
-                                + ex.getMessage());
-            }
+            }, message -> showNotification("Błąd",
+                    "Nie udało się wygenerować raportu: " + message));
         });
 
         cancelBtn.setOnAction(e -> dialog.close());
@@ -698,9 +734,13 @@ public class CashierPanelController {
 
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            reportRepository.removeReport(report.getId());
-            refreshReportTable(tableView);
-            showNotification("Sukces", "Raport został usunięty.");
+            AsyncRepository.of(reportRepository).runOnFx(
+                    repo -> repo.removeReport(report.getId()), () -> {
+                        refreshReportTable(tableView);
+                        showNotification("Sukces",
+                                "Raport został usunięty.");
+                    }, error -> showNotification("Błąd",
+                            "Nie udało się usunąć raportu."));
         }
     }
 
@@ -746,10 +786,27 @@ public class CashierPanelController {
         dialog.showAndWait();
     }
 
+    /**
+     * Tworzy tabelę produktów z wyszukiwaniem w tle.
+     * Wpisywany tekst i wybrana kategoria są wyszukiwane z opóźnieniem
+     * {@link #SEARCH_DEBOUNCE_MS} ms, w wątku w tle; pobierana jest
+     * tylko widoczna strona wyników wraz ze stanami magazynowymi
+     * jej produktów. Gdy indeks produktów w pamięci jest gotowy,
+     * tekst dopasowywany jest w dowolnym miejscu nazwy lub kategorii,
+     * w przeciwnym razie baza wyszukuje po prefiksie nazwy.
+     *
+     * @param searchField pole tekstowe wyszukiwania
+     * @param pagerBox    kontener, do którego dodawane są filtr
+     *                    kategorii i przyciski stronicowania
+     * @return tabela produktów
+     */
     private TableView<Product> createProductTableWithSearch(
-            TextField searchField) {
+            TextField searchField, HBox pagerBox) {
         TableView<Product> table = new TableView<>();
         table.setMinHeight(300);
+        table.setPlaceholder(new Label("Brak produktów"));
+
+        Map<Integer, Integer> stockByProduct = new HashMap<>();
 
         TableColumn<Product, Integer> idCol = new TableColumn<>("ID");
         idCol.setCellValueFactory(new PropertyValueFactory<>("id"));
@@ -768,56 +825,124 @@ public class CashierPanelController {
         priceCol.setCellValueFactory(new PropertyValueFactory<>("price"));
         priceCol.setStyle("-fx-alignment: CENTER-RIGHT;");
 
-        // Kolumna „Stan” – wartości wyrównujemy do prawej:
+        // Kolumna „Stan” – ilości pobrane razem ze stroną wyników:
         TableColumn<Product, Integer> stockCol = new TableColumn<>("Stan");
-        stockCol.setCellValueFactory(cd -> {
-            Product p = cd.getValue();
-            int qty = getAvailableQuantity(p);
-            return new SimpleIntegerProperty(qty).asObject();
-        });
+        stockCol.setCellValueFactory(cd -> new SimpleIntegerProperty(
+                stockByProduct.getOrDefault(cd.getValue().getId(), 0))
+                .asObject());
         stockCol.setStyle("-fx-alignment: CENTER-RIGHT;");
 
         table.getColumns().addAll(idCol, nameCol, categoryCol, priceCol,
                 stockCol);
 
-        ProductRepository productRepo = new ProductRepository();
-        ObservableList<Product> productList =
-                FXCollections.observableArrayList(productRepo.getAllProducts());
-        productRepo.close();
-        table.setItems(productList);
-
-        searchField.textProperty().addListener((
-                obs, oldVal,
-                newVal) -> {
-            ObservableList<Product> filtered
-                    = FXCollections.observableArrayList();
-            for (Product p : productList) {
-                if (newVal == null || newVal.isEmpty()
-                        || p.getName().toLowerCase().contains(newVal
-                        .toLowerCase())
-                        || p.getCategory().toLowerCase().contains(newVal
-                        .toLowerCase())) {
-                    filtered.add(p);
-                }
-            }
-            table.setItems(filtered);
-            table.refresh();
+        // Sortowanie odbywa się w bazie, więc wyłączamy je w tabeli
+        table.getColumns().forEach(c -> c.setSortable(false));
+
+        ComboBox<String> categoryBox = new ComboBox<>();
+        categoryBox.getItems().add(ALL_CATEGORIES);
+        categoryBox.setValue(ALL_CATEGORIES);
+        Button prevButton = new Button("<");
+        Button nextButton = new Button(">");
+        Label pageLabel = new Label("Strona 1");
+        pagerBox.getChildren().addAll(new Label("Kategoria:"), categoryBox,
+                prevButton, pageLabel, nextButton);
+        pagerBox.setAlignment(Pos.CENTER_LEFT);
+
+        // cursors.get(i) – ostatni produkt strony i-1 (null dla strony 0)
+        List<Product> cursors = new ArrayList<>();
+        cursors.add(null);
+        int[] pageIndex = {0};
+        long[] requestSeq = {0};
+
+        Consumer<Integer> loadPage = page -> {
+            String name = searchField.getText();
+            String category = ALL_CATEGORIES.equals(categoryBox.getValue())
+                    ? null : categoryBox.getValue();
+            Product after = cursors.get(page);
+            long seq = ++requestSeq[0];
+
+            AsyncRepository.deliverOnFx(DatabaseExecutor.submit(
+                    DatabaseExecutor.Resource.DATABASE, () -> {
+                        ProductSearchIndex index = ProductSearchIndex.shared();
+                        ProductPage result = index.isReady()
+                                ? index.searchPage(name, category, after,
+                                        SEARCH_PAGE_SIZE)
+                                : new ProductRepository().searchProducts(name,
+                                        category, ProductSort.NAME, true,
+                                        after, SEARCH_PAGE_SIZE);
+                        List<Integer> ids = result.items().stream()
+                                .map(Product::getId).toList();
+                        return new PageWithStock(result,
+                                new WarehouseRepository()
+                                        .findQuantitiesByProductIds(ids));
+                    }), loaded -> {
+                        // Odpowiedź na nieaktualne zapytanie jest pomijana
+                        if (seq != requestSeq[0]) {
+                            return;
+                        }
+                        ProductPage result = loaded.page();
+                        pageIndex[0] = page;
+                        while (cursors.size() > page + 1) {
+                            cursors.remove(cursors.size() - 1);
+                        }
+                        if (result.hasNext()) {
+                            cursors.add(result.last());
+                        }
+                        stockByProduct.clear();
+                        stockByProduct.putAll(loaded.stock());
+                        table.setItems(FXCollections.observableArrayList(
+                                result.items()));
+                        pageLabel.setText("Strona " + (page + 1));
+                        prevButton.setDisable(page == 0);
+                        nextButton.setDisable(!result.hasNext());
+                    }, null);
+        };
+
+        PauseTransition debounce = new PauseTransition(
+                Duration.millis(SEARCH_DEBOUNCE_MS));
+        debounce.setOnFinished(e -> {
+            cursors.subList(1, cursors.size()).clear();
+            loadPage.accept(0);
         });
+        searchField.textProperty().addListener(
+                (obs, oldVal, newVal) -> debounce.playFromStart());
+        categoryBox.setOnAction(e -> debounce.playFromStart());
+        prevButton.setOnAction(e -> loadPage.accept(pageIndex[0] - 1));
+        nextButton.setOnAction(e -> loadPage.accept(pageIndex[0] + 1));
+        prevButton.setDisable(true);
+        nextButton.setDisable(true);
+
+        AsyncRepository.of(new ProductRepository()).callOnFx(
+                ProductRepository::getCategories,
+                categories -> categoryBox.getItems()
+                        .addAll(categories.stream().sorted().toList()),
+                null);
+
+        ProductSearchIndex index = ProductSearchIndex.shared();
+        if (index.isReady() && System.currentTimeMillis()
+                - index.getBuiltAtMillis() > SEARCH_INDEX_MAX_AGE_MS) {
+            AsyncRepository.of(new ProductRepository())
+                    .run(ProductRepository::rebuildSearchIndex);
+        }
 
+        loadPage.accept(0);
         return table;
     }
 
-    private int getAvailableQuantity(Product product) {
-        WarehouseRepository warehouseRepo = new WarehouseRepository();
-        int qty = 0;
-        try {
-            Warehouse state = warehouseRepo.findStateByProductId(
-                    product.getId());
-            if (state != null) qty = state.getQuantity();
-        } finally {
-            warehouseRepo.close();
-        }
-        return qty;
+    /**
+     * Pobiera w tle stan magazynowy produktu i przekazuje go
+     * do wątku JavaFX.
+     *
+     * @param product produkt
+     * @param action  obsługa dostępnej ilości (wątek JavaFX)
+     */
+    private void withAvailableQuantity(Product product,
+                                       Consumer<Integer> action) {
+        AsyncRepository.of(new WarehouseRepository()).callOnFx(repo -> {
+            Warehouse state = repo.findStateByProductId(product.getId());
+            return state == null ? 0 : state.getQuantity();
+        }, action, error -> showNotification("Błąd",
+                "Nie udało się sprawdzić stanu magazynowego."));
     }
 
     private TableView<TransactionItem> createCartTable() {
@@ -838,15 +963,16 @@ public class CashierPanelController {
         quantityCol.setOnEditCommit(ev -> {
             TransactionItem item = ev.getRowValue();
             int newVal = ev.getNewValue();
-            int maxQty = getAvailableQuantity(item.getProduct());
-            if (newVal > 0 && newVal <= maxQty) {
-                item.setQuantity(newVal);
-                updateTotalPrice(table.getItems(), null);
-            } else {
+            withAvailableQuantity(item.getProduct(), maxQty -> {
+                if (newVal > 0 && newVal <= maxQty) {
+                    item.setQuantity(newVal);
+                    updateTotalPrice(table.getItems(), null);
+                } else {
+                    showNotification("Błąd", "Nieprawidłowa ilość. " +
+                            "Maksymalna: " + maxQty);
+                }
                 table.refresh();
-                showNotification("Błąd", "Nieprawidłowa ilość. " +
-                        "Maksymalna: " + maxQty);
-            }
+            });
         });
 
         TableColumn<TransactionItem, Double> priceCol = new TableColumn<>(
@@ -889,54 +1015,75 @@ public class CashierPanelController {
 
     private void updateTotalPrice(ObservableList<TransactionItem> items,
                                   Label totalLabel) {
-        double total = 0;
-        for (TransactionItem ti : items) total += ti.getTotal();
+        double total = TransactionItem.total(items);
         if (totalLabel != null) totalLabel.setText(String.format("%.2f zł",
                 total));
     }
 
+    /**
+     * Zapisuje sprzedaż w tle. Na czas zapisu okno transakcji jest
+     * zablokowane, a wynik pokazywany w wątku JavaFX.
+     */
     private void saveTransaction(ObservableList<TransactionItem> items,
                                  Stage dialog) {
-        try {
-            Employee current = userRepository.getCurrentEmployee();
-            if (current == null) {
-                showNotification("Błąd", "Nie jesteś zalogowany.");
-                return;
-            }
-
-            Transaction tx = new Transaction();
-            tx.setEmployee(current);
-            tx.setDate(new Date());
-            transactionRepository.addTransaction(tx);
-            int txId = tx.getId();
-
-            WarehouseRepository whRepo = new WarehouseRepository();
-            for (TransactionItem item : items) {
-                int pid = item.getProduct().getId();
-                int qty = item.getQuantity();
-                int avail = whRepo.findStateByProductId(pid).getQuantity();
-                whRepo.setProductQuantity(pid, avail - qty);
-
-                TransactionProduct tp = new TransactionProduct();
-                tp.setTransaction(transactionRepository
-                        .findTransactionById(txId));
-                tp.setProduct(item.getProduct());
-                tp.setQuantity(qty);
-
-                TransactionProductRepository tpRepo
-                        = new TransactionProductRepository();
-                tpRepo.addTransactionProduct(tp);
-            }
-
-            showNotification("Sukces", "Transakcja zapisana " +
-                    "pomyślnie.");
-            dialog.close();
+        List<TransactionItem> basket = new ArrayList<>(items);
+        StonkaEvents.Checkout event = new StonkaEvents.Checkout();
+        event.begin();
+        event.lines = basket.size();
+        dialog.getScene().getRoot().setDisable(true);
+
+        AsyncRepository.deliverOnFx(DatabaseExecutor.submit(
+                DatabaseExecutor.Resource.DATABASE, () -> {
+                    Employee current = userRepository.getCurrentEmployee();
+                    if (current == null) {
+                        return null;
+                    }
+                    event.employeeId = current.getId();
+                    return checkoutService.checkout(current, basket);
+                }), result -> {
+                    dialog.getScene().getRoot().setDisable(false);
+                    commitCheckoutEvent(event, basket, result);
+                    if (result == null) {
+                        showNotification("Błąd", "Nie jesteś zalogowany.");
+                    } else if (result.success()) {
+                        showNotification("Sukces", result.message());
+                        dialog.close();
+                    } else if (!result.rejectedProductIds().isEmpty()) {
+                        String names = basket.stream()
+                                .map(TransactionItem::getProduct)
+                                .filter(p -> result.rejectedProductIds()
+                                        .contains(p.getId()))
+                                .map(Product::getName)
+                                .distinct()
+                                .collect(Collectors.joining(", "));
+                        showNotification("Brak towaru", result.message()
+                                + "\nPopraw ilości: " + names);
+                    } else {
+                        showNotification("Błąd", result.message());
+                    }
+                }, error -> {
+                    dialog.getScene().getRoot().setDisable(false);
+                    commitCheckoutEvent(event, basket, null);
+                    showNotification("Błąd", "Wystąpił błąd podczas " +
+                            "zapisu: " + error.getMessage());
+                });
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            showNotification("Błąd", "Wystąpił błąd podczas " +
-                    "zapisu: " + e.getMessage());
+    private static void commitCheckoutEvent(
+            StonkaEvents.Checkout event,
+            List<TransactionItem> basket,
+            CheckoutService.CheckoutResult result) {
+        if (!event.shouldCommit()) {
+            return;
+        }
+        if (result != null) {
+            event.success = result.success();
+            event.transactionId = result.transactionId();
+            event.rejectedProducts = result.rejectedProductIds().size();
         }
+        event.quantity = basket.stream()
+                .mapToInt(TransactionItem::getQuantity).sum();
+        event.commit();
     }
 
     /**
@@ -1041,6 +1188,26 @@ public class CashierPanelController {
 
         log.info("Otwarto panel zamknięcia zmiany. Flaga raportu: {}",
                 reportGeneratedInCurrentSession);
+
+        Label summary = new Label("Wczytywanie podsumowania zmiany…");
+        summary.setStyle("-fx-font-weight: bold;");
+        layout.getChildren().add(summary);
+        AsyncRepository.deliverOnFx(DatabaseExecutor.submit(
+                DatabaseExecutor.Resource.DATABASE, () -> {
+                    Employee cashier = userRepository.getCurrentEmployee();
+                    return cashier == null ? null : dailySalesRepository
+                            .getEmployeeTotals(cashier.getId(),
+                                    LocalDate.now());
+                }), totals -> {
+                    if (totals == null) {
+                        layout.getChildren().remove(summary);
+                        return;
+                    }
+                    summary.setText(String.format(
+                            "Sprzedaż w tej zmianie: %d szt., %.2f zł",
+                            totals.quantity(), totals.revenue()));
+                }, error -> summary.setText(
+                        "Nie udało się wczytać podsumowania zmiany."));
         if (!reportGeneratedInCurrentSession) {
             Label warning = new Label("Uwaga: Nie wygenerowano jeszcze " +
                     "raportu dziennego!");
@@ -1133,9 +1300,22 @@ public class CashierPanelController {
     }
 
     /**
-     * Formularz wniosku o nieobecność.
+     * Formularz wniosku o nieobecność. Dane zalogowanego pracownika
+     * wczytywane są w tle, a formularz otwierany po ich pobraniu.
      */
     public void showAbsenceRequestForm() {
+        AsyncRepository.of(userRepository).callOnFx(
+                UserRepository::getCurrentEmployee, current -> {
+                    if (current == null) {
+                        showNotification("Błąd", "Nie jesteś zalogowany.");
+                        return;
+                    }
+                    showAbsenceRequestForm(current);
+                }, error -> showNotification("Błąd",
+                        "Nie udało się wczytać danych pracownika."));
+    }
+
+    private void showAbsenceRequestForm(Employee current) {
         Stage stage = new Stage();
         stage.setTitle("Wniosek o nieobecność");
         GridPane grid = new GridPane();
@@ -1143,14 +1323,6 @@ public class CashierPanelController {
         grid.setVgap(10);
         grid.setHgap(10);
 
-        UserRepository ur = new UserRepository();
-        Employee current = ur.getCurrentEmployee();
-        if (current == null) {
-            showNotification("Błąd", "Nie jesteś zalogowany.");
-            ur.close();
-            return;
-        }
-
         Label info = new Label(String.format("Pracownik: %s %s (ID: %d)",
                 current.getName(), current.getSurname(), current.getId()));
         info.setStyle("-fx-font-weight: bold;");
@@ -1177,37 +1349,33 @@ public class CashierPanelController {
             if (validateAbsenceForm(reasonField.getText(),
                     fromDatePicker.getValue(),
                     toDatePicker.getValue())) {
-                try {
-                    AbsenceRequest request = new AbsenceRequest();
-
-                    request.setEmployee(current);
-                    request.setRequestType(typeCombo.getValue());
-                    request.setDescription(reasonField.getText());
-
-                    Date startDate = java.sql.Date.valueOf(
-                            fromDatePicker.getValue());
-                    Date endDate = java.sql.Date.valueOf(
-                            toDatePicker.getValue());
-                    request.setStartDate(startDate);
-                    request.setEndDate(endDate);
-
-                    AbsenceRequestRepository repository
-                            = new AbsenceRequestRepository();
-                    repository.addRequest(request);
-
-                    log.info("Wysłano wniosek o nieobecność: {}",
-                            typeCombo.getValue());
-
-                    showNotification("Sukces", "Wniosek " +
-                            "został wysłany.");
-                    stage.close();
-                } catch (Exception ex) {
-                    log.error("Błąd podczas wysyłania wniosku " +
-                            "o nieobecność", ex);
-                    showNotification("Błąd",
-                            "Wystąpił problem podczas wysyłania " +
-                                    "wniosku. Spróbuj ponownie.");
-                }
+                AbsenceRequest request = new AbsenceRequest();
+
+                request.setEmployee(current);
+                request.setRequestType(typeCombo.getValue());
+                request.setDescription(reasonField.getText());
+
+                Date startDate = java.sql.Date.valueOf(
+                        fromDatePicker.getValue());
+                Date endDate = java.sql.Date.valueOf(
+                        toDatePicker.getValue());
+                request.setStartDate(startDate);
+                request.setEndDate(endDate);
+
+                submit.setDisable(true);
+                AsyncRepository.of(new AbsenceRequestRepository()).runOnFx(
+                        repo -> repo.addRequest(request), () -> {
+                            log.info("Wysłano wniosek o nieobecność: {}",
+                                    typeCombo.getValue());
+                            showNotification("Sukces", "Wniosek " +
+                                    "został wysłany.");
+                            stage.close();
+                        }, ex -> {
+                            submit.setDisable(false);
+                            showNotification("Błąd",
+                                    "Wystąpił problem podczas wysyłania " +
+                                            "wniosku. Spróbuj ponownie.");
+                        });
             }
         });
 
@@ -1224,7 +1392,6 @@ public class CashierPanelController {
 
         Scene scene = new Scene(grid, 400, 350);
         stage.setScene(scene);
-        stage.setOnHidden(evt -> ur.close());
         stage.show();
     }
 
@@ -1302,42 +1469,31 @@ public class CashierPanelController {
     }
 
     /**
-     * Generuje plik PDF z raportem sprzedaży.
+     * Generuje plik PDF z raportem sprzedaży. Jeśli dane okresu nie
+     * zmieniły się od poprzedniego wygenerowania, plik pochodzi
+     * z {@link ReportCache}.
      */
-    private String generateSalesReport(PeriodType periodType,
+    private String generateSalesReport(ReportJobQueue.Job<?> job,
+                                       PeriodType periodType,
                                        LocalDate startDate,
                                        LocalDate endDate,
                                        List<String> categories)
             throws Exception {
 
-        List<SalesReportGenerator.SalesRecord> salesData =
-                getSalesDataForReport(startDate, endDate);
-        if (salesData.isEmpty()) {
-            throw new SalesReportGenerator.NoDataException("Brak danych " +
-                    "transakcji");
-        }
-
         String logoPath = ConfigManager.getLogoPath();
         if (logoPath == null || logoPath.isBlank()) {
-            // Jeżeli nie ustawiono żadnej ścieżki, pokaż komunikat i przerwij
-            showNotification("Błąd",
-                    "Brak skonfigurowanego logo. Ustaw logo " +
-                            "w panelu administratora.");
-            throw new IllegalStateException("Brak logo w konfiguracji");
+            // Jeżeli nie ustawiono żadnej ścieżki, przerwij – komunikat
+            // pokaże okno postępu zadania
+            throw new IllegalStateException("Brak skonfigurowanego logo. " +
+                    "Ustaw logo w panelu administratora.");
         }
         File logoFile = new File(logoPath);
         if (!logoFile.exists() || !logoFile.isFile()) {
             // Ścieżka jest pusta lub plik nie istnieje
-            showNotification("Błąd", "Plik logo nie istnieje: "
-                    + logoPath);
-            throw new IllegalStateException("Plik logo nie został odnaleziony: "
+            throw new IllegalStateException("Plik logo nie istnieje: "
                     + logoPath);
         }
 
-        SalesReportGenerator gen = new SalesReportGenerator();
-        gen.setSalesData(salesData);
-        gen.setLogoPath(logoPath);
-
         // Pobierz ścieżkę z konfiguracji
         String outputDir = ConfigManager.getReportPath();
         if (outputDir == null || outputDir.trim().isEmpty()) {
@@ -1363,38 +1519,75 @@ public class CashierPanelController {
                 endDate.format(DateTimeFormatter.BASIC_ISO_DATE));
         String outputPath = outputDir + File.separator + fileName;
 
-        pdf.SalesReportGenerator.PeriodType pdfType = toPdfPeriodType(
-                periodType);
-        gen.generateReport(outputPath, pdfType, categories ==
-                null ? List.of() : categories);
+        // Niezmieniony okres (ta sama wersja danych) jest kopiowany
+        // z pamięci podręcznej raportów bez ponownego renderowania
+        job.update(0.1, "Sprawdzanie wersji danych");
+        Date d1 = Date.from(startDate.atStartOfDay(ZoneId.systemDefault())
+                .toInstant());
+        Date d2 = Date.from(endDate.atTime(23,59,59).atZone(
+                ZoneId.systemDefault()).toInstant());
+        String dataVersion = transactionRepository.getSalesDataVersion(d1,
+                d2, categories);
+        boolean cached = ReportCache.getOrRender("Raport sprzedaży",
+                List.of(periodType, startDate, endDate, categories,
+                        logoPath),
+                dataVersion, Path.of(outputPath), target -> {
+                    job.update(0.2, "Pobieranie danych sprzedaży");
+                    List<SalesReportGenerator.SalesRecord> salesData =
+                            getSalesDataForReport(startDate, endDate,
+                                    categories);
+                    if (salesData.isEmpty()) {
+                        throw new SalesReportGenerator.NoDataException(
+                                "Brak danych transakcji");
+                    }
+
+                    SalesReportGenerator gen = new SalesReportGenerator();
+                    gen.setSalesData(salesData);
+                    gen.setLogoPath(logoPath);
+
+                    job.update(0.5, "Generowanie PDF (" + salesData.size()
+                            + " pozycji)");
+                    pdf.SalesReportGenerator.PeriodType pdfType =
+                            toPdfPeriodType(periodType);
+                    StonkaEvents.ReportGeneration event =
+                            new StonkaEvents.ReportGeneration();
+                    event.begin();
+                    try {
+                        gen.generateReport(target.toString(), pdfType,
+                                categories == null ? List.of() : categories);
+                        event.success = true;
+                    } finally {
+                        event.report = "SalesReportGenerator";
+                        event.records = salesData.size();
+                        event.file = target.toString();
+                        event.commit();
+                    }
+                });
+        if (cached) {
+            log.info("Raport sprzedaży {} – {} z pamięci podręcznej",
+                    startDate, endDate);
+        }
 
         return new File(outputPath).getAbsolutePath();
     }
 
+    /**
+     * Pobiera dane raportu sprzedaży – pojedyncze pozycje transakcji
+     * dla każdego okresu. Generator PDF liczy „Liczbę transakcji” jako
+     * liczbę różnych identyfikatorów transakcji i liczbę rekordów
+     * w kategorii, więc rekordy muszą odpowiadać rzeczywistym pozycjom;
+     * zsumowane podsumowania dzienne zaniżałyby te liczby.
+     */
     private List<SalesReportGenerator.SalesRecord> getSalesDataForReport(
             LocalDate startDate,
-            LocalDate endDate) {
+            LocalDate endDate,
+            List<String> categories) {
         Date d1 = Date.from(startDate.atStartOfDay(ZoneId.systemDefault())
                 .toInstant());
         Date d2 = Date.from(endDate.atTime(23,59,59).atZone(
                 ZoneId.systemDefault()).toInstant());
 
-        List<Transaction> txs =
-                transactionRepository.getTransactionsBetweenDates(d1, d2);
-        List<SalesReportGenerator.SalesRecord> out = new ArrayList<>();
-        for (Transaction tx : txs) {
-            LocalDateTime txTime = LocalDateTime.ofInstant(
-                    Instant.ofEpochMilli(tx.getDate().getTime()),
-                    ZoneId.systemDefault());
-            for (TransactionProduct tp : tx.getTransactionProducts()) {
-                Product p = tp.getProduct();
-                int qty = tp.getQuantity();
-                out.add(new SalesReportGenerator.SalesRecord(
-                        tx.getId(), txTime, p.getName(), p.getCategory(),
-                        qty, qty * p.getPrice().doubleValue()));
-            }
-        }
-        return out;
+        return transactionRepository.getSalesRecords(d1, d2, categories);
     }
 
     private pdf.SalesReportGenerator.PeriodType toPdfPeriodType(
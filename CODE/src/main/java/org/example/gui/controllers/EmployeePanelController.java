@@ -17,6 +17,8 @@ import javafx.scene.image.Image;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import org.example.database.AsyncRepository;
+import org.example.database.DatabaseExecutor;
 import org.example.database.repositories.EmpTaskRepository;
 import org.example.database.repositories.TaskEmployeeRepository;
 import org.example.database.repositories.UserRepository;
@@ -41,6 +43,10 @@ public class EmployeePanelController {
 
     private final EmployeePanel employeePanel;
     private final Stage primaryStage;
+    private final UserRepository userRepository = new UserRepository();
+    private final TaskEmployeeRepository taskEmployeeRepository =
+            new TaskEmployeeRepository();
+    private final EmpTaskRepository taskRepository = new EmpTaskRepository();
 
     public EmployeePanelController(EmployeePanel employeePanel) {
         this.employeePanel = employeePanel;
@@ -61,7 +67,7 @@ public class EmployeePanelController {
 
         TableView<EmpTask> taskTable = new TableView<>();
         taskTable.setMinHeight(200);
-        taskTable.setPlaceholder(new Label("Brak przypisanych zadań."));
+        taskTable.setPlaceholder(new Label("Wczytywanie…"));
 
         TableColumn<EmpTask, String> nameCol = new TableColumn<>("Zadanie");
         nameCol.setCellValueFactory(new PropertyValueFactory<>("name"));
@@ -78,23 +84,16 @@ public class EmployeePanelController {
 
         taskTable.getColumns().addAll(nameCol, statusCol, dateCol);
 
-        // załaduj zadania przypisane bieżącemu pracownikowi
-        Employee current = new UserRepository().getCurrentEmployee();
-        if (current != null) {
-            int empId = current.getId();
-            TaskEmployeeRepository teRepo = new TaskEmployeeRepository();
-            EmpTaskRepository taskRepo = new EmpTaskRepository();
-
-            List<EmpTask> tasks = teRepo.findByEmployee(empId).stream()
-                    .map(te -> taskRepo.findTaskById(te.getId().
-                            getTaskId()))
-                    .filter(Objects::nonNull)
-                    .filter(t -> !"Zakończone".equalsIgnoreCase(
-                            t.getStatus()))
-                    .collect(Collectors.toList());
-
-            taskTable.setItems(FXCollections.observableArrayList(tasks));
-        }
+        // załaduj w tle zadania przypisane bieżącemu pracownikowi
+        AsyncRepository.deliverOnFx(DatabaseExecutor.submit(
+                DatabaseExecutor.Resource.DATABASE, this::loadOpenTasks),
+                tasks -> {
+                    taskTable.setPlaceholder(
+                            new Label("Brak przypisanych zadań."));
+                    taskTable.setItems(
+                            FXCollections.observableArrayList(tasks));
+                }, ex -> taskTable.setPlaceholder(
+                        new Label("Nie udało się wczytać zadań.")));
 
         Button updateStatusButton = new Button("Zaktualizuj status");
         updateStatusButton.setStyle(
@@ -131,21 +130,32 @@ public class EmployeePanelController {
                 }
             }
             selected.setStatus(nextStatus);
-            new EmpTaskRepository().updateTask(selected);
-            if ("Zakończone".equalsIgnoreCase(nextStatus)) {
-                // Po przejściu na 'Zakończone' usuwamy zadanie z tabeli
-                taskTable.getItems().remove(selected);
-            } else {
-                taskTable.refresh();
-            }
-            Alert info = new Alert(Alert.AlertType.INFORMATION,
-                    "Status zaktualizowano na: " + nextStatus,
-                    ButtonType.OK);
-            info.setTitle("Zaktualizowane");
-            info.getDialogPane().setMinWidth(400);
-            info.getDialogPane().setMinHeight(200);
-            info.setHeaderText(null);
-            info.showAndWait();
+            updateStatusButton.setDisable(true);
+            AsyncRepository.of(taskRepository).runOnFx(
+                    repo -> repo.updateTask(selected), () -> {
+                        updateStatusButton.setDisable(false);
+                        if ("Zakończone".equalsIgnoreCase(nextStatus)) {
+                            // Po przejściu na 'Zakończone' usuwamy
+                            // zadanie z tabeli
+                            taskTable.getItems().remove(selected);
+                        } else {
+                            taskTable.refresh();
+                        }
+                        Alert info = new Alert(Alert.AlertType.INFORMATION,
+                                "Status zaktualizowano na: " + nextStatus,
+                                ButtonType.OK);
+                        info.setTitle("Zaktualizowane");
+                        info.getDialogPane().setMinWidth(400);
+                        info.getDialogPane().setMinHeight(200);
+                        info.setHeaderText(null);
+                        info.showAndWait();
+                    }, ex -> {
+                        updateStatusButton.setDisable(false);
+                        selected.setStatus(currentStatus);
+                        taskTable.refresh();
+                        showError("Nie udało się zaktualizować statusu: "
+                                + ex.getMessage());
+                    });
         });
 
         Button reportProblemButton = new Button("Zgłoś problem");
@@ -186,6 +196,42 @@ public class EmployeePanelController {
         employeePanel.setCenterPane(layout);
     }
 
+    /**
+     * Pobiera niezakończone zadania zalogowanego pracownika.
+     * Wywoływana w tle przez {@link DatabaseExecutor}.
+     *
+     * @return lista zadań (pusta, gdy nikt nie jest zalogowany)
+     */
+    private List<EmpTask> loadOpenTasks() {
+        Employee current = userRepository.getCurrentEmployee();
+        if (current == null) {
+            return List.of();
+        }
+        return taskEmployeeRepository.findByEmployee(current.getId())
+                .stream()
+                .map(te -> taskRepository.findTaskById(te.getId().
+                        getTaskId()))
+                .filter(Objects::nonNull)
+                .filter(t -> !"Zakończone".equalsIgnoreCase(
+                        t.getStatus()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Wyświetla komunikat o błędzie operacji na bazie danych.
+     *
+     * @param message treść komunikatu
+     */
+    private void showError(String message) {
+        Alert alert = new Alert(Alert.AlertType.ERROR, message,
+                ButtonType.OK);
+        alert.setTitle("Błąd");
+        alert.setHeaderText(null);
+        alert.getDialogPane().setMinWidth(400);
+        alert.getDialogPane().setMinHeight(200);
+        alert.showAndWait();
+    }
+
     /**
      * Wyświetla okno do zgłoszenia problemu przez pracownika.
      */
@@ -235,26 +281,37 @@ public class EmployeePanelController {
                 alert.getDialogPane().setMinHeight(200);
                 alert.showAndWait();
             } else {
-                Employee current = new UserRepository().getCurrentEmployee();
-                if (current != null) {
-                    TechnicalIssue issue = new TechnicalIssue(
-                            category,
-                            desc,
-                            LocalDate.now(),
-                            current,
-                            "Nowe"
-                    );
-                    new TechnicalIssueRepository().addIssue(issue);
-                }
-                Alert alert = new Alert(Alert.AlertType.INFORMATION,
-                        "Dziękujemy za przesłanie zgłoszenia.",
-                        ButtonType.OK);
-                alert.setTitle("Zgłoszono");
-                alert.getDialogPane().setMinWidth(400);
-                alert.getDialogPane().setMinHeight(200);
-                alert.setHeaderText("Zgłoszenie zostało przyjęte");
-                alert.showAndWait();
-                issueStage.close();
+                submitButton.setDisable(true);
+                AsyncRepository.deliverOnFx(DatabaseExecutor.submit(
+                        DatabaseExecutor.Resource.DATABASE, () -> {
+                            Employee current =
+                                    userRepository.getCurrentEmployee();
+                            if (current != null) {
+                                new TechnicalIssueRepository().addIssue(
+                                        new TechnicalIssue(
+                                                category,
+                                                desc,
+                                                LocalDate.now(),
+                                                current,
+                                                "Nowe"
+                                        ));
+                            }
+                            return null;
+                        }), v -> {
+                    Alert alert = new Alert(Alert.AlertType.INFORMATION,
+                            "Dziękujemy za przesłanie zgłoszenia.",
+                            ButtonType.OK);
+                    alert.setTitle("Zgłoszono");
+                    alert.getDialogPane().setMinWidth(400);
+                    alert.getDialogPane().setMinHeight(200);
+                    alert.setHeaderText("Zgłoszenie zostało przyjęte");
+                    alert.showAndWait();
+                    issueStage.close();
+                }, ex -> {
+                    submitButton.setDisable(false);
+                    showError("Nie udało się wysłać zgłoszenia: "
+                            + ex.getMessage());
+                });
             }
         });
 
@@ -29,11 +29,16 @@ import javafx.stage.Stage;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import org.example.database.AsyncRepository;
+import org.example.database.ReportJobQueue;
+import org.example.database.UnitOfWork;
 import org.example.database.repositories.*;
 import org.example.gui.HelloApplication;
+import org.example.gui.elements.ReportJobDialog;
 import org.example.gui.panels.LogisticianPanel;
 import org.example.pdflib.ConfigManager;
 import org.example.sys.*;
+import org.example.utils.StonkaEvents;
 
 import pdf.WarehouseRaport;
 
@@ -63,6 +68,15 @@ public class LogisticianPanelController {
             new WarehouseRepository();
     private boolean reportGeneratedInCurrentSession;
 
+    private static final int STOCK_PAGE_SIZE = 100;
+
+    /**
+     * Stan stronicowanej tabeli stanów magazynowych: filtr,
+     * sortowanie i kursory stron. Tworzony przy otwarciu widoku
+     * zarządzania magazynem.
+     */
+    private StockTableState stockState;
+
     /**
      * Konstruktor przypisujący panel logistyka.
      *
@@ -107,7 +121,29 @@ public class LogisticianPanelController {
         qtyCol.setCellValueFactory(new PropertyValueFactory<>("quantity"));
 
         table.getColumns().addAll(idCol, nameCol, qtyCol);
-        refreshStockTable(table);
+        // Sortowanie odbywa się w bazie, więc wyłączamy je w tabeli
+        table.getColumns().forEach(c -> c.setSortable(false));
+
+        stockState = new StockTableState(table);
+
+        ComboBox<StockSort> sortBox = new ComboBox<>(
+                FXCollections.observableArrayList(StockSort.values()));
+        sortBox.setValue(stockState.sort);
+        CheckBox descendingBox = new CheckBox("Malejąco");
+        sortBox.setOnAction(e -> {
+            stockState.sort = sortBox.getValue();
+            stockState.reload();
+        });
+        descendingBox.setOnAction(e -> {
+            stockState.ascending = !descendingBox.isSelected();
+            stockState.reload();
+        });
+
+        HBox pagerBox = new HBox(10, new Label("Sortuj:"), sortBox,
+                descendingBox, stockState.prevButton, stockState.pageLabel,
+                stockState.nextButton);
+        pagerBox.setAlignment(Pos.CENTER_LEFT);
+        stockState.reload();
 
         Button filterBtn  = new Button("Filtruj");
         styleLogisticButton(filterBtn, "#2980B9");
@@ -134,38 +170,93 @@ public class LogisticianPanelController {
                 addProductBtn, editProductBtn);
         btnBox.setAlignment(Pos.CENTER_RIGHT);
 
-        layout.getChildren().addAll(title, table, btnBox);
+        layout.getChildren().addAll(title, pagerBox, table, btnBox);
         logisticianPanel.setCenterPane(layout);
     }
 
 
     /**
-     * Ładuje i wyświetla w tabeli aktualne
-     * stany magazynowe (id, nazwa, ilość).
+     * Ponownie ładuje bieżącą stronę tabeli stanów magazynowych
+     * (id, nazwa, ilość) z zachowaniem filtra i sortowania.
      *
      * @param table tabela do wypełnienia danymi
      */
     private void refreshStockTable(TableView<StockRow> table) {
-        try {
-            Map<Integer,Integer> qtyById
-                    = warehouseRepository.getAllStates()
-                    .stream()
-                    .collect(Collectors.toMap(Warehouse::getProductId,
-                            Warehouse::getQuantity));
-
-            List<StockRow> rows = productRepository.getAllProducts().stream()
-                    .filter(p -> qtyById.containsKey(p.getId()))
-                    .map(p -> new StockRow(
-                            p.getId(),
-                            p.getName(),
-                            qtyById.getOrDefault(p.getId(),0)))
-                    .toList();
-
-            table.setItems(FXCollections.observableArrayList(rows));
-        } catch (Exception ex) {
-            logger.error("Błąd ładowania stanów",ex);
-            showAlert(ERROR,"Błąd","Nie udało się pobrać " +
-                    "stanów magazynowych");
+        if (stockState != null && stockState.table == table) {
+            stockState.load(stockState.pageIndex);
+        }
+    }
+
+    /**
+     * Stronicowana tabela stanów. Każda strona to jedno zapytanie
+     * {@link WarehouseRepository#findStockPage} wykonywane w tle;
+     * w pamięci jest tylko bieżąca strona i kursory poprzednich stron.
+     */
+    private final class StockTableState {
+        final TableView<StockRow> table;
+        final Button prevButton = new Button("<");
+        final Button nextButton = new Button(">");
+        final Label pageLabel = new Label("Strona 1");
+
+        // cursors.get(i) – ostatni wiersz strony i-1 (null dla strony 0)
+        final List<StockRow> cursors = new ArrayList<>();
+        String namePrefix;
+        Integer minQuantity;
+        Integer maxQuantity;
+        StockSort sort = StockSort.NAME;
+        boolean ascending = true;
+        int pageIndex;
+        long requestSeq;
+
+        StockTableState(TableView<StockRow> table) {
+            this.table = table;
+            cursors.add(null);
+            prevButton.setOnAction(e -> load(pageIndex - 1));
+            nextButton.setOnAction(e -> load(pageIndex + 1));
+            prevButton.setDisable(true);
+            nextButton.setDisable(true);
+        }
+
+        /**
+         * Ładuje pierwszą stronę po zmianie filtra lub sortowania.
+         */
+        void reload() {
+            cursors.subList(1, cursors.size()).clear();
+            load(0);
+        }
+
+        void load(int page) {
+            String name = namePrefix;
+            Integer min = minQuantity;
+            Integer max = maxQuantity;
+            StockSort order = sort;
+            boolean asc = ascending;
+            StockRow after = cursors.get(page);
+            long seq = ++requestSeq;
+
+            AsyncRepository.of(warehouseRepository).callOnFx(
+                    repo -> repo.findStockPage(name, min, max, order, asc,
+                            after, STOCK_PAGE_SIZE),
+                    result -> {
+                        // Odpowiedź na nieaktualne zapytanie jest pomijana
+                        if (seq != requestSeq) {
+                            return;
+                        }
+                        pageIndex = page;
+                        while (cursors.size() > page + 1) {
+                            cursors.remove(cursors.size() - 1);
+                        }
+                        if (result.hasNext()) {
+                            cursors.add(result.last());
+                        }
+                        table.setItems(FXCollections.observableArrayList(
+                                result.items()));
+                        pageLabel.setText("Strona " + (page + 1));
+                        prevButton.setDisable(page == 0);
+                        nextButton.setDisable(!result.hasNext());
+                    },
+                    ex -> showAlert(ERROR, "Błąd", "Nie udało się pobrać "
+                            + "stanów magazynowych"));
         }
     }
 
@@ -398,11 +489,12 @@ public class LogisticianPanelController {
 
         Label categoriesLabel = new Label("Wybierz kategorie:");
         ListView<String> categoriesList = new ListView<>();
-        try {
-            categoriesList.getItems().addAll(productRepository.getCategories());
-        } catch (Exception ex) {
-            logger.error("Błąd pobierania kategorii", ex);
-        }
+        categoriesList.setPlaceholder(new Label("Wczytywanie kategorii…"));
+        AsyncRepository.of(productRepository).callOnFx(
+                ProductRepository::getCategories,
+                categoriesList.getItems()::setAll,
+                ex -> categoriesList.setPlaceholder(
+                        new Label("Nie udało się pobrać kategorii")));
         categoriesList.getSelectionModel().setSelectionMode(
                 SelectionMode.MULTIPLE);
 
@@ -469,7 +561,7 @@ public class LogisticianPanelController {
      * @param selectedCategories lista wybranych kategorii
      * @param lowStockThreshold próg niskiego stanu
      * @param stage dialog-rodzic, który zostanie zamknięty
-     *              po wygenerowaniu
+     *              po zgłoszeniu zadania
      */
     private void handleGenerateButton(List<String> selectedCategories,
                                       int lowStockThreshold,
@@ -489,82 +581,124 @@ public class LogisticianPanelController {
         File targetFile = new File(basePath, "warehouse-report-"
                 + timestamp + ".pdf");
 
-        try {
-            List<org.example.sys.Product> products
-                    = productRepository.getAllProducts();
-            Map<Integer, Integer> qtyById
-                    = warehouseRepository.getAllStates()
-                    .stream()
-                    .collect(Collectors.toMap(
-                            org.example.sys.Warehouse::getProductId,
-                            org.example.sys.Warehouse::getQuantity
-                    ));
-
-            List<org.example.sys.Product> filteredProducts = products.stream()
-                    .filter(p ->
-                            selectedCategories.isEmpty() ||
-                                    selectedCategories.contains(
-                                            p.getCategory()))
-                    .toList();
-
-            WarehouseRaport.
-                    ProductDataExtractor<org.example.sys.Product> extractor =
-                    new WarehouseRaport.ProductDataExtractor<>() {
-                        public String getName(org.example.sys.Product p)     {
-                            return p.getName(); }
-                        public String getCategory(org.example.sys.Product p) {
-                            return p.getCategory(); }
-                        public double getPrice(org.example.sys.Product p)    {
-                            return p.getPrice().doubleValue(); }
-                        public int getQuantity(org.example.sys.Product p)    {
-                            return qtyById.getOrDefault(p.getId(),
-                                    0); }
-                    };
-
-            String logoPath = ConfigManager.getLogoPath();
-            if (logoPath == null || logoPath.isBlank()) {
-                showAlert(Alert.AlertType.ERROR,
-                        "Brak logo",
-                        "W konfiguracji nie ustawiono ścieżki " +
-                                "do logo. Ustaw logo w" +
-                                " panelu administratora.");
-                return;
-            }
+        String logoPath = ConfigManager.getLogoPath();
+        if (logoPath == null || logoPath.isBlank()) {
+            showAlert(Alert.AlertType.ERROR,
+                    "Brak logo",
+                    "W konfiguracji nie ustawiono ścieżki " +
+                            "do logo. Ustaw logo w" +
+                            " panelu administratora.");
+            return;
+        }
 
-            File logoFile = new File(logoPath);
-            if (!logoFile.exists() || !logoFile.isFile()) {
-                showAlert(Alert.AlertType.ERROR,
-                        "Niepoprawny plik logo",
-                        "Nie odnaleziono pliku logo pod ścieżką: "
-                                + logoPath);
-                return;
-            }
+        File logoFile = new File(logoPath);
+        if (!logoFile.exists() || !logoFile.isFile()) {
+            showAlert(Alert.AlertType.ERROR,
+                    "Niepoprawny plik logo",
+                    "Nie odnaleziono pliku logo pod ścieżką: "
+                            + logoPath);
+            return;
+        }
+
+        // Pobranie danych i zapis PDF w tle – okno pozostaje responsywne.
+        // Ścieżka pliku nie należy do parametrów zadania, więc ponowne
+        // zgłoszenie tego samego raportu dołącza do trwającego zadania.
+        ReportJobQueue.Job<WarehouseReportResult> job = ReportJobQueue.submit(
+                "Raport magazynowy",
+                List.of(selectedCategories, lowStockThreshold),
+                j -> generateWarehouseReport(j, targetFile, logoPath,
+                        selectedCategories, lowStockThreshold));
+        stage.close();
+
+        ReportJobDialog.show(job, result -> {
+            List<CategoryStock> stats = result.stats();
+            long products = stats.stream()
+                    .mapToLong(CategoryStock::productCount).sum();
+            BigDecimal value = stats.stream()
+                    .map(CategoryStock::totalValue)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            showAlert(Alert.AlertType.INFORMATION, "Sukces",
+                    "Raport zapisany: " + result.path()
+                            + "\nKategorii: " + stats.size()
+                            + ", produktów: " + products
+                            + ", wartość: " + value + " zł");
+            reportGeneratedInCurrentSession = true;
+            logger.info("Raport magazynowy wygenerowany: {}",
+                    result.path());
+            logger.info("Flag reportGeneratedInCurrentSession "
+                    + "ustawiona na true");
+        }, message -> showAlert(ERROR, "Błąd",
+                "Generowanie raportu nie powiodło się: " + message));
+    }
+
+    /**
+     * Wynik zadania raportu magazynowego.
+     *
+     * @param path  ścieżka zapisanego pliku
+     * @param stats podsumowania kategorii ujętych w raporcie
+     */
+    private record WarehouseReportResult(String path,
+                                         List<CategoryStock> stats) {
+    }
 
-            WarehouseRaport raport = new WarehouseRaport();
-            raport.setLogoPath(logoPath);
-            raport.setLowStockThreshold(lowStockThreshold);
+    /**
+     * Podsumowuje kategorie w bazie, pobiera jednym zapytaniem wiersze
+     * raportu dla wybranych kategorii i zapisuje raport magazynowy.
+     * Wywoływana poza wątkiem JavaFX jako zadanie {@link ReportJobQueue}.
+     *
+     * @return ścieżka pliku i podsumowania kategorii ujętych w raporcie
+     */
+    private WarehouseReportResult generateWarehouseReport(
+            ReportJobQueue.Job<?> job,
+            File targetFile,
+            String logoPath,
+            List<String> selectedCategories,
+            int lowStockThreshold) throws Exception {
+        job.update(0.1, "Podsumowanie kategorii");
+        List<CategoryStock> stats =
+                warehouseRepository.getCategoryStats(selectedCategories);
+        if (stats.isEmpty()) {
+            throw new IllegalStateException("Brak produktów w wybranych "
+                    + "kategoriach.");
+        }
+        job.update(0.3, "Pobieranie produktów");
+        List<WarehouseReportRow> rows =
+                warehouseRepository.getReportRows(selectedCategories);
+
+        WarehouseRaport.ProductDataExtractor<WarehouseReportRow> extractor =
+                new WarehouseRaport.ProductDataExtractor<>() {
+                    public String getName(WarehouseReportRow r) {
+                        return r.name(); }
+                    public String getCategory(WarehouseReportRow r) {
+                        return r.category(); }
+                    public double getPrice(WarehouseReportRow r) {
+                        return r.price(); }
+                    public int getQuantity(WarehouseReportRow r) {
+                        return r.quantity(); }
+                };
+
+        job.update(0.5, "Generowanie PDF (" + rows.size() + " pozycji)");
+        WarehouseRaport raport = new WarehouseRaport();
+        raport.setLogoPath(logoPath);
+        raport.setLowStockThreshold(lowStockThreshold);
+        StonkaEvents.ReportGeneration event =
+                new StonkaEvents.ReportGeneration();
+        event.begin();
+        try {
             raport.generateReport(
                     targetFile.getAbsolutePath(),
-                    filteredProducts,
+                    rows,
                     extractor,
                     selectedCategories
             );
-
-            showAlert(Alert.AlertType.INFORMATION, "Sukces",
-                    "Raport zapisany: " + targetFile.getAbsolutePath());
-            stage.close();
-            reportGeneratedInCurrentSession = true;
-            logger.info("Raport magazynowy wygenerowany: {}",
-                    targetFile.getAbsolutePath());
-            logger.info("Flag reportGeneratedInCurrentSession ustawiona " +
-                    "na true");
-
-        } catch (Exception ex) {
-            logger.error("Błąd generowania raportu", ex);
-            showAlert(ERROR, "Błąd",
-                    "Generowanie raportu nie powiodło się: "
-                            + ex.getMessage());
+            event.success = true;
+        } finally {
+            event.report = "WarehouseRaport";
+            event.records = rows.size();
+            event.file = targetFile.getAbsolutePath();
+            event.commit();
         }
+        return new WarehouseReportResult(targetFile.getAbsolutePath(), stats);
     }
 
     public void showCloseShiftPanel() {
@@ -758,73 +892,70 @@ public class LogisticianPanelController {
 
     /**
      * Otwiera okienko filtrowania stanów magazynowych.
-     * Po zatwierdzeniu pobiera pełny zestaw danych, filtruje
-     * po nazwie produktu i minimalnej ilości
-     * i aktualizuje tabelę.
+     * Po zatwierdzeniu ustawia filtr po początku nazwy produktu
+     * oraz zakresie ilości (maksymalna ilość wyszukuje produkty
+     * o niskim stanie) i ładuje pierwszą stronę tabeli.
      *
      * @param table tabela stanów magazynowych,
      *              która ma zostać przefiltrowana
      */
     private void showFilterStockDialog(TableView<StockRow> table) {
+        if (stockState == null || stockState.table != table) {
+            return;
+        }
         Stage st = new Stage();
         st.setTitle("Filtrowanie stanów");
         GridPane g = new GridPane();
         g.setPadding(new Insets(20)); g.setHgap(10); g.setVgap(10);
 
-        // ComboBox z nazwami produktów
+        // Początek nazwy produktu
         Label nameLabel = new Label("Nazwa produktu:");
-        ComboBox<String> nameCombo = new ComboBox<>(
-                FXCollections.observableArrayList(
-                        productRepository.getAllProducts()
-                                .stream()
-                                .map(org.example.sys.Product::getName)
-                                .distinct()
-                                .sorted()
-                                .collect(Collectors.toList())
-                )
-        );
-        nameCombo.setPromptText("Wybierz produkt");
+        TextField nameF = new TextField(stockState.namePrefix);
+        nameF.setPromptText("np. Kawa");
 
-        // Pole minimalnej ilości
+        // Zakres ilości
         Label minQtyLabel = new Label("Min. ilość:");
-        TextField qtyF = new TextField();
+        TextField minQtyF = new TextField(stockState.minQuantity == null
+                ? "" : stockState.minQuantity.toString());
+        Label maxQtyLabel = new Label("Maks. ilość (niski stan):");
+        TextField maxQtyF = new TextField(stockState.maxQuantity == null
+                ? "" : stockState.maxQuantity.toString());
 
         Button filt = new Button("Filtruj");
         styleLogisticButton(filt, "#2980B9");
         filt.setOnAction(ev -> {
-            // Załaduj świeże dane
-            refreshStockTable(table);
-            ObservableList<StockRow> base = table.getItems();
-            ObservableList<StockRow> out = base.filtered(r -> {
-                // nazwa produktu
-                String selName = nameCombo.getValue();
-                if (selName != null && !selName.isEmpty()) {
-                    if (!r.getName().equals(selName)) return false;
-                }
-                // minimalna ilość
-                if (!qtyF.getText().isBlank()) {
-                    try {
-                        int minQty = Integer.parseInt(qtyF.getText().trim());
-                        if (r.getQuantity() < minQty) return false;
-                    } catch (NumberFormatException ex) {
-                        return false;
-                    }
-                }
-                return true;
-            });
-            table.setItems(out);
+            Integer minQty;
+            Integer maxQty;
+            try {
+                minQty = parseOptionalInt(minQtyF.getText());
+                maxQty = parseOptionalInt(maxQtyF.getText());
+            } catch (NumberFormatException ex) {
+                showAlert(Alert.AlertType.WARNING, "Nieprawidłowa ilość",
+                        "Ilości muszą być liczbami całkowitymi.");
+                return;
+            }
+            stockState.namePrefix = nameF.getText().trim();
+            stockState.minQuantity = minQty;
+            stockState.maxQuantity = maxQty;
+            stockState.reload();
             st.close();
         });
 
         // layout
-        g.addRow(0, nameLabel, nameCombo);
-        g.addRow(1, minQtyLabel, qtyF);
-        g.add(filt, 1, 2);
+        g.addRow(0, nameLabel, nameF);
+        g.addRow(1, minQtyLabel, minQtyF);
+        g.addRow(2, maxQtyLabel, maxQtyF);
+        g.add(filt, 1, 3);
 
         st.setScene(new Scene(g, 400, 250));
         st.show();
     }
 
+    private static Integer parseOptionalInt(String text) {
+        return text == null || text.isBlank()
+                ? null : Integer.valueOf(text.trim());
+    }
+
     /**
      * Wyświetla formularz zgłoszenia wniosku o nieobecność.
      */
@@ -1035,12 +1166,18 @@ public class LogisticianPanelController {
                 p.setName(nameField.getText().trim());
                 p.setCategory(categoryField.getText().trim());
                 p.setPrice(price);
-                productRepository.addProduct(p);
 
-                Warehouse w = new Warehouse();
-                w.setProductId(p.getId());
-                w.setQuantity(initQty);
-                warehouseRepository.addWarehouseState(w);
+                // produkt i jego stan zapisywane razem – błąd jednego
+                // wycofuje oba, a wycofana jednostka zgłasza wyjątek,
+                // więc „Sukces” pojawia się tylko po zatwierdzeniu
+                UnitOfWork.run(() -> {
+                    productRepository.addProduct(p);
+
+                    Warehouse w = new Warehouse();
+                    w.setProductId(p.getId());
+                    w.setQuantity(initQty);
+                    warehouseRepository.addWarehouseState(w);
+                });
 
                 showAlert(Alert.AlertType.INFORMATION, "Sukces",
                         "Dodano produkt: " + p.getName() +
@@ -1088,10 +1225,7 @@ public class LogisticianPanelController {
 
         // 1) Pobierz właściwy obiekt Product po ID
         ProductRepository pr = new ProductRepository();
-        Product prod = pr.getAllProducts().stream()
-                .filter(p -> p.getId() == selected.getId())
-                .findFirst()
-                .orElse(null);
+        Product prod = pr.findProductById(selected.getId());
 
         if (prod == null) {
             showAlert(Alert.AlertType.ERROR, "Błąd",
@@ -1130,6 +1264,16 @@ public class LogisticianPanelController {
         TextField qtyField = new TextField(String.valueOf(currentQty));
         qtyField.setPromptText("liczba całkowita");
 
+        Label thresholdLabel     = new Label("Próg zamówienia:");
+        TextField thresholdField = new TextField(String.valueOf(
+                stanMag != null ? stanMag.getReorderThreshold() : 0));
+        thresholdField.setPromptText("0 – bez automatycznego zamówienia");
+
+        Label reorderQtyLabel     = new Label("Ilość zamówienia:");
+        TextField reorderQtyField = new TextField(String.valueOf(
+                stanMag != null ? stanMag.getReorderQuantity() : 0));
+        reorderQtyField.setPromptText("0 – równa progowi");
+
         Button saveBtn = new Button("Zapisz zmiany");
         styleLogisticButton(saveBtn, "#27AE60");
         saveBtn.setOnAction(ev -> {
@@ -1187,6 +1331,26 @@ public class LogisticianPanelController {
                 return;
             }
 
+            int threshold;
+            int reorderQty;
+            try {
+                Integer t = parseOptionalInt(thresholdField.getText());
+                Integer r = parseOptionalInt(reorderQtyField.getText());
+                threshold = t == null ? 0 : t;
+                reorderQty = r == null ? 0 : r;
+                if (threshold < 0 || reorderQty < 0) {
+                    showAlert(Alert.AlertType.WARNING, "Nieprawidłowy " +
+                                    "próg",
+                            "Próg i ilość zamówienia nie mogą być ujemne.");
+                    return;
+                }
+            } catch (NumberFormatException ex) {
+                showAlert(Alert.AlertType.ERROR, "Błąd formatu",
+                        "Próg i ilość zamówienia muszą być liczbami " +
+                                "całkowitymi.");
+                return;
+            }
+
             try {
                 prod.setName(newName);
                 prod.setCategory(newCat);
@@ -1194,6 +1358,9 @@ public class LogisticianPanelController {
 
                 pr.updateProduct(prod);
 
+                // próg przed ilością, aby zmiana ilości mogła go przekroczyć
+                warehouseRepository.setReorderThreshold(prod.getId(),
+                        threshold, reorderQty);
                 warehouseRepository.setProductQuantity(prod.getId(), newQty);
 
                 refreshStockTable(table);
@@ -1219,9 +1386,13 @@ public class LogisticianPanelController {
         grid.add(priceField,    1, 2);
         grid.add(qtyLabel,      0, 3);
         grid.add(qtyField,      1, 3);
-        grid.add(saveBtn,       1, 4);
+        grid.add(thresholdLabel,  0, 4);
+        grid.add(thresholdField,  1, 4);
+        grid.add(reorderQtyLabel, 0, 5);
+        grid.add(reorderQtyField, 1, 5);
+        grid.add(saveBtn,       1, 6);
 
-        stage.setScene(new Scene(grid, 450, 350));
+        stage.setScene(new Scene(grid, 450, 430));
         stage.show();
     }
 
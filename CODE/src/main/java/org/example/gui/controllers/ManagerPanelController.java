@@ -20,6 +20,7 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 
+import org.example.database.AsyncRepository;
 import org.example.database.repositories.AbsenceRequestRepository;
 import org.example.database.repositories.EmpTaskRepository;
 import org.example.database.repositories.TaskEmployeeRepository;
@@ -34,7 +35,6 @@ import org.example.sys.TaskEmployee;
 
 import java.sql.Date;
 import java.time.LocalTime;
-import java.util.List;
 
 /**
  * Kontroler logiki interfejsu użytkownika dla panelu kierownika.
@@ -45,6 +45,8 @@ public class ManagerPanelController {
     private final Stage primaryStage;
     private final UserRepository userRepository;
     private final EmpTaskRepository taskRepository;
+    private final AsyncRepository<UserRepository> asyncUsers;
+    private final AsyncRepository<EmpTaskRepository> asyncTasks;
 
     /**
      * Konstruktor kontrolera.
@@ -56,6 +58,8 @@ public class ManagerPanelController {
         this.primaryStage = managerPanel.getPrimaryStage();
         this.userRepository = new UserRepository();
         this.taskRepository = new EmpTaskRepository();
+        this.asyncUsers = AsyncRepository.of(userRepository);
+        this.asyncTasks = AsyncRepository.of(taskRepository);
     }
 
     /**
@@ -115,7 +119,15 @@ public class ManagerPanelController {
         );
 
         taskTable.getColumns().addAll(nameCol, dateCol, statusCol, employeeCol);
-        taskTable.getItems().addAll(taskRepository.getAllTasks());
+        taskTable.setPlaceholder(new Label("Wczytywanie zadań…"));
+        asyncTasks.callOnFx(EmpTaskRepository::getAllTasks,
+                tasks -> {
+                    taskTable.setPlaceholder(new Label("Brak zadań"));
+                    taskTable.getItems().setAll(tasks);
+                },
+                ex -> showAlert(Alert.AlertType.ERROR, "Błąd",
+                        "Nie udało się załadować zadań: "
+                                + ex.getMessage()));
 
         HBox taskButtons = new HBox(10);
         taskButtons.setAlignment(Pos.CENTER);
@@ -179,15 +191,23 @@ public class ManagerPanelController {
                     .getSelectedItem();
             if (selectedTask != null) {
                 // Użycie miękkiego usuwania zamiast trwałego usunięcia
-                boolean success = taskRepository.softDeleteTask(selectedTask);
-                if (success) {
-                    showAlert(Alert.AlertType.INFORMATION, "Sukces",
-                            "Zadanie zostało zarchiwizowane.");
-                    showTaskPanel(); // Odświeżenie panelu
-                } else {
-                    showAlert(Alert.AlertType.ERROR, "Błąd",
-                            "Nie udało się zarchiwizować zadania.");
-                }
+                asyncTasks.callOnFx(
+                        repo -> repo.softDeleteTask(selectedTask),
+                        success -> {
+                            if (success) {
+                                showAlert(Alert.AlertType.INFORMATION,
+                                        "Sukces",
+                                        "Zadanie zostało zarchiwizowane.");
+                                showTaskPanel(); // Odświeżenie panelu
+                            } else {
+                                showAlert(Alert.AlertType.ERROR, "Błąd",
+                                        "Nie udało się zarchiwizować "
+                                                + "zadania.");
+                            }
+                        },
+                        ex -> showAlert(Alert.AlertType.ERROR, "Błąd",
+                                "Nie udało się zarchiwizować zadania: "
+                                        + ex.getMessage()));
             } else {
                 showAlert(Alert.AlertType.WARNING, "Błąd",
                         "Wybierz zadanie do archiwizacji.");
@@ -265,11 +285,19 @@ public class ManagerPanelController {
 
                 EmpTask newTask = new EmpTask(name, date, status, description,
                         timeOfShift);
-                taskRepository.addTask(newTask);
-
-                showAlert(Alert.AlertType.INFORMATION, "Sukces",
-                        "Zadanie dodane!");
-                showTaskPanel();
+                saveButton.setDisable(true);
+                asyncTasks.runOnFx(repo -> repo.addTask(newTask),
+                        () -> {
+                            showAlert(Alert.AlertType.INFORMATION, "Sukces",
+                                    "Zadanie dodane!");
+                            showTaskPanel();
+                        },
+                        ex -> {
+                            saveButton.setDisable(false);
+                            showAlert(Alert.AlertType.ERROR, "Błąd",
+                                    "Nie udało się dodać zadania: "
+                                            + ex.getMessage());
+                        });
 
             } catch (Exception ex) {
                 ex.printStackTrace();
@@ -391,16 +419,14 @@ public class ManagerPanelController {
                 fromDateColumn, toDateColumn, statusColumn, descriptionColumn
         );
 
-        AbsenceRequestRepository absenceRepository
-                = new AbsenceRequestRepository();
-        try {
-            absenceTable.getItems().addAll(absenceRepository.getAllRequests());
-        } catch (Exception e) {
-            e.printStackTrace();
-            showAlert(Alert.AlertType.ERROR, "Błąd",
-                    "Nie udało się załadować wniosków: "
-                            + e.getMessage());
-        }
+        AsyncRepository<AbsenceRequestRepository> absenceRepository
+                = AsyncRepository.of(new AbsenceRequestRepository());
+        absenceTable.setPlaceholder(new Label("Wczytywanie wniosków…"));
+        absenceRepository.callOnFx(AbsenceRequestRepository::getAllRequests,
+                absenceTable.getItems()::setAll,
+                ex -> showAlert(Alert.AlertType.ERROR, "Błąd",
+                        "Nie udało się załadować wniosków: "
+                                + ex.getMessage()));
 
         HBox buttonBox = new HBox(10);
         buttonBox.setAlignment(Pos.CENTER);
@@ -419,28 +445,25 @@ public class ManagerPanelController {
             AbsenceRequest selectedRequest =
                     absenceTable.getSelectionModel().getSelectedItem();
             if (selectedRequest != null) {
-                try {
-                    // Zmiana statusu zamiast modyfikacji opisu
-                    selectedRequest.setStatus(
-                            AbsenceRequest.RequestStatus.ACCEPTED);
-                    absenceRepository.updateRequest(selectedRequest);
-
+                // Zmiana statusu zamiast modyfikacji opisu
+                selectedRequest.setStatus(
+                        AbsenceRequest.RequestStatus.ACCEPTED);
+                absenceRepository.callOnFx(repo -> {
+                    repo.updateRequest(selectedRequest);
                     if (selectedRequest.getRequestType().toLowerCase()
                             .contains("chorob")) {
                         Employee employee = selectedRequest.getEmployee();
                         employee.startSickLeave(selectedRequest.getStartDate());
                         userRepository.updateEmployee(employee);
                     }
+                    return repo.getAllRequests();
+                }, requests -> {
                     showAlert(Alert.AlertType.INFORMATION, "Sukces",
                             "Wniosek został zatwierdzony.");
-                    absenceTable.getItems().setAll(absenceRepository
-                            .getAllRequests());
-                } catch (Exception ex) {
-                    ex.printStackTrace();
-                    showAlert(Alert.AlertType.ERROR, "Błąd",
-                            "Nie udało się zatwierdzić wniosku: "
-                                    + ex.getMessage());
-                }
+                    absenceTable.getItems().setAll(requests);
+                }, ex -> showAlert(Alert.AlertType.ERROR, "Błąd",
+                        "Nie udało się zatwierdzić wniosku: "
+                                + ex.getMessage()));
             } else {
                 showAlert(Alert.AlertType.WARNING, "Błąd",
                         "Wybierz wniosek do zatwierdzenia.");
@@ -451,21 +474,19 @@ public class ManagerPanelController {
             AbsenceRequest selectedRequest =
                     absenceTable.getSelectionModel().getSelectedItem();
             if (selectedRequest != null) {
-                try {
-                    // Zmiana statusu zamiast modyfikacji opisu
-                    selectedRequest.setStatus(
-                            AbsenceRequest.RequestStatus.REJECTED);
-                    absenceRepository.updateRequest(selectedRequest);
+                // Zmiana statusu zamiast modyfikacji opisu
+                selectedRequest.setStatus(
+                        AbsenceRequest.RequestStatus.REJECTED);
+                absenceRepository.callOnFx(repo -> {
+                    repo.updateRequest(selectedRequest);
+                    return repo.getAllRequests();
+                }, requests -> {
                     showAlert(Alert.AlertType.INFORMATION, "Sukces",
                             "Wniosek został odrzucony.");
-                    absenceTable.getItems().setAll(
-                            absenceRepository.getAllRequests());
-                } catch (Exception ex) {
-                    ex.printStackTrace();
-                    showAlert(Alert.AlertType.ERROR, "Błąd",
-                            "Nie udało się odrzucić wniosku: "
-                                    + ex.getMessage());
-                }
+                    absenceTable.getItems().setAll(requests);
+                }, ex -> showAlert(Alert.AlertType.ERROR, "Błąd",
+                        "Nie udało się odrzucić wniosku: "
+                                + ex.getMessage()));
             } else {
                 showAlert(Alert.AlertType.WARNING, "Błąd",
                         "Wybierz wniosek do odrzucenia.");
@@ -498,8 +519,12 @@ public class ManagerPanelController {
 
         Label taskLabel = new Label("Wybierz zadanie:");
         ComboBox<EmpTask> taskComboBox = new ComboBox<>();
-        List<EmpTask> allTasks = taskRepository.getAllTasks();
-        taskComboBox.setItems(FXCollections.observableArrayList(allTasks));
+        asyncTasks.callOnFx(EmpTaskRepository::getAllTasks,
+                tasks -> taskComboBox.setItems(
+                        FXCollections.observableArrayList(tasks)),
+                ex -> showAlert(Alert.AlertType.ERROR, "Błąd",
+                        "Nie udało się załadować zadań: "
+                                + ex.getMessage()));
         taskComboBox.setCellFactory(
                 param -> new ListCell<>() {
             @Override
@@ -518,12 +543,15 @@ public class ManagerPanelController {
 
         Label employeeLabel = new Label("Wybierz pracownika:");
         ComboBox<Employee> employeeComboBox = new ComboBox<>();
-        List<Employee> allEmployees = userRepository.getAllEmployees();
-        List<Employee> workers = allEmployees.stream()
-                .filter(emp -> "Pracownik".equalsIgnoreCase(
-                        emp.getPosition()))
-                .toList();
-        employeeComboBox.setItems(FXCollections.observableArrayList(workers));
+        asyncUsers.callOnFx(repo -> repo.getAllEmployees().stream()
+                        .filter(emp -> "Pracownik".equalsIgnoreCase(
+                                emp.getPosition()))
+                        .toList(),
+                workers -> employeeComboBox.setItems(
+                        FXCollections.observableArrayList(workers)),
+                ex -> showAlert(Alert.AlertType.ERROR, "Błąd",
+                        "Nie udało się załadować pracowników: "
+                                + ex.getMessage()));
         employeeComboBox.setCellFactory(
                 param -> new ListCell<>() {
             @Override
@@ -552,25 +580,26 @@ public class ManagerPanelController {
             EmpTask selectedTask = taskComboBox.getValue();
             Employee selectedEmployee = employeeComboBox.getValue();
             if (selectedTask != null && selectedEmployee != null) {
-                try {
-                    TaskEmployee te = new TaskEmployee(selectedTask,
-                            selectedEmployee);
-                    TaskEmployeeRepository teRepo
-                            = new TaskEmployeeRepository();
-                    teRepo.add(te);
-                    teRepo.close();
-
-                    showAlert(Alert.AlertType.INFORMATION, "Sukces",
-                            "Pracownik został przypisany do zadania.");
-                    dialogStage.close();
-
-                    showTaskPanel();
-                } catch (Exception ex) {
-                    ex.printStackTrace();
-                    showAlert(Alert.AlertType.ERROR, "Błąd",
-                            "Nie udało się przypisać pracownika: "
-                                    + ex.getMessage());
-                }
+                TaskEmployee te = new TaskEmployee(selectedTask,
+                        selectedEmployee);
+                AsyncRepository.of(new TaskEmployeeRepository()).runOnFx(
+                        teRepo -> {
+                            try {
+                                teRepo.add(te);
+                            } finally {
+                                teRepo.close();
+                            }
+                        },
+                        () -> {
+                            showAlert(Alert.AlertType.INFORMATION, "Sukces",
+                                    "Pracownik został przypisany do "
+                                            + "zadania.");
+                            dialogStage.close();
+                            showTaskPanel();
+                        },
+                        ex -> showAlert(Alert.AlertType.ERROR, "Błąd",
+                                "Nie udało się przypisać pracownika: "
+                                        + ex.getMessage()));
             } else {
                 showAlert(Alert.AlertType.WARNING, "Błąd",
                         "Wybierz zarówno zadanie, jak i pracownika.");
@@ -665,12 +694,16 @@ public class ManagerPanelController {
                             return;
                         }
 
-                taskRepository.updateTask(task);
-
-                showAlert(Alert.AlertType.INFORMATION, "Sukces",
-                        "Zadanie zaktualizowane!");
-                dialogStage.close();
-                showTaskPanel();
+                asyncTasks.runOnFx(repo -> repo.updateTask(task),
+                        () -> {
+                            showAlert(Alert.AlertType.INFORMATION, "Sukces",
+                                    "Zadanie zaktualizowane!");
+                            dialogStage.close();
+                            showTaskPanel();
+                        },
+                        ex -> showAlert(Alert.AlertType.ERROR, "Błąd",
+                                "Nie udało się zaktualizować zadania: "
+                                        + ex.getMessage()));
             } catch (Exception ex) {
                 ex.printStackTrace();
                 showAlert(Alert.AlertType.ERROR, "Błąd",
@@ -0,0 +1,92 @@
+/*
+ * Classname: ReportJobDialog
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.gui.elements;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import org.example.database.ReportJobQueue;
+
+import java.util.function.Consumer;
+
+/**
+ * Okno postępu zadania raportu z {@link ReportJobQueue}.
+ * Stan zadania odczytywany jest cyklicznie (co 200 ms) w wątku
+ * JavaFX, więc okno aplikacji pozostaje responsywne. Okno można
+ * ukryć – zadanie działa dalej, a po jego zakończeniu wywoływana
+ * jest obsługa wyniku.
+ */
+public class ReportJobDialog {
+
+    private static final Duration POLL_INTERVAL = Duration.millis(200);
+
+    /**
+     * Pokazuje postęp zadania i po jego zakończeniu przekazuje wynik
+     * lub komunikat błędu. Anulowane zadanie nie wywołuje żadnej
+     * z obsług.
+     *
+     * @param job      zadanie raportu
+     * @param onDone   obsługa wyniku (wątek JavaFX)
+     * @param onFailed obsługa błędu z komunikatem (wątek JavaFX)
+     * @param <T>      typ wyniku
+     */
+    public static <T> void show(ReportJobQueue.Job<T> job,
+                                Consumer<T> onDone,
+                                Consumer<String> onFailed) {
+        Stage stage = new Stage();
+        stage.setTitle(job.getType() + " (zadanie " + job.getId() + ")");
+
+        Label status = new Label(job.getState().getDisplayName());
+        ProgressBar bar = new ProgressBar(0);
+        bar.setPrefWidth(320);
+
+        Button cancel = new Button("Anuluj");
+        cancel.setOnAction(e -> job.cancel());
+        Button hide = new Button("Ukryj");
+        hide.setOnAction(e -> stage.close());
+
+        HBox buttons = new HBox(10, hide, cancel);
+        buttons.setAlignment(Pos.CENTER_RIGHT);
+        VBox root = new VBox(10, status, bar, buttons);
+        root.setPadding(new Insets(20));
+
+        Timeline poll = new Timeline();
+        poll.getKeyFrames().add(new KeyFrame(POLL_INTERVAL, e -> {
+            status.setText(job.getState().getDisplayName() + " – "
+                    + job.getMessage());
+            bar.setProgress(job.getState() == ReportJobQueue.State.QUEUED
+                    ? ProgressBar.INDETERMINATE_PROGRESS
+                    : job.getProgress());
+            if (!job.isFinished()) {
+                return;
+            }
+            poll.stop();
+            stage.close();
+            switch (job.getState()) {
+                case DONE -> onDone.accept(job.getResult());
+                case FAILED -> onFailed.accept(job.getMessage());
+                default -> { }
+            }
+        }));
+        poll.setCycleCount(Animation.INDEFINITE);
+
+        stage.setScene(new Scene(root));
+        stage.show();
+        poll.play();
+    }
+}
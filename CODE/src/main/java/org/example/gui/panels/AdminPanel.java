@@ -229,6 +229,13 @@ public class AdminPanel {
             controller.showIssuesPanel();
         });
 
+        Button diagnosticsButton = createStyledButton("Diagnostyka");
+        diagnosticsButton.setOnAction(e -> {
+            logger.debug("Kliknięto przycisk 'Diagnostyka'");
+            setActiveButton(diagnosticsButton);
+            controller.showDiagnosticsPanel();
+        });
+
         Button logoutButton = createStyledButton("Wyloguj",
                 "#E74C3C");
         logoutButton.setOnAction(e -> {
@@ -244,6 +251,7 @@ public class AdminPanel {
                 configButton,
                 reportsButton,
                 issuesButton,
+                diagnosticsButton,
                 logoutButton);
 
         // Ustawienie domyślnego aktywnego przycisku
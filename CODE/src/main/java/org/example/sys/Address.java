@@ -12,6 +12,7 @@ import java.util.List;
 
 import jakarta.persistence.Access;
 import jakarta.persistence.AccessType;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -20,6 +21,8 @@ import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -32,6 +35,8 @@ import org.apache.logging.log4j.Logger;
 @Entity
 @Table(name = "Adresy")
 @Access(AccessType.FIELD)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "adresy")
 public class Address {
 
     /**
@@ -0,0 +1,26 @@
+/*
+ * Classname: CategoryStock
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+package org.example.sys;
+
+import java.math.BigDecimal;
+
+/**
+ * Podsumowanie stanu magazynowego jednej kategorii, wyliczone
+ * w bazie danych (GROUP BY).
+ *
+ * @param category      nazwa kategorii
+ * @param productCount  liczba produktów w kategorii
+ * @param totalQuantity łączna ilość w magazynie
+ * @param totalValue    łączna wartość (ilość × cena)
+ */
+public record CategoryStock(String category,
+                            long productCount,
+                            long totalQuantity,
+                            BigDecimal totalValue) {
+}
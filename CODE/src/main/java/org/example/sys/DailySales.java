@@ -0,0 +1,77 @@
+/*
+ * Classname: DailySales
+ * Version information: 1.0
+ * Date: 2025-06-04
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+package org.example.sys;
+
+import jakarta.persistence.Access;
+import jakarta.persistence.AccessType;
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+
+/**
+ * Dzienne podsumowanie sprzedaży produktu przez pracownika.
+ * Mapowana na tabelę "Sprzedaz_Dzienna", utrzymywaną przyrostowo
+ * przy każdej zatwierdzonej sprzedaży (zob.
+ * {@code DailySalesRepository}). Raporty okresowe i zapytania
+ * o sprzedane ilości czytają z niej zamiast sumować wszystkie
+ * pozycje z Transakcje_Produkty.
+ */
+@Entity
+@Table(name = "Sprzedaz_Dzienna")
+@Access(AccessType.FIELD)
+public class DailySales {
+
+    /**
+     * Dzień, produkt i pracownik.
+     */
+    @EmbeddedId
+    private DailySalesId id;
+
+    /**
+     * Łączna liczba sprzedanych sztuk.
+     */
+    @Column(name = "Ilosc", nullable = false)
+    private int quantity;
+
+    /**
+     * Łączny przychód ze sprzedaży.
+     */
+    @Column(name = "Przychod", nullable = false, precision = 12, scale = 2)
+    private BigDecimal revenue;
+
+    /**
+     * Konstruktor domyślny wymagany przez JPA.
+     */
+    public DailySales() {
+    }
+
+    /**
+     * @return dzień, produkt i pracownik
+     */
+    public DailySalesId getId() {
+        return id;
+    }
+
+    /**
+     * @return łączna liczba sprzedanych sztuk
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * @return łączny przychód ze sprzedaży
+     */
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Classname: DailySalesId
+ * Version information: 1.0
+ * Date: 2025-06-04
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+package org.example.sys;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Złożony klucz główny encji {@link DailySales}:
+ * dzień sprzedaży, produkt i pracownik (kasjer).
+ */
+@Embeddable
+public class DailySalesId implements Serializable {
+
+    /**
+     * Dzień sprzedaży.
+     */
+    @Column(name = "Data", nullable = false)
+    private LocalDate date;
+
+    /**
+     * Identyfikator sprzedanego produktu.
+     */
+    @Column(name = "Id_produktu", nullable = false)
+    private int productId;
+
+    /**
+     * Identyfikator pracownika, który zarejestrował sprzedaż
+     * (0, gdy transakcja nie ma przypisanego pracownika).
+     */
+    @Column(name = "Id_pracownika", nullable = false)
+    private int employeeId;
+
+    /**
+     * Konstruktor domyślny wymagany przez JPA.
+     */
+    public DailySalesId() {
+    }
+
+    /**
+     * Konstruktor z parametrami.
+     *
+     * @param date       dzień sprzedaży
+     * @param productId  identyfikator produktu
+     * @param employeeId identyfikator pracownika
+     */
+    public DailySalesId(LocalDate date, int productId, int employeeId) {
+        this.date = date;
+        this.productId = productId;
+        this.employeeId = employeeId;
+    }
+
+    /**
+     * @return dzień sprzedaży
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * @return identyfikator produktu
+     */
+    public int getProductId() {
+        return productId;
+    }
+
+    /**
+     * @return identyfikator pracownika
+     */
+    public int getEmployeeId() {
+        return employeeId;
+    }
+
+    /**
+     * Porównuje ten obiekt z innym do równości.
+     * Metoda niezbędna do prawidłowego działania JPA z kluczami złożonymi.
+     *
+     * @param o obiekt do porównania
+     * @return true jeśli obiekty są równe, false w przeciwnym przypadku
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DailySalesId that = (DailySalesId) o;
+        return productId == that.productId
+                && employeeId == that.employeeId
+                && Objects.equals(date, that.date);
+    }
+
+    /**
+     * Oblicza kod mieszający dla tego obiektu.
+     *
+     * @return wyliczony kod mieszający
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(date, productId, employeeId);
+    }
+}
@@ -411,14 +411,14 @@ public class Employee extends Person {
     /**
      * Sprawdza czy pracownik posiada uprawnienia administratora (root).
      * Sprawdzenie bazuje na porównaniu stanowiska z wartością "root".
-     * Operacja jest logowana na poziomie INFO.
+     * Operacja jest logowana na poziomie DEBUG.
      *
      * @return true jeśli pracownik ma uprawnienia administratora,
      *         false w przeciwnym przypadku
      */
     public boolean isRoot() {
         boolean isRoot = "root".equalsIgnoreCase(this.position);
-        logger.info("Sprawdzono rolę użytkownika:" +
+        logger.debug("Sprawdzono rolę użytkownika:" +
                 " {}", isRoot ? "root" : "nie root");
         return isRoot;
     }
@@ -16,8 +16,12 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Column;
 import jakarta.persistence.Table;
+import jakarta.persistence.Index;
 import jakarta.persistence.Access;
 import jakarta.persistence.AccessType;
+import jakarta.persistence.Cacheable;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 
 /**
@@ -27,8 +31,13 @@ import java.math.BigDecimal;
  * Implementuje logikę walidacji danych produktu.
  */
 @Entity
-@Table(name = "Produkty")
+@Table(name = "Produkty", indexes = {
+        @Index(name = "idx_produkty_nazwa", columnList = "Nazwa"),
+        @Index(name = "idx_produkty_kategoria", columnList = "Kategoria")
+})
 @Access(AccessType.FIELD)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "produkty")
 public class Product {
 
     /**
@@ -0,0 +1,32 @@
+/*
+ * Classname: ProductPage
+ * Version information: 1.0
+ * Date: 2025-06-04
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+package org.example.sys;
+
+import java.util.List;
+
+/**
+ * Jedna strona wyników wyszukiwania produktów.
+ * Kolejną stronę pobiera się, przekazując ostatni produkt
+ * z {@link #items()} jako kursor.
+ *
+ * @param items   produkty na stronie (co najwyżej rozmiar strony)
+ * @param hasNext czy istnieją kolejne wyniki
+ */
+public record ProductPage(List<Product> items, boolean hasNext) {
+
+    /**
+     * Zwraca ostatni produkt na stronie, używany jako kursor
+     * do pobrania następnej strony.
+     *
+     * @return ostatni produkt lub null dla pustej strony
+     */
+    public Product last() {
+        return items.isEmpty() ? null : items.get(items.size() - 1);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Enum: ProductSort
+ * Version information: 1.0
+ * Date: 2025-06-04
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+package org.example.sys;
+
+/**
+ * Kolumny, według których można sortować wyniki stronicowanego
+ * wyszukiwania produktów. Każda kolumna jest uzupełniana
+ * identyfikatorem produktu, co daje jednoznaczny porządek
+ * potrzebny do stronicowania kluczem (keyset).
+ */
+public enum ProductSort {
+    NAME("Nazwa", "p.name"),
+    CATEGORY("Kategoria", "p.category"),
+    PRICE("Cena", "p.price");
+
+    private final String displayName;
+    private final String path;
+
+    /**
+     * Konstruktor enum.
+     *
+     * @param displayName Nazwa wyświetlana
+     * @param path        Ścieżka atrybutu w zapytaniu JPQL
+     */
+    ProductSort(String displayName, String path) {
+        this.displayName = displayName;
+        this.path = path;
+    }
+
+    /**
+     * Zwraca nazwę wyświetlaną.
+     *
+     * @return Nazwa wyświetlana
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Zwraca ścieżkę atrybutu produktu używaną w zapytaniu JPQL.
+     *
+     * @return Ścieżka atrybutu (np. p.name)
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Zwraca wartość klucza sortowania dla podanego produktu.
+     *
+     * @param product produkt
+     * @return wartość kolumny sortowania
+     */
+    public Object keyOf(Product product) {
+        return switch (this) {
+            case NAME -> product.getName();
+            case CATEGORY -> product.getCategory();
+            case PRICE -> product.getPrice();
+        };
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Classname: StockPage
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+package org.example.sys;
+
+import java.util.List;
+
+/**
+ * Jedna strona tabeli stanów magazynowych.
+ * Kolejną stronę pobiera się, przekazując ostatni wiersz
+ * z {@link #items()} jako kursor.
+ *
+ * @param items   wiersze na stronie (co najwyżej rozmiar strony)
+ * @param hasNext czy istnieją kolejne wiersze
+ */
+public record StockPage(List<StockRow> items, boolean hasNext) {
+
+    /**
+     * Zwraca ostatni wiersz na stronie, używany jako kursor
+     * do pobrania następnej strony.
+     *
+     * @return ostatni wiersz lub null dla pustej strony
+     */
+    public StockRow last() {
+        return items.isEmpty() ? null : items.get(items.size() - 1);
+    }
+}
@@ -1,5 +1,10 @@
 package org.example.sys;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /** Reprezentuje pojedynczy stan magazynowy w tabeli */
 public class StockRow {
     private final int id;
@@ -11,4 +16,29 @@ public class StockRow {
     public int getId() { return id; }
     public String getName() { return name; }
     public int getQuantity() { return quantity; }
-}
\ No newline at end of file
+
+    /**
+     * Łączy produkty z ich stanami magazynowymi. Produkty bez stanu
+     * są pomijane; kolejność wyniku odpowiada kolejności produktów.
+     *
+     * @param products produkty
+     * @param states   stany magazynowe
+     * @return wiersze tabeli stanów
+     */
+    public static List<StockRow> join(List<Product> products,
+                                      List<Warehouse> states) {
+        Map<Integer, Integer> qtyById = new HashMap<>(
+                states.size() * 4 / 3 + 1);
+        for (Warehouse state : states) {
+            qtyById.put(state.getProductId(), state.getQuantity());
+        }
+        List<StockRow> rows = new ArrayList<>(qtyById.size());
+        for (Product p : products) {
+            Integer qty = qtyById.get(p.getId());
+            if (qty != null) {
+                rows.add(new StockRow(p.getId(), p.getName(), qty));
+            }
+        }
+        return rows;
+    }
+}
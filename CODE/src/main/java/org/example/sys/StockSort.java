@@ -0,0 +1,73 @@
+/*
+ * Enum: StockSort
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+package org.example.sys;
+
+/**
+ * Kolumny, według których można sortować stronicowaną tabelę stanów
+ * magazynowych. Każda kolumna jest uzupełniana identyfikatorem
+ * produktu, co daje jednoznaczny porządek potrzebny do stronicowania
+ * kluczem (keyset).
+ */
+public enum StockSort {
+    ID("Id", "p.id"),
+    NAME("Nazwa", "p.name"),
+    QUANTITY("Ilość", "w.quantity");
+
+    private final String displayName;
+    private final String path;
+
+    /**
+     * Konstruktor enum.
+     *
+     * @param displayName Nazwa wyświetlana
+     * @param path        Ścieżka atrybutu w zapytaniu JPQL
+     */
+    StockSort(String displayName, String path) {
+        this.displayName = displayName;
+        this.path = path;
+    }
+
+    /**
+     * Zwraca nazwę wyświetlaną.
+     *
+     * @return Nazwa wyświetlana
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Zwraca ścieżkę atrybutu używaną w zapytaniu JPQL
+     * ({@code p} – produkt, {@code w} – stan magazynowy).
+     *
+     * @return Ścieżka atrybutu (np. w.quantity)
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Zwraca wartość klucza sortowania dla podanego wiersza.
+     *
+     * @param row wiersz tabeli stanów
+     * @return wartość kolumny sortowania
+     */
+    public Object keyOf(StockRow row) {
+        return switch (this) {
+            case ID -> row.getId();
+            case NAME -> row.getName();
+            case QUANTITY -> row.getQuantity();
+        };
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -94,7 +94,7 @@ public class Transaction {
      */
     public void setEmployee(Employee employee) {
         this.employee = employee;
-        logger.info("Przypisano pracownika {} do transakcji ID: {}",
+        logger.debug("Przypisano pracownika {} do transakcji ID: {}",
                 employee.getLogin(), this.id);
     }
 
@@ -134,8 +134,9 @@ public class Transaction {
     /**
      * Dodaje produkt do transakcji z określoną ilością.
      * Tworzy nowy obiekt TransactionProduct reprezentujący powiązanie
-     * między transakcją a produktem.
-     * Operacja jest logowana na poziomie INFO.
+     * między transakcją a produktem, z bieżącą ceną produktu jako
+     * ceną sprzedaży.
+     * Operacja jest logowana na poziomie DEBUG.
      *
      * @param product  produkt do dodania
      * @param quantity ilość produktu
@@ -143,8 +144,9 @@ public class Transaction {
     public void addProduct(Product product, int quantity) {
         TransactionProduct transactionProduct =
                 new TransactionProduct(this, product, quantity);
+        transactionProduct.setUnitPrice(product.getPrice());
         transactionProducts.add(transactionProduct);
-        logger.info("Dodano produkt {} (x{}) do transakcji ID: {}",
+        logger.debug("Dodano produkt {} (x{}) do transakcji ID: {}",
                 product.getName(), quantity, this.id);
     }
 
@@ -152,7 +154,7 @@ public class Transaction {
      * Usuwa produkt z transakcji.
      * Wyszukuje i usuwa obiekt TransactionProduct powiązany z podanym
      * produktem.
-     * Operacja jest logowana na poziomie INFO lub WARN w przypadku
+     * Operacja jest logowana na poziomie DEBUG lub WARN w przypadku
      * niepowodzenia.
      *
      * @param product produkt do usunięcia
@@ -161,7 +163,7 @@ public class Transaction {
         boolean removed = transactionProducts.removeIf(tp
                 -> tp.getProduct().equals(product));
         if (removed) {
-            logger.info("Usunięto produkt {} z transakcji ID: {}",
+            logger.debug("Usunięto produkt {} z transakcji ID: {}",
                     product.getName(), this.id);
         } else {
             logger.warn("Nie znaleziono produktu {}" +
@@ -191,7 +193,7 @@ public class Transaction {
     /**
      * Oblicza całkowitą wartość transakcji.
      * Sumuje wartości wszystkich produktów uwzględniając ich ilości.
-     * Operacja jest logowana na poziomie INFO.
+     * Operacja jest logowana na poziomie DEBUG.
      *
      * @return suma wartości wszystkich produktów w transakcji
      */
@@ -201,7 +203,7 @@ public class Transaction {
                         -> tp.getProduct().getPrice().doubleValue()
                         * tp.getQuantity())
                 .sum();
-        logger.info("Obliczono całkowitą wartość transakcji {}: {}",
+        logger.debug("Obliczono całkowitą wartość transakcji {}: {}",
                 this.id, total);
         return total;
     }
@@ -1,5 +1,7 @@
 package org.example.sys;
 
+import java.util.Collection;
+
 /**
  * Klasa pomocnicza reprezentująca pozycję w koszyku.
  */
@@ -16,4 +18,16 @@ public class TransactionItem {
     public void setQuantity(int quantity) { this.quantity = quantity; }
     public double getTotal() { return product.getPrice()
             .doubleValue() * quantity; }
+
+    /**
+     * Zwraca łączną wartość pozycji koszyka.
+     *
+     * @param items pozycje koszyka
+     * @return suma wartości pozycji
+     */
+    public static double total(Collection<? extends TransactionItem> items) {
+        double total = 0;
+        for (TransactionItem ti : items) total += ti.getTotal();
+        return total;
+    }
 }
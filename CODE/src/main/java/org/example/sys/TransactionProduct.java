@@ -21,6 +21,8 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.MapsId;
 
+import java.math.BigDecimal;
+
 /**
  * Klasa reprezentująca powiązanie między transakcją a produktem w
  * systemie.
@@ -75,6 +77,14 @@ public class TransactionProduct {
     @Column(name = "Ilosc", nullable = false)
     private int quantity;
 
+    /**
+     * Cena jednostkowa produktu w chwili sprzedaży.
+     * Null dla pozycji zapisanych przed wprowadzeniem kolumny –
+     * obowiązuje wtedy bieżąca cena produktu.
+     */
+    @Column(name = "Cena", precision = 10, scale = 2)
+    private BigDecimal unitPrice;
+
     /**
      * Konstruktor domyślny wymagany przez JPA.
      * Inicjalizuje pusty obiekt złożonego identyfikatora.
@@ -91,7 +101,7 @@ public class TransactionProduct {
      * Konstruktor z parametrami.
      * Tworzy powiązanie między transakcją a produktem z podaną ilością.
      * Wywołuje konstruktor domyślny w celu inicjalizacji identyfikatora.
-     * Operacja jest logowana na poziomie INFO.
+     * Operacja jest logowana na poziomie DEBUG.
      *
      * @param transaction transakcja do powiązania
      * @param product produkt do powiązania
@@ -106,7 +116,7 @@ public class TransactionProduct {
         setTransaction(transaction);
         setProduct(product);
         setQuantity(quantity);
-        logger.info("Utworzono powiązanie produktu ID:{}" +
+        logger.debug("Utworzono powiązanie produktu ID:{}" +
                         " z transakcją ID:{} (ilość: {})",
                 product.getId(), transaction.getId(), quantity);
     }
@@ -190,7 +200,7 @@ public class TransactionProduct {
      * Ustawia ilość produktu w transakcji.
      * Wykonuje walidację - ilość musi być większa od zera.
      * W przypadku nieprawidłowej wartości rzuca wyjątek.
-     * Operacja jest logowana na poziomie INFO lub WARN w przypadku błędu.
+     * Operacja jest logowana na poziomie DEBUG lub WARN w przypadku błędu.
      *
      * @param quantity nowa ilość produktu, musi być większa od zera
      * @throws IllegalArgumentException gdy ilość nie jest większa od zera
@@ -202,11 +212,30 @@ public class TransactionProduct {
             throw new IllegalArgumentException("Ilość produktu musi" +
                     " być większa niż zero.");
         }
-        logger.info("Zaktualizowano ilość produktu z {} na {}",
+        logger.debug("Zaktualizowano ilość produktu z {} na {}",
                 this.quantity, quantity);
         this.quantity = quantity;
     }
 
+    /**
+     * @return cena jednostkowa w chwili sprzedaży lub null
+     */
+    public BigDecimal getUnitPrice() {
+        return unitPrice;
+    }
+
+    /**
+     * Ustawia cenę jednostkową produktu w chwili sprzedaży.
+     * Operacja jest logowana na poziomie DEBUG.
+     *
+     * @param unitPrice cena jednostkowa
+     */
+    public void setUnitPrice(BigDecimal unitPrice) {
+        logger.debug("Zaktualizowano cenę pozycji z {} na {}",
+                this.unitPrice, unitPrice);
+        this.unitPrice = unitPrice;
+    }
+
     /**
      * Zwraca reprezentację tekstową powiązania transakcja-produkt.
      * Zawiera informacje o identyfikatorze, produkcie i ilości.
@@ -219,6 +248,7 @@ public class TransactionProduct {
                 "id=" + id +
                 ", product=" + (product != null ? product.getName() : "null") +
                 ", quantity=" + quantity +
+                ", unitPrice=" + unitPrice +
                 '}';
     }
 }
\ No newline at end of file
@@ -50,17 +50,17 @@ public class TransactionProductId implements Serializable {
 
     /**
      * Konstruktor domyślny wymagany przez JPA.
-     * Operacja jest logowana na poziomie INFO.
+     * Operacja jest logowana na poziomie DEBUG.
      */
     public TransactionProductId() {
-        logger.info("Tworzenie nowego obiektu" +
+        logger.debug("Tworzenie nowego obiektu" +
                 " TransactionProductId (konstruktor domyślny)");
     }
 
     /**
      * Konstruktor z parametrami.
      * Tworzy złożony identyfikator z podanych parametrów.
-     * Operacja jest logowana na poziomie INFO.
+     * Operacja jest logowana na poziomie DEBUG.
      *
      * @param transactionId identyfikator transakcji
      * @param productId identyfikator produktu
@@ -68,7 +68,7 @@ public class TransactionProductId implements Serializable {
     public TransactionProductId(int transactionId, int productId) {
         this.transactionId = transactionId;
         this.productId = productId;
-        logger.info("Tworzenie nowego obiektu TransactionProductId z" +
+        logger.debug("Tworzenie nowego obiektu TransactionProductId z" +
                 " parametrami: Id_transakcji={}," +
                 " Id_produktu={}", transactionId, productId);
     }
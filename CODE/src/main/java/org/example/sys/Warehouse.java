@@ -10,12 +10,16 @@ package org.example.sys;
 
 import jakarta.persistence.Access;
 import jakarta.persistence.AccessType;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -28,8 +32,12 @@ import org.apache.logging.log4j.Logger;
  * (relacja jeden-do-jednego).
  */
 @Entity
-@Table(name = "StanyMagazynowe")
+@Table(name = "StanyMagazynowe", indexes = {
+        @Index(name = "idx_stany_ilosc", columnList = "Ilosc")
+})
 @Access(AccessType.FIELD)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "stany")
 public class Warehouse {
 
     /**
@@ -64,12 +72,29 @@ public class Warehouse {
     @Column(name = "Ilosc", nullable = false)
     private int quantity;
 
+    /**
+     * Próg zamówienia – gdy stan spadnie z wartości powyżej progu
+     * do progu lub niżej, tworzony jest projekt zamówienia.
+     * Wartość 0 wyłącza automatyczne zamawianie produktu.
+     */
+    @Column(name = "Prog_zamowienia", nullable = false,
+            columnDefinition = "INT DEFAULT 0")
+    private int reorderThreshold;
+
+    /**
+     * Ilość zamawiana w projekcie zamówienia.
+     * Wartość 0 oznacza zamówienie ilości równej progowi.
+     */
+    @Column(name = "Ilosc_zamowienia", nullable = false,
+            columnDefinition = "INT DEFAULT 0")
+    private int reorderQuantity;
+
     /**
      * Konstruktor domyślny wymagany przez JPA.
-     * Operacja jest logowana na poziomie INFO.
+     * Operacja jest logowana na poziomie DEBUG.
      */
     public Warehouse() {
-        logger.info("Tworzenie nowego obiektu" +
+        logger.debug("Tworzenie nowego obiektu" +
                 " Warehouse (konstruktor domyślny)");
     }
 
@@ -77,7 +102,7 @@ public class Warehouse {
      * Konstruktor z parametrami.
      * Tworzy nowy stan magazynowy dla podanego produktu z określoną ilością.
      * Automatycznie synchronizuje identyfikator produktu z kluczem głównym.
-     * Operacja jest logowana na poziomie INFO.
+     * Operacja jest logowana na poziomie DEBUG.
      *
      * @param product produkt, którego stan magazynowy jest tworzony
      * @param quantity ilość produktu dostępna w magazynie
@@ -86,7 +111,7 @@ public class Warehouse {
         this.product = product;
         this.productId = product.getId(); // synchronizacja z kluczem głównym
         this.quantity = quantity;
-        logger.info("Tworzenie nowego obiektu Warehouse" +
+        logger.debug("Tworzenie nowego obiektu Warehouse" +
                         " z parametrami: Id_produktu={}, Ilosc={}",
                 productId, quantity);
     }
@@ -147,6 +172,37 @@ public class Warehouse {
         this.quantity = quantity;
     }
 
+    /**
+     * @return próg zamówienia (0 – automatyczne zamawianie wyłączone)
+     */
+    public int getReorderThreshold() {
+        return reorderThreshold;
+    }
+
+    /**
+     * @param reorderThreshold nowy próg zamówienia (0 – wyłączony)
+     */
+    public void setReorderThreshold(int reorderThreshold) {
+        logger.debug("Ustawianie progu zamówienia na: {}", reorderThreshold);
+        this.reorderThreshold = reorderThreshold;
+    }
+
+    /**
+     * @return ilość zamawiana po przekroczeniu progu
+     */
+    public int getReorderQuantity() {
+        return reorderQuantity;
+    }
+
+    /**
+     * @param reorderQuantity ilość zamawiana po przekroczeniu progu
+     *                        (0 – ilość równa progowi)
+     */
+    public void setReorderQuantity(int reorderQuantity) {
+        logger.debug("Ustawianie ilości zamówienia na: {}", reorderQuantity);
+        this.reorderQuantity = reorderQuantity;
+    }
+
     /**
      * Zwraca reprezentację tekstową stanu magazynowego.
      * Zawiera informacje o produkcie i jego ilości.
@@ -0,0 +1,26 @@
+/*
+ * Classname: WarehouseReportRow
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+package org.example.sys;
+
+/**
+ * Wiersz raportu magazynowego – produkt z ilością w magazynie,
+ * pobrany jednym zapytaniem z projekcją. Pola są typami prostymi,
+ * więc ekstraktor raportu nie przelicza {@code BigDecimal}
+ * ani nie szuka ilości w mapie przy każdym odczycie.
+ *
+ * @param name     nazwa produktu
+ * @param category kategoria produktu
+ * @param price    cena jednostkowa
+ * @param quantity ilość w magazynie (0 – brak rekordu stanu)
+ */
+public record WarehouseReportRow(String name,
+                                 String category,
+                                 double price,
+                                 int quantity) {
+}
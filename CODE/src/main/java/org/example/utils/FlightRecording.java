@@ -0,0 +1,141 @@
+/*
+ * Classname: FlightRecording
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.utils;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Uruchamianie i zatrzymywanie nagrania Java Flight Recorder
+ * z poziomu aplikacji.
+ * <p>
+ * Nagranie korzysta z konfiguracji {@code default} JDK (narzut poniżej
+ * 1%) z włączonymi wszystkimi zdarzeniami {@link StonkaEvents}
+ * bez progu czasu. Plik {@code stonka-<data>.jfr} trafia do katalogu
+ * logów ({@link AppPaths#getLogsDirectory()}). Rozmiar nagrania
+ * jest ograniczony, aby zapomniane nagranie nie zapełniło dysku;
+ * nagranie trwające przy zamknięciu aplikacji jest zapisywane.
+ */
+public final class FlightRecording {
+
+    private static final Logger logger =
+            LogManager.getLogger(FlightRecording.class);
+
+    private static final long MAX_SIZE_BYTES = 256L * 1024 * 1024;
+
+    private static final Duration MAX_AGE = Duration.ofHours(6);
+
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH-mm-ss");
+
+    private static final List<Class<? extends Event>> EVENTS = List.of(
+            StonkaEvents.Checkout.class,
+            StonkaEvents.RepositoryCall.class,
+            StonkaEvents.ReportGeneration.class,
+            StonkaEvents.TableExport.class);
+
+    private static Recording recording;
+    private static Path destination;
+
+    private FlightRecording() {
+    }
+
+    /**
+     * Czy trwa nagrywanie uruchomione przez aplikację.
+     *
+     * @return true, jeśli nagranie jest aktywne
+     */
+    public static synchronized boolean isRecording() {
+        return recording != null
+                && recording.getState() == RecordingState.RUNNING;
+    }
+
+    /**
+     * Plik, do którego zapisywane jest bieżące (lub ostatnie) nagranie.
+     *
+     * @return ścieżka pliku lub null, jeśli nie nagrywano
+     */
+    public static synchronized Path getDestination() {
+        return destination;
+    }
+
+    /**
+     * Rozpoczyna nagrywanie do nowego pliku w katalogu logów.
+     *
+     * @return ścieżka pliku nagrania
+     * @throws IOException           Jeśli nie można przygotować pliku
+     * @throws IllegalStateException Jeśli nagrywanie już trwa
+     */
+    public static synchronized Path start() throws IOException {
+        if (isRecording()) {
+            throw new IllegalStateException(
+                    "Nagrywanie już trwa: " + destination);
+        }
+        Configuration config;
+        try {
+            config = Configuration.getConfiguration("default");
+        } catch (ParseException e) {
+            throw new IOException("Nie można wczytać konfiguracji JFR", e);
+        }
+
+        Path dir = AppPaths.getLogsDirectory();
+        Files.createDirectories(dir);
+        Path file = dir.resolve("stonka-"
+                + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+
+        Recording r = new Recording(config);
+        r.setName("Stonka");
+        r.setToDisk(true);
+        r.setMaxSize(MAX_SIZE_BYTES);
+        r.setMaxAge(MAX_AGE);
+        r.setDestination(file);
+        r.setDumpOnExit(true);
+        for (Class<? extends Event> event : EVENTS) {
+            r.enable(event).withoutThreshold();
+        }
+        r.start();
+
+        recording = r;
+        destination = file;
+        logger.info("start() – rozpoczęto nagrywanie JFR do {}", file);
+        return file;
+    }
+
+    /**
+     * Zatrzymuje nagrywanie i zapisuje plik.
+     *
+     * @return ścieżka zapisanego pliku
+     * @throws IllegalStateException Jeśli nagrywanie nie trwa
+     */
+    public static synchronized Path stop() {
+        if (!isRecording()) {
+            throw new IllegalStateException("Nagrywanie nie jest aktywne");
+        }
+        try {
+            recording.stop();
+            logger.info("stop() – zapisano nagranie JFR: {}", destination);
+            return destination;
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+}
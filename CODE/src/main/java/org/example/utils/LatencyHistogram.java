@@ -0,0 +1,162 @@
+/*
+ * Classname: LatencyHistogram
+ * Version information: 1.0
+ * Date: 2025-06-04
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bezblokadowy histogram czasów wykonania w stylu HDR.
+ * Wartości zapisywane są w mikrosekundach do kubełków log-liniowych:
+ * każdy przedział potęgi dwójki dzielony jest na 16 równych części,
+ * co daje względny błąd odczytu percentyla poniżej 7%.
+ * Zapis to jedna operacja atomowa, więc histogram może być
+ * współdzielony przez wiele wątków bez synchronizacji.
+ */
+public class LatencyHistogram {
+
+    /** Liczba kubełków liniowych w każdym przedziale potęgi dwójki. */
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Największy rejestrowany wykładnik (2^40 µs ≈ 12 dni). */
+    private static final int MAX_MAGNITUDE = 40;
+    private static final long MAX_VALUE = (1L << MAX_MAGNITUDE) - 1;
+
+    private static final int BUCKET_COUNT =
+            (MAX_MAGNITUDE - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Rejestruje czas wyrażony w nanosekundach.
+     *
+     * @param nanos zmierzony czas w nanosekundach
+     */
+    public void recordNanos(long nanos) {
+        recordMicros(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * Rejestruje czas wyrażony w mikrosekundach.
+     * Wartości ujemne traktowane są jak zero, a zbyt duże
+     * są przycinane do górnej granicy histogramu.
+     *
+     * @param micros zmierzony czas w mikrosekundach
+     */
+    public void recordMicros(long micros) {
+        long value = Math.min(Math.max(micros, 0), MAX_VALUE);
+        buckets.incrementAndGet(indexOf(value));
+        count.increment();
+        totalMicros.add(value);
+        maxMicros.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Zwraca liczbę zarejestrowanych pomiarów.
+     *
+     * @return liczba pomiarów
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Zwraca średni czas w milisekundach.
+     *
+     * @return średnia lub 0, jeśli brak pomiarów
+     */
+    public double getMeanMillis() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : totalMicros.sum() / (double) n / 1000.0;
+    }
+
+    /**
+     * Zwraca największy zarejestrowany czas w milisekundach.
+     *
+     * @return maksimum lub 0, jeśli brak pomiarów
+     */
+    public double getMaxMillis() {
+        return maxMicros.get() / 1000.0;
+    }
+
+    /**
+     * Wyznacza percentyl rozkładu w milisekundach.
+     * Zwracana jest górna granica kubełka, w którym wypada percentyl,
+     * ograniczona do największej zarejestrowanej wartości.
+     *
+     * @param percentile percentyl z przedziału (0, 100]
+     * @return wartość percentyla lub 0, jeśli brak pomiarów
+     */
+    public double getPercentileMillis(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0.0;
+        }
+
+        double p = Math.min(Math.max(percentile, 0.0), 100.0);
+        long target = Math.max(1, (long) Math.ceil(p / 100.0 * total));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= target) {
+                long upper = Math.min(upperBoundOf(i), maxMicros.get());
+                return upper / 1000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Zeruje wszystkie liczniki histogramu.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        totalMicros.reset();
+        maxMicros.set(0);
+    }
+
+    /**
+     * Wyznacza indeks kubełka dla wartości w mikrosekundach.
+     */
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Wyznacza największą wartość (włącznie) mieszczącą się w kubełku.
+     */
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int magnitude = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = index % SUB_BUCKETS;
+        int shift = magnitude - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Classname: StonkaEvents
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+package org.example.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Zdarzenia Java Flight Recorder emitowane przez aplikację.
+ * <p>
+ * Zdarzenia mają zerowy koszt, gdy nie trwa nagrywanie – JFR
+ * pomija wtedy {@code commit()}. Nagrywanie uruchamia
+ * {@link FlightRecording} (panel administratora) albo
+ * {@code jcmd <pid> JFR.start}. Zdarzenia są widoczne w JDK Mission
+ * Control w kategorii „Stonka”.
+ */
+public final class StonkaEvents {
+
+    private StonkaEvents() {
+    }
+
+    /**
+     * Zapis sprzedaży z panelu kasjera.
+     */
+    @Name("org.example.Checkout")
+    @Label("Sprzedaż")
+    @Category({"Stonka", "Kasa"})
+    @Description("Finalizacja koszyka w panelu kasjera")
+    @StackTrace(false)
+    public static final class Checkout extends Event {
+        @Label("Id kasjera")
+        public int employeeId;
+
+        @Label("Pozycje koszyka")
+        public int lines;
+
+        @Label("Sztuki")
+        public int quantity;
+
+        @Label("Id transakcji")
+        public int transactionId;
+
+        @Label("Zapisano")
+        public boolean success;
+
+        @Label("Odrzucone produkty")
+        public int rejectedProducts;
+    }
+
+    /**
+     * Wywołanie metody repozytorium – od otwarcia do zamknięcia
+     * EntityManagera.
+     */
+    @Name("org.example.RepositoryCall")
+    @Label("Wywołanie repozytorium")
+    @Category({"Stonka", "Baza danych"})
+    @Description("Metoda repozytorium wraz z liczbą wierszy")
+    @StackTrace(false)
+    public static final class RepositoryCall extends Event {
+        @Label("Operacja")
+        public String operation;
+
+        @Label("Wiersze")
+        public long rows;
+
+        @Label("Instrukcje SQL")
+        public long statements;
+
+        @Label("Błąd")
+        public boolean error;
+    }
+
+    /**
+     * Generowanie raportu PDF.
+     */
+    @Name("org.example.ReportGeneration")
+    @Label("Generowanie raportu")
+    @Category({"Stonka", "Raporty"})
+    @Description("Zapis raportu PDF przez generator StonkaPdfLib")
+    @StackTrace(false)
+    public static final class ReportGeneration extends Event {
+        @Label("Raport")
+        public String report;
+
+        @Label("Rekordy")
+        public int records;
+
+        @Label("Plik")
+        public String file;
+
+        @Label("Zapisano")
+        public boolean success;
+    }
+
+    /**
+     * Eksport jednej tabeli do pliku CSV.
+     */
+    @Name("org.example.TableExport")
+    @Label("Eksport tabeli")
+    @Category({"Stonka", "Kopie zapasowe"})
+    @Description("Eksport tabeli do pliku CSV")
+    @StackTrace(false)
+    public static final class TableExport extends Event {
+        @Label("Tabela")
+        public String table;
+
+        @Label("Wiersze")
+        public long rows;
+
+        @Label("Rozmiar pliku")
+        @DataAmount
+        public long bytes;
+    }
+}
@@ -79,7 +79,9 @@ CREATE TABLE IF NOT EXISTS Produkty (
     Id        INT PRIMARY KEY AUTO_INCREMENT,
     Nazwa     VARCHAR(100),
     Kategoria VARCHAR(100),
-    Cena      DECIMAL(10,2)
+    Cena      DECIMAL(10,2),
+    INDEX idx_produkty_nazwa (Nazwa),
+    INDEX idx_produkty_kategoria (Kategoria)
     );
 
 -- =============================================================
@@ -88,6 +90,9 @@ CREATE TABLE IF NOT EXISTS Produkty (
 CREATE TABLE IF NOT EXISTS StanyMagazynowe (
     Id_produktu INT PRIMARY KEY,
     Ilosc       INT NOT NULL,
+    Prog_zamowienia  INT NOT NULL DEFAULT 0,
+    Ilosc_zamowienia INT NOT NULL DEFAULT 0,
+    INDEX idx_stany_ilosc (Ilosc),
     FOREIGN KEY (Id_produktu) REFERENCES Produkty(Id) ON DELETE CASCADE
     );
 
@@ -117,16 +122,33 @@ CREATE TABLE IF NOT EXISTS Transakcje (
 
 -- =============================================================
 -- TABELA: Relacja Transakcje <-> Produkty
+-- Cena to cena jednostkowa w chwili sprzedaży; NULL w pozycjach
+-- sprzed wprowadzenia kolumny oznacza bieżącą cenę produktu.
 -- =============================================================
 CREATE TABLE IF NOT EXISTS Transakcje_Produkty (
     Id_transakcji  INT,
     Id_produktu    INT,
     Ilosc          INT NOT NULL,
+    Cena           DECIMAL(10,2),
     PRIMARY KEY (Id_transakcji, Id_produktu),
     FOREIGN KEY (Id_transakcji) REFERENCES Transakcje(Id),
     FOREIGN KEY (Id_produktu)   REFERENCES Produkty(Id)
     );
 
+-- =============================================================
+-- TABELA: Dzienne podsumowania sprzedaży (dzień × produkt × pracownik)
+-- Utrzymywana przyrostowo przy każdej sprzedaży, Id_pracownika = 0
+-- oznacza transakcje bez przypisanego pracownika.
+-- =============================================================
+CREATE TABLE IF NOT EXISTS Sprzedaz_Dzienna (
+    Data           DATE NOT NULL,
+    Id_produktu    INT NOT NULL,
+    Id_pracownika  INT NOT NULL,
+    Ilosc          INT NOT NULL,
+    Przychod       DECIMAL(12,2) NOT NULL,
+    PRIMARY KEY (Data, Id_produktu, Id_pracownika)
+    );
+
 -- =============================================================
 -- TABELA: Raporty (bez kaskadowego usuwania)
 -- =============================================================
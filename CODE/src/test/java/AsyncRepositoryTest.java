@@ -0,0 +1,96 @@
+/*
+ * Classname: AsyncRepositoryTest
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+import org.example.database.AsyncRepository;
+import org.example.database.ConnectionPool;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testy asynchronicznej fasady repozytoriów (bez wątku JavaFX).
+ */
+class AsyncRepositoryTest {
+
+    /** Repozytorium testowe mierzące liczbę równoległych wywołań. */
+    static class SlowRepository {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        int find(int id) {
+            int now = running.incrementAndGet();
+            maxRunning.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            return id * 2;
+        }
+    }
+
+    @Test
+    void testCall_RunsOffCallerThreadOnVirtualThread() {
+        Thread caller = Thread.currentThread();
+        Thread worker = AsyncRepository.of(new Object())
+                .call(repo -> Thread.currentThread())
+                .join();
+
+        assertNotSame(caller, worker, "Zapytanie nie może blokować "
+                + "wątku wywołującego");
+        assertTrue(worker.isVirtual(), "Zapytania powinny działać "
+                + "na wątkach wirtualnych");
+    }
+
+    @Test
+    void testCall_LimitsConcurrencyToPoolSize() {
+        SlowRepository repo = new SlowRepository();
+        AsyncRepository<SlowRepository> async = AsyncRepository.of(repo);
+        int calls = ConnectionPool.getConfiguredMaxSize() * 3;
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < calls; i++) {
+            int id = i;
+            futures.add(async.call(r -> r.find(id)));
+        }
+        for (int i = 0; i < calls; i++) {
+            assertEquals(i * 2, futures.get(i).join());
+        }
+        assertTrue(repo.maxRunning.get()
+                        <= ConnectionPool.getConfiguredMaxSize(),
+                "Liczba równoległych zapytań nie może przekroczyć "
+                        + "rozmiaru puli");
+    }
+
+    @Test
+    void testRun_PropagatesRepositoryException() {
+        CompletableFuture<Void> future = AsyncRepository.of(new Object())
+                .run(repo -> {
+                    throw new IllegalStateException("Błąd bazy");
+                });
+
+        CompletionException ex = assertThrows(CompletionException.class,
+                future::join);
+        Throwable cause = AsyncRepository.unwrap(ex);
+        assertInstanceOf(IllegalStateException.class, cause);
+        assertEquals("Błąd bazy", cause.getMessage());
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Classname: CheckoutServiceTest
+ * Version information: 1.0
+ * Date: 2025-06-04
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+import org.example.database.repositories.CheckoutService;
+import org.example.database.repositories.DailySalesRepository;
+import org.example.database.repositories.ProductRepository;
+import org.example.database.repositories.TransactionRepository;
+import org.example.database.repositories.UserRepository;
+import org.example.database.repositories.WarehouseRepository;
+import org.example.sys.Employee;
+import org.example.sys.Product;
+import org.example.sys.Transaction;
+import org.example.sys.TransactionItem;
+import org.example.sys.Warehouse;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import pdf.SalesReportGenerator;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testy serwisu kasowego. Czas sprzedaży dla koszyków różnej
+ * wielkości mierzy CheckoutBenchmark w profilu {@code jmh}.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CheckoutServiceTest {
+
+    private static final int PRODUCT_COUNT = 5;
+    private static final int INITIAL_STOCK = 100_000;
+
+    private static CheckoutService checkoutService;
+    private static ProductRepository productRepo;
+    private static WarehouseRepository warehouseRepo;
+    private static TransactionRepository transactionRepo;
+
+    private static Employee employee;
+    private static final List<Product> products = new ArrayList<>();
+    private static final List<Integer> transactionIds = new ArrayList<>();
+
+    @BeforeAll
+    static void setup() {
+        checkoutService = new CheckoutService();
+        productRepo = new ProductRepository();
+        warehouseRepo = new WarehouseRepository();
+        transactionRepo = new TransactionRepository();
+
+        List<Employee> emps = new UserRepository().getAllEmployees();
+        assertFalse(emps.isEmpty(),
+                "Musi istnieć co najmniej jeden pracownik");
+        employee = emps.get(0);
+
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product p = new Product("CheckoutTest-" + i, "TestKasa",
+                    new BigDecimal("1.99"));
+            productRepo.addProduct(p);
+            warehouseRepo.addWarehouseState(new Warehouse(p, INITIAL_STOCK));
+            products.add(p);
+        }
+    }
+
+    @AfterAll
+    static void cleanup() {
+        transactionIds.forEach(transactionRepo::removeTransactions);
+        for (Product p : products) {
+            warehouseRepo.removeState(p.getId());
+            productRepo.removeProduct(p.getId());
+        }
+    }
+
+    @Test
+    @Order(1)
+    void testCheckout_SavesTransactionAndDecrementsStock() {
+        Product product = products.get(0);
+        List<TransactionItem> basket = List.of(
+                new TransactionItem(product, 2),
+                new TransactionItem(product, 3));
+
+        CheckoutService.CheckoutResult result =
+                checkoutService.checkout(employee, basket);
+        assertTrue(result.success(), "Sprzedaż powinna zostać zapisana");
+        transactionIds.add(result.transactionId());
+
+        Transaction saved = transactionRepo
+                .findTransactionById(result.transactionId());
+        assertNotNull(saved, "Transakcja powinna istnieć w bazie");
+        assertEquals(INITIAL_STOCK - 5,
+                warehouseRepo.findStateByProductId(product.getId())
+                        .getQuantity(),
+                "Stan powinien zmniejszyć się o łączną ilość pozycji");
+    }
+
+    @Test
+    @Order(2)
+    void testCheckout_EmptyBasketIsRejected() {
+        CheckoutService.CheckoutResult result =
+                checkoutService.checkout(employee, List.of());
+        assertFalse(result.success(), "Pusty koszyk nie może być zapisany");
+    }
+
+    @Test
+    @Order(3)
+    void testCheckout_OversoldLineRejectsWholeSale() {
+        Product plenty = products.get(1);
+        Product oversold = products.get(2);
+        int stockBefore = warehouseRepo
+                .findStateByProductId(plenty.getId()).getQuantity();
+
+        CheckoutService.CheckoutResult result = checkoutService.checkout(
+                employee, List.of(
+                        new TransactionItem(plenty, 1),
+                        new TransactionItem(oversold, INITIAL_STOCK + 1)));
+
+        assertFalse(result.success(),
+                "Sprzedaż ponad stan nie może zostać zapisana");
+        assertEquals(List.of(oversold.getId()), result.rejectedProductIds(),
+                "Odrzucona powinna być tylko pozycja bez pokrycia");
+        assertEquals(stockBefore, warehouseRepo
+                        .findStateByProductId(plenty.getId()).getQuantity(),
+                "Wycofana sprzedaż nie może zmienić stanów");
+    }
+
+    @Test
+    @Order(4)
+    void testSalesRecords_ProjectedInSql() {
+        Product product = products.get(3);
+        CheckoutService.CheckoutResult result = checkoutService.checkout(
+                employee, List.of(new TransactionItem(product, 4)));
+        assertTrue(result.success(), "Sprzedaż powinna zostać zapisana");
+        transactionIds.add(result.transactionId());
+
+        Date from = Date.from(LocalDate.now().atStartOfDay(
+                ZoneId.systemDefault()).toInstant());
+        Date to = Date.from(LocalDate.now().atTime(23, 59, 59)
+                .atZone(ZoneId.systemDefault()).toInstant());
+        assertTrue(transactionRepo.hasTransactionsBetweenDates(from, to));
+
+        List<SalesReportGenerator.SalesRecord> records = transactionRepo
+                .getSalesRecords(from, to, List.of("TestKasa"));
+        SalesReportGenerator.SalesRecord record = records.stream()
+                .filter(r -> r.transactionId() == result.transactionId())
+                .findFirst()
+                .orElseThrow();
+        assertEquals(product.getName(), record.productName());
+        assertEquals("TestKasa", record.productCategory());
+        assertEquals(4, record.quantity());
+        assertEquals(4 * 1.99, record.value(), 0.001,
+                "Wartość pozycji powinna być liczona w zapytaniu");
+
+        assertTrue(transactionRepo.getSalesRecords(from, to,
+                        List.of("BrakTakiejKategorii")).isEmpty(),
+                "Filtr kategorii powinien działać w zapytaniu");
+    }
+
+    @Test
+    @Order(5)
+    void testDailySales_MaintainedAndRebuilt() {
+        Product product = products.get(4);
+        LocalDate today = LocalDate.now();
+        Date from = Date.from(today.atStartOfDay(
+                ZoneId.systemDefault()).toInstant());
+        Date to = Date.from(today.atTime(23, 59, 59)
+                .atZone(ZoneId.systemDefault()).toInstant());
+        int before = transactionRepo
+                .getSoldQuantityForProductOnDate(product, today);
+
+        checkout(List.of(new TransactionItem(product, 3)));
+        CheckoutService.CheckoutResult second = checkoutService.checkout(
+                employee, List.of(new TransactionItem(product, 2)));
+        assertTrue(second.success(), "Sprzedaż powinna zostać zapisana");
+
+        assertEquals(before + 5, transactionRepo
+                        .getSoldQuantityForProductOnDate(product, today),
+                "Podsumowanie powinno obejmować obie sprzedaże");
+        DailySalesRepository dailySales = new DailySalesRepository();
+        DailySalesRepository.Totals maintained =
+                dailySales.getEmployeeTotals(employee.getId(), today);
+
+        // zmiana ceny po sprzedaży nie zmienia przychodu ze sprzedaży
+        productRepo.updateProductPrice(product.getId(),
+                new BigDecimal("5.00"));
+        SalesReportGenerator.SalesRecord record = transactionRepo
+                .getSalesRecords(from, to, List.of("TestKasa"))
+                .stream()
+                .filter(r -> r.transactionId() == second.transactionId())
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2 * 1.99, record.value(), 0.001,
+                "Pozycja powinna być wyceniona ceną z chwili sprzedaży");
+
+        assertTrue(dailySales.rebuild() >= 0,
+                "Odbudowa podsumowań powinna się powieść");
+        assertEquals(before + 5, transactionRepo
+                        .getSoldQuantityForProductOnDate(product, today),
+                "Odbudowa powinna dać te same ilości co aktualizacje");
+        assertEquals(0, maintained.revenue().compareTo(dailySales
+                        .getEmployeeTotals(employee.getId(), today)
+                        .revenue()),
+                "Odbudowa powinna liczyć przychód po cenach sprzedaży");
+
+        transactionRepo.removeTransactions(second.transactionId());
+        assertEquals(before + 3, transactionRepo
+                        .getSoldQuantityForProductOnDate(product, today),
+                "Usunięcie transakcji powinno pomniejszyć podsumowanie");
+    }
+
+    private static void checkout(List<TransactionItem> basket) {
+        CheckoutService.CheckoutResult result =
+                checkoutService.checkout(employee, basket);
+        assertTrue(result.success(), "Sprzedaż powinna zostać zapisana");
+        transactionIds.add(result.transactionId());
+    }
+}
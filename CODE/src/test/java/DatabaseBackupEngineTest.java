@@ -0,0 +1,105 @@
+/*
+ * Classname: DatabaseBackupEngineTest
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+import org.example.database.DatabaseBackupEngine;
+import org.example.database.EMFProvider;
+import org.example.database.repositories.ProductRepository;
+import org.example.sys.Product;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testy równoległej kopii logicznej bazy i jej odtwarzania na bazie H2.
+ */
+class DatabaseBackupEngineTest {
+
+    // Więcej wierszy niż mieści jedno polecenie INSERT
+    private static final int PRODUCT_COUNT = 1007;
+
+    private static ProductRepository productRepo;
+
+    @BeforeAll
+    static void setup() {
+        EMFProvider.close();
+        System.setProperty("stonka.db.url",
+                "jdbc:h2:mem:stonka-dump;MODE=MySQL;DB_CLOSE_DELAY=-1");
+
+        productRepo = new ProductRepository();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            productRepo.addProduct(new Product("Zrzut 'it''s'; \\ " + i,
+                    "Kopia", new BigDecimal("1.25")));
+        }
+    }
+
+    @AfterAll
+    static void cleanup() {
+        EMFProvider.close();
+        System.clearProperty("stonka.db.url");
+    }
+
+    @Test
+    void testDumpAndRestore_RoundTrip(@TempDir Path dir) throws Exception {
+        Set<String> finished = ConcurrentHashMap.newKeySet();
+        DatabaseBackupEngine.Result dump = DatabaseBackupEngine.dump(dir,
+                p -> {
+                    if (p.finished()) {
+                        finished.add(p.table());
+                    }
+                });
+
+        assertTrue(dump.tables() > 0, "Kopia powinna zawierać tabele");
+        assertEquals(dump.tables(), finished.size(),
+                "Każda tabela powinna zgłosić zakończenie zrzutu");
+        assertTrue(dump.rows() >= PRODUCT_COUNT,
+                "Kopia powinna zawierać wszystkie produkty");
+        assertTrue(Files.exists(dump.location()
+                        .resolve(DatabaseBackupEngine.MANIFEST_FILE)),
+                "Kopia powinna zawierać manifest");
+
+        List<Product> before = productRepo.findByName("Zrzut");
+        Product first = before.get(0);
+        productRepo.removeProduct(first.getId());
+        assertNull(productRepo.findProductById(first.getId()));
+
+        DatabaseBackupEngine.Result restore =
+                DatabaseBackupEngine.restore(dump.location(), null);
+
+        assertEquals(dump.rows(), restore.rows(),
+                "Odtworzone powinny być wszystkie wiersze kopii");
+        Product restored = productRepo.findProductById(first.getId());
+        assertNotNull(restored, "Usunięty produkt powinien wrócić z kopii");
+        assertEquals(first.getName(), restored.getName(),
+                "Apostrofy, średniki i ukośniki muszą przetrwać kopię");
+        assertEquals(PRODUCT_COUNT, productRepo.findByName("Zrzut").size(),
+                "Odtworzenie nie może dublować wierszy");
+    }
+
+    @Test
+    void testRestore_RejectsDirectoryWithoutManifest(@TempDir Path dir) {
+        assertThrows(IOException.class,
+                () -> DatabaseBackupEngine.restore(dir, null),
+                "Katalog bez manifestu nie jest kopią");
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Classname: DatabaseBackupExporterTest
+ * Version information: 1.0
+ * Date: 2025-06-04
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+import org.example.database.DatabaseBackupExporter;
+import org.example.database.EMFProvider;
+import org.example.database.repositories.ProductRepository;
+import org.example.sys.Product;
+import org.example.utils.StonkaEvents;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testy równoległego eksportu tabel do plików CSV na bazie H2.
+ */
+class DatabaseBackupExporterTest {
+
+    private static final int PRODUCT_COUNT = 25;
+
+    @BeforeAll
+    static void setup() {
+        EMFProvider.close();
+        System.setProperty("stonka.db.url",
+                "jdbc:h2:mem:stonka-csv;MODE=MySQL;DB_CLOSE_DELAY=-1");
+
+        ProductRepository productRepo = new ProductRepository();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            productRepo.addProduct(new Product("Csv, \"test\" " + i,
+                    "Eksport", new BigDecimal("2.50")));
+        }
+    }
+
+    @AfterAll
+    static void cleanup() {
+        EMFProvider.close();
+        System.clearProperty("stonka.db.url");
+    }
+
+    @Test
+    void testExport_WritesEveryTableAndReportsProgress(@TempDir Path dir)
+            throws Exception {
+        Set<String> finished = ConcurrentHashMap.newKeySet();
+        DatabaseBackupExporter.ExportSummary summary =
+                DatabaseBackupExporter.exportAllTablesToCsv(dir.toString(),
+                        false, p -> {
+                            if (p.finished()) {
+                                finished.add(p.table());
+                            }
+                        });
+
+        assertTrue(summary.total() > 0, "Baza powinna zawierać tabele");
+        assertEquals(summary.total(), summary.exported(),
+                "Wszystkie tabele powinny zostać wyeksportowane");
+        assertEquals(summary.total(), finished.size(),
+                "Każda tabela powinna zgłosić zakończenie eksportu");
+
+        List<String> lines = Files.readAllLines(
+                findFile(dir, "produkty.csv"), StandardCharsets.UTF_8);
+        assertEquals(PRODUCT_COUNT + 1, lines.size(),
+                "Plik powinien zawierać nagłówek i wszystkie wiersze");
+        assertTrue(lines.get(1).contains("\"Csv, \"\"test\"\" 0\""),
+                "Pola z przecinkiem i cudzysłowem powinny być cytowane");
+    }
+
+    @Test
+    void testExport_GzipOutput(@TempDir Path dir) throws Exception {
+        DatabaseBackupExporter.exportAllTablesToCsv(dir.toString(),
+                true, null);
+
+        Path gz = findFile(dir, "produkty.csv.gz");
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new GZIPInputStream(
+                        Files.newInputStream(gz)), StandardCharsets.UTF_8))) {
+            assertEquals(PRODUCT_COUNT + 1, reader.lines().count(),
+                    "Skompresowany plik powinien zawierać wszystkie wiersze");
+        }
+    }
+
+    @Test
+    void testExport_EmitsFlightRecorderEventPerTable(@TempDir Path dir)
+            throws Exception {
+        Path jfr = dir.resolve("export.jfr");
+        Path csv = Files.createDirectory(dir.resolve("csv"));
+        DatabaseBackupExporter.ExportSummary summary;
+        try (Recording recording = new Recording()) {
+            recording.enable(StonkaEvents.TableExport.class)
+                    .withoutThreshold();
+            recording.start();
+            summary = DatabaseBackupExporter.exportAllTablesToCsv(
+                    csv.toString(), true, null);
+            recording.stop();
+            recording.dump(jfr);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(jfr);
+        assertEquals(summary.exported(), events.size(),
+                "Każda tabela powinna wyemitować zdarzenie eksportu");
+        RecordedEvent products = events.stream()
+                .filter(e -> e.getString("table").equalsIgnoreCase(
+                        "Produkty"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(
+                        "Brak zdarzenia dla tabeli Produkty"));
+        assertEquals(PRODUCT_COUNT, products.getLong("rows"));
+        assertEquals(Files.size(findFile(csv, "produkty.csv.gz")),
+                products.getLong("bytes"),
+                "Zdarzenie powinno zawierać rozmiar zamkniętego pliku");
+    }
+
+    private static Path findFile(Path dir, String name) throws IOException {
+        try (var files = Files.list(dir)) {
+            return files
+                    .filter(f -> f.getFileName().toString()
+                            .equalsIgnoreCase(name))
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError(
+                            "Brak pliku " + name));
+        }
+    }
+}
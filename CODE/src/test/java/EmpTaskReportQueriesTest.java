@@ -0,0 +1,160 @@
+/*
+ * Classname: EmpTaskReportQueriesTest
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+import org.example.database.EMFProvider;
+import org.example.database.repositories.EmpTaskRepository;
+import org.example.database.repositories.TaskEmployeeRepository;
+import org.example.database.repositories.UserRepository;
+import org.example.database.simulation.StoreDataGenerator;
+import org.example.sys.EmpTask;
+import org.example.sys.Employee;
+import org.example.sys.TaskEmployee;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import pdf.StatsRaportGenerator;
+import pdf.TaskRaportGenerator;
+import pdf.WorkloadReportGenerator.EmployeeWorkload;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testy zapytań raportowych repozytorium zadań (okres, filtry
+ * i grupowanie obciążenia w SQL) na bazie H2.
+ */
+class EmpTaskReportQueriesTest {
+
+    private static final LocalDate FROM = LocalDate.of(2030, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2030, 1, 31);
+
+    private static EmpTaskRepository taskRepo;
+    private static Employee first;
+    private static Employee second;
+
+    @BeforeAll
+    static void setup() throws SQLException {
+        EMFProvider.close();
+        System.setProperty("stonka.db.url",
+                "jdbc:h2:mem:stonka-taskreports;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        new StoreDataGenerator().generate(new StoreDataGenerator.Scale(
+                10, 2, 0, 1, 5, 2, 1_000, 42));
+        taskRepo = new EmpTaskRepository();
+        List<Employee> employees = new UserRepository().getAllEmployees()
+                .stream()
+                .sorted(Comparator.comparingInt(Employee::getId))
+                .toList();
+        first = employees.get(0);
+        second = employees.get(1);
+
+        addTask("Inwentaryzacja", FROM.plusDays(1), "Zakończone",
+                LocalTime.of(2, 30), EmpTask.Priority.HIGH, first, second);
+        addTask("Dostawa", FROM.plusDays(2), "Nowe",
+                LocalTime.of(1, 0), EmpTask.Priority.LOW, second);
+        addTask("Bez wykonawcy", FROM.plusDays(3), "Nowe",
+                LocalTime.of(4, 0), EmpTask.Priority.LOW);
+        addTask("Bez czasu", FROM.plusDays(4), "W trakcie",
+                null, EmpTask.Priority.MEDIUM, first);
+        addTask("Poza okresem", TO.plusDays(1), "Nowe",
+                LocalTime.of(8, 0), EmpTask.Priority.HIGH, first);
+        EmpTask deleted = addTask("Usunięte", FROM.plusDays(5), "Nowe",
+                LocalTime.of(8, 0), EmpTask.Priority.HIGH, first);
+        assertTrue(taskRepo.softDeleteTask(deleted));
+    }
+
+    @AfterAll
+    static void cleanup() {
+        EMFProvider.close();
+        System.clearProperty("stonka.db.url");
+    }
+
+    @Test
+    void testTaskStatsRecords_FiltersPeriodPriorityAndPosition() {
+        List<StatsRaportGenerator.TaskRecord> all =
+                taskRepo.getTaskStatsRecords(FROM, TO, List.of(), List.of());
+        assertEquals(List.of("Inwentaryzacja", "Dostawa", "Bez wykonawcy",
+                        "Bez czasu"),
+                all.stream().map(StatsRaportGenerator.TaskRecord::taskName)
+                        .toList(),
+                "Zadanie z kilkoma wykonawcami powinno dać jeden wiersz, "
+                        + "bez zadań usuniętych i spoza okresu");
+
+        StatsRaportGenerator.TaskRecord done = all.get(0);
+        assertEquals(first.getLogin(), done.assignee());
+        assertEquals(StatsRaportGenerator.Priority.HIGH, done.priority());
+        assertEquals(done.dueDate(), done.completionDate());
+        assertNull(all.get(1).completionDate());
+        assertEquals("Brak", all.get(2).assignee());
+
+        List<StatsRaportGenerator.TaskRecord> low =
+                taskRepo.getTaskStatsRecords(FROM, TO, List.of(),
+                        List.of(StatsRaportGenerator.Priority.LOW));
+        assertEquals(2, low.size());
+
+        List<StatsRaportGenerator.TaskRecord> byPosition =
+                taskRepo.getTaskStatsRecords(FROM, TO,
+                        List.of(second.getPosition()), List.of());
+        assertTrue(byPosition.stream().allMatch(
+                r -> second.getPosition().equals(r.position())));
+        assertTrue(byPosition.stream().anyMatch(
+                r -> r.taskName().equals("Dostawa")));
+    }
+
+    @Test
+    void testTaskReportRecords_KeepsDatabaseStatus() {
+        List<TaskRaportGenerator.TaskRecord> records =
+                taskRepo.getTaskReportRecords(FROM, TO);
+
+        assertEquals(4, records.size());
+        assertEquals("W trakcie", records.get(3).dbStatus());
+        assertEquals(FROM.plusDays(4), records.get(3).dueDate());
+    }
+
+    @Test
+    void testTaskWorkload_GroupsHoursByAssignee() {
+        List<EmployeeWorkload> workload = taskRepo.getTaskWorkload(FROM, TO);
+
+        assertEquals(2, workload.size(),
+                "Tylko zadania z wykonawcą i czasem zmiany");
+        assertEquals(2.5, hoursOf(workload, first), 0.001);
+        assertEquals(1.0, hoursOf(workload, second), 0.001);
+    }
+
+    private static double hoursOf(List<EmployeeWorkload> workload,
+                                  Employee employee) {
+        return workload.stream()
+                .filter(w -> w.employeeName().equals(employee.getLogin()))
+                .mapToDouble(EmployeeWorkload::totalHours)
+                .sum();
+    }
+
+    private static EmpTask addTask(String name, LocalDate date, String status,
+                                   LocalTime duration,
+                                   EmpTask.Priority priority,
+                                   Employee... assignees) {
+        EmpTask task = new EmpTask(name, Date.valueOf(date), status,
+                "Raport", duration, priority);
+        taskRepo.addTask(task);
+        try (TaskEmployeeRepository assignments =
+                     new TaskEmployeeRepository()) {
+            for (Employee employee : assignees) {
+                assignments.add(new TaskEmployee(task, employee));
+            }
+        }
+        return task;
+    }
+}
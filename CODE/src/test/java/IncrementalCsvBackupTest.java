@@ -0,0 +1,202 @@
+/*
+ * Classname: IncrementalCsvBackupTest
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+import org.example.database.ConnectionPool;
+import org.example.database.EMFProvider;
+import org.example.database.IncrementalCsvBackup;
+import org.example.database.repositories.ProductRepository;
+import org.example.sys.Product;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testy przyrostowej kopii CSV i odtwarzania bazy na bazie H2.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class IncrementalCsvBackupTest {
+
+    @TempDir
+    static Path backupDir;
+
+    private static ProductRepository productRepo;
+    private static Product first;
+
+    @BeforeAll
+    static void setup() {
+        EMFProvider.close();
+        System.setProperty("stonka.db.url",
+                "jdbc:h2:mem:stonka-incr;MODE=MySQL;DB_CLOSE_DELAY=-1");
+
+        productRepo = new ProductRepository();
+        first = new Product("Kopia-1", "Kopia", new BigDecimal("3.00"));
+        productRepo.addProduct(first);
+    }
+
+    @AfterAll
+    static void cleanup() {
+        EMFProvider.close();
+        System.clearProperty("stonka.db.url");
+    }
+
+    @Test
+    @Order(1)
+    void testFirstBackup_WritesBaseForEveryTable() throws Exception {
+        IncrementalCsvBackup.BackupSummary summary =
+                IncrementalCsvBackup.backup(backupDir.toString(), false,
+                        null);
+
+        assertEquals(0, summary.failed(), "Żadna tabela nie może zawieść");
+        assertEquals(summary.tables(), summary.rebased(),
+                "Pierwsza kopia powinna być kopią bazową każdej tabeli");
+        assertTrue(Files.exists(
+                backupDir.resolve(IncrementalCsvBackup.MANIFEST_FILE)));
+    }
+
+    @Test
+    @Order(2)
+    void testSecondBackup_AppendsOnlyNewRows() throws Exception {
+        productRepo.addProduct(new Product("Kopia-2", "Kopia",
+                new BigDecimal("4.00")));
+
+        IncrementalCsvBackup.BackupSummary summary =
+                IncrementalCsvBackup.backup(backupDir.toString(), false,
+                        null);
+
+        assertEquals(0, summary.rebased(),
+                "Dopisanie wiersza nie powinno wymuszać kopii bazowej");
+        assertEquals(1, summary.appendedRows(),
+                "Przyrost powinien zawierać tylko nowy produkt");
+    }
+
+    @Test
+    @Order(3)
+    void testChangedRow_ForcesNewBase() throws Exception {
+        productRepo.updateProductPrice(first.getId(), new BigDecimal("3.50"));
+
+        IncrementalCsvBackup.BackupSummary summary =
+                IncrementalCsvBackup.backup(backupDir.toString(), false,
+                        null);
+
+        assertEquals(1, summary.rebased(),
+                "Zmiana istniejącego wiersza wymaga nowej kopii tabeli");
+    }
+
+    @Test
+    @Order(4)
+    void testRestore_ReplaysBaseAndIncrements() throws Exception {
+        productRepo.addProduct(new Product("Kopia-3", "Kopia",
+                new BigDecimal("5.00")));
+        IncrementalCsvBackup.backup(backupDir.toString(), true, null);
+
+        productRepo.removeProduct(first.getId());
+        assertNull(productRepo.findProductById(first.getId()));
+
+        IncrementalCsvBackup.restore(backupDir.toString());
+
+        Product restored = productRepo.findProductById(first.getId());
+        assertNotNull(restored, "Usunięty produkt powinien wrócić z kopii");
+        assertEquals(0, new BigDecimal("3.50")
+                        .compareTo(restored.getPrice()),
+                "Odtworzona powinna być ostatnia wersja wiersza");
+        assertEquals(3, productRepo.findByName("Kopia-").size(),
+                "Odtworzone powinny być wiersze z kopii i przyrostów");
+    }
+
+    @Test
+    @Order(5)
+    void testNullAndEmptyString_AreRestoredSeparately() throws Exception {
+        execute("CREATE TABLE Notatki (Id INT PRIMARY KEY, "
+                + "Tresc VARCHAR(50))",
+                "INSERT INTO Notatki VALUES (1, NULL), (2, ''), "
+                        + "(3, '\\N')");
+        IncrementalCsvBackup.backup(backupDir.toString(), false, null);
+
+        execute("UPDATE Notatki SET Tresc = '' WHERE Id = 1");
+        IncrementalCsvBackup.BackupSummary summary =
+                IncrementalCsvBackup.backup(backupDir.toString(), false,
+                        null);
+        assertEquals(1, summary.rebased(),
+                "Zmiana NULL na pusty napis powinna zmienić sumę kontrolną");
+
+        execute("UPDATE Notatki SET Tresc = 'zmiana'");
+        IncrementalCsvBackup.restore(backupDir.toString());
+
+        assertEquals(Arrays.asList("", "", "\\N"), notes(),
+                "Pusty napis i napis \\N powinny wrócić bez zmian");
+
+        execute("UPDATE Notatki SET Tresc = NULL WHERE Id = 2");
+        IncrementalCsvBackup.backup(backupDir.toString(), false, null);
+        execute("DELETE FROM Notatki");
+        IncrementalCsvBackup.restore(backupDir.toString());
+
+        assertEquals(Arrays.asList("", null, "\\N"), notes(),
+                "NULL powinien wrócić jako NULL, a nie pusty napis");
+    }
+
+    @Test
+    @Order(6)
+    void testBackslashSequences_SurviveRoundTrip() throws Exception {
+        execute("INSERT INTO Notatki VALUES (4, 'C:\\new\\raport.pdf'), "
+                + "(5, 'D:\\raporty\\r1, \"kopia\"')");
+        IncrementalCsvBackup.backup(backupDir.toString(), false, null);
+
+        execute("DELETE FROM Notatki");
+        IncrementalCsvBackup.restore(backupDir.toString());
+
+        List<String> restored = notes();
+        assertEquals("C:\\new\\raport.pdf", restored.get(3),
+                "Ukośnik przed literą n nie może stać się nową linią");
+        assertEquals("D:\\raporty\\r1, \"kopia\"", restored.get(4),
+                "Ukośnik przed literą r w polu z cudzysłowem "
+                        + "nie może stać się powrotem karetki");
+    }
+
+    private static void execute(String... statements) throws SQLException {
+        try (Connection conn = ConnectionPool.getDataSource().getConnection();
+             Statement stmt = conn.createStatement()) {
+            for (String sql : statements) {
+                stmt.execute(sql);
+            }
+        }
+    }
+
+    private static List<String> notes() throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Connection conn = ConnectionPool.getDataSource().getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT Tresc FROM Notatki ORDER BY Id")) {
+            while (rs.next()) {
+                values.add(rs.getString(1));
+            }
+        }
+        return values;
+    }
+}
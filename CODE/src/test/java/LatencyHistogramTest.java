@@ -0,0 +1,70 @@
+/*
+ * Classname: LatencyHistogramTest
+ * Version information: 1.0
+ * Date: 2025-06-04
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+import org.example.utils.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testEmptyHistogram_ReturnsZeros() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0.0, histogram.getPercentileMillis(99),
+                "Pusty histogram powinien zwracać 0");
+    }
+
+    @Test
+    void testPercentiles_WithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.recordMicros(i * 1000L);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500.0, histogram.getPercentileMillis(50), 500 * 0.07,
+                "Mediana powinna mieścić się w błędzie kubełka");
+        assertEquals(990.0, histogram.getPercentileMillis(99), 990 * 0.07,
+                "99. percentyl powinien mieścić się w błędzie kubełka");
+        assertEquals(1000.0, histogram.getMaxMillis(), 0.001);
+        assertEquals(500.5, histogram.getMeanMillis(), 0.001);
+    }
+
+    @Test
+    void testConcurrentRecording_CountsEverySample()
+            throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.recordNanos(i * 1_000L);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(80_000, histogram.getCount(),
+                "Żaden pomiar nie powinien zostać zgubiony");
+    }
+
+    @Test
+    void testReset_ClearsAllSamples() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordMicros(42);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0.0, histogram.getMaxMillis());
+    }
+}
@@ -8,6 +8,8 @@
 
 import org.example.database.repositories.ProductRepository;
 import org.example.sys.Product;
+import org.example.sys.ProductPage;
+import org.example.sys.ProductSort;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.MethodOrderer;
@@ -17,6 +19,7 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Order;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -141,6 +144,32 @@ class ProductRepositoryTest {
         );
     }
 
+    @Test
+    @Order(6)
+    void testSearchProducts_KeysetPaging() {
+        List<Product> collected = new ArrayList<>();
+        Product after = null;
+        ProductPage page;
+        do {
+            page = repo.searchProducts("M", "Nabiał", ProductSort.NAME,
+                    true, after, 1);
+            assertTrue(page.items().size() <= 1,
+                    "Strona nie może przekraczać zadanego rozmiaru");
+            collected.addAll(page.items());
+            after = page.last();
+        } while (page.hasNext());
+
+        assertTrue(collected.stream().anyMatch(p -> p.getId() == p1.getId()),
+                "Wyniki powinny zawierać Masło");
+        assertTrue(collected.stream().anyMatch(p -> p.getId() == p3.getId()),
+                "Wyniki powinny zawierać Mleko");
+        assertEquals(collected.size(), collected.stream()
+                        .map(Product::getId).distinct().count(),
+                "Kolejne strony nie mogą się powtarzać");
+        assertTrue(collected.stream().allMatch(
+                        p -> p.getCategory().startsWith("Nabiał")),
+                "Filtr kategorii musi obowiązywać na każdej stronie");
+    }
 
     @AfterAll
     static void tearDown() {
@@ -0,0 +1,200 @@
+/*
+ * Classname: ProductSearchIndexTest
+ * Version information: 1.0
+ * Date: 2025-06-04
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+import org.example.database.ProductSearchIndex;
+import org.example.sys.Product;
+import org.example.sys.ProductPage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testy indeksu trigramowego produktów. Czas wyszukiwania mierzy
+ * ProductSearchBenchmark w profilu {@code jmh}.
+ */
+class ProductSearchIndexTest {
+
+    private static final String[] WORDS = {
+            "mleko", "ser", "jogurt", "chleb", "bułka", "masło", "szynka",
+            "kiełbasa", "jabłko", "gruszka", "sok", "woda", "piwo", "kawa",
+            "herbata", "czekolada", "baton", "makaron", "ryż", "mąka"
+    };
+    private static final String[] CATEGORIES = {
+            "Nabiał", "Pieczywo", "Wędliny", "Owoce", "Napoje", "Słodycze",
+            "Sypkie"
+    };
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new ProductSearchIndex();
+        index.rebuild(List.of(
+                product(1, "Mleko 3,2%", "Nabiał"),
+                product(2, "Żółty ser gouda", "Nabiał"),
+                product(3, "Chleb żytni", "Pieczywo"),
+                product(4, "Czekolada mleczna", "Słodycze"),
+                product(5, "Sok jabłkowy", "Napoje")));
+    }
+
+    @Test
+    void testSearch_MatchesSubstringOfNameOrCategory() {
+        assertEquals(List.of(3), ids(index.search("leb", 10)));
+        assertEquals(List.of(1, 2), ids(index.search("nabiał", 10)),
+                "Kategoria też powinna być przeszukiwana");
+        assertEquals(List.of(4), ids(index.search("MLECZ", 10)),
+                "Wielkość liter nie powinna mieć znaczenia");
+        assertTrue(index.search("kefir", 10).isEmpty());
+    }
+
+    @Test
+    void testSearch_IgnoresPolishDiacritics() {
+        assertEquals(List.of(2), ids(index.search("zolty", 10)));
+        assertEquals(List.of(5), ids(index.search("jablk", 10)));
+        assertEquals(List.of(3), ids(index.search("żyt", 10)));
+    }
+
+    @Test
+    void testPutAndRemove_KeepIndexCurrent() {
+        index.put(product(6, "Kefir naturalny", "Nabiał"));
+        assertEquals(List.of(6), ids(index.search("kefir", 10)));
+
+        index.put(product(6, "Maślanka", "Nabiał"));
+        assertTrue(index.search("kefir", 10).isEmpty(),
+                "Zmieniona nazwa nie może być dalej wyszukiwana");
+        assertEquals(List.of(6), ids(index.search("ślank", 10)));
+
+        index.remove(6);
+        assertTrue(index.search("ślank", 10).isEmpty());
+
+        index.removeCategory("Nabiał");
+        assertTrue(index.search("nabiał", 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testSearchPage_FollowsCursor() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 1; i <= 25; i++) {
+            products.add(product(i, String.format("Baton %02d", i),
+                    "Słodycze"));
+        }
+        index.rebuild(products);
+
+        List<Integer> seen = new ArrayList<>();
+        Product after = null;
+        ProductPage page;
+        do {
+            page = index.searchPage("baton", "Słodycze", after, 10);
+            page.items().forEach(p -> seen.add(p.getId()));
+            after = page.last();
+        } while (page.hasNext());
+
+        assertEquals(25, seen.size(), "Każdy produkt dokładnie raz");
+        assertEquals(products.stream().map(Product::getId).toList(), seen);
+        assertTrue(index.searchPage("baton", "Napoje", null, 10)
+                .items().isEmpty(), "Filtr kategorii musi działać");
+    }
+
+    @Test
+    void testSearchPage_OrdersNamesLikeDatabaseCollation() {
+        index.rebuild(List.of(
+                product(1, "banan", "Owoce"),
+                product(2, "Zupa owocowa", "Owoce"),
+                product(3, "Ćwikła", "Owoce"),
+                product(4, "Ananas", "Owoce"),
+                product(5, "cebula", "Owoce")));
+
+        assertEquals(List.of(4, 1, 5, 3, 2),
+                ids(index.searchPage("", "Owoce", null, 10).items()),
+                "Kolejność powinna pomijać wielkość liter i akcenty, "
+                        + "jak porównanie w bazie");
+        assertEquals(List.of(3, 2), ids(index.searchPage("", "Owoce",
+                        product(5, "cebula", "Owoce"), 10).items()),
+                "Kursor powinien wskazywać to samo miejsce co w bazie");
+    }
+
+    @Test
+    void testEntries_AreIndependentOfProductObjects() {
+        Product kefir = product(6, "Kefir naturalny", "Nabiał");
+        index.put(kefir);
+        kefir.setName("Maślanka");
+
+        List<Product> found = index.search("kefir", 10);
+        assertEquals(List.of(6), ids(found),
+                "Zmiana obiektu po dodaniu nie może zmienić indeksu");
+        found.get(0).setName("Jogurt");
+        assertEquals("Kefir naturalny",
+                index.search("kefir", 10).get(0).getName(),
+                "Zwracane produkty powinny być kopiami wpisów");
+    }
+
+    @Test
+    void testVersion_RejectsStaleRebuild() {
+        long version = index.getVersion();
+        index.put(product(7, "Kawa ziarnista", "Napoje"));
+        assertFalse(index.rebuild(List.of(), version),
+                "Przebudowa z nieaktualnych danych musi zostać pominięta");
+        assertEquals(6, index.size());
+    }
+
+    @Test
+    void testSearch_MatchesFullScan() {
+        Random random = new Random(42);
+        List<Product> products = new ArrayList<>();
+        for (int i = 1; i <= 2_000; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " "
+                    + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            products.add(product(i, name,
+                    CATEGORIES[random.nextInt(CATEGORIES.length)]));
+        }
+        index.rebuild(products);
+
+        String[] queries = {"kiełb", "czeko", "ser 12", "1999", "herbata"};
+        for (String query : queries) {
+            String q = query.toLowerCase(Locale.ROOT);
+            Set<Integer> expected = products.stream()
+                    .filter(p -> p.getName().toLowerCase(Locale.ROOT)
+                            .contains(q)
+                            || p.getCategory().toLowerCase(Locale.ROOT)
+                            .contains(q))
+                    .map(Product::getId)
+                    .collect(Collectors.toSet());
+            List<Integer> found = ids(index.search(query, 50));
+            assertEquals(Math.min(expected.size(), 50), found.size(),
+                    "Wynik indeksu musi zgadzać się z pełnym przeglądem");
+            assertTrue(expected.containsAll(found),
+                    "Indeks nie może zwracać niepasujących produktów");
+        }
+    }
+
+    private static List<Integer> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+
+    private static Product product(int id, String name, String category) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName(name);
+        p.setCategory(category);
+        p.setPrice(BigDecimal.ONE);
+        return p;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Classname: ReorderMonitorTest
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+import org.example.database.EMFProvider;
+import org.example.database.repositories.CheckoutService;
+import org.example.database.repositories.OrderRepository;
+import org.example.database.repositories.ProductRepository;
+import org.example.database.repositories.ReorderMonitor;
+import org.example.database.repositories.UserRepository;
+import org.example.database.repositories.WarehouseRepository;
+import org.example.database.simulation.StoreDataGenerator;
+import org.example.sys.Employee;
+import org.example.sys.Order;
+import org.example.sys.Product;
+import org.example.sys.TransactionItem;
+import org.example.sys.Warehouse;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testy wykrywania przekroczeń progów zamówień i tworzenia projektów
+ * zamówień na bazie H2.
+ */
+class ReorderMonitorTest {
+
+    private static ProductRepository productRepo;
+    private static WarehouseRepository warehouseRepo;
+    private static OrderRepository orderRepo;
+    private static Employee employee;
+
+    @BeforeAll
+    static void setup() throws SQLException {
+        EMFProvider.close();
+        System.setProperty("stonka.db.url",
+                "jdbc:h2:mem:stonka-reorder;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        new StoreDataGenerator().generate(new StoreDataGenerator.Scale(
+                10, 2, 0, 1, 5, 2, 1_000, 42));
+        productRepo = new ProductRepository();
+        warehouseRepo = new WarehouseRepository();
+        orderRepo = new OrderRepository();
+        employee = new UserRepository().getAllEmployees().get(0);
+    }
+
+    @AfterAll
+    static void cleanup() {
+        EMFProvider.close();
+        System.clearProperty("stonka.db.url");
+    }
+
+    @Test
+    void testCheckout_DraftsOrderOnceWhenThresholdCrossed() {
+        Product product = addProduct("Próg-kasa", 12, 10, 40);
+        CheckoutService checkout = new CheckoutService();
+
+        assertTrue(checkout.checkout(employee, List.of(
+                new TransactionItem(product, 1))).success());
+        assertEquals(0, ReorderMonitor.getPendingCount(),
+                "Stan powyżej progu nie powinien tworzyć zamówienia");
+
+        assertTrue(checkout.checkout(employee, List.of(
+                new TransactionItem(product, 2))).success());
+        assertTrue(checkout.checkout(employee, List.of(
+                new TransactionItem(product, 1))).success());
+        ReorderMonitor.flush();
+
+        List<Order> orders = orderRepo.findOrdersByProductId(product.getId());
+        assertEquals(1, orders.size(),
+                "Tylko sprzedaż przekraczająca próg tworzy zamówienie");
+        assertEquals(40, orders.get(0).getQuantity());
+        assertEquals(0, new BigDecimal("80.00")
+                .compareTo(orders.get(0).getPrice()));
+    }
+
+    @Test
+    void testSetProductQuantity_CoalescesCrossingsIntoOneBatch() {
+        Product first = addProduct("Próg-ręczny-A", 20, 5, 0);
+        Product second = addProduct("Próg-ręczny-B", 20, 5, 0);
+        Product unmonitored = addProduct("Próg-brak", 20, 0, 0);
+
+        warehouseRepo.setProductQuantity(first.getId(), 3, employee.getId());
+        warehouseRepo.setProductQuantity(first.getId(), 2, employee.getId());
+        warehouseRepo.setProductQuantity(second.getId(), 5, employee.getId());
+        warehouseRepo.setProductQuantity(unmonitored.getId(), 0,
+                employee.getId());
+
+        assertEquals(2, ReorderMonitor.getPendingCount(),
+                "Każdy produkt powinien czekać na zapis tylko raz");
+        assertEquals(2, ReorderMonitor.flush(),
+                "Projekty powinny zostać zapisane jednym wsadem");
+        assertEquals(5, orderRepo.findOrdersByProductId(first.getId())
+                        .get(0).getQuantity(),
+                "Bez ilości zamówienia zamawiana jest ilość równa progowi");
+        assertTrue(orderRepo.findOrdersByProductId(unmonitored.getId())
+                .isEmpty(), "Produkt bez progu nie jest zamawiany");
+    }
+
+    private static Product addProduct(String name, int quantity,
+                                      int threshold, int reorderQuantity) {
+        Product product = new Product(name, "Próg", new BigDecimal("2.00"));
+        productRepo.addProduct(product);
+        warehouseRepo.addWarehouseState(new Warehouse(product, quantity));
+        assertTrue(warehouseRepo.setReorderThreshold(product.getId(),
+                threshold, reorderQuantity));
+        return product;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Classname: ReportCacheTest
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+import org.example.database.ReportCache;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testy pamięci podręcznej raportów z kluczem zawierającym wersję
+ * danych.
+ */
+class ReportCacheTest {
+
+    private static Path workDir;
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @BeforeAll
+    static void setup() throws IOException {
+        workDir = Files.createTempDirectory("stonka-report-cache");
+        System.setProperty("stonka.reports.cache",
+                workDir.resolve("cache").toString());
+    }
+
+    @AfterAll
+    static void cleanup() {
+        ReportCache.clear();
+        System.clearProperty("stonka.reports.cache");
+    }
+
+    @BeforeEach
+    void reset() {
+        ReportCache.clear();
+        renders.set(0);
+    }
+
+    @Test
+    void testGetOrRender_ServesUnchangedDataFromDisk() throws Exception {
+        Path first = workDir.resolve("raport-1.pdf");
+        Path second = workDir.resolve("raport-2.pdf");
+
+        assertFalse(render(first, "10:55", "wersja 1"));
+        assertTrue(render(second, "10:55", "wersja 2"),
+                "Ta sama wersja danych powinna pochodzić z pamięci");
+
+        assertEquals(1, renders.get(), "Raport powinien powstać raz");
+        assertEquals("wersja 1", Files.readString(second));
+    }
+
+    @Test
+    void testGetOrRender_RegeneratesAfterDataChange() throws Exception {
+        Path target = workDir.resolve("raport-zmiana.pdf");
+
+        render(target, "10:55", "przed");
+        assertFalse(render(target, "11:56", "po"),
+                "Nowa wersja danych powinna wygenerować raport");
+
+        assertEquals(2, renders.get());
+        assertEquals("po", Files.readString(target));
+        assertEquals(1, ReportCache.clear(),
+                "Poprzednia wersja raportu powinna zostać usunięta");
+    }
+
+    @Test
+    void testGetOrRender_SeparatesParametersAndSkipsWithoutVersion()
+            throws Exception {
+        Path target = workDir.resolve("raport-parametry.pdf");
+
+        render(target, "10:55", "czerwiec");
+        ReportCache.getOrRender("Raport sprzedaży", List.of("2025-07"),
+                "10:55", target, file -> {
+                    renders.incrementAndGet();
+                    Files.writeString(file, "lipiec");
+                });
+        render(target, null, "bez wersji");
+        render(target, null, "bez wersji");
+
+        assertEquals(4, renders.get(),
+                "Inny okres i brak wersji nie korzystają z pamięci");
+        assertEquals(2, ReportCache.clear());
+    }
+
+    @Test
+    void testGetOrRender_DoesNotStoreFailedReport() {
+        Path target = workDir.resolve("raport-blad.pdf");
+
+        assertThrows(IllegalStateException.class, () ->
+                ReportCache.getOrRender("Raport sprzedaży",
+                        List.of("2025-06"), "10:55", target, file -> {
+                            throw new IllegalStateException("Brak logo");
+                        }));
+
+        assertEquals(0, ReportCache.clear());
+    }
+
+    private boolean render(Path target, String version, String content)
+            throws Exception {
+        return ReportCache.getOrRender("Raport sprzedaży",
+                List.of("2025-06"), version, target, file -> {
+                    renders.incrementAndGet();
+                    Files.writeString(file, content);
+                });
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Classname: ReportJobQueueTest
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+import org.example.database.ReportJobQueue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testy kolejki zadań raportów: łączenia zgłoszeń, anulowania
+ * i obsługi błędów.
+ */
+class ReportJobQueueTest {
+
+    @Test
+    void testSubmit_CoalescesIdenticalRequests() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ReportJobQueue.Job<String> first = ReportJobQueue.submit("Łączenie",
+                List.of("2025-06", List.of("Nabiał")), j -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return "raport.pdf";
+                });
+        ReportJobQueue.Job<String> second = ReportJobQueue.submit("Łączenie",
+                List.of("2025-06", List.of("Nabiał")), j -> "inny.pdf");
+        ReportJobQueue.Job<String> other = ReportJobQueue.submit("Łączenie",
+                List.of("2025-07", List.of("Nabiał")), j -> "lipiec.pdf");
+
+        assertEquals(first.getId(), second.getId(),
+                "Identyczne zgłoszenie powinno dołączyć do zadania");
+        assertNotEquals(first.getId(), other.getId(),
+                "Inne parametry powinny tworzyć nowe zadanie");
+
+        release.countDown();
+        assertEquals("raport.pdf", first.future().get(5, TimeUnit.SECONDS));
+        assertEquals(ReportJobQueue.State.DONE, first.getState());
+        assertEquals(1.0, first.getProgress());
+        assertEquals("lipiec.pdf", other.future().get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testCancel_StopsRunningJobAtNextUpdate() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        ReportJobQueue.Job<String> job = ReportJobQueue.submit("Anulowanie",
+                List.of(1), j -> {
+                    j.update(0.1, "Pobieranie danych");
+                    started.countDown();
+                    cancelled.await(5, TimeUnit.SECONDS);
+                    j.update(0.5, "Generowanie PDF");
+                    return "nie powinien powstać";
+                });
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(job.cancel());
+        cancelled.countDown();
+
+        assertThrows(CancellationException.class,
+                () -> job.future().get(5, TimeUnit.SECONDS),
+                "Anulowane zadanie kończy przyszły wynik anulowaniem");
+        assertEquals(ReportJobQueue.State.CANCELLED, job.getState());
+        assertNull(job.getResult(),
+                "Anulowane zadanie nie powinno mieć wyniku");
+        assertFalse(job.cancel(), "Zakończonego zadania nie można anulować");
+    }
+
+    @Test
+    void testSubmit_DoesNotJoinJobBeingCancelled() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ReportJobQueue.Job<String> cancelled = ReportJobQueue.submit(
+                "Ponowienie", List.of("2025-06"), j -> {
+                    started.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    j.update(0.5, "Generowanie PDF");
+                    return "anulowany.pdf";
+                });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(cancelled.cancel());
+
+        ReportJobQueue.Job<String> retry = ReportJobQueue.submit(
+                "Ponowienie", List.of("2025-06"), j -> "nowy.pdf");
+        release.countDown();
+
+        assertNotEquals(cancelled.getId(), retry.getId(),
+                "Zgłoszenie nie powinno dołączać do anulowanego zadania");
+        assertEquals("nowy.pdf", retry.future().get(5, TimeUnit.SECONDS));
+        assertThrows(CancellationException.class,
+                () -> cancelled.future().get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testFailure_KeepsMessageAndAllowsResubmit() throws Exception {
+        ReportJobQueue.Job<String> failed = ReportJobQueue.submit("Błąd",
+                List.of("x"), j -> {
+                    throw new IllegalStateException("Brak produktów");
+                });
+
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> failed.future().get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, ex.getCause(),
+                "Przyczyną powinien być błąd treści zadania");
+        assertEquals(ReportJobQueue.State.FAILED, failed.getState());
+        assertEquals("Brak produktów", failed.getMessage());
+
+        ReportJobQueue.Job<String> retry = ReportJobQueue.submit("Błąd",
+                List.of("x"), j -> "ok.pdf");
+        assertNotEquals(failed.getId(), retry.getId(),
+                "Po błędzie zgłoszenie powinno utworzyć nowe zadanie");
+        assertEquals("ok.pdf", retry.future().get(5, TimeUnit.SECONDS));
+        assertTrue(ReportJobQueue.getJobs().contains(failed),
+                "Zakończone zadanie powinno zostać w tabeli zadań");
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Classname: RepositoryMetricsTest
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+import org.example.database.EMFProvider;
+import org.example.database.RepositoryMetrics;
+import org.example.database.repositories.ProductRepository;
+import org.example.sys.Product;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testy rejestru czasów i liczników metod repozytoriów na bazie H2.
+ */
+class RepositoryMetricsTest {
+
+    private static ProductRepository productRepo;
+
+    @BeforeAll
+    static void setup() {
+        EMFProvider.close();
+        System.setProperty("stonka.db.url",
+                "jdbc:h2:mem:stonka-metrics;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        productRepo = new ProductRepository();
+    }
+
+    @AfterAll
+    static void cleanup() {
+        EMFProvider.close();
+        System.clearProperty("stonka.db.url");
+    }
+
+    @BeforeEach
+    void resetMetrics() {
+        RepositoryMetrics.reset();
+    }
+
+    @Test
+    void testSnapshot_CountsCallsAndRowsPerMethod() {
+        for (int i = 0; i < 3; i++) {
+            productRepo.addProduct(new Product("Metryka " + i, "Metryki",
+                    new BigDecimal("2.50")));
+        }
+        int listed = productRepo.getAllProducts().size();
+        productRepo.getAllProducts();
+        int removed = productRepo.removeProductsFromCategory("Metryki");
+
+        RepositoryMetrics.Snapshot add = find("ProductRepository.addProduct");
+        assertEquals(3, add.calls());
+        assertEquals(0, add.errors());
+
+        RepositoryMetrics.Snapshot all =
+                find("ProductRepository.getAllProducts");
+        assertEquals(2, all.calls());
+        assertEquals(2L * listed, all.rows(),
+                "Wiersze powinny sumować wyniki obu zapytań");
+        assertTrue(all.p99Ms() >= all.p50Ms(),
+                "p99 nie może być mniejszy niż mediana");
+        assertTrue(all.maxMs() > 0);
+        assertTrue(all.statements() >= 2,
+                "Każde zapytanie powinno być policzone jako instrukcja SQL");
+
+        assertEquals(3, removed);
+        assertEquals(removed,
+                find("ProductRepository.removeProductsFromCategory").rows(),
+                "DELETE powinien liczyć zmienione wiersze");
+    }
+
+    @Test
+    void testSnapshot_CountsRolledBackCallAsError() {
+        productRepo.addProduct(new Product("Błędna cena", "Metryki-błędy",
+                new BigDecimal("1.00")));
+        int id = productRepo.getProductsByCategory("Metryki-błędy").get(0)
+                .getId();
+
+        productRepo.updateProductPrice(id, null);
+
+        RepositoryMetrics.Snapshot update =
+                find("ProductRepository.updateProductPrice");
+        assertEquals(1, update.calls());
+        assertEquals(1, update.errors(),
+                "Wycofana transakcja powinna być liczona jako błąd");
+    }
+
+    private static RepositoryMetrics.Snapshot find(String operation) {
+        return RepositoryMetrics.snapshot().stream()
+                .filter(s -> s.operation().equals(operation))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(
+                        "Brak statystyk dla " + operation));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Classname: SqlScriptRunnerTest
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+import org.example.database.SqlScriptRunner;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testy parsera i wsadowego wykonywania skryptów SQL na bazie H2.
+ */
+class SqlScriptRunnerTest {
+
+    private Connection conn;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        conn = DriverManager.getConnection(
+                "jdbc:h2:mem:stonka-script;MODE=MySQL");
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE Produkty (Id INT PRIMARY KEY, "
+                    + "Nazwa VARCHAR(100))");
+        }
+    }
+
+    @AfterEach
+    void cleanup() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void testParser_IgnoresSemicolonsInLiteralsAndComments()
+            throws Exception {
+        SqlScriptRunner.Parser parser = new SqlScriptRunner.Parser(
+                new StringReader("-- komentarz; ze średnikiem\n"
+                        + "INSERT INTO t VALUES ('a;b', 'it''s');\n"
+                        + "/* blok; */ SELECT 1;;\n"
+                        + "SELECT 2"), true);
+
+        assertEquals("INSERT INTO t VALUES ('a;b', 'it''s')",
+                parser.next());
+        assertEquals("SELECT 1", parser.next());
+        assertEquals("SELECT 2", parser.next(),
+                "Ostatnie polecenie może nie mieć średnika");
+        assertNull(parser.next(), "Po końcu skryptu nie ma poleceń");
+    }
+
+    @Test
+    void testRun_BatchesInsertsAndReportsProgress() throws Exception {
+        StringBuilder script = new StringBuilder("START TRANSACTION;\n");
+        int rows = 2500;
+        for (int i = 0; i < rows; i++) {
+            script.append("INSERT INTO Produkty VALUES (").append(i)
+                    .append(", 'Produkt; nr ").append(i).append("');\n");
+        }
+        script.append("COMMIT;\n");
+
+        List<SqlScriptRunner.Progress> progress = new ArrayList<>();
+        SqlScriptRunner.Result result = new SqlScriptRunner(1000,
+                progress::add).run(conn, new StringReader(script.toString()),
+                script.length());
+
+        assertEquals(rows, result.statements(),
+                "Polecenia sterujące transakcją powinny zostać pominięte");
+        assertEquals(rows, result.rows());
+        assertEquals(rows, countRows(), "Wszystkie wiersze powinny być w bazie");
+        assertTrue(progress.size() >= 3,
+                "Postęp powinien być zgłaszany po każdej paczce");
+        assertEquals(script.length(),
+                progress.get(progress.size() - 1).position(),
+                "Na końcu skrypt powinien być przeczytany w całości");
+    }
+
+    @Test
+    void testRun_RollsBackWholeScriptOnError() {
+        String script = "INSERT INTO Produkty VALUES (1, 'a');\n"
+                + "INSERT INTO Produkty VALUES (1, 'duplikat');\n";
+
+        assertThrows(SQLException.class, () -> new SqlScriptRunner(10, null)
+                .run(conn, new StringReader(script), script.length()));
+        assertEquals(0, countRows(),
+                "Błąd powinien wycofać cały skrypt");
+    }
+
+    @Test
+    void testRun_GeneratedStatements() throws Exception {
+        SqlScriptRunner.Result result = new SqlScriptRunner(
+                SqlScriptRunner.DEFAULT_BATCH_SIZE, null).run(conn,
+                IntStream.range(0, 5000)
+                        .mapToObj(i -> "INSERT INTO Produkty VALUES ("
+                                + i + ", 'Gen " + i + "')")
+                        .iterator());
+
+        assertEquals(5000, result.rows());
+        assertEquals(5000, countRows());
+    }
+
+    private int countRows() {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT COUNT(*) FROM Produkty")) {
+            rs.next();
+            return rs.getInt(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Classname: StoreSimulationTest
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+import org.example.database.EMFProvider;
+import org.example.database.repositories.ProductRepository;
+import org.example.database.repositories.UserRepository;
+import org.example.database.simulation.StoreDataGenerator;
+import org.example.database.simulation.TillLoadSimulator;
+import org.example.sys.Employee;
+import org.example.sys.PasswordHasher;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testy generatora danych sklepu i symulatora obciążenia kas na bazie H2.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class StoreSimulationTest {
+
+    private static final int TILLS = 4;
+    private static final int SALES_PER_TILL = 10;
+
+    @BeforeAll
+    static void setup() {
+        EMFProvider.close();
+        System.setProperty("stonka.db.url",
+                "jdbc:h2:mem:stonka-sim;MODE=MySQL;DB_CLOSE_DELAY=-1");
+    }
+
+    @AfterAll
+    static void cleanup() {
+        EMFProvider.close();
+        System.clearProperty("stonka.db.url");
+    }
+
+    @Test
+    @Order(1)
+    void testGenerate_PopulatesRequestedScale() throws Exception {
+        StoreDataGenerator.Scale scale = StoreDataGenerator.Scale.small();
+
+        StoreDataGenerator.Summary summary =
+                new StoreDataGenerator().generate(scale);
+
+        assertEquals(scale.products(), summary.products());
+        assertEquals(scale.employees(), summary.employees());
+        assertEquals((long) scale.days() * scale.transactionsPerDay(),
+                summary.transactions(),
+                "Każdy dzień powinien mieć zadaną liczbę transakcji");
+        assertTrue(summary.lines() >= summary.transactions(),
+                "Każda transakcja powinna mieć co najmniej jedną pozycję");
+        assertEquals(scale.products(),
+                new ProductRepository().getAllProducts().size());
+
+        String login = "sym" + scale.seed() + "_1";
+        Employee cashier = new UserRepository().findByLogin(login);
+        assertNotEquals(login, cashier.getPassword(),
+                "Hasło nie może być zapisane jawnym tekstem");
+        assertTrue(PasswordHasher.verifyPassword(cashier.getPassword(),
+                        login, cashier.getId()),
+                "Pracownik powinien logować się loginem jako hasłem");
+    }
+
+    @Test
+    @Order(2)
+    void testSimulate_ConcurrentTillsReportThroughput() {
+        TillLoadSimulator.Report report = new TillLoadSimulator().run(
+                new TillLoadSimulator.Config(TILLS, Duration.ofMinutes(1),
+                        SALES_PER_TILL, 5, 2, 7));
+
+        assertEquals(TILLS * SALES_PER_TILL,
+                report.sales() + report.rejected() + report.failed(),
+                "Każda kasa powinna wykonać zadaną liczbę sprzedaży");
+        assertEquals(0, report.failed(), "Sprzedaż nie może kończyć się "
+                + "błędem");
+        assertTrue(report.salesPerSecond() > 0);
+        assertTrue(report.p99Millis() >= report.p50Millis(),
+                "p99 nie może być mniejszy niż mediana");
+        System.out.println(report.format());
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Classname: UnitOfWorkTest
+ * Version information: 1.0
+ * Date: 2025-06-07
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+import org.example.database.EMFProvider;
+import org.example.database.ProductSearchIndex;
+import org.example.database.RepositoryMetrics;
+import org.example.database.SqlStatementCounter;
+import org.example.database.UnitOfWork;
+import org.example.database.repositories.ProductRepository;
+import org.example.database.repositories.WarehouseRepository;
+import org.example.sys.Product;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testy jednostki pracy (wspólny EntityManager i transakcja)
+ * na bazie H2.
+ */
+class UnitOfWorkTest {
+
+    private static ProductRepository productRepo;
+    private static WarehouseRepository warehouseRepo;
+    private static int productId;
+
+    @BeforeAll
+    static void setup() {
+        EMFProvider.close();
+        System.setProperty("stonka.db.url",
+                "jdbc:h2:mem:stonka-uow;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        productRepo = new ProductRepository();
+        warehouseRepo = new WarehouseRepository();
+        productRepo.addProduct(new Product("Jednostka", "UoW",
+                new BigDecimal("3.00")));
+        productId = productRepo.getProductsByCategory("UoW").get(0).getId();
+    }
+
+    @AfterAll
+    static void cleanup() {
+        EMFProvider.close();
+        System.clearProperty("stonka.db.url");
+    }
+
+    @Test
+    void testCall_ReusesFirstLevelCache() {
+        long before = SqlStatementCounter.current();
+        productRepo.findProductById(productId);
+        productRepo.findProductById(productId);
+        long separate = SqlStatementCounter.current() - before;
+
+        before = SqlStatementCounter.current();
+        List<Product> found = UnitOfWork.call(() -> List.of(
+                productRepo.findProductById(productId),
+                productRepo.findProductById(productId)));
+        long shared = SqlStatementCounter.current() - before;
+
+        assertTrue(shared < separate, "Drugie wyszukanie powinno trafić "
+                + "do pamięci pierwszego poziomu");
+        assertSame(found.get(0), found.get(1));
+        assertFalse(UnitOfWork.isActive());
+    }
+
+    @Test
+    void testCall_UsesSingleEntityManagerPerScreen() {
+        RepositoryMetrics.reset();
+        UnitOfWork.run(() -> {
+            productRepo.getAllProducts();
+            warehouseRepo.getAllStates();
+        });
+
+        List<RepositoryMetrics.Snapshot> stats = RepositoryMetrics.snapshot();
+        assertEquals(1, stats.stream()
+                        .mapToLong(RepositoryMetrics.Snapshot::calls).sum(),
+                "Cały ekran powinien otworzyć jeden EntityManager");
+        assertTrue(stats.get(0).statements() >= 2,
+                "Metryki powinny liczyć zapytania obu repozytoriów");
+    }
+
+    @Test
+    void testRun_RollsBackWhenRepositoryRollsBack() {
+        assertThrows(IllegalStateException.class, () -> UnitOfWork.run(() -> {
+            productRepo.addProduct(new Product("Wycofany", "UoW-wycofanie",
+                    new BigDecimal("1.00")));
+            int id = productRepo.getProductsByCategory("UoW-wycofanie")
+                    .get(0).getId();
+            productRepo.updateProductPrice(id, null);
+        }), "Wycofanie przez repozytorium powinno zgłosić błąd");
+
+        assertTrue(productRepo.getProductsByCategory("UoW-wycofanie")
+                .isEmpty(), "Błąd jednej operacji powinien wycofać "
+                + "całą jednostkę");
+        assertTrue(ProductSearchIndex.shared().search("Wycofany", 10)
+                        .isEmpty(),
+                "Wycofany produkt nie powinien trafić do indeksu");
+    }
+
+    @Test
+    void testAfterCommit_RunsOnlyAfterOuterCommit() {
+        List<String> events = new ArrayList<>();
+        UnitOfWork.run(() -> {
+            UnitOfWork.afterCommit(() -> events.add("po zatwierdzeniu"));
+            UnitOfWork.run(() -> UnitOfWork.afterCommit(
+                    () -> events.add("zagnieżdżona")));
+            events.add("w jednostce");
+        });
+        assertEquals(List.of("w jednostce", "po zatwierdzeniu",
+                "zagnieżdżona"), events);
+
+        events.clear();
+        assertThrows(IllegalStateException.class, () -> UnitOfWork.run(() -> {
+            UnitOfWork.afterCommit(() -> events.add("po wycofaniu"));
+            throw new IllegalStateException("Przerwano");
+        }));
+        UnitOfWork.afterCommit(() -> events.add("bez jednostki"));
+        assertEquals(List.of("bez jednostki"), events,
+                "Akcje wycofanej jednostki powinny zostać pominięte");
+    }
+
+    @Test
+    void testCall_RollsBackAndRethrowsException() {
+        assertThrows(IllegalStateException.class, () -> UnitOfWork.run(() -> {
+            productRepo.addProduct(new Product("Przerwany", "UoW-wyjątek",
+                    new BigDecimal("1.00")));
+            throw new IllegalStateException("Przerwano");
+        }));
+
+        assertTrue(productRepo.getProductsByCategory("UoW-wyjątek")
+                .isEmpty());
+        assertFalse(UnitOfWork.isActive());
+    }
+}
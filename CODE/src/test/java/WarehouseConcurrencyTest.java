@@ -0,0 +1,121 @@
+/*
+ * Classname: WarehouseConcurrencyTest
+ * Version information: 1.0
+ * Date: 2025-06-04
+ * Copyright notice: © BŁĘKITNI
+ */
+
+
+import org.example.database.EMFProvider;
+import org.example.database.repositories.ProductRepository;
+import org.example.database.repositories.WarehouseRepository;
+import org.example.sys.Product;
+import org.example.sys.Warehouse;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test obciążeniowy warunkowego zmniejszania stanów magazynowych.
+ * 32 równoległych sprzedawców walczy o ten sam produkt w bazie H2;
+ * żadna aktualizacja nie może zostać zgubiona, a stan nie może
+ * spaść poniżej zera.
+ */
+class WarehouseConcurrencyTest {
+
+    private static final int SELLERS = 32;
+    private static final int ATTEMPTS_PER_SELLER = 50;
+    private static final int INITIAL_STOCK = 1000;
+
+    private static WarehouseRepository warehouseRepo;
+    private static Product product;
+
+    @BeforeAll
+    static void setup() {
+        EMFProvider.close();
+        System.setProperty("stonka.db.url",
+                "jdbc:h2:mem:stonka-stress;MODE=MySQL;DB_CLOSE_DELAY=-1");
+
+        ProductRepository productRepo = new ProductRepository();
+        warehouseRepo = new WarehouseRepository();
+
+        product = new Product("StressTest", "Test", new BigDecimal("1.00"));
+        productRepo.addProduct(product);
+        warehouseRepo.addWarehouseState(new Warehouse(product, INITIAL_STOCK));
+    }
+
+    @AfterAll
+    static void cleanup() {
+        EMFProvider.close();
+        System.clearProperty("stonka.db.url");
+    }
+
+    @Test
+    void testConcurrentSellers_NoLostUpdatesAndNoOversell()
+            throws InterruptedException {
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService sellers = Executors.newFixedThreadPool(SELLERS);
+
+        for (int s = 0; s < SELLERS; s++) {
+            sellers.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < ATTEMPTS_PER_SELLER; i++) {
+                    if (warehouseRepo.decrementIfAvailable(
+                            product.getId(), 1)) {
+                        sold.incrementAndGet();
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        start.countDown();
+        sellers.shutdown();
+        assertTrue(sellers.awaitTermination(2, TimeUnit.MINUTES),
+                "Sprzedawcy powinni zakończyć pracę w wyznaczonym czasie");
+
+        int remaining = warehouseRepo.findStateByProductId(product.getId())
+                .getQuantity();
+        assertEquals(INITIAL_STOCK, sold.get(),
+                "Sprzedać można dokładnie tyle, ile było na stanie");
+        assertEquals(0, remaining,
+                "Każda udana sprzedaż musi zmniejszyć stan");
+        assertEquals(SELLERS * ATTEMPTS_PER_SELLER - INITIAL_STOCK,
+                rejected.get(),
+                "Pozostałe próby muszą zostać odrzucone");
+    }
+
+    @Test
+    void testDecrement_InsufficientStockIsRejected() {
+        Product other = new Product("StressTest-2", "Test",
+                new BigDecimal("1.00"));
+        new ProductRepository().addProduct(other);
+        warehouseRepo.addWarehouseState(new Warehouse(other, 3));
+
+        assertFalse(warehouseRepo.decrementIfAvailable(other.getId(), 4),
+                "Nie można zdjąć więcej, niż jest na stanie");
+        assertTrue(warehouseRepo.decrementIfAvailable(other.getId(), 3));
+        assertEquals(0, warehouseRepo.findStateByProductId(other.getId())
+                .getQuantity());
+    }
+}
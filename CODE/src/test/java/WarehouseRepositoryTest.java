@@ -8,8 +8,13 @@
 
 import org.example.database.repositories.ProductRepository;
 import org.example.database.repositories.WarehouseRepository;
+import org.example.sys.CategoryStock;
 import org.example.sys.Product;
+import org.example.sys.StockPage;
+import org.example.sys.StockRow;
+import org.example.sys.StockSort;
 import org.example.sys.Warehouse;
+import org.example.sys.WarehouseReportRow;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
@@ -18,6 +23,8 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.AfterAll;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -115,6 +122,82 @@ class WarehouseRepositoryTest {
 
     @Test
     @Order(4)
+    void testFindStockPage() {
+        int[] quantities = {500, 5, 50};
+        List<Product> added = new ArrayList<>();
+        for (int i = 0; i < quantities.length; i++) {
+            Product p = new Product("Stronicowanie " + (char) ('A' + i),
+                    "Stany", 1.00);
+            productRepo.addProduct(p);
+            added.add(p);
+            warehouseRepo.addWarehouseState(new Warehouse(p,
+                    quantities[i]));
+        }
+
+        List<StockRow> collected = new ArrayList<>();
+        StockRow after = null;
+        StockPage page;
+        do {
+            page = warehouseRepo.findStockPage("Stronicowanie", null, null,
+                    StockSort.QUANTITY, true, after, 1);
+            assertTrue(page.items().size() <= 1,
+                    "Strona nie może przekraczać zadanego rozmiaru");
+            collected.addAll(page.items());
+            after = page.last();
+        } while (page.hasNext());
+
+        assertEquals(List.of(5, 50, 500), collected.stream()
+                        .map(StockRow::getQuantity).toList(),
+                "Wiersze powinny być posortowane po ilości w bazie");
+        assertEquals("Stronicowanie B", collected.get(0).getName());
+
+        StockPage lowStock = warehouseRepo.findStockPage("Stronicowanie",
+                null, 50, StockSort.NAME, true, null, 10);
+        assertEquals(List.of("Stronicowanie B", "Stronicowanie C"),
+                lowStock.items().stream().map(StockRow::getName).toList(),
+                "Filtr niskiego stanu powinien pominąć ilość 500");
+
+        for (Product p : added) {
+            warehouseRepo.removeState(p.getId());
+            productRepo.removeProduct(p.getId());
+        }
+    }
+
+    @Test
+    @Order(5)
+    void testCategoryStatsAndReportRows() {
+        Product stocked = new Product("Raportowy A", "RaportMagazyn", 2.50);
+        Product missing = new Product("Raportowy B", "RaportMagazyn", 4.00);
+        productRepo.addProduct(stocked);
+        productRepo.addProduct(missing);
+        warehouseRepo.addWarehouseState(new Warehouse(stocked, 10));
+
+        List<CategoryStock> stats =
+                warehouseRepo.getCategoryStats(List.of("RaportMagazyn"));
+        assertEquals(1, stats.size(), "Powinna być jedna kategoria");
+        assertEquals(2, stats.get(0).productCount());
+        assertEquals(10, stats.get(0).totalQuantity(),
+                "Produkt bez stanu liczy się z ilością 0");
+        assertEquals(0, new BigDecimal("25.00")
+                        .compareTo(stats.get(0).totalValue()),
+                "Wartość kategorii powinna być liczona w bazie");
+
+        List<WarehouseReportRow> rows =
+                warehouseRepo.getReportRows(List.of("RaportMagazyn"));
+        assertEquals(List.of(
+                        new WarehouseReportRow("Raportowy A",
+                                "RaportMagazyn", 2.50, 10),
+                        new WarehouseReportRow("Raportowy B",
+                                "RaportMagazyn", 4.00, 0)),
+                rows, "Wiersze raportu powinny pochodzić z projekcji");
+
+        warehouseRepo.removeState(stocked.getId());
+        productRepo.removeProduct(stocked.getId());
+        productRepo.removeProduct(missing.getId());
+    }
+
+    @Test
+    @Order(6)
     void testDelete() {
         assertDoesNotThrow(() -> warehouseRepo.removeState(testProduct.getId()),
                 "Należy usunąć rekord magazynu bez wyjątku");